@@ -32,11 +32,11 @@ public class AuthService {
   private String clientServiceUrl;
 
   public AuthService(UserService userService, PasswordEncoder passwordEncoder,
-      JwtUtil jwtUtil) {
+      JwtUtil jwtUtil, RestTemplate interServiceRestTemplate) {
     this.userService = userService;
     this.passwordEncoder = passwordEncoder;
     this.jwtUtil = jwtUtil;
-    this.restTemplate = new RestTemplate();
+    this.restTemplate = interServiceRestTemplate;
   }
 
   public Optional<LoginResponseDTO> register(RegisterRequestDTO registerRequestDTO) {
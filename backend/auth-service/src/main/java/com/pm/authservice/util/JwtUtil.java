@@ -9,11 +9,14 @@ import io.jsonwebtoken.security.Keys;
 import io.jsonwebtoken.security.SignatureException;
 import java.nio.charset.StandardCharsets;
 import java.security.Key;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.util.Base64;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Function;
 import javax.crypto.SecretKey;
 import org.springframework.beans.factory.annotation.Value;
@@ -25,10 +28,17 @@ public class JwtUtil {
   private final Key secretKey;
   private static final long EXPIRATION_TIME = 1000 * 60 * 60 * 24; // 24 hours
 
-  public JwtUtil(@Value("${jwt.secret}") String secret) {
+  // Verified claims by SHA-256 of the token, kept until the token expires,
+  // so each token's signature is checked once rather than on every claim read
+  private final Map<String, Claims> claimsCache = new ConcurrentHashMap<>();
+  private final int maxCachedTokens;
+
+  public JwtUtil(@Value("${jwt.secret}") String secret,
+      @Value("${jwt.claims-cache.max-entries:10000}") int maxCachedTokens) {
     byte[] keyBytes = Base64.getDecoder()
         .decode(secret.getBytes(StandardCharsets.UTF_8));
     this.secretKey = Keys.hmacShaKeyFor(keyBytes);
+    this.maxCachedTokens = maxCachedTokens;
   }
 
   public String generateToken(User user) {
@@ -56,9 +66,7 @@ public class JwtUtil {
 
   public void validateToken(String token) {
     try {
-      Jwts.parser().verifyWith((SecretKey) secretKey)
-          .build()
-          .parseSignedClaims(token);
+      extractAllClaims(token);
     } catch (SignatureException e) {
       throw new JwtException("Invalid JWT signature");
     } catch (JwtException e) {
@@ -92,11 +100,40 @@ public class JwtUtil {
     return claimsResolver.apply(claims);
   }
 
-  private Claims extractAllClaims(String token) {
-    return Jwts.parser()
+  public Claims extractAllClaims(String token) {
+    String key = hash(token);
+    Date now = new Date();
+    Claims cached = claimsCache.get(key);
+    if (cached != null) {
+      if (cached.getExpiration().after(now)) {
+        return cached;
+      }
+      claimsCache.remove(key, cached);
+      throw new JwtException("JWT expired");
+    }
+
+    Claims claims = Jwts.parser()
         .verifyWith((SecretKey) secretKey)
         .build()
         .parseSignedClaims(token)
         .getPayload();
+    if (claims.getExpiration() != null) {
+      if (claimsCache.size() >= maxCachedTokens) {
+        claimsCache.values().removeIf(entry -> !entry.getExpiration().after(now));
+      }
+      if (claimsCache.size() < maxCachedTokens) {
+        claimsCache.put(key, claims);
+      }
+    }
+    return claims;
+  }
+
+  private static String hash(String token) {
+    try {
+      byte[] digest = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+      return Base64.getEncoder().encodeToString(digest);
+    } catch (NoSuchAlgorithmException e) {
+      throw new IllegalStateException("SHA-256 not available", e);
+    }
   }
 }
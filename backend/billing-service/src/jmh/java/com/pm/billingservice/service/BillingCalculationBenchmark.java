@@ -0,0 +1,131 @@
+package com.pm.billingservice.service;
+
+import com.pm.billingservice.client.BillingModelData;
+import com.pm.billingservice.client.TripData;
+import com.pm.billingservice.dto.BillingCalculationRequest;
+import com.pm.billingservice.dto.BillingCalculationResponse;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+
+import java.math.BigDecimal;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JMH benchmarks for the billing calculation engine
+ * Run with: mvn -P jmh test-compile exec:exec
+ * Throughput gives ops/s, SampleTime gives the latency percentiles (p0.99),
+ * and the gc profiler (on by default, see jmh.args in the pom) gives gc.alloc.rate.norm per op.
+ *
+ * - foldAndPrice: every trip of the month folded into TripTotals, then the model's pricing step
+ *   and taxes. This is the per-trip hot loop, exercised for all three models.
+ * - foldColumnar / foldColumnarForkJoin: the same fold over a month already decoded into a
+ *   columnar TripBatch, sequentially and split across a ForkJoinPool.
+ * - calculateBilling: the public entry point with Trip Service stubbed in memory.
+ *   HYBRID streams every trip through columnar batches; TRIP/PACKAGE price a precomputed
+ *   aggregate, as in production.
+ * - applyTaxes: GST on a finished calculation.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx2g"})
+public class BillingCalculationBenchmark {
+
+    @State(Scope.Benchmark)
+    public static class Month {
+
+        @Param({"1000", "100000", "1000000"})
+        int tripCount;
+
+        @Param({"TRIP", "PACKAGE", "HYBRID"})
+        String modelType;
+
+        TripData[] trips;
+        TripBatch batch;
+        BillingModelData model;
+        BillingCalculationRequest request;
+        BillingCalculationService service;
+
+        @Setup(Level.Trial)
+        public void setUp() {
+            trips = SyntheticMonth.trips(tripCount, 42L);
+            batch = SyntheticMonth.batch(trips);
+            model = SyntheticMonth.model(modelType);
+
+            request = new BillingCalculationRequest();
+            request.setClientId(SyntheticMonth.CLIENT_ID);
+            request.setVendorId(SyntheticMonth.VENDOR_ID);
+            request.setBillingMonth(SyntheticMonth.MONTH);
+
+            SyntheticMonth.StubTripServiceClient client =
+                new SyntheticMonth.StubTripServiceClient(trips, SyntheticMonth.aggregate(trips, model));
+            service = new BillingCalculationService(
+                client, null, null, new SyntheticMonth.StubRunningTotalsService(client), new SimpleMeterRegistry());
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class Priced {
+
+        BillingCalculationService service;
+        BillingCalculationResponse response;
+
+        @Setup(Level.Trial)
+        public void setUp() {
+            service = new BillingCalculationService(null, null, null, null, new SimpleMeterRegistry());
+            response = new BillingCalculationResponse();
+            response.setTotalCost(new BigDecimal("187654.35"));
+        }
+    }
+
+    @Benchmark
+    public BillingCalculationResponse foldAndPrice(Month month) {
+        TripTotals totals = new TripTotals(month.model);
+        for (TripData trip : month.trips) {
+            totals.add(trip);
+        }
+
+        BillingCalculationResponse response;
+        switch (month.modelType) {
+            case "TRIP":
+                response = month.service.calculateTripModel(totals, month.model, month.request);
+                break;
+            case "PACKAGE":
+                response = month.service.calculatePackageModel(totals, month.model, month.request);
+                break;
+            default:
+                response = month.service.calculateHybridModel(totals, month.model, month.request);
+                break;
+        }
+        month.service.applyTaxes(response);
+        return response;
+    }
+
+    @Benchmark
+    public TripTotals foldColumnar(Month month) {
+        TripTotals totals = new TripTotals(month.model);
+        totals.add(month.batch);
+        return totals;
+    }
+
+    @Benchmark
+    public TripTotals foldColumnarForkJoin(Month month) {
+        TripTotals totals = new TripTotals(month.model);
+        totals.add(month.batch, ForkJoinPool.commonPool(), 16384);
+        return totals;
+    }
+
+    @Benchmark
+    public BillingCalculationResponse calculateBilling(Month month) {
+        return month.service.calculateBilling(month.request, month.model);
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public BillingCalculationResponse applyTaxes(Priced priced) {
+        priced.service.applyTaxes(priced.response);
+        return priced.response;
+    }
+}
@@ -0,0 +1,141 @@
+package com.pm.billingservice.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.pm.billingservice.client.BillingModelCache;
+import com.pm.billingservice.client.BillingModelData;
+import com.pm.billingservice.client.TripIncentiveSink;
+import com.pm.billingservice.client.TripServiceClient;
+import com.pm.billingservice.service.IncentiveCalculationService.EmployeeIncentiveResponse;
+import org.openjdk.jmh.annotations.*;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.UUID;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JMH benchmark for the monthly employee incentive engine
+ * Run with: mvn -P jmh test-compile exec:exec -Djmh.args="EmployeeIncentiveBenchmark"
+ *
+ * - calculateMonthlyIncentives: a whole client month (employees x tripsPerEmployee trips over
+ *   four vendors) streamed from an in-memory Trip Service stand-in, folded per employee and
+ *   priced. Sequential is the fold on the decoding thread only; parallel uses a fold pool sized
+ *   to the machine.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx2g"})
+public class EmployeeIncentiveBenchmark {
+
+    @State(Scope.Benchmark)
+    public static class Tenant {
+
+        @Param({"1000", "20000"})
+        int employees;
+
+        @Param({"44"})
+        int tripsPerEmployee;
+
+        @Param({"false", "true"})
+        boolean parallel;
+
+        EmployeeIncentiveEngine engine;
+        ForkJoinPool pool;
+
+        @Setup(Level.Trial)
+        public void setUp() {
+            pool = new ForkJoinPool(parallel ? Runtime.getRuntime().availableProcessors() : 1);
+            engine = new EmployeeIncentiveEngine(
+                new StubTripServiceClient(employees, tripsPerEmployee, 42L),
+                new StubBillingModelCache(),
+                new IncentiveCalculationService(),
+                pool);
+        }
+
+        @TearDown(Level.Trial)
+        public void tearDown() {
+            pool.shutdown();
+        }
+    }
+
+    @Benchmark
+    public List<EmployeeIncentiveResponse> calculateMonthlyIncentives(Tenant tenant) {
+        return tenant.engine.calculateMonthlyIncentives(SyntheticMonth.CLIENT_ID, SyntheticMonth.MONTH);
+    }
+
+    /**
+     * Trip Service stand-in: replays a deterministic month of completed trips, employees interleaved
+     * the way trips arrive in start-time order
+     */
+    static final class StubTripServiceClient extends TripServiceClient {
+
+        private static final int VENDORS = 4;
+
+        private final UUID[] employeeIds;
+        private final UUID[] vendorIds;
+        private final int[] employee;
+        private final int[] vendor;
+        private final BigDecimal[] durationHours;
+        private final boolean[] lateNight;
+        private final boolean[] weekend;
+
+        StubTripServiceClient(int employees, int tripsPerEmployee, long seed) {
+            super(null, new ObjectMapper(), null);
+            SplittableRandom random = new SplittableRandom(seed);
+            employeeIds = new UUID[employees];
+            for (int i = 0; i < employees; i++) {
+                employeeIds[i] = new UUID(seed, i);
+            }
+            vendorIds = new UUID[VENDORS];
+            for (int i = 0; i < VENDORS; i++) {
+                vendorIds[i] = new UUID(seed + 1, i);
+            }
+
+            int trips = employees * tripsPerEmployee;
+            employee = new int[trips];
+            vendor = new int[trips];
+            durationHours = new BigDecimal[trips];
+            lateNight = new boolean[trips];
+            weekend = new boolean[trips];
+            for (int i = 0; i < trips; i++) {
+                employee[i] = random.nextInt(employees);
+                vendor[i] = random.nextInt(VENDORS);
+                // 0.25 - 3.00 h
+                durationHours[i] = BigDecimal.valueOf(25 + random.nextInt(276), 2);
+                lateNight[i] = random.nextInt(100) < 30;
+                weekend[i] = random.nextInt(7) >= 5;
+            }
+        }
+
+        @Override
+        public long streamIncentiveRecords(UUID clientId, YearMonth month, TripIncentiveSink sink) {
+            for (int i = 0; i < employee.length; i++) {
+                sink.accept(employeeIds[employee[i]], vendorIds[vendor[i]], durationHours[i], lateNight[i], weekend[i]);
+            }
+            return employee.length;
+        }
+    }
+
+    /**
+     * Every pair has the seeded TRIP model's standard limits
+     */
+    static final class StubBillingModelCache extends BillingModelCache {
+
+        private final BillingModelData model = SyntheticMonth.model("TRIP");
+
+        StubBillingModelCache() {
+            super(null, Duration.ZERO, 1);
+        }
+
+        @Override
+        public BillingModelData get(UUID clientId, UUID vendorId) {
+            return model;
+        }
+    }
+}
@@ -0,0 +1,180 @@
+package com.pm.billingservice.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.pm.billingservice.client.BillingModelData;
+import com.pm.billingservice.client.TripAggregateData;
+import com.pm.billingservice.client.TripData;
+import com.pm.billingservice.client.TripQuantitySink;
+import com.pm.billingservice.client.TripServiceClient;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.util.SplittableRandom;
+import java.util.UUID;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+
+/**
+ * Deterministic month of trips and billing models for the benchmarks.
+ * Distances and durations carry two decimals like the trips table, and about 5% of trips
+ * are not yet completed (no distance/duration), as in a live month.
+ * Rates mirror the seeded billing models in trip-service data.sql.
+ */
+final class SyntheticMonth {
+
+    static final YearMonth MONTH = YearMonth.of(2025, 1);
+    static final UUID CLIENT_ID = UUID.fromString("a1111111-1111-1111-1111-111111111111");
+    static final UUID VENDOR_ID = UUID.fromString("11111111-1111-1111-1111-111111111111");
+
+    private SyntheticMonth() {
+    }
+
+    static TripData[] trips(int count, long seed) {
+        SplittableRandom random = new SplittableRandom(seed);
+        Instant monthStart = MONTH.atDay(1).atStartOfDay().toInstant(ZoneOffset.UTC);
+        long monthSeconds = MONTH.lengthOfMonth() * 86_400L;
+
+        TripData[] trips = new TripData[count];
+        for (int i = 0; i < count; i++) {
+            TripData trip = new TripData();
+            trip.setId(new UUID(seed, i));
+            trip.setTripStartTime(monthStart.plusSeconds(random.nextLong(monthSeconds)));
+            if (random.nextInt(100) >= 5) {
+                // 2.00 - 40.00 km, 0.25 - 3.00 h
+                trip.setDistanceKm(BigDecimal.valueOf(200 + random.nextInt(3801), 2));
+                trip.setDurationHours(BigDecimal.valueOf(25 + random.nextInt(276), 2));
+            }
+            trips[i] = trip;
+        }
+        return trips;
+    }
+
+    static BillingModelData model(String modelType) {
+        BillingModelData model = new BillingModelData();
+        model.setClientId(CLIENT_ID);
+        model.setVendorId(VENDOR_ID);
+        model.setModelType(modelType);
+        model.setExtraKmRate(new BigDecimal("25.00"));
+        model.setExtraHourRate(new BigDecimal("50.00"));
+        model.setStandardTripKm(new BigDecimal("15.00"));
+        model.setStandardTripHours(new BigDecimal("1.00"));
+        switch (modelType) {
+            case "TRIP":
+                model.setRatePerTrip(new BigDecimal("300.00"));
+                model.setRatePerKm(new BigDecimal("20.00"));
+                break;
+            case "PACKAGE":
+                model.setPackageMonthlyRate(new BigDecimal("150000.00"));
+                model.setPackageTripsIncluded(500);
+                model.setPackageKmsIncluded(new BigDecimal("7500.00"));
+                model.setExtraTripRate(new BigDecimal("280.00"));
+                break;
+            case "HYBRID":
+                model.setPackageMonthlyRate(new BigDecimal("100000.00"));
+                model.setPackageTripsIncluded(300);
+                model.setPackageKmsIncluded(new BigDecimal("4500.00"));
+                model.setRatePerTrip(new BigDecimal("250.00"));
+                model.setRatePerKm(new BigDecimal("18.00"));
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown billing model type: " + modelType);
+        }
+        return model;
+    }
+
+    /**
+     * The whole month as one columnar batch
+     */
+    static TripBatch batch(TripData[] trips) {
+        TripBatch batch = new TripBatch(trips.length);
+        for (TripData trip : trips) {
+            batch.add(trip.getDistanceKm(), trip.getDurationHours());
+        }
+        return batch;
+    }
+
+    /**
+     * What Trip Service's aggregate endpoint would answer for these trips
+     */
+    static TripAggregateData aggregate(TripData[] trips, BillingModelData model) {
+        TripTotals totals = new TripTotals(model);
+        for (TripData trip : trips) {
+            totals.add(trip);
+        }
+        TripAggregateData aggregate = new TripAggregateData();
+        aggregate.setTripCount(totals.getTotalTrips());
+        aggregate.setTotalDistanceKm(totals.getTotalDistance());
+        aggregate.setTotalDurationHours(totals.getTotalHours());
+        aggregate.setExtraKm(totals.getExtraKm());
+        aggregate.setExtraHours(totals.getExtraHours());
+        return aggregate;
+    }
+
+    /**
+     * Trip Service stand-in: replays the generated trips in memory instead of over HTTP
+     */
+    static final class StubTripServiceClient extends TripServiceClient {
+
+        private final TripData[] trips;
+        private final TripAggregateData aggregate;
+
+        StubTripServiceClient(TripData[] trips, TripAggregateData aggregate) {
+            super(null, new ObjectMapper(), null);
+            this.trips = trips;
+            this.aggregate = aggregate;
+        }
+
+        @Override
+        public long streamTrips(UUID clientId, UUID vendorId, YearMonth month, Consumer<TripData> consumer) {
+            for (TripData trip : trips) {
+                consumer.accept(trip);
+            }
+            return trips.length;
+        }
+
+        @Override
+        public long streamTripQuantities(
+                UUID clientId, UUID vendorId, YearMonth month, BiConsumer<BigDecimal, BigDecimal> consumer) {
+            for (TripData trip : trips) {
+                consumer.accept(trip.getDistanceKm(), trip.getDurationHours());
+            }
+            return trips.length;
+        }
+
+        @Override
+        public long streamTripQuantities(UUID clientId, UUID vendorId, YearMonth month, TripQuantitySink sink) {
+            for (TripData trip : trips) {
+                sink.accept(trip.getDistanceKm(), trip.getDurationHours());
+            }
+            return trips.length;
+        }
+
+        @Override
+        public TripAggregateData fetchTripAggregate(
+                UUID clientId, UUID vendorId, YearMonth month,
+                BigDecimal standardTripKm, BigDecimal standardTripHours, long settledThroughEventId) {
+            return aggregate;
+        }
+    }
+
+    /**
+     * Running totals stand-in: every month is read straight from the stub's aggregate, no database
+     */
+    static final class StubRunningTotalsService extends RunningTotalsService {
+
+        private final TripServiceClient client;
+
+        StubRunningTotalsService(TripServiceClient client) {
+            super(client, null, null, null, null);
+            this.client = client;
+        }
+
+        @Override
+        public TripAggregateData totals(UUID clientId, UUID vendorId, YearMonth month, BillingModelData model) {
+            return client.fetchTripAggregate(
+                clientId, vendorId, month, model.getStandardTripKm(), model.getStandardTripHours(), 0L);
+        }
+    }
+}
@@ -0,0 +1,159 @@
+package com.pm.billingservice.client;
+
+import com.pm.billingservice.dto.CacheStatsResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Bounded cache of parsed billing models keyed by (clientId, vendorId).
+ * - Size: least-recently-used entries are evicted beyond max-size
+ * - TTL: an entry older than ttl is revalidated with If-None-Match; an unchanged model costs
+ *   a bodiless 304 and is kept, a changed one is replaced
+ * Billing models change rarely, so the REST hop disappears from the billing hot path.
+ */
+@Component
+public class BillingModelCache {
+
+    private final TripServiceClient tripServiceClient;
+    private final long ttlNanos;
+    private final int maxSize;
+
+    private final Map<Key, Entry> entries;
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong revalidations = new AtomicLong();
+    private final AtomicLong reloads = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+
+    public BillingModelCache(
+            TripServiceClient tripServiceClient,
+            @Value("${billing.model-cache.ttl:PT10M}") Duration ttl,
+            @Value("${billing.model-cache.max-size:10000}") int maxSize) {
+        this.tripServiceClient = tripServiceClient;
+        this.ttlNanos = ttl.toNanos();
+        this.maxSize = maxSize;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, Entry> eldest) {
+                if (size() > BillingModelCache.this.maxSize) {
+                    evictions.incrementAndGet();
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    /**
+     * Billing model for the pair, from cache when fresh
+     * Time Complexity: O(1); a REST call only on miss or after the TTL
+     */
+    public BillingModelData get(UUID clientId, UUID vendorId) {
+        Key key = new Key(clientId, vendorId);
+        Entry entry;
+        synchronized (entries) {
+            entry = entries.get(key);
+        }
+
+        long now = System.nanoTime();
+        if (entry != null && now - entry.loadedAt < ttlNanos) {
+            hits.incrementAndGet();
+            return entry.model;
+        }
+
+        // Miss or expired: fetch outside the lock, conditionally if we still hold a version
+        VersionedBillingModel fetched = tripServiceClient.fetchBillingModelIfChanged(
+            clientId, vendorId, entry != null ? entry.etag : null);
+
+        Entry fresh;
+        if (entry == null) {
+            misses.incrementAndGet();
+            fresh = new Entry(fetched.getModel(), fetched.getEtag(), now);
+        } else if (fetched == null) {
+            revalidations.incrementAndGet();
+            fresh = new Entry(entry.model, entry.etag, now);
+        } else {
+            reloads.incrementAndGet();
+            fresh = new Entry(fetched.getModel(), fetched.getEtag(), now);
+        }
+
+        synchronized (entries) {
+            entries.put(key, fresh);
+        }
+        return fresh.model;
+    }
+
+    /**
+     * Drop one pair, e.g. after its billing model was changed
+     */
+    public void invalidate(UUID clientId, UUID vendorId) {
+        synchronized (entries) {
+            entries.remove(new Key(clientId, vendorId));
+        }
+    }
+
+    public void invalidateAll() {
+        synchronized (entries) {
+            entries.clear();
+        }
+    }
+
+    public CacheStatsResponse stats() {
+        CacheStatsResponse stats = new CacheStatsResponse();
+        synchronized (entries) {
+            stats.setSize(entries.size());
+        }
+        stats.setMaxSize(maxSize);
+        stats.setHits(hits.get());
+        stats.setMisses(misses.get());
+        stats.setRevalidations(revalidations.get());
+        stats.setReloads(reloads.get());
+        stats.setEvictions(evictions.get());
+        long lookups = hits.get() + misses.get() + revalidations.get() + reloads.get();
+        stats.setHitRatio(lookups == 0 ? 0.0 : (double) hits.get() / lookups);
+        return stats;
+    }
+
+    private static final class Key {
+        private final UUID clientId;
+        private final UUID vendorId;
+
+        private Key(UUID clientId, UUID vendorId) {
+            this.clientId = clientId;
+            this.vendorId = vendorId;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof Key)) return false;
+            Key other = (Key) o;
+            return clientId.equals(other.clientId) && vendorId.equals(other.vendorId);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(clientId, vendorId);
+        }
+    }
+
+    private static final class Entry {
+        private final BillingModelData model;
+        private final String etag;
+        private final long loadedAt;
+
+        private Entry(BillingModelData model, String etag, long loadedAt) {
+            this.model = model;
+            this.etag = etag;
+            this.loadedAt = loadedAt;
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package com.pm.billingservice.client;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+/**
+ * Parsed billing model (rates and limits) for a client-vendor pair.
+ */
+public class BillingModelData {
+    private UUID clientId;
+    private UUID vendorId;
+    private String modelType;
+    private BigDecimal ratePerTrip;
+    private BigDecimal ratePerKm;
+    private BigDecimal packageMonthlyRate;
+    private Integer packageTripsIncluded;
+    private BigDecimal packageKmsIncluded;
+    private BigDecimal extraTripRate;
+    private BigDecimal extraKmRate;
+    private BigDecimal extraHourRate;
+    private BigDecimal standardTripKm;
+    private BigDecimal standardTripHours;
+    
+    // Getters and Setters
+    public UUID getClientId() { return clientId; }
+    public void setClientId(UUID clientId) { this.clientId = clientId; }
+    public UUID getVendorId() { return vendorId; }
+    public void setVendorId(UUID vendorId) { this.vendorId = vendorId; }
+    public String getModelType() { return modelType; }
+    public void setModelType(String modelType) { this.modelType = modelType; }
+    public BigDecimal getRatePerTrip() { return ratePerTrip; }
+    public void setRatePerTrip(BigDecimal ratePerTrip) { this.ratePerTrip = ratePerTrip; }
+    public BigDecimal getRatePerKm() { return ratePerKm; }
+    public void setRatePerKm(BigDecimal ratePerKm) { this.ratePerKm = ratePerKm; }
+    public BigDecimal getPackageMonthlyRate() { return packageMonthlyRate; }
+    public void setPackageMonthlyRate(BigDecimal packageMonthlyRate) { this.packageMonthlyRate = packageMonthlyRate; }
+    public Integer getPackageTripsIncluded() { return packageTripsIncluded; }
+    public void setPackageTripsIncluded(Integer packageTripsIncluded) { this.packageTripsIncluded = packageTripsIncluded; }
+    public BigDecimal getPackageKmsIncluded() { return packageKmsIncluded; }
+    public void setPackageKmsIncluded(BigDecimal packageKmsIncluded) { this.packageKmsIncluded = packageKmsIncluded; }
+    public BigDecimal getExtraTripRate() { return extraTripRate; }
+    public void setExtraTripRate(BigDecimal extraTripRate) { this.extraTripRate = extraTripRate; }
+    public BigDecimal getExtraKmRate() { return extraKmRate; }
+    public void setExtraKmRate(BigDecimal extraKmRate) { this.extraKmRate = extraKmRate; }
+    public BigDecimal getExtraHourRate() { return extraHourRate; }
+    public void setExtraHourRate(BigDecimal extraHourRate) { this.extraHourRate = extraHourRate; }
+    public BigDecimal getStandardTripKm() { return standardTripKm; }
+    public void setStandardTripKm(BigDecimal standardTripKm) { this.standardTripKm = standardTripKm; }
+    public BigDecimal getStandardTripHours() { return standardTripHours; }
+    public void setStandardTripHours(BigDecimal standardTripHours) { this.standardTripHours = standardTripHours; }
+}
@@ -0,0 +1,66 @@
+package com.pm.billingservice.client;
+
+import com.pm.billingservice.exception.DirectoryServiceUnavailableException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestTemplate;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Display names of clients and vendors for reports.
+ * One list call per directory instead of one lookup per id. A directory that cannot be read fails
+ * the report (DirectoryServiceUnavailableException); only an id missing from a directory that did
+ * answer falls back to the id.
+ */
+@Component
+public class DirectoryServiceClient {
+
+    private static final Logger log = LoggerFactory.getLogger(DirectoryServiceClient.class);
+
+    @Value("${client.service.url:http://localhost:4010}")
+    private String clientServiceUrl;
+
+    @Value("${vendor.service.url:http://localhost:4015}")
+    private String vendorServiceUrl;
+
+    private final RestTemplate restTemplate;
+
+    public DirectoryServiceClient(RestTemplate interServiceRestTemplate) {
+        this.restTemplate = interServiceRestTemplate;
+    }
+
+    public Map<UUID, String> fetchClientNames() {
+        return fetchNames(clientServiceUrl + "/clients");
+    }
+
+    public Map<UUID, String> fetchVendorNames() {
+        return fetchNames(vendorServiceUrl + "/vendors");
+    }
+
+    public Map<UUID, String> fetchVendorNamesForClient(UUID clientId) {
+        return fetchNames(vendorServiceUrl + "/vendors/client/" + clientId);
+    }
+
+    private Map<UUID, String> fetchNames(String url) {
+        Map<UUID, String> names = new HashMap<>();
+        try {
+            Map<String, Object>[] entries = restTemplate.getForObject(url, Map[].class);
+            if (entries != null) {
+                for (Map<String, Object> entry : entries) {
+                    if (entry.get("id") != null && entry.get("name") != null) {
+                        names.put(UUID.fromString(entry.get("id").toString()), entry.get("name").toString());
+                    }
+                }
+            }
+        } catch (Exception e) {
+            log.error("Error fetching names from {}", url, e);
+            throw new DirectoryServiceUnavailableException("Could not fetch names from " + url + ": " + e.getMessage(), e);
+        }
+        return names;
+    }
+}
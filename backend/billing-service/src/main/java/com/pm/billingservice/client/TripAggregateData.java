@@ -0,0 +1,31 @@
+package com.pm.billingservice.client;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+
+import java.math.BigDecimal;
+
+/**
+ * Server-side billing totals for a client-vendor month as returned by Trip Service.
+ */
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class TripAggregateData {
+    private long tripCount;
+    private BigDecimal totalDistanceKm;
+    private BigDecimal totalDurationHours;
+    private BigDecimal extraKm;
+    private BigDecimal extraHours;
+    private Long asOfEventId; // newest trip event already reflected in these totals
+    
+    public long getTripCount() { return tripCount; }
+    public void setTripCount(long tripCount) { this.tripCount = tripCount; }
+    public BigDecimal getTotalDistanceKm() { return totalDistanceKm; }
+    public void setTotalDistanceKm(BigDecimal totalDistanceKm) { this.totalDistanceKm = totalDistanceKm; }
+    public BigDecimal getTotalDurationHours() { return totalDurationHours; }
+    public void setTotalDurationHours(BigDecimal totalDurationHours) { this.totalDurationHours = totalDurationHours; }
+    public BigDecimal getExtraKm() { return extraKm; }
+    public void setExtraKm(BigDecimal extraKm) { this.extraKm = extraKm; }
+    public BigDecimal getExtraHours() { return extraHours; }
+    public void setExtraHours(BigDecimal extraHours) { this.extraHours = extraHours; }
+    public Long getAsOfEventId() { return asOfEventId; }
+    public void setAsOfEventId(Long asOfEventId) { this.asOfEventId = asOfEventId; }
+}
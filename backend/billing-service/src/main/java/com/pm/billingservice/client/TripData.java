@@ -0,0 +1,27 @@
+package com.pm.billingservice.client;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Billing view of a single trip as streamed by Trip Service.
+ */
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class TripData {
+    private UUID id;
+    private Instant tripStartTime;
+    private BigDecimal distanceKm;
+    private BigDecimal durationHours;
+    
+    public UUID getId() { return id; }
+    public void setId(UUID id) { this.id = id; }
+    public Instant getTripStartTime() { return tripStartTime; }
+    public void setTripStartTime(Instant tripStartTime) { this.tripStartTime = tripStartTime; }
+    public BigDecimal getDistanceKm() { return distanceKm; }
+    public void setDistanceKm(BigDecimal distanceKm) { this.distanceKm = distanceKm; }
+    public BigDecimal getDurationHours() { return durationHours; }
+    public void setDurationHours(BigDecimal durationHours) { this.durationHours = durationHours; }
+}
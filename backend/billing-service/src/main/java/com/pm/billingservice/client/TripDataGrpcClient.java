@@ -0,0 +1,132 @@
+package com.pm.billingservice.client;
+
+import com.pm.grpc.trip.v1.ActiveBillingModelsRequest;
+import com.pm.grpc.trip.v1.BillingModel;
+import com.pm.grpc.trip.v1.Decimal;
+import com.pm.grpc.trip.v1.TripDataGrpc;
+import com.pm.grpc.trip.v1.TripQuantityBatch;
+import com.pm.grpc.trip.v1.TripRangeRequest;
+import com.pm.grpc.trip.v1.Uuid;
+import io.grpc.Context;
+import net.devh.boot.grpc.client.inject.GrpcClient;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * gRPC client for Trip Service's trip data channel (common/src/main/proto/trip_data.proto).
+ * Responses are server streams read through the blocking stub: the next message is only
+ * requested once the previous one has been consumed, so a slow fold holds back Trip Service
+ * instead of buffering the month here.
+ */
+@Component
+public class TripDataGrpcClient {
+
+    @GrpcClient("trip-service")
+    private TripDataGrpc.TripDataBlockingStub tripDataStub;
+
+    @Value("${trip.service.grpc.deadline:PT10M}")
+    private Duration deadline = Duration.ofMinutes(10);
+
+    /**
+     * Stream the billable quantities of a month of trips, in trip start order
+     * If the sink throws, the call is cancelled so Trip Service stops reading its cursor.
+     *
+     * @return number of trips delivered to the sink
+     */
+    public long streamTripQuantities(UUID clientId, UUID vendorId, YearMonth month, TripQuantitySink sink) {
+        TripRangeRequest request = TripRangeRequest.newBuilder()
+            .setClientId(toMessage(clientId))
+            .setVendorId(toMessage(vendorId))
+            .setStartEpochDay(month.atDay(1).toEpochDay())
+            .setEndEpochDay(month.atEndOfMonth().toEpochDay())
+            .build();
+
+        Context.CancellableContext call = Context.current().withCancellation();
+        try {
+            return call.call(() -> {
+                long count = 0;
+                Iterator<TripQuantityBatch> batches = stub().streamTripQuantities(request);
+                while (batches.hasNext()) {
+                    TripQuantityBatch batch = batches.next();
+                    int size = batch.getDistanceHundredthsCount();
+                    for (int i = 0; i < size; i++) {
+                        sink.acceptUnscaled(
+                            batch.getDistanceHundredths(i), batch.getDistanceScale(i),
+                            batch.getHoursHundredths(i), batch.getHoursScale(i));
+                    }
+                    count += size;
+                }
+                return count;
+            });
+        } catch (RuntimeException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        } finally {
+            // No-op once the stream has completed
+            call.cancel(null);
+        }
+    }
+
+    /**
+     * Fetch every active billing model, i.e. every billable client-vendor pair
+     */
+    public List<BillingModelData> fetchActiveBillingModels() {
+        List<BillingModelData> models = new ArrayList<>();
+        Iterator<BillingModel> messages = stub().streamActiveBillingModels(ActiveBillingModelsRequest.getDefaultInstance());
+        while (messages.hasNext()) {
+            models.add(toBillingModelData(messages.next()));
+        }
+        return models;
+    }
+
+    private TripDataGrpc.TripDataBlockingStub stub() {
+        return tripDataStub.withDeadlineAfter(deadline.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Absent decimals and counts become zero, as in the REST client, except the standard trip
+     * limits: an absent limit stays null, meaning no overage, as in trip-service
+     */
+    private static BillingModelData toBillingModelData(BillingModel message) {
+        BillingModelData model = new BillingModelData();
+        model.setClientId(toUuid(message.getClientId()));
+        model.setVendorId(toUuid(message.getVendorId()));
+        model.setModelType(message.getModelType());
+        model.setRatePerTrip(message.hasRatePerTrip() ? toBigDecimal(message.getRatePerTrip()) : BigDecimal.ZERO);
+        model.setRatePerKm(message.hasRatePerKm() ? toBigDecimal(message.getRatePerKm()) : BigDecimal.ZERO);
+        model.setPackageMonthlyRate(message.hasPackageMonthlyRate() ? toBigDecimal(message.getPackageMonthlyRate()) : BigDecimal.ZERO);
+        model.setPackageTripsIncluded(message.getPackageTripsIncluded());
+        model.setPackageKmsIncluded(message.hasPackageKmsIncluded() ? toBigDecimal(message.getPackageKmsIncluded()) : BigDecimal.ZERO);
+        model.setExtraTripRate(message.hasExtraTripRate() ? toBigDecimal(message.getExtraTripRate()) : BigDecimal.ZERO);
+        model.setExtraKmRate(message.hasExtraKmRate() ? toBigDecimal(message.getExtraKmRate()) : BigDecimal.ZERO);
+        model.setExtraHourRate(message.hasExtraHourRate() ? toBigDecimal(message.getExtraHourRate()) : BigDecimal.ZERO);
+        model.setStandardTripKm(message.hasStandardTripKm() ? toBigDecimal(message.getStandardTripKm()) : null);
+        model.setStandardTripHours(message.hasStandardTripHours() ? toBigDecimal(message.getStandardTripHours()) : null);
+        return model;
+    }
+
+    private static BigDecimal toBigDecimal(Decimal value) {
+        return BigDecimal.valueOf(value.getUnscaled(), value.getScale());
+    }
+
+    private static Uuid toMessage(UUID id) {
+        return Uuid.newBuilder()
+            .setMostSignificantBits(id.getMostSignificantBits())
+            .setLeastSignificantBits(id.getLeastSignificantBits())
+            .build();
+    }
+
+    private static UUID toUuid(Uuid id) {
+        return new UUID(id.getMostSignificantBits(), id.getLeastSignificantBits());
+    }
+}
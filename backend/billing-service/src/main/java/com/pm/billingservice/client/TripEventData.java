@@ -0,0 +1,32 @@
+package com.pm.billingservice.client;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * One trip change from Trip Service's event feed; before is null for CREATED, after for DELETED.
+ */
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class TripEventData {
+    private long id;
+    private String eventType;
+    private UUID tripId;
+    private Instant occurredAt;
+    private TripSnapshotData before;
+    private TripSnapshotData after;
+    
+    public long getId() { return id; }
+    public void setId(long id) { this.id = id; }
+    public String getEventType() { return eventType; }
+    public void setEventType(String eventType) { this.eventType = eventType; }
+    public UUID getTripId() { return tripId; }
+    public void setTripId(UUID tripId) { this.tripId = tripId; }
+    public Instant getOccurredAt() { return occurredAt; }
+    public void setOccurredAt(Instant occurredAt) { this.occurredAt = occurredAt; }
+    public TripSnapshotData getBefore() { return before; }
+    public void setBefore(TripSnapshotData before) { this.before = before; }
+    public TripSnapshotData getAfter() { return after; }
+    public void setAfter(TripSnapshotData after) { this.after = after; }
+}
@@ -0,0 +1,23 @@
+package com.pm.billingservice.client;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A slice of Trip Service's event feed in id order.
+ */
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class TripEventPageData {
+    private List<TripEventData> events = new ArrayList<>();
+    private Long oldestEventId;
+    private Long latestEventId;
+    
+    public List<TripEventData> getEvents() { return events; }
+    public void setEvents(List<TripEventData> events) { this.events = events; }
+    public Long getOldestEventId() { return oldestEventId; }
+    public void setOldestEventId(Long oldestEventId) { this.oldestEventId = oldestEventId; }
+    public Long getLatestEventId() { return latestEventId; }
+    public void setLatestEventId(Long latestEventId) { this.latestEventId = latestEventId; }
+}
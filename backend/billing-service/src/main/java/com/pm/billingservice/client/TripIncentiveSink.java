@@ -0,0 +1,17 @@
+package com.pm.billingservice.client;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+/**
+ * Receives the incentive view of a client's completed trips, one call per trip.
+ * Late-night and weekend are decided by Trip Service in its own zone, as for the rollups.
+ */
+@FunctionalInterface
+public interface TripIncentiveSink {
+
+    /**
+     * @param durationHours null when Trip Service has no duration for the trip
+     */
+    void accept(UUID employeeId, UUID vendorId, BigDecimal durationHours, boolean lateNight, boolean weekend);
+}
@@ -0,0 +1,16 @@
+package com.pm.billingservice.client;
+
+import java.math.BigDecimal;
+
+/**
+ * Receives the billable quantities of a stream of trips, one call per trip.
+ * The REST feed delivers decoded decimals; the gRPC channel delivers hundredths as they
+ * arrived on the wire, so no BigDecimal is built per trip. Either way a trip that is not
+ * completed has no quantities (null, or 0 with scale 0).
+ */
+public interface TripQuantitySink {
+
+    void accept(BigDecimal distanceKm, BigDecimal durationHours);
+
+    void acceptUnscaled(long distanceHundredths, int distanceScale, long hoursHundredths, int hoursScale);
+}
@@ -0,0 +1,53 @@
+package com.pm.billingservice.client;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+
+import java.math.BigDecimal;
+
+/**
+ * One group of pre-aggregated completed-trip totals as returned by Trip Service rollups.
+ * groupKey is the client/vendor/employee id, department or date the row is grouped by ("ALL" for totals).
+ */
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class TripRollupData {
+    private String groupKey;
+    private long tripCount;
+    private BigDecimal distanceKm = BigDecimal.ZERO;
+    private BigDecimal durationHours = BigDecimal.ZERO;
+    private BigDecimal extraHours = BigDecimal.ZERO;
+    private long morningTrips;
+    private long eveningTrips;
+    private long lateNightTrips;
+    private long peakHourTrips;
+    private long weekendTrips;
+    private long employeeCount;
+    private long vendorCount;
+    private long clientCount;
+    
+    public String getGroupKey() { return groupKey; }
+    public void setGroupKey(String groupKey) { this.groupKey = groupKey; }
+    public long getTripCount() { return tripCount; }
+    public void setTripCount(long tripCount) { this.tripCount = tripCount; }
+    public BigDecimal getDistanceKm() { return distanceKm; }
+    public void setDistanceKm(BigDecimal distanceKm) { this.distanceKm = distanceKm; }
+    public BigDecimal getDurationHours() { return durationHours; }
+    public void setDurationHours(BigDecimal durationHours) { this.durationHours = durationHours; }
+    public BigDecimal getExtraHours() { return extraHours; }
+    public void setExtraHours(BigDecimal extraHours) { this.extraHours = extraHours; }
+    public long getMorningTrips() { return morningTrips; }
+    public void setMorningTrips(long morningTrips) { this.morningTrips = morningTrips; }
+    public long getEveningTrips() { return eveningTrips; }
+    public void setEveningTrips(long eveningTrips) { this.eveningTrips = eveningTrips; }
+    public long getLateNightTrips() { return lateNightTrips; }
+    public void setLateNightTrips(long lateNightTrips) { this.lateNightTrips = lateNightTrips; }
+    public long getPeakHourTrips() { return peakHourTrips; }
+    public void setPeakHourTrips(long peakHourTrips) { this.peakHourTrips = peakHourTrips; }
+    public long getWeekendTrips() { return weekendTrips; }
+    public void setWeekendTrips(long weekendTrips) { this.weekendTrips = weekendTrips; }
+    public long getEmployeeCount() { return employeeCount; }
+    public void setEmployeeCount(long employeeCount) { this.employeeCount = employeeCount; }
+    public long getVendorCount() { return vendorCount; }
+    public void setVendorCount(long vendorCount) { this.vendorCount = vendorCount; }
+    public long getClientCount() { return clientCount; }
+    public void setClientCount(long clientCount) { this.clientCount = clientCount; }
+}
@@ -0,0 +1,406 @@
+package com.pm.billingservice.client;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestTemplate;
+import org.springframework.web.util.UriComponentsBuilder;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+
+/**
+ * REST client for the Trip Service endpoints used by billing.
+ * With trip.service.grpc.enabled, trip quantities and active billing models come over the
+ * gRPC channel ({@link TripDataGrpcClient}) instead.
+ */
+@Component
+public class TripServiceClient {
+
+    private static final MediaType APPLICATION_NDJSON = MediaType.parseMediaType("application/x-ndjson");
+
+    @Value("${trip.service.url:http://localhost:4020}")
+    private String tripServiceUrl;
+
+    private final RestTemplate restTemplate;
+
+    private final ObjectReader tripReader;
+
+    private final JsonFactory jsonFactory;
+
+    private final TripDataGrpcClient tripDataGrpcClient;
+
+    @Value("${trip.service.grpc.enabled:false}")
+    private boolean grpcEnabled;
+
+    public TripServiceClient(
+            RestTemplate interServiceRestTemplate, ObjectMapper objectMapper, TripDataGrpcClient tripDataGrpcClient) {
+        this.restTemplate = interServiceRestTemplate;
+        this.tripReader = objectMapper.readerFor(TripData.class);
+        this.jsonFactory = objectMapper.getFactory();
+        this.tripDataGrpcClient = tripDataGrpcClient;
+    }
+
+    /**
+     * Stream a month of trips for a client-vendor pair.
+     * Trip Service answers with NDJSON; each line is decoded and handed to the consumer
+     * as soon as it arrives, so only one trip is held in memory at a time.
+     *
+     * @return number of trips delivered to the consumer
+     */
+    public long streamTrips(UUID clientId, UUID vendorId, YearMonth month, Consumer<TripData> consumer) {
+        Long delivered = restTemplate.execute(
+            streamUrl(clientId, vendorId, month),
+            HttpMethod.GET,
+            request -> request.getHeaders().setAccept(List.of(APPLICATION_NDJSON)),
+            response -> {
+                long count = 0;
+                try (MappingIterator<TripData> trips = tripReader.readValues(response.getBody())) {
+                    while (trips.hasNextValue()) {
+                        consumer.accept(trips.nextValue());
+                        count++;
+                    }
+                }
+                return count;
+            }
+        );
+        return delivered != null ? delivered : 0L;
+    }
+
+    /**
+     * Stream only the billable quantities of a month of trips: (distanceKm, durationHours) per trip,
+     * either null for a trip that is not completed.
+     * Same feed as {@link #streamTrips}, but read token by token: the id and start time are skipped
+     * without being decoded, so no TripData, UUID or Instant is built per trip.
+     *
+     * @return number of trips delivered to the consumer
+     */
+    public long streamTripQuantities(
+            UUID clientId, UUID vendorId, YearMonth month, BiConsumer<BigDecimal, BigDecimal> consumer) {
+        Long delivered = restTemplate.execute(
+            streamUrl(clientId, vendorId, month),
+            HttpMethod.GET,
+            request -> request.getHeaders().setAccept(List.of(APPLICATION_NDJSON)),
+            response -> {
+                long count = 0;
+                try (JsonParser parser = jsonFactory.createParser(response.getBody())) {
+                    while (parser.nextToken() == JsonToken.START_OBJECT) {
+                        BigDecimal distanceKm = null;
+                        BigDecimal durationHours = null;
+                        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                            String field = parser.currentName();
+                            JsonToken value = parser.nextToken();
+                            if ("distanceKm".equals(field)) {
+                                distanceKm = value == JsonToken.VALUE_NULL ? null : parser.getDecimalValue();
+                            } else if ("durationHours".equals(field)) {
+                                durationHours = value == JsonToken.VALUE_NULL ? null : parser.getDecimalValue();
+                            } else {
+                                parser.skipChildren();
+                            }
+                        }
+                        consumer.accept(distanceKm, durationHours);
+                        count++;
+                    }
+                }
+                return count;
+            }
+        );
+        return delivered != null ? delivered : 0L;
+    }
+
+    /**
+     * Stream only the billable quantities of a month of trips into the sink.
+     * Over gRPC the quantities arrive as hundredths and reach the sink without any decimal
+     * parsing; otherwise this is {@link #streamTripQuantities(UUID, UUID, YearMonth, BiConsumer)}.
+     *
+     * @return number of trips delivered to the sink
+     */
+    public long streamTripQuantities(UUID clientId, UUID vendorId, YearMonth month, TripQuantitySink sink) {
+        if (useGrpc()) {
+            return tripDataGrpcClient.streamTripQuantities(clientId, vendorId, month, sink);
+        }
+        return streamTripQuantities(clientId, vendorId, month, sink::accept);
+    }
+
+    /**
+     * Stream every completed trip of a client's month (all vendors and employees) into the sink.
+     * Read token by token like {@link #streamTripQuantities(UUID, UUID, YearMonth, BiConsumer)};
+     * only the two ids and the duration are decoded per trip.
+     *
+     * @return number of trips delivered to the sink
+     */
+    public long streamIncentiveRecords(UUID clientId, YearMonth month, TripIncentiveSink sink) {
+        String url = String.format(
+            "%s/trips/client/%s/incentive-stream?startDate=%s&endDate=%s",
+            tripServiceUrl,
+            clientId.toString(),
+            month.atDay(1).toString(),
+            month.atEndOfMonth().toString()
+        );
+
+        Long delivered = restTemplate.execute(
+            url,
+            HttpMethod.GET,
+            request -> request.getHeaders().setAccept(List.of(APPLICATION_NDJSON)),
+            response -> {
+                long count = 0;
+                try (JsonParser parser = jsonFactory.createParser(response.getBody())) {
+                    while (parser.nextToken() == JsonToken.START_OBJECT) {
+                        UUID employeeId = null;
+                        UUID vendorId = null;
+                        BigDecimal durationHours = null;
+                        boolean lateNight = false;
+                        boolean weekend = false;
+                        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                            String field = parser.currentName();
+                            JsonToken value = parser.nextToken();
+                            if (value == JsonToken.VALUE_NULL) {
+                                continue;
+                            }
+                            if ("employeeId".equals(field)) {
+                                employeeId = UUID.fromString(parser.getText());
+                            } else if ("vendorId".equals(field)) {
+                                vendorId = UUID.fromString(parser.getText());
+                            } else if ("durationHours".equals(field)) {
+                                durationHours = parser.getDecimalValue();
+                            } else if ("lateNight".equals(field)) {
+                                lateNight = parser.getBooleanValue();
+                            } else if ("weekend".equals(field)) {
+                                weekend = parser.getBooleanValue();
+                            } else {
+                                parser.skipChildren();
+                            }
+                        }
+                        sink.accept(employeeId, vendorId, durationHours, lateNight, weekend);
+                        count++;
+                    }
+                }
+                return count;
+            }
+        );
+        return delivered != null ? delivered : 0L;
+    }
+
+    private boolean useGrpc() {
+        return grpcEnabled && tripDataGrpcClient != null;
+    }
+
+    private String streamUrl(UUID clientId, UUID vendorId, YearMonth month) {
+        LocalDate startDate = month.atDay(1);
+        LocalDate endDate = month.atEndOfMonth();
+
+        return String.format(
+            "%s/trips/client/%s/vendor/%s/stream?startDate=%s&endDate=%s",
+            tripServiceUrl,
+            clientId.toString(),
+            vendorId.toString(),
+            startDate.toString(),
+            endDate.toString()
+        );
+    }
+
+    /**
+     * Fetch server-side billing totals for a month.
+     * One small response instead of a row per trip; the overage is measured against the given standard limits
+     * (none against a null one).
+     * The totals are as of the settled event frontier (asOfEventId), never below settledThroughEventId,
+     * a feed position the caller has already reached.
+     */
+    public TripAggregateData fetchTripAggregate(
+            UUID clientId, UUID vendorId, YearMonth month,
+            BigDecimal standardTripKm, BigDecimal standardTripHours, long settledThroughEventId) {
+        LocalDate startDate = month.atDay(1);
+        LocalDate endDate = month.atEndOfMonth();
+
+        // A limit the model leaves unset is omitted: no overage against it
+        String url = String.format(
+            "%s/trips/client/%s/vendor/%s/aggregate?startDate=%s&endDate=%s&settledThroughEventId=%d%s%s",
+            tripServiceUrl,
+            clientId.toString(),
+            vendorId.toString(),
+            startDate.toString(),
+            endDate.toString(),
+            settledThroughEventId,
+            standardTripKm != null ? "&standardTripKm=" + standardTripKm.toPlainString() : "",
+            standardTripHours != null ? "&standardTripHours=" + standardTripHours.toPlainString() : ""
+        );
+
+        TripAggregateData aggregate = restTemplate.getForObject(url, TripAggregateData.class);
+        if (aggregate == null) {
+            throw new IllegalStateException("Empty aggregate response from Trip Service");
+        }
+        return aggregate;
+    }
+
+    /**
+     * Read Trip Service's event feed: events with an id greater than afterId, oldest first
+     */
+    public TripEventPageData fetchTripEvents(long afterId, int limit) {
+        String url = UriComponentsBuilder.fromUriString(tripServiceUrl + "/trip-events")
+            .queryParam("after", afterId)
+            .queryParam("limit", limit)
+            .toUriString();
+
+        TripEventPageData page = restTemplate.getForObject(url, TripEventPageData.class);
+        if (page == null) {
+            throw new IllegalStateException("Empty event feed response from Trip Service");
+        }
+        return page;
+    }
+
+    /**
+     * Fetch pre-aggregated completed-trip totals for a month
+     * Optional filters may be null; groupBy is NONE, CLIENT, VENDOR, EMPLOYEE, DEPARTMENT or DATE.
+     * Trip Service answers from its daily rollups, so the cost does not grow with trip volume.
+     */
+    public List<TripRollupData> fetchRollups(
+            YearMonth month, UUID clientId, UUID vendorId, UUID employeeId, String groupBy) {
+        UriComponentsBuilder uri = UriComponentsBuilder.fromUriString(tripServiceUrl + "/trip-rollups")
+            .queryParam("startDate", month.atDay(1))
+            .queryParam("endDate", month.atEndOfMonth())
+            .queryParam("groupBy", groupBy);
+        if (clientId != null) uri.queryParam("clientId", clientId);
+        if (vendorId != null) uri.queryParam("vendorId", vendorId);
+        if (employeeId != null) uri.queryParam("employeeId", employeeId);
+
+        TripRollupData[] rollups = restTemplate.getForObject(uri.toUriString(), TripRollupData[].class);
+        return rollups != null ? List.of(rollups) : List.of();
+    }
+
+    /**
+     * Single totals row of {@link #fetchRollups}
+     */
+    public TripRollupData fetchRollupTotals(YearMonth month, UUID clientId, UUID vendorId, UUID employeeId) {
+        List<TripRollupData> rollups = fetchRollups(month, clientId, vendorId, employeeId, "NONE");
+        return rollups.isEmpty() ? new TripRollupData() : rollups.get(0);
+    }
+
+    /**
+     * Fetch the billing model for a client-vendor pair
+     */
+    public BillingModelData fetchBillingModel(UUID clientId, UUID vendorId) {
+        return fetchBillingModelIfChanged(clientId, vendorId, null).getModel();
+    }
+
+    /**
+     * Conditional fetch of the billing model for a client-vendor pair.
+     * With a known ETag Trip Service answers 304 when the model is unchanged, in which case
+     * null is returned and the caller keeps its copy.
+     */
+    VersionedBillingModel fetchBillingModelIfChanged(UUID clientId, UUID vendorId, String etag) {
+        String url = String.format(
+            "%s/billing-models/client/%s/vendor/%s",
+            tripServiceUrl,
+            clientId.toString(),
+            vendorId.toString()
+        );
+
+        HttpHeaders headers = new HttpHeaders();
+        if (etag != null) {
+            headers.setIfNoneMatch(etag);
+        }
+
+        ResponseEntity<Map> response = restTemplate.exchange(url, HttpMethod.GET, new HttpEntity<>(headers), Map.class);
+
+        if (response.getStatusCode() == HttpStatus.NOT_MODIFIED) {
+            return null;
+        }
+
+        Map<String, Object> modelMap = response.getBody();
+        if (modelMap == null) {
+            throw new IllegalArgumentException("No billing model found for client " + clientId + " and vendor " + vendorId);
+        }
+
+        return new VersionedBillingModel(toBillingModelData(modelMap), response.getHeaders().getETag());
+    }
+
+    /**
+     * Fetch every active billing model, i.e. every billable client-vendor pair
+     */
+    public List<BillingModelData> fetchActiveBillingModels() {
+        if (useGrpc()) {
+            return tripDataGrpcClient.fetchActiveBillingModels();
+        }
+
+        String url = tripServiceUrl + "/billing-models/active";
+
+        Map<String, Object>[] modelMaps = restTemplate.getForObject(url, Map[].class);
+
+        List<BillingModelData> models = new ArrayList<>();
+        if (modelMaps != null) {
+            for (Map<String, Object> modelMap : modelMaps) {
+                models.add(toBillingModelData(modelMap));
+            }
+        }
+        return models;
+    }
+
+    private BillingModelData toBillingModelData(Map<String, Object> modelMap) {
+        BillingModelData model = new BillingModelData();
+        model.setClientId(convertToUuid(modelMap.get("clientId")));
+        model.setVendorId(convertToUuid(modelMap.get("vendorId")));
+        model.setModelType((String) modelMap.get("modelType"));
+
+        // Set all fields with safe conversion
+        model.setRatePerTrip(convertToBigDecimal(modelMap.get("ratePerTrip")));
+        model.setRatePerKm(convertToBigDecimal(modelMap.get("ratePerKm")));
+        model.setPackageMonthlyRate(convertToBigDecimal(modelMap.get("packageMonthlyRate")));
+        model.setPackageTripsIncluded(convertToInteger(modelMap.get("packageTripsIncluded")));
+        model.setPackageKmsIncluded(convertToBigDecimal(modelMap.get("packageKmsIncluded")));
+        model.setExtraTripRate(convertToBigDecimal(modelMap.get("extraTripRate")));
+        model.setExtraKmRate(convertToBigDecimal(modelMap.get("extraKmRate")));
+        model.setExtraHourRate(convertToBigDecimal(modelMap.get("extraHourRate")));
+        // An unset standard limit means no overage, as in trip-service; keep it null
+        model.setStandardTripKm(convertToNullableBigDecimal(modelMap.get("standardTripKm")));
+        model.setStandardTripHours(convertToNullableBigDecimal(modelMap.get("standardTripHours")));
+
+        return model;
+    }
+
+    /**
+     * Helper method to safely convert Object to BigDecimal
+     */
+    private BigDecimal convertToBigDecimal(Object value) {
+        if (value == null) return BigDecimal.ZERO;
+        return new BigDecimal(value.toString());
+    }
+
+    private BigDecimal convertToNullableBigDecimal(Object value) {
+        return value != null ? new BigDecimal(value.toString()) : null;
+    }
+
+    /**
+     * Helper method to safely convert Object to UUID
+     */
+    private UUID convertToUuid(Object value) {
+        if (value == null) return null;
+        return UUID.fromString(value.toString());
+    }
+
+    /**
+     * Helper method to safely convert Object to Integer
+     */
+    private Integer convertToInteger(Object value) {
+        if (value == null) return 0;
+        if (value instanceof Integer) return (Integer) value;
+        return Integer.valueOf(value.toString());
+    }
+}
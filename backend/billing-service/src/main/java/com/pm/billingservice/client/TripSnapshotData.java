@@ -0,0 +1,30 @@
+package com.pm.billingservice.client;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Billing view of a trip at one point in time, as carried by a trip event.
+ */
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class TripSnapshotData {
+    private UUID clientId;
+    private UUID vendorId;
+    private Instant tripStartTime;
+    private BigDecimal distanceKm;
+    private BigDecimal durationHours;
+    
+    public UUID getClientId() { return clientId; }
+    public void setClientId(UUID clientId) { this.clientId = clientId; }
+    public UUID getVendorId() { return vendorId; }
+    public void setVendorId(UUID vendorId) { this.vendorId = vendorId; }
+    public Instant getTripStartTime() { return tripStartTime; }
+    public void setTripStartTime(Instant tripStartTime) { this.tripStartTime = tripStartTime; }
+    public BigDecimal getDistanceKm() { return distanceKm; }
+    public void setDistanceKm(BigDecimal distanceKm) { this.distanceKm = distanceKm; }
+    public BigDecimal getDurationHours() { return durationHours; }
+    public void setDurationHours(BigDecimal durationHours) { this.durationHours = durationHours; }
+}
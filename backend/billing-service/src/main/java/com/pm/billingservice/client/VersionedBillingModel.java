@@ -0,0 +1,17 @@
+package com.pm.billingservice.client;
+
+/**
+ * A billing model together with the ETag Trip Service sent for it.
+ */
+class VersionedBillingModel {
+    private final BillingModelData model;
+    private final String etag;
+
+    VersionedBillingModel(BillingModelData model, String etag) {
+        this.model = model;
+        this.etag = etag;
+    }
+
+    BillingModelData getModel() { return model; }
+    String getEtag() { return etag; }
+}
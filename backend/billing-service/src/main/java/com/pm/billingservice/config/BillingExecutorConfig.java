@@ -0,0 +1,84 @@
+package com.pm.billingservice.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Executors for billing work that runs outside the request thread.
+ * Billing calculations are dominated by blocking calls to Trip Service, so with
+ * spring.threads.virtual.enabled on a JDK with virtual threads (21+) the pools run on virtual
+ * threads; otherwise on named platform threads. Pool sizes are the same in both modes.
+ */
+@Configuration
+public class BillingExecutorConfig {
+
+    @Bean(destroyMethod = "shutdown")
+    public ExecutorService billingRunExecutor(
+            @Value("${billing.run.parallelism:32}") int parallelism,
+            @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads) {
+        ThreadFactory threadFactory = virtualThreads ? virtualThreadFactory("billing-run-") : null;
+        return Executors.newFixedThreadPool(parallelism,
+            threadFactory != null ? threadFactory : namedThreads("billing-run-"));
+    }
+
+    /**
+     * Bounded pool for asynchronous billing jobs (POST /billing/jobs).
+     * Per-client limits are applied before work reaches it; when its queue is full a job
+     * waits in its client's queue for a slot instead of piling up here. In virtual-thread mode the workers are virtual threads,
+     * so a job blocked on Trip Service holds no platform thread; the bound stays the same.
+     */
+    @Bean(destroyMethod = "shutdown")
+    public ExecutorService billingJobExecutor(
+            @Value("${billing.jobs.threads:16}") int threads,
+            @Value("${billing.jobs.queue-capacity:200}") int queueCapacity,
+            @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads) {
+        ThreadFactory threadFactory = virtualThreads ? virtualThreadFactory("billing-job-") : null;
+        return new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(queueCapacity),
+            threadFactory != null ? threadFactory : namedThreads("billing-job-"),
+            new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    /**
+     * CPU-bound pool for splitting the trip fold of very large months.
+     * Kept apart from the common pool so parallel streams elsewhere never compete with it.
+     */
+    @Bean(destroyMethod = "shutdown")
+    public ForkJoinPool billingFoldPool(
+            @Value("${billing.fold.parallelism:#{T(java.lang.Runtime).getRuntime().availableProcessors()}}") int parallelism) {
+        return new ForkJoinPool(parallelism);
+    }
+
+    /**
+     * Thread.ofVirtual().name(prefix, 1).factory(), or null before Java 21
+     */
+    private static ThreadFactory virtualThreadFactory(String prefix) {
+        try {
+            Class<?> builderType = Class.forName("java.lang.Thread$Builder");
+            Object builder = Thread.class.getMethod("ofVirtual").invoke(null);
+            builder = builderType.getMethod("name", String.class, long.class).invoke(builder, prefix, 1L);
+            return (ThreadFactory) builderType.getMethod("factory").invoke(builder);
+        } catch (ReflectiveOperationException e) {
+            return null;
+        }
+    }
+
+    static ThreadFactory namedThreads(String prefix) {
+        AtomicInteger counter = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, prefix + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
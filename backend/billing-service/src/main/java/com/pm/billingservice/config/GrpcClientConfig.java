@@ -0,0 +1,39 @@
+package com.pm.billingservice.config;
+
+import com.pm.common.security.ServiceTokenProvider;
+import io.grpc.CallOptions;
+import io.grpc.Channel;
+import io.grpc.ClientCall;
+import io.grpc.ClientInterceptor;
+import io.grpc.ForwardingClientCall;
+import io.grpc.Metadata;
+import io.grpc.MethodDescriptor;
+import net.devh.boot.grpc.client.interceptor.GrpcGlobalClientInterceptor;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * gRPC calls to Trip Service carry this service's token, like the REST calls
+ */
+@Configuration
+public class GrpcClientConfig {
+
+    private static final Metadata.Key<String> AUTHORIZATION =
+        Metadata.Key.of("authorization", Metadata.ASCII_STRING_MARSHALLER);
+
+    @GrpcGlobalClientInterceptor
+    ClientInterceptor serviceTokenClientInterceptor(ServiceTokenProvider serviceTokenProvider) {
+        return new ClientInterceptor() {
+            @Override
+            public <ReqT, RespT> ClientCall<ReqT, RespT> interceptCall(
+                    MethodDescriptor<ReqT, RespT> method, CallOptions callOptions, Channel next) {
+                return new ForwardingClientCall.SimpleForwardingClientCall<>(next.newCall(method, callOptions)) {
+                    @Override
+                    public void start(Listener<RespT> responseListener, Metadata headers) {
+                        headers.put(AUTHORIZATION, "Bearer " + serviceTokenProvider.token());
+                        super.start(responseListener, headers);
+                    }
+                };
+            }
+        };
+    }
+}
@@ -3,6 +3,7 @@ package com.pm.billingservice.controller;
 import com.pm.billingservice.dto.BillingCalculationRequest;
 import com.pm.billingservice.dto.BillingCalculationResponse;
 import com.pm.billingservice.service.BillingCalculationService;
+import com.pm.billingservice.service.InvoiceService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
@@ -19,19 +20,41 @@ import java.util.UUID;
 @CrossOrigin(origins = "*")
 public class BillingCalculationController {
     
+    @Autowired
+    private InvoiceService invoiceService;
+    
     @Autowired
     private BillingCalculationService billingCalculationService;
     
     @PostMapping
-    @Operation(summary = "Calculate billing", description = "Calculates billing for a client-vendor pair for a given month using the configured billing model (TRIP/PACKAGE/HYBRID)")
-    public ResponseEntity<BillingCalculationResponse> calculateBilling(@Valid @RequestBody BillingCalculationRequest request) {
-        BillingCalculationResponse response = billingCalculationService.calculateBilling(request);
+    @Operation(summary = "Calculate billing", description = "Calculates billing for a client-vendor pair for a given month using the configured billing model (TRIP/PACKAGE/HYBRID). Closed months are served from the stored invoice unless recalculate=true")
+    public ResponseEntity<BillingCalculationResponse> calculateBilling(
+            @Valid @RequestBody BillingCalculationRequest request,
+            @RequestParam(defaultValue = "false") boolean recalculate) {
+        BillingCalculationResponse response = invoiceService.getOrCalculate(request, recalculate);
         return ResponseEntity.ok(response);
     }
     
     @GetMapping("/client/{clientId}/vendor/{vendorId}")
     @Operation(summary = "Calculate billing by IDs", description = "Calculates billing for current month using client and vendor IDs")
     public ResponseEntity<BillingCalculationResponse> calculateBillingByIds(
+            @PathVariable UUID clientId,
+            @PathVariable UUID vendorId,
+            @RequestParam(required = false) String month,
+            @RequestParam(defaultValue = "false") boolean recalculate) {
+        
+        BillingCalculationRequest request = new BillingCalculationRequest();
+        request.setClientId(clientId);
+        request.setVendorId(vendorId);
+        request.setBillingMonth(month != null ? YearMonth.parse(month) : YearMonth.now());
+        
+        BillingCalculationResponse response = invoiceService.getOrCalculate(request, recalculate);
+        return ResponseEntity.ok(response);
+    }
+    
+    @GetMapping("/client/{clientId}/vendor/{vendorId}/preview")
+    @Operation(summary = "Preview running billing", description = "Bill-to-date for a month (default: current month) from the running trip totals, without storing an invoice")
+    public ResponseEntity<BillingCalculationResponse> previewBilling(
             @PathVariable UUID clientId,
             @PathVariable UUID vendorId,
             @RequestParam(required = false) String month) {
@@ -44,5 +67,15 @@ public class BillingCalculationController {
         BillingCalculationResponse response = billingCalculationService.calculateBilling(request);
         return ResponseEntity.ok(response);
     }
+    
+    @PostMapping("/client/{clientId}/vendor/{vendorId}/invalidate")
+    @Operation(summary = "Invalidate stored billing", description = "Marks the stored invoice of a month as stale; trip changes already do this through trip events, this forces it")
+    public ResponseEntity<Void> invalidate(
+            @PathVariable UUID clientId,
+            @PathVariable UUID vendorId,
+            @RequestParam String month) {
+        invoiceService.markStale(clientId, vendorId, YearMonth.parse(month));
+        return ResponseEntity.noContent().build();
+    }
 }
 
@@ -0,0 +1,67 @@
+package com.pm.billingservice.controller;
+
+import com.pm.billingservice.dto.BillingCalculationRequest;
+import com.pm.billingservice.dto.BillingJobResponse;
+import com.pm.billingservice.service.BillingJobService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.async.DeferredResult;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.UUID;
+
+@RestController
+@RequestMapping("/billing/jobs")
+@Tag(name = "Billing Jobs", description = "Asynchronous billing calculations for large months")
+@CrossOrigin(origins = "*")
+public class BillingJobController {
+    
+    @Autowired
+    private BillingJobService billingJobService;
+    
+    @Value("${billing.jobs.max-wait:PT60S}")
+    private Duration maxWait;
+    
+    @PostMapping
+    @Operation(summary = "Submit billing calculation", description = "Queues the same calculation as POST /billing/calculate and returns its job handle immediately. Responds 429 when the client already has too many jobs waiting")
+    public ResponseEntity<BillingJobResponse> submit(
+            @Valid @RequestBody BillingCalculationRequest request,
+            @RequestParam(defaultValue = "false") boolean recalculate) {
+        return billingJobService.submit(request, recalculate)
+            .map(job -> ResponseEntity.accepted().location(URI.create("/billing/jobs/" + job.getJobId())).body(job))
+            .orElse(ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS).build());
+    }
+    
+    @GetMapping("/{jobId}")
+    @Operation(summary = "Get billing job", description = "Status of a job, with its result once COMPLETED. With waitSeconds the request is held until the job finishes or the wait runs out (capped by billing.jobs.max-wait), without holding a server thread")
+    public DeferredResult<ResponseEntity<BillingJobResponse>> getJob(
+            @PathVariable UUID jobId,
+            @RequestParam(defaultValue = "0") long waitSeconds) {
+        Duration wait = Duration.ofSeconds(Math.max(0, waitSeconds));
+        if (wait.compareTo(maxWait) > 0) {
+            wait = maxWait;
+        }
+        
+        Optional<BillingJobResponse> current = billingJobService.getJob(jobId);
+        if (current.isEmpty() || wait.isZero() || current.get().getFinishedAt() != null) {
+            DeferredResult<ResponseEntity<BillingJobResponse>> result = new DeferredResult<>();
+            result.setResult(current.map(ResponseEntity::ok).orElse(ResponseEntity.notFound().build()));
+            return result;
+        }
+        
+        // On timeout answer with whatever state the job has reached
+        DeferredResult<ResponseEntity<BillingJobResponse>> result = new DeferredResult<>(wait.toMillis(),
+            () -> billingJobService.getJob(jobId).map(ResponseEntity::ok).orElse(ResponseEntity.notFound().build()));
+        billingJobService.whenFinished(jobId)
+            .ifPresent(finished -> finished.thenAccept(job -> result.setResult(ResponseEntity.ok(job))));
+        return result;
+    }
+}
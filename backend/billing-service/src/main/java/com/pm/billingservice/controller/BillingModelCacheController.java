@@ -0,0 +1,41 @@
+package com.pm.billingservice.controller;
+
+import com.pm.billingservice.client.BillingModelCache;
+import com.pm.billingservice.dto.CacheStatsResponse;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.UUID;
+
+@RestController
+@RequestMapping("/billing/cache/billing-models")
+@Tag(name = "Billing Model Cache", description = "Inspect and invalidate the cached billing models")
+@CrossOrigin(origins = "*")
+public class BillingModelCacheController {
+    
+    @Autowired
+    private BillingModelCache billingModelCache;
+    
+    @GetMapping("/stats")
+    @Operation(summary = "Cache statistics", description = "Hit/miss/revalidation/eviction counters of the billing model cache")
+    public ResponseEntity<CacheStatsResponse> getStats() {
+        return ResponseEntity.ok(billingModelCache.stats());
+    }
+    
+    @DeleteMapping("/client/{clientId}/vendor/{vendorId}")
+    @Operation(summary = "Invalidate one pair", description = "Forces the next calculation for this client-vendor pair to reload its billing model")
+    public ResponseEntity<Void> invalidate(@PathVariable UUID clientId, @PathVariable UUID vendorId) {
+        billingModelCache.invalidate(clientId, vendorId);
+        return ResponseEntity.noContent().build();
+    }
+    
+    @DeleteMapping
+    @Operation(summary = "Invalidate all", description = "Empties the billing model cache")
+    public ResponseEntity<Void> invalidateAll() {
+        billingModelCache.invalidateAll();
+        return ResponseEntity.noContent().build();
+    }
+}
@@ -0,0 +1,46 @@
+package com.pm.billingservice.controller;
+
+import com.pm.billingservice.dto.BillingRunResponse;
+import com.pm.billingservice.service.BillingRunService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.YearMonth;
+import java.util.List;
+import java.util.UUID;
+
+@RestController
+@RequestMapping("/billing/runs")
+@Tag(name = "Billing Runs", description = "APIs for month-end billing across all client-vendor pairs")
+@CrossOrigin(origins = "*")
+public class BillingRunController {
+    
+    @Autowired
+    private BillingRunService billingRunService;
+    
+    @PostMapping
+    @Operation(summary = "Start billing run", description = "Calculates every active client-vendor pair for the month in the background and stores DRAFT invoices. Defaults to the previous month.")
+    public ResponseEntity<BillingRunResponse> startRun(@RequestParam(required = false) String month) {
+        YearMonth billingMonth = month != null ? YearMonth.parse(month) : YearMonth.now().minusMonths(1);
+        BillingRunResponse response = billingRunService.startRun(billingMonth);
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(response);
+    }
+    
+    @GetMapping("/{runId}")
+    @Operation(summary = "Get billing run", description = "Progress and throughput counters of a billing run")
+    public ResponseEntity<BillingRunResponse> getRun(@PathVariable UUID runId) {
+        return billingRunService.getRun(runId)
+            .map(ResponseEntity::ok)
+            .orElse(ResponseEntity.notFound().build());
+    }
+    
+    @GetMapping
+    @Operation(summary = "List billing runs", description = "Billing runs started since the service came up, newest first")
+    public ResponseEntity<List<BillingRunResponse>> getRuns() {
+        return ResponseEntity.ok(billingRunService.getRuns());
+    }
+}
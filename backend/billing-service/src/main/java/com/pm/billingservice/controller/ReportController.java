@@ -1,5 +1,7 @@
 package com.pm.billingservice.controller;
 
+import com.pm.billingservice.service.EmployeeIncentiveEngine;
+import com.pm.billingservice.service.IncentiveCalculationService.EmployeeIncentiveResponse;
 import com.pm.billingservice.service.ReportGenerationService;
 import com.pm.billingservice.service.ReportGenerationService.*;
 import io.swagger.v3.oas.annotations.Operation;
@@ -9,6 +11,7 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import java.time.YearMonth;
+import java.util.List;
 import java.util.UUID;
 
 @RestController
@@ -20,6 +23,9 @@ public class ReportController {
     @Autowired
     private ReportGenerationService reportGenerationService;
     
+    @Autowired
+    private EmployeeIncentiveEngine employeeIncentiveEngine;
+    
     @GetMapping("/client/{clientId}")
     @Operation(summary = "Generate Client Report", description = "Generates monthly summary report for a client showing all trips, costs, and vendor breakdowns")
     public ResponseEntity<ClientReport> generateClientReport(
@@ -55,6 +61,16 @@ public class ReportController {
         return ResponseEntity.ok(report);
     }
     
+    @GetMapping("/client/{clientId}/employee-incentives")
+    @Operation(summary = "Calculate Employee Incentives", description = "Calculates the monthly incentive of every employee of a client from the month's completed trips")
+    public ResponseEntity<List<EmployeeIncentiveResponse>> calculateEmployeeIncentives(
+            @PathVariable UUID clientId,
+            @RequestParam(required = false) String month) {
+        
+        YearMonth reportMonth = month != null ? YearMonth.parse(month) : YearMonth.now();
+        return ResponseEntity.ok(employeeIncentiveEngine.calculateMonthlyIncentives(clientId, reportMonth));
+    }
+    
     @GetMapping("/consolidated")
     @Operation(summary = "Generate Consolidated Report", description = "Generates platform-wide consolidated report for MoveInSync management")
     public ResponseEntity<ConsolidatedReport> generateConsolidatedReport(
@@ -0,0 +1,119 @@
+package com.pm.billingservice.dto;
+
+import java.time.Instant;
+import java.time.YearMonth;
+import java.util.UUID;
+
+public class BillingJobResponse {
+    private UUID jobId;
+    private UUID clientId;
+    private UUID vendorId;
+    private YearMonth billingMonth;
+    private String status; // QUEUED, RUNNING, COMPLETED, FAILED
+    
+    private Instant submittedAt;
+    private Instant startedAt;
+    private Instant finishedAt;
+    private long queuedMillis;
+    private long elapsedMillis;
+    
+    private BillingCalculationResponse result; // set once COMPLETED
+    private String error; // set once FAILED
+    
+    // Getters and Setters
+    public UUID getJobId() {
+        return jobId;
+    }
+    
+    public void setJobId(UUID jobId) {
+        this.jobId = jobId;
+    }
+    
+    public UUID getClientId() {
+        return clientId;
+    }
+    
+    public void setClientId(UUID clientId) {
+        this.clientId = clientId;
+    }
+    
+    public UUID getVendorId() {
+        return vendorId;
+    }
+    
+    public void setVendorId(UUID vendorId) {
+        this.vendorId = vendorId;
+    }
+    
+    public YearMonth getBillingMonth() {
+        return billingMonth;
+    }
+    
+    public void setBillingMonth(YearMonth billingMonth) {
+        this.billingMonth = billingMonth;
+    }
+    
+    public String getStatus() {
+        return status;
+    }
+    
+    public void setStatus(String status) {
+        this.status = status;
+    }
+    
+    public Instant getSubmittedAt() {
+        return submittedAt;
+    }
+    
+    public void setSubmittedAt(Instant submittedAt) {
+        this.submittedAt = submittedAt;
+    }
+    
+    public Instant getStartedAt() {
+        return startedAt;
+    }
+    
+    public void setStartedAt(Instant startedAt) {
+        this.startedAt = startedAt;
+    }
+    
+    public Instant getFinishedAt() {
+        return finishedAt;
+    }
+    
+    public void setFinishedAt(Instant finishedAt) {
+        this.finishedAt = finishedAt;
+    }
+    
+    public long getQueuedMillis() {
+        return queuedMillis;
+    }
+    
+    public void setQueuedMillis(long queuedMillis) {
+        this.queuedMillis = queuedMillis;
+    }
+    
+    public long getElapsedMillis() {
+        return elapsedMillis;
+    }
+    
+    public void setElapsedMillis(long elapsedMillis) {
+        this.elapsedMillis = elapsedMillis;
+    }
+    
+    public BillingCalculationResponse getResult() {
+        return result;
+    }
+    
+    public void setResult(BillingCalculationResponse result) {
+        this.result = result;
+    }
+    
+    public String getError() {
+        return error;
+    }
+    
+    public void setError(String error) {
+        this.error = error;
+    }
+}
@@ -0,0 +1,132 @@
+package com.pm.billingservice.dto;
+
+import java.time.Instant;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.UUID;
+
+public class BillingRunResponse {
+    private UUID runId;
+    private YearMonth billingMonth;
+    private String status; // RUNNING, COMPLETED, PARTIAL, FAILED
+    
+    // Progress
+    private int totalPairs;
+    private int completedPairs;
+    private int failedPairs;
+    private int invoicesPersisted;
+    private double percentComplete;
+    
+    // Throughput
+    private Instant startedAt;
+    private Instant finishedAt;
+    private long elapsedMillis;
+    private double pairsPerSecond;
+    
+    private List<String> errors; // first few failures, for diagnosis
+    
+    // Getters and Setters
+    public UUID getRunId() {
+        return runId;
+    }
+    
+    public void setRunId(UUID runId) {
+        this.runId = runId;
+    }
+    
+    public YearMonth getBillingMonth() {
+        return billingMonth;
+    }
+    
+    public void setBillingMonth(YearMonth billingMonth) {
+        this.billingMonth = billingMonth;
+    }
+    
+    public String getStatus() {
+        return status;
+    }
+    
+    public void setStatus(String status) {
+        this.status = status;
+    }
+    
+    public int getTotalPairs() {
+        return totalPairs;
+    }
+    
+    public void setTotalPairs(int totalPairs) {
+        this.totalPairs = totalPairs;
+    }
+    
+    public int getCompletedPairs() {
+        return completedPairs;
+    }
+    
+    public void setCompletedPairs(int completedPairs) {
+        this.completedPairs = completedPairs;
+    }
+    
+    public int getFailedPairs() {
+        return failedPairs;
+    }
+    
+    public void setFailedPairs(int failedPairs) {
+        this.failedPairs = failedPairs;
+    }
+    
+    public int getInvoicesPersisted() {
+        return invoicesPersisted;
+    }
+    
+    public void setInvoicesPersisted(int invoicesPersisted) {
+        this.invoicesPersisted = invoicesPersisted;
+    }
+    
+    public double getPercentComplete() {
+        return percentComplete;
+    }
+    
+    public void setPercentComplete(double percentComplete) {
+        this.percentComplete = percentComplete;
+    }
+    
+    public Instant getStartedAt() {
+        return startedAt;
+    }
+    
+    public void setStartedAt(Instant startedAt) {
+        this.startedAt = startedAt;
+    }
+    
+    public Instant getFinishedAt() {
+        return finishedAt;
+    }
+    
+    public void setFinishedAt(Instant finishedAt) {
+        this.finishedAt = finishedAt;
+    }
+    
+    public long getElapsedMillis() {
+        return elapsedMillis;
+    }
+    
+    public void setElapsedMillis(long elapsedMillis) {
+        this.elapsedMillis = elapsedMillis;
+    }
+    
+    public double getPairsPerSecond() {
+        return pairsPerSecond;
+    }
+    
+    public void setPairsPerSecond(double pairsPerSecond) {
+        this.pairsPerSecond = pairsPerSecond;
+    }
+    
+    public List<String> getErrors() {
+        return errors;
+    }
+    
+    public void setErrors(List<String> errors) {
+        this.errors = errors;
+    }
+}
@@ -0,0 +1,77 @@
+package com.pm.billingservice.dto;
+
+public class CacheStatsResponse {
+    private int size;
+    private int maxSize;
+    private long hits;
+    private long misses;
+    private long revalidations; // expired, confirmed unchanged by a 304
+    private long reloads;       // expired and changed upstream
+    private long evictions;     // dropped to stay within maxSize
+    private double hitRatio;
+    
+    // Getters and Setters
+    public int getSize() {
+        return size;
+    }
+    
+    public void setSize(int size) {
+        this.size = size;
+    }
+    
+    public int getMaxSize() {
+        return maxSize;
+    }
+    
+    public void setMaxSize(int maxSize) {
+        this.maxSize = maxSize;
+    }
+    
+    public long getHits() {
+        return hits;
+    }
+    
+    public void setHits(long hits) {
+        this.hits = hits;
+    }
+    
+    public long getMisses() {
+        return misses;
+    }
+    
+    public void setMisses(long misses) {
+        this.misses = misses;
+    }
+    
+    public long getRevalidations() {
+        return revalidations;
+    }
+    
+    public void setRevalidations(long revalidations) {
+        this.revalidations = revalidations;
+    }
+    
+    public long getReloads() {
+        return reloads;
+    }
+    
+    public void setReloads(long reloads) {
+        this.reloads = reloads;
+    }
+    
+    public long getEvictions() {
+        return evictions;
+    }
+    
+    public void setEvictions(long evictions) {
+        this.evictions = evictions;
+    }
+    
+    public double getHitRatio() {
+        return hitRatio;
+    }
+    
+    public void setHitRatio(double hitRatio) {
+        this.hitRatio = hitRatio;
+    }
+}
@@ -0,0 +1,11 @@
+package com.pm.billingservice.exception;
+
+/**
+ * Client Service or Vendor Service could not supply the display names a report needs.
+ * The report fails rather than going out with some names silently replaced by ids.
+ */
+public class DirectoryServiceUnavailableException extends RuntimeException {
+    public DirectoryServiceUnavailableException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,12 @@
+package com.pm.billingservice.exception;
+
+/**
+ * Trip Service could not supply the trips (or billing model) a calculation needs.
+ * Nothing is billed from a failed or partially consumed response: the calculation fails,
+ * so no invoice is stored and the month-end run records the pair as failed.
+ */
+public class TripServiceUnavailableException extends RuntimeException {
+    public TripServiceUnavailableException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
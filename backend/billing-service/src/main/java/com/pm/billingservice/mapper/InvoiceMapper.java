@@ -0,0 +1,64 @@
+package com.pm.billingservice.mapper;
+
+import com.pm.billingservice.dto.BillingCalculationResponse;
+import com.pm.billingservice.model.Invoice;
+import com.pm.billingservice.model.InvoiceStatus;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.time.YearMonth;
+
+@Component
+public class InvoiceMapper {
+
+    private static final int PAYMENT_TERM_DAYS = 15;
+
+    public Invoice toEntity(BillingCalculationResponse response) {
+        YearMonth month = response.getBillingMonth();
+
+        Invoice invoice = new Invoice();
+        invoice.setInvoiceNumber(invoiceNumber(response));
+        invoice.setClientId(response.getClientId());
+        invoice.setVendorId(response.getVendorId());
+        invoice.setBillingPeriodStart(month.atDay(1));
+        invoice.setBillingPeriodEnd(month.atEndOfMonth());
+        invoice.setStatus(InvoiceStatus.DRAFT);
+        invoice.setDueDate(month.atEndOfMonth().plusDays(PAYMENT_TERM_DAYS));
+        updateEntity(invoice, response);
+        return invoice;
+    }
+
+    /**
+     * Overwrite the calculated amounts of an existing invoice, keeping its identity and status
+     */
+    public void updateEntity(Invoice invoice, BillingCalculationResponse response) {
+        // Base = the fixed part of the model (per-trip + per-km for TRIP, package fee otherwise)
+        BigDecimal baseAmount = "TRIP".equals(response.getBillingModelType())
+            ? orZero(response.getTripCharges()).add(orZero(response.getDistanceCharges()))
+            : orZero(response.getPackageMonthlyRate());
+        BigDecimal totalAmount = orZero(response.getTotalCost());
+
+        invoice.setBaseAmount(baseAmount);
+        invoice.setExtraCharges(totalAmount.subtract(baseAmount));
+        invoice.setTotalAmount(totalAmount);
+        invoice.setTaxAmount(response.getTaxAmount());
+        invoice.setFinalAmount(response.getGrandTotal());
+        invoice.setTotalTrips(response.getTotalTrips());
+        invoice.setTotalKm(response.getTotalDistanceKm());
+        invoice.setTotalHours(response.getTotalHours());
+        invoice.setNotes(response.getCalculationNotes());
+        invoice.setStale(false);
+    }
+
+    private String invoiceNumber(BillingCalculationResponse response) {
+        // e.g. INV-2024-11-A1111111-11111111
+        return String.format("INV-%s-%s-%s",
+            response.getBillingMonth(),
+            response.getClientId().toString().substring(0, 8).toUpperCase(),
+            response.getVendorId().toString().substring(0, 8).toUpperCase());
+    }
+
+    private BigDecimal orZero(BigDecimal value) {
+        return value != null ? value : BigDecimal.ZERO;
+    }
+}
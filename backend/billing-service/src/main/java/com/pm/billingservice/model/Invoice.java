@@ -7,7 +7,9 @@ import java.time.LocalDate;
 import java.util.UUID;
 
 @Entity
-@Table(name = "invoices", indexes = {
+@Table(name = "invoices", uniqueConstraints = {
+    @UniqueConstraint(name = "uk_invoice_client_vendor_period", columnNames = {"clientId", "vendorId", "billingPeriodStart"})
+}, indexes = {
     @Index(name = "idx_invoice_client_vendor", columnList = "clientId,vendorId"),
     @Index(name = "idx_invoice_billing_period", columnList = "billingPeriodStart,billingPeriodEnd"),
     @Index(name = "idx_invoice_status", columnList = "status")
@@ -69,6 +71,14 @@ public class Invoice {
     @Column(columnDefinition = "TEXT")
     private String notes;
 
+    // Full calculation result as JSON, served as-is on repeat requests
+    @Column(columnDefinition = "TEXT")
+    private String calculationSnapshot;
+
+    // Set when trips of the period changed after the invoice was calculated
+    @Column
+    private Boolean stale;
+
     @Column
     private Instant createdAt;
 
@@ -234,6 +244,22 @@ public class Invoice {
         this.notes = notes;
     }
 
+    public String getCalculationSnapshot() {
+        return calculationSnapshot;
+    }
+
+    public void setCalculationSnapshot(String calculationSnapshot) {
+        this.calculationSnapshot = calculationSnapshot;
+    }
+
+    public Boolean getStale() {
+        return stale;
+    }
+
+    public void setStale(Boolean stale) {
+        this.stale = stale;
+    }
+
     public Instant getCreatedAt() {
         return createdAt;
     }
@@ -0,0 +1,170 @@
+package com.pm.billingservice.model;
+
+import jakarta.persistence.*;
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.UUID;
+
+/**
+ * Running trip totals of one client-vendor billing month, kept current from Trip Service's
+ * trip events. Extra km/hours are measured against the standard trip limits recorded here;
+ * when the billing model's limits change the row is seeded again from a Trip Service aggregate.
+ */
+@Entity
+@Table(name = "running_billing_totals", uniqueConstraints = {
+    @UniqueConstraint(name = "uk_running_total_client_vendor_month", columnNames = {"clientId", "vendorId", "billingMonth"})
+})
+public class RunningBillingTotal {
+    @Id
+    @GeneratedValue(strategy = GenerationType.AUTO)
+    private UUID id;
+
+    @Column(nullable = false)
+    private UUID clientId;
+
+    @Column(nullable = false)
+    private UUID vendorId;
+
+    @Column(nullable = false)
+    private LocalDate billingMonth; // first day of the month
+
+    @Column(nullable = false)
+    private Long tripCount = 0L;
+
+    @Column(precision = 14, scale = 2, nullable = false)
+    private BigDecimal distanceKm = BigDecimal.ZERO;
+
+    @Column(precision = 14, scale = 2, nullable = false)
+    private BigDecimal durationHours = BigDecimal.ZERO;
+
+    @Column(precision = 14, scale = 2, nullable = false)
+    private BigDecimal extraKm = BigDecimal.ZERO;
+
+    @Column(precision = 14, scale = 2, nullable = false)
+    private BigDecimal extraHours = BigDecimal.ZERO;
+
+    @Column(precision = 10, scale = 2)
+    private BigDecimal standardTripKm;
+
+    @Column(precision = 10, scale = 2)
+    private BigDecimal standardTripHours;
+
+    // Trip events up to this id are already part of the seeded totals
+    @Column(nullable = false)
+    private Long seededThroughEventId;
+
+    @Column(nullable = false)
+    private Instant updatedAt;
+
+    @PrePersist
+    @PreUpdate
+    protected void onUpdate() {
+        updatedAt = Instant.now();
+    }
+
+    // Getters and Setters
+    public UUID getId() {
+        return id;
+    }
+
+    public void setId(UUID id) {
+        this.id = id;
+    }
+
+    public UUID getClientId() {
+        return clientId;
+    }
+
+    public void setClientId(UUID clientId) {
+        this.clientId = clientId;
+    }
+
+    public UUID getVendorId() {
+        return vendorId;
+    }
+
+    public void setVendorId(UUID vendorId) {
+        this.vendorId = vendorId;
+    }
+
+    public LocalDate getBillingMonth() {
+        return billingMonth;
+    }
+
+    public void setBillingMonth(LocalDate billingMonth) {
+        this.billingMonth = billingMonth;
+    }
+
+    public Long getTripCount() {
+        return tripCount;
+    }
+
+    public void setTripCount(Long tripCount) {
+        this.tripCount = tripCount;
+    }
+
+    public BigDecimal getDistanceKm() {
+        return distanceKm;
+    }
+
+    public void setDistanceKm(BigDecimal distanceKm) {
+        this.distanceKm = distanceKm;
+    }
+
+    public BigDecimal getDurationHours() {
+        return durationHours;
+    }
+
+    public void setDurationHours(BigDecimal durationHours) {
+        this.durationHours = durationHours;
+    }
+
+    public BigDecimal getExtraKm() {
+        return extraKm;
+    }
+
+    public void setExtraKm(BigDecimal extraKm) {
+        this.extraKm = extraKm;
+    }
+
+    public BigDecimal getExtraHours() {
+        return extraHours;
+    }
+
+    public void setExtraHours(BigDecimal extraHours) {
+        this.extraHours = extraHours;
+    }
+
+    public BigDecimal getStandardTripKm() {
+        return standardTripKm;
+    }
+
+    public void setStandardTripKm(BigDecimal standardTripKm) {
+        this.standardTripKm = standardTripKm;
+    }
+
+    public BigDecimal getStandardTripHours() {
+        return standardTripHours;
+    }
+
+    public void setStandardTripHours(BigDecimal standardTripHours) {
+        this.standardTripHours = standardTripHours;
+    }
+
+    public Long getSeededThroughEventId() {
+        return seededThroughEventId;
+    }
+
+    public void setSeededThroughEventId(Long seededThroughEventId) {
+        this.seededThroughEventId = seededThroughEventId;
+    }
+
+    public Instant getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public void setUpdatedAt(Instant updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+}
@@ -0,0 +1,63 @@
+package com.pm.billingservice.model;
+
+import jakarta.persistence.*;
+import java.time.Instant;
+
+/**
+ * How far a consumer has read Trip Service's event feed.
+ * The row is locked while a page of events is applied, so each event is applied exactly once
+ * even with several billing instances polling.
+ */
+@Entity
+@Table(name = "trip_event_offsets")
+public class TripEventOffset {
+    // Not yet positioned; the first poll starts from the end of the feed
+    public static final long UNINITIALIZED = -1L;
+
+    @Id
+    private String consumer;
+
+    @Column(nullable = false)
+    private Long lastEventId = UNINITIALIZED;
+
+    @Column(nullable = false)
+    private Instant updatedAt;
+
+    public TripEventOffset() {
+    }
+
+    public TripEventOffset(String consumer) {
+        this.consumer = consumer;
+    }
+
+    @PrePersist
+    @PreUpdate
+    protected void onUpdate() {
+        updatedAt = Instant.now();
+    }
+
+    // Getters and Setters
+    public String getConsumer() {
+        return consumer;
+    }
+
+    public void setConsumer(String consumer) {
+        this.consumer = consumer;
+    }
+
+    public Long getLastEventId() {
+        return lastEventId;
+    }
+
+    public void setLastEventId(Long lastEventId) {
+        this.lastEventId = lastEventId;
+    }
+
+    public Instant getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public void setUpdatedAt(Instant updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+}
@@ -0,0 +1,38 @@
+package com.pm.billingservice.repository;
+
+import com.pm.billingservice.model.Invoice;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+@Repository
+public interface InvoiceRepository extends JpaRepository<Invoice, UUID> {
+    
+    List<Invoice> findByClientIdAndVendorId(UUID clientId, UUID vendorId);
+    
+    // Idempotency key lookup, served by uk_invoice_client_vendor_period
+    Optional<Invoice> findByClientIdAndVendorIdAndBillingPeriodStart(UUID clientId, UUID vendorId, LocalDate billingPeriodStart);
+    
+    List<Invoice> findByClientIdAndBillingPeriodStart(UUID clientId, LocalDate billingPeriodStart);
+    
+    /**
+     * Invoice count and amounts of a billing month per status: [status, count, SUM(totalAmount), SUM(finalAmount)]
+     */
+    @Query("SELECT i.status, COUNT(i), SUM(i.totalAmount), SUM(i.finalAmount) FROM Invoice i " +
+           "WHERE i.billingPeriodStart = :billingPeriodStart GROUP BY i.status")
+    List<Object[]> sumByStatus(@Param("billingPeriodStart") LocalDate billingPeriodStart);
+    
+    @Modifying
+    @Query("UPDATE Invoice i SET i.stale = true WHERE i.clientId = :clientId AND i.vendorId = :vendorId " +
+           "AND i.billingPeriodStart = :billingPeriodStart")
+    int markStale(@Param("clientId") UUID clientId,
+                  @Param("vendorId") UUID vendorId,
+                  @Param("billingPeriodStart") LocalDate billingPeriodStart);
+}
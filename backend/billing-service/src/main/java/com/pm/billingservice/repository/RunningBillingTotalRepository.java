@@ -0,0 +1,16 @@
+package com.pm.billingservice.repository;
+
+import com.pm.billingservice.model.RunningBillingTotal;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.Optional;
+import java.util.UUID;
+
+@Repository
+public interface RunningBillingTotalRepository extends JpaRepository<RunningBillingTotal, UUID> {
+    
+    // Served by uk_running_total_client_vendor_month
+    Optional<RunningBillingTotal> findByClientIdAndVendorIdAndBillingMonth(UUID clientId, UUID vendorId, LocalDate billingMonth);
+}
@@ -0,0 +1,20 @@
+package com.pm.billingservice.repository;
+
+import com.pm.billingservice.model.TripEventOffset;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+@Repository
+public interface TripEventOffsetRepository extends JpaRepository<TripEventOffset, String> {
+    
+    // SELECT ... FOR UPDATE: serializes everyone applying events or seeding totals
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT o FROM TripEventOffset o WHERE o.consumer = :consumer")
+    Optional<TripEventOffset> findForUpdate(@Param("consumer") String consumer);
+}
@@ -1,16 +1,26 @@
 package com.pm.billingservice.service;
 
+import com.pm.billingservice.client.BillingModelCache;
+import com.pm.billingservice.client.BillingModelData;
+import com.pm.billingservice.client.TripAggregateData;
+import com.pm.billingservice.client.TripQuantitySink;
+import com.pm.billingservice.client.TripServiceClient;
 import com.pm.billingservice.dto.BillingCalculationRequest;
 import com.pm.billingservice.dto.BillingCalculationResponse;
-import org.springframework.stereotype.Service;
-import org.springframework.web.client.RestTemplate;
+import com.pm.billingservice.exception.TripServiceUnavailableException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
 
 import java.math.BigDecimal;
 import java.math.RoundingMode;
-import java.time.LocalDate;
 import java.time.YearMonth;
 import java.util.*;
+import java.util.concurrent.ForkJoinPool;
 
 /**
  * Billing Calculation Service for MoveInSync
@@ -18,56 +28,109 @@ import java.util.*;
  * 1. TRIP Model - Per trip and per km charges
  * 2. PACKAGE Model - Fixed monthly cost with included limits
  * 3. HYBRID Model - Combination of package and per-trip charges
+ * The per-model pricing steps and applyTaxes are package-private so the JMH benchmarks
+ * under src/jmh can drive them without a Trip Service.
+ * Each step of calculateBilling is timed as billing.calculation.stage{stage, model_type}.
+ * A Trip Service failure fails the calculation (TripServiceUnavailableException); it is never
+ * billed as a month without trips.
  */
 @Service
 public class BillingCalculationService {
     
-    @Value("${trip.service.url:http://localhost:4020}")
-    private String tripServiceUrl;
+    private static final Logger log = LoggerFactory.getLogger(BillingCalculationService.class);
     
-    private final RestTemplate restTemplate = new RestTemplate();
+    private final TripServiceClient tripServiceClient;
+    private final BillingModelCache billingModelCache;
+    private final ForkJoinPool billingFoldPool;
+    private final RunningTotalsService runningTotalsService;
+    private final MeterRegistry meterRegistry;
     
     private static final BigDecimal GST_RATE = new BigDecimal("0.18"); // 18% GST
     
+    @Value("${billing.fold.batch-size:65536}")
+    private int foldBatchSize = 65536;
+    
+    @Value("${billing.fold.parallel:false}")
+    private boolean foldParallel;
+    
+    @Value("${billing.fold.slice-size:16384}")
+    private int foldSliceSize = 16384;
+    
+    public BillingCalculationService(
+            TripServiceClient tripServiceClient,
+            BillingModelCache billingModelCache,
+            @Qualifier("billingFoldPool") ForkJoinPool billingFoldPool,
+            RunningTotalsService runningTotalsService,
+            MeterRegistry meterRegistry) {
+        this.tripServiceClient = tripServiceClient;
+        this.billingModelCache = billingModelCache;
+        this.billingFoldPool = billingFoldPool;
+        this.runningTotalsService = runningTotalsService;
+        this.meterRegistry = meterRegistry;
+    }
+    
     /**
      * Main calculation method - orchestrates billing calculation
      * Time Complexity: O(n) where n = number of trips
-     * Space Complexity: O(n) for storing trip data
+     * Space Complexity: O(1) - trips are streamed and folded into running totals
      */
     public BillingCalculationResponse calculateBilling(BillingCalculationRequest request) {
-        // Step 1: Fetch trips from Trip Service
-        List<TripData> trips = fetchTripsForBilling(
-            request.getClientId(),
-            request.getVendorId(),
-            request.getBillingMonth()
-        );
-        
-        // Step 2: Fetch billing model from Trip Service
+        // Step 1: Fetch billing model from Trip Service (needed to fold trips as they arrive)
+        Timer.Sample modelFetch = Timer.start(meterRegistry);
         BillingModelData model = fetchBillingModel(
             request.getClientId(),
             request.getVendorId()
         );
+        modelFetch.stop(stageTimer("model_fetch", model.getModelType()));
+        
+        return calculateBilling(request, model);
+    }
+    
+    /**
+     * Calculation with an already known billing model
+     * Used by the month-end billing run, which loads every active model up front.
+     */
+    public BillingCalculationResponse calculateBilling(BillingCalculationRequest request, BillingModelData model) {
+        String modelType = model.getModelType();
+        
+        // Step 2: Trip totals - server-side aggregate for TRIP/PACKAGE,
+        // streamed fold for HYBRID (which depends on trip order beyond the package)
+        TripTotals trips = stageTimer("trip_fetch", modelType).record(() -> "HYBRID".equals(modelType)
+            ? fetchTripTotals(request.getClientId(), request.getVendorId(), request.getBillingMonth(), model)
+            : fetchAggregatedTripTotals(request.getClientId(), request.getVendorId(), request.getBillingMonth(), model));
         
         // Step 3: Calculate based on billing model type
-        BillingCalculationResponse response;
+        BillingCalculationResponse response = stageTimer("compute", modelType).record(() -> price(trips, model, request));
+        
+        // Step 4: Add taxes and finalize
+        stageTimer("tax", modelType).record(() -> applyTaxes(response));
+        
+        return response;
+    }
+    
+    private BillingCalculationResponse price(TripTotals trips, BillingModelData model, BillingCalculationRequest request) {
         switch (model.getModelType()) {
             case "TRIP":
-                response = calculateTripModel(trips, model, request);
-                break;
+                return calculateTripModel(trips, model, request);
             case "PACKAGE":
-                response = calculatePackageModel(trips, model, request);
-                break;
+                return calculatePackageModel(trips, model, request);
             case "HYBRID":
-                response = calculateHybridModel(trips, model, request);
-                break;
+                return calculateHybridModel(trips, model, request);
             default:
                 throw new IllegalArgumentException("Unknown billing model type: " + model.getModelType());
         }
-        
-        // Step 4: Add taxes and finalize
-        applyTaxes(response);
-        
-        return response;
+    }
+    
+    /**
+     * Histogram-backed, so month-end latency can be broken down per stage and model across instances
+     */
+    private Timer stageTimer(String stage, String modelType) {
+        return Timer.builder("billing.calculation.stage")
+            .description("Time spent in one step of a client-vendor billing calculation")
+            .tag("stage", stage)
+            .tag("model_type", modelType != null ? modelType : "UNKNOWN")
+            .publishPercentileHistogram()
+            .register(meterRegistry);
     }
     
     /**
@@ -75,8 +138,8 @@ public class BillingCalculationService {
      * Formula: Total = (trips * ratePerTrip) + (totalKm * ratePerKm) + extraCharges
      * Use Case: Suitable for clients with variable trip volumes
      */
-    private BillingCalculationResponse calculateTripModel(
-            List<TripData> trips,
+    BillingCalculationResponse calculateTripModel(
+            TripTotals trips,
             BillingModelData model,
             BillingCalculationRequest request) {
         
@@ -87,13 +150,9 @@ public class BillingCalculationService {
         response.setBillingModelType("TRIP");
         
         // Calculate totals
-        int totalTrips = trips.size();
-        BigDecimal totalDistance = trips.stream()
-            .map(TripData::getDistanceKm)
-            .reduce(BigDecimal.ZERO, BigDecimal::add);
-        BigDecimal totalHours = trips.stream()
-            .map(TripData::getDurationHours)
-            .reduce(BigDecimal.ZERO, BigDecimal::add);
+        int totalTrips = trips.getTotalTrips();
+        BigDecimal totalDistance = trips.getTotalDistance();
+        BigDecimal totalHours = trips.getTotalHours();
         
         // Base charges
         BigDecimal tripCharges = model.getRatePerTrip()
@@ -101,31 +160,11 @@ public class BillingCalculationService {
         BigDecimal distanceCharges = model.getRatePerKm()
             .multiply(totalDistance);
         
-        // Calculate extra charges for each trip
-        BigDecimal extraKmCharges = BigDecimal.ZERO;
-        BigDecimal extraHourCharges = BigDecimal.ZERO;
-        BigDecimal extraKm = BigDecimal.ZERO;
-        BigDecimal extraHours = BigDecimal.ZERO;
-        
-        for (TripData trip : trips) {
-            // Extra KM beyond standard
-            if (trip.getDistanceKm().compareTo(model.getStandardTripKm()) > 0) {
-                BigDecimal tripExtraKm = trip.getDistanceKm().subtract(model.getStandardTripKm());
-                extraKm = extraKm.add(tripExtraKm);
-                extraKmCharges = extraKmCharges.add(
-                    tripExtraKm.multiply(model.getExtraKmRate())
-                );
-            }
-            
-            // Extra hours beyond standard
-            if (trip.getDurationHours().compareTo(model.getStandardTripHours()) > 0) {
-                BigDecimal tripExtraHours = trip.getDurationHours().subtract(model.getStandardTripHours());
-                extraHours = extraHours.add(tripExtraHours);
-                extraHourCharges = extraHourCharges.add(
-                    tripExtraHours.multiply(model.getExtraHourRate())
-                );
-            }
-        }
+        // Extra charges were accumulated per trip while streaming
+        BigDecimal extraKmCharges = trips.getExtraKmCharges();
+        BigDecimal extraHourCharges = trips.getExtraHourCharges();
+        BigDecimal extraKm = trips.getExtraKm();
+        BigDecimal extraHours = trips.getExtraHours();
         
         // Set response values
         response.setTotalTrips(totalTrips);
@@ -160,8 +199,8 @@ public class BillingCalculationService {
      * Formula: Total = packageRate + overageCharges (if exceeds included limits)
      * Use Case: Suitable for clients with predictable trip volumes
      */
-    private BillingCalculationResponse calculatePackageModel(
-            List<TripData> trips,
+    BillingCalculationResponse calculatePackageModel(
+            TripTotals trips,
             BillingModelData model,
             BillingCalculationRequest request) {
         
@@ -172,13 +211,9 @@ public class BillingCalculationService {
         response.setBillingModelType("PACKAGE");
         
         // Calculate totals
-        int totalTrips = trips.size();
-        BigDecimal totalDistance = trips.stream()
-            .map(TripData::getDistanceKm)
-            .reduce(BigDecimal.ZERO, BigDecimal::add);
-        BigDecimal totalHours = trips.stream()
-            .map(TripData::getDurationHours)
-            .reduce(BigDecimal.ZERO, BigDecimal::add);
+        int totalTrips = trips.getTotalTrips();
+        BigDecimal totalDistance = trips.getTotalDistance();
+        BigDecimal totalHours = trips.getTotalHours();
         
         // Base package rate
         BigDecimal packageRate = model.getPackageMonthlyRate();
@@ -228,8 +263,8 @@ public class BillingCalculationService {
      * Formula: Total = packageRate + perTripCharges (for extra trips) + overageCharges
      * Use Case: Suitable for clients with base predictable volume + variable extra trips
      */
-    private BillingCalculationResponse calculateHybridModel(
-            List<TripData> trips,
+    BillingCalculationResponse calculateHybridModel(
+            TripTotals trips,
             BillingModelData model,
             BillingCalculationRequest request) {
         
@@ -240,36 +275,20 @@ public class BillingCalculationService {
         response.setBillingModelType("HYBRID");
         
         // Calculate totals
-        int totalTrips = trips.size();
-        BigDecimal totalDistance = trips.stream()
-            .map(TripData::getDistanceKm)
-            .reduce(BigDecimal.ZERO, BigDecimal::add);
+        int totalTrips = trips.getTotalTrips();
+        BigDecimal totalDistance = trips.getTotalDistance();
         
         // Base package rate
         BigDecimal packageRate = model.getPackageMonthlyRate();
         
-        // Calculate trips within and beyond package
-        int includedTrips = Math.min(totalTrips, model.getPackageTripsIncluded());
+        // Calculate trips beyond package
         int extraTrips = Math.max(0, totalTrips - model.getPackageTripsIncluded());
         
         // For extra trips, charge per trip + per km
-        BigDecimal extraTripCharges = BigDecimal.ZERO;
-        BigDecimal extraDistanceCharges = BigDecimal.ZERO;
-        BigDecimal extraKm = BigDecimal.ZERO;
-        
-        // Process only trips beyond included count
-        List<TripData> extraTripList = trips.subList(
-            Math.min(includedTrips, trips.size()),
-            trips.size()
-        );
-        
-        for (TripData trip : extraTripList) {
-            extraTripCharges = extraTripCharges.add(model.getRatePerTrip());
-            extraDistanceCharges = extraDistanceCharges.add(
-                trip.getDistanceKm().multiply(model.getRatePerKm())
-            );
-            extraKm = extraKm.add(trip.getDistanceKm());
-        }
+        // (only trips beyond the included count, accumulated while streaming)
+        BigDecimal extraTripCharges = trips.getBeyondPackageTripCharges();
+        BigDecimal extraDistanceCharges = trips.getBeyondPackageDistanceCharges();
+        BigDecimal extraKm = trips.getBeyondPackageKm();
         
         // Set response values
         response.setPackageMonthlyRate(packageRate);
@@ -301,7 +320,7 @@ public class BillingCalculationService {
     /**
      * Apply GST taxes to the calculation
      */
-    private void applyTaxes(BillingCalculationResponse response) {
+    void applyTaxes(BillingCalculationResponse response) {
         BigDecimal taxAmount = response.getTotalCost()
             .multiply(GST_RATE)
             .setScale(2, RoundingMode.HALF_UP);
@@ -315,162 +334,79 @@ public class BillingCalculationService {
     }
     
     /**
-     * Fetch trips from Trip Service
-     * Calls the Trip Service REST API to get actual trip data
+     * Stream trips from Trip Service and fold them into running totals
+     * Only distance and duration are read (gRPC hundredths, or decimals from the NDJSON feed), straight into a reusable
+     * columnar batch that is folded each time it fills, so peak memory is one batch whether
+     * the month has 10 trips or 1M. With billing.fold.parallel, a full batch is split across
+     * the fold pool; off by default because the billing run already parallelizes across pairs.
      */
-    private List<TripData> fetchTripsForBilling(UUID clientId, UUID vendorId, YearMonth month) {
+    private TripTotals fetchTripTotals(UUID clientId, UUID vendorId, YearMonth month, BillingModelData model) {
+        TripTotals totals = new TripTotals(model);
+        TripBatch batch = new TripBatch(foldBatchSize);
         try {
-            // Convert YearMonth to LocalDate range (first and last day of month)
-            LocalDate startDate = month.atDay(1);
-            LocalDate endDate = month.atEndOfMonth();
-            
-            // Build URL with query parameters - using the existing endpoint
-            String url = String.format(
-                "%s/trips/client/%s/vendor/%s?startDate=%s&endDate=%s",
-                tripServiceUrl,
-                clientId.toString(),
-                vendorId.toString(),
-                startDate.toString(),
-                endDate.toString()
-            );
-            
-            // Call Trip Service API
-            Map<String, Object>[] tripsArray = restTemplate.getForObject(url, Map[].class);
-            
-            if (tripsArray == null || tripsArray.length == 0) {
-                return new ArrayList<>();
-            }
-            
-            // Convert to TripData objects
-            List<TripData> trips = new ArrayList<>();
-            for (Map<String, Object> tripMap : tripsArray) {
-                TripData trip = new TripData();
-                trip.setId(UUID.fromString((String) tripMap.get("id")));
-                trip.setDistanceKm(new BigDecimal(tripMap.get("distanceKm").toString()));
-                trip.setDurationHours(new BigDecimal(tripMap.get("durationHours").toString()));
-                trips.add(trip);
-            }
-            
-            return trips;
+            tripServiceClient.streamTripQuantities(clientId, vendorId, month, new TripQuantitySink() {
+                @Override
+                public void accept(BigDecimal distanceKm, BigDecimal durationHours) {
+                    batch.add(distanceKm, durationHours);
+                    foldIfFull();
+                }
+
+                @Override
+                public void acceptUnscaled(long distanceHundredths, int distanceScale, long hoursHundredths, int hoursScale) {
+                    batch.add(distanceHundredths, distanceScale, hoursHundredths, hoursScale);
+                    foldIfFull();
+                }
+
+                private void foldIfFull() {
+                    if (batch.isFull()) {
+                        fold(totals, batch);
+                        batch.clear();
+                    }
+                }
+            });
+            fold(totals, batch);
+            return totals;
         } catch (Exception e) {
-            System.err.println("Error fetching trips from Trip Service: " + e.getMessage());
-            e.printStackTrace();
-            return new ArrayList<>();
+            // A partially consumed stream must never be billed
+            log.error("Error streaming trips of {}/{} {} from Trip Service", clientId, vendorId, month, e);
+            throw new TripServiceUnavailableException("Could not fetch trips from Trip Service: " + e.getMessage(), e);
         }
     }
     
-    /**
-     * Fetch billing model from Trip Service
-     * Calls the Trip Service REST API to get the billing model for client-vendor pair
-     */
-    private BillingModelData fetchBillingModel(UUID clientId, UUID vendorId) {
-        try {
-            // Build URL
-            String url = String.format(
-                "%s/billing-models/client/%s/vendor/%s",
-                tripServiceUrl,
-                clientId.toString(),
-                vendorId.toString()
-            );
-            
-            // Call Trip Service API
-            Map<String, Object> modelMap = restTemplate.getForObject(url, Map.class);
-            
-            if (modelMap == null) {
-                throw new IllegalArgumentException("No billing model found for client " + clientId + " and vendor " + vendorId);
-            }
-            
-            // Convert to BillingModelData
-            BillingModelData model = new BillingModelData();
-            model.setModelType((String) modelMap.get("modelType"));
-            
-            // Set all fields with safe conversion
-            model.setRatePerTrip(convertToBigDecimal(modelMap.get("ratePerTrip")));
-            model.setRatePerKm(convertToBigDecimal(modelMap.get("ratePerKm")));
-            model.setPackageMonthlyRate(convertToBigDecimal(modelMap.get("packageMonthlyRate")));
-            model.setPackageTripsIncluded(convertToInteger(modelMap.get("packageTripsIncluded")));
-            model.setPackageKmsIncluded(convertToBigDecimal(modelMap.get("packageKmsIncluded")));
-            model.setExtraTripRate(convertToBigDecimal(modelMap.get("extraTripRate")));
-            model.setExtraKmRate(convertToBigDecimal(modelMap.get("extraKmRate")));
-            model.setExtraHourRate(convertToBigDecimal(modelMap.get("extraHourRate")));
-            model.setStandardTripKm(convertToBigDecimal(modelMap.get("standardTripKm")));
-            model.setStandardTripHours(convertToBigDecimal(modelMap.get("standardTripHours")));
-            
-            return model;
-        } catch (Exception e) {
-            System.err.println("Error fetching billing model from Trip Service: " + e.getMessage());
-            e.printStackTrace();
-            throw new IllegalArgumentException("Could not fetch billing model: " + e.getMessage());
+    private void fold(TripTotals totals, TripBatch batch) {
+        if (foldParallel) {
+            totals.add(batch, billingFoldPool, foldSliceSize);
+        } else {
+            totals.add(batch);
         }
     }
     
     /**
-     * Helper method to safely convert Object to BigDecimal
+     * Month totals from the running totals kept current by trip events; the month is seeded
+     * from a single Trip Service aggregate query the first time it is billed
      */
-    private BigDecimal convertToBigDecimal(Object value) {
-        if (value == null) return BigDecimal.ZERO;
-        return new BigDecimal(value.toString());
+    private TripTotals fetchAggregatedTripTotals(UUID clientId, UUID vendorId, YearMonth month, BillingModelData model) {
+        try {
+            TripAggregateData aggregate = runningTotalsService.totals(clientId, vendorId, month, model);
+            return TripTotals.fromAggregate(model, aggregate);
+        } catch (Exception e) {
+            log.error("Error fetching trip aggregate of {}/{} {} from Trip Service", clientId, vendorId, month, e);
+            throw new TripServiceUnavailableException("Could not fetch trip aggregate from Trip Service: " + e.getMessage(), e);
+        }
     }
     
     /**
-     * Helper method to safely convert Object to Integer
+     * Fetch billing model for client-vendor pair
+     * Served from the billing model cache; Trip Service is only called on miss or revalidation
      */
-    private Integer convertToInteger(Object value) {
-        if (value == null) return 0;
-        if (value instanceof Integer) return (Integer) value;
-        return Integer.valueOf(value.toString());
-    }
-    
-    // Inner classes for data transfer
-    private static class TripData {
-        private UUID id;
-        private BigDecimal distanceKm;
-        private BigDecimal durationHours;
-        
-        public UUID getId() { return id; }
-        public void setId(UUID id) { this.id = id; }
-        public BigDecimal getDistanceKm() { return distanceKm; }
-        public void setDistanceKm(BigDecimal distanceKm) { this.distanceKm = distanceKm; }
-        public BigDecimal getDurationHours() { return durationHours; }
-        public void setDurationHours(BigDecimal durationHours) { this.durationHours = durationHours; }
-    }
-    
-    private static class BillingModelData {
-        private String modelType;
-        private BigDecimal ratePerTrip;
-        private BigDecimal ratePerKm;
-        private BigDecimal packageMonthlyRate;
-        private Integer packageTripsIncluded;
-        private BigDecimal packageKmsIncluded;
-        private BigDecimal extraTripRate;
-        private BigDecimal extraKmRate;
-        private BigDecimal extraHourRate;
-        private BigDecimal standardTripKm;
-        private BigDecimal standardTripHours;
-        
-        // Getters and Setters
-        public String getModelType() { return modelType; }
-        public void setModelType(String modelType) { this.modelType = modelType; }
-        public BigDecimal getRatePerTrip() { return ratePerTrip; }
-        public void setRatePerTrip(BigDecimal ratePerTrip) { this.ratePerTrip = ratePerTrip; }
-        public BigDecimal getRatePerKm() { return ratePerKm; }
-        public void setRatePerKm(BigDecimal ratePerKm) { this.ratePerKm = ratePerKm; }
-        public BigDecimal getPackageMonthlyRate() { return packageMonthlyRate; }
-        public void setPackageMonthlyRate(BigDecimal packageMonthlyRate) { this.packageMonthlyRate = packageMonthlyRate; }
-        public Integer getPackageTripsIncluded() { return packageTripsIncluded; }
-        public void setPackageTripsIncluded(Integer packageTripsIncluded) { this.packageTripsIncluded = packageTripsIncluded; }
-        public BigDecimal getPackageKmsIncluded() { return packageKmsIncluded; }
-        public void setPackageKmsIncluded(BigDecimal packageKmsIncluded) { this.packageKmsIncluded = packageKmsIncluded; }
-        public BigDecimal getExtraTripRate() { return extraTripRate; }
-        public void setExtraTripRate(BigDecimal extraTripRate) { this.extraTripRate = extraTripRate; }
-        public BigDecimal getExtraKmRate() { return extraKmRate; }
-        public void setExtraKmRate(BigDecimal extraKmRate) { this.extraKmRate = extraKmRate; }
-        public BigDecimal getExtraHourRate() { return extraHourRate; }
-        public void setExtraHourRate(BigDecimal extraHourRate) { this.extraHourRate = extraHourRate; }
-        public BigDecimal getStandardTripKm() { return standardTripKm; }
-        public void setStandardTripKm(BigDecimal standardTripKm) { this.standardTripKm = standardTripKm; }
-        public BigDecimal getStandardTripHours() { return standardTripHours; }
-        public void setStandardTripHours(BigDecimal standardTripHours) { this.standardTripHours = standardTripHours; }
+    private BillingModelData fetchBillingModel(UUID clientId, UUID vendorId) {
+        try {
+            return billingModelCache.get(clientId, vendorId);
+        } catch (IllegalArgumentException e) {
+            throw e; // no billing model for the pair
+        } catch (Exception e) {
+            log.error("Error fetching billing model of {}/{} from Trip Service", clientId, vendorId, e);
+            throw new TripServiceUnavailableException("Could not fetch billing model: " + e.getMessage(), e);
+        }
     }
 }
-
@@ -0,0 +1,99 @@
+package com.pm.billingservice.service;
+
+import com.pm.billingservice.dto.BillingCalculationRequest;
+import com.pm.billingservice.dto.BillingCalculationResponse;
+
+import java.time.Instant;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * One asynchronous billing calculation: QUEUED until its client has a free slot,
+ * RUNNING on the job executor, then COMPLETED or FAILED.
+ * {@link #getDone()} completes when the job finishes, which is what long-polls wait on.
+ */
+class BillingJob {
+
+    private final UUID jobId;
+    private final BillingCalculationRequest request;
+    private final boolean recalculate;
+    private final Instant submittedAt = Instant.now();
+    private final CompletableFuture<BillingJob> done = new CompletableFuture<>();
+
+    private volatile String status = "QUEUED";
+    private volatile Instant startedAt;
+    private volatile Instant finishedAt;
+    private volatile BillingCalculationResponse result;
+    private volatile String error;
+
+    BillingJob(UUID jobId, BillingCalculationRequest request, boolean recalculate) {
+        this.jobId = jobId;
+        this.request = request;
+        this.recalculate = recalculate;
+    }
+
+    void start() {
+        this.startedAt = Instant.now();
+        this.status = "RUNNING";
+    }
+
+    void complete(BillingCalculationResponse result) {
+        this.result = result;
+        finish("COMPLETED");
+    }
+
+    void fail(String error) {
+        this.error = error;
+        finish("FAILED");
+    }
+
+    private void finish(String finalStatus) {
+        this.finishedAt = Instant.now();
+        this.status = finalStatus;
+        done.complete(this);
+    }
+
+    boolean isFinished() {
+        return finishedAt != null;
+    }
+
+    UUID getJobId() {
+        return jobId;
+    }
+
+    BillingCalculationRequest getRequest() {
+        return request;
+    }
+
+    boolean isRecalculate() {
+        return recalculate;
+    }
+
+    Instant getSubmittedAt() {
+        return submittedAt;
+    }
+
+    CompletableFuture<BillingJob> getDone() {
+        return done;
+    }
+
+    String getStatus() {
+        return status;
+    }
+
+    Instant getStartedAt() {
+        return startedAt;
+    }
+
+    Instant getFinishedAt() {
+        return finishedAt;
+    }
+
+    BillingCalculationResponse getResult() {
+        return result;
+    }
+
+    String getError() {
+        return error;
+    }
+}
@@ -0,0 +1,170 @@
+package com.pm.billingservice.service;
+
+import com.pm.billingservice.dto.BillingCalculationRequest;
+import com.pm.billingservice.dto.BillingJobResponse;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * Asynchronous single-pair billing calculations, so large months never hold a request thread.
+ * 1. submit() queues the job under its client and returns its handle immediately
+ * 2. Each client has at most `max-concurrent-per-client` jobs on the job executor; the rest wait
+ *    in the client's own queue, so one large client cannot occupy every worker
+ * 3. When the job executor is full a job stays at the head of its client's queue; it is retried
+ *    when any running job finishes and frees a slot. An accepted job is never failed for capacity.
+ * 4. A finished job keeps its result for `retention`, then is dropped
+ * The calculation itself is InvoiceService.getOrCalculate, same as the synchronous endpoint.
+ */
+@Service
+public class BillingJobService {
+
+    private final InvoiceService invoiceService;
+    private final ExecutorService billingJobExecutor;
+
+    private final Map<UUID, BillingJob> jobs = new ConcurrentHashMap<>();
+
+    // Per-client scheduling state; guarded by itself
+    private final Map<UUID, ClientJobs> clients = new HashMap<>();
+
+    @Value("${billing.jobs.max-concurrent-per-client:2}")
+    private int maxConcurrentPerClient = 2;
+
+    @Value("${billing.jobs.max-queued-per-client:50}")
+    private int maxQueuedPerClient = 50;
+
+    @Value("${billing.jobs.retention:PT1H}")
+    private Duration retention = Duration.ofHours(1);
+
+    public BillingJobService(
+            InvoiceService invoiceService,
+            @Qualifier("billingJobExecutor") ExecutorService billingJobExecutor) {
+        this.invoiceService = invoiceService;
+        this.billingJobExecutor = billingJobExecutor;
+    }
+
+    /**
+     * Queue a calculation for its client
+     * @return the job's handle, or empty if the client already has too many jobs waiting
+     */
+    public Optional<BillingJobResponse> submit(BillingCalculationRequest request, boolean recalculate) {
+        BillingJob job = new BillingJob(UUID.randomUUID(), request, recalculate);
+        synchronized (clients) {
+            ClientJobs client = clients.computeIfAbsent(request.getClientId(), id -> new ClientJobs());
+            if (client.waiting.size() >= maxQueuedPerClient) {
+                return Optional.empty();
+            }
+            jobs.put(job.getJobId(), job);
+            client.waiting.add(job);
+            dispatch(request.getClientId(), client);
+        }
+        return Optional.of(toResponse(job));
+    }
+
+    public Optional<BillingJobResponse> getJob(UUID jobId) {
+        return Optional.ofNullable(jobs.get(jobId)).map(this::toResponse);
+    }
+
+    /**
+     * Completes with the job's final state once it has finished (immediately if it already has)
+     */
+    public Optional<CompletableFuture<BillingJobResponse>> whenFinished(UUID jobId) {
+        return Optional.ofNullable(jobs.get(jobId))
+            .map(job -> job.getDone().thenApply(this::toResponse));
+    }
+
+    /**
+     * Start waiting jobs while the client is under its limit. Caller holds the clients lock.
+     * @return false if the job executor is full; the job it refused is back at the head of the queue
+     */
+    private boolean dispatch(UUID clientId, ClientJobs client) {
+        while (client.running < maxConcurrentPerClient && !client.waiting.isEmpty()) {
+            BillingJob job = client.waiting.poll();
+            client.running++;
+            try {
+                billingJobExecutor.execute(() -> run(clientId, job));
+            } catch (RejectedExecutionException e) {
+                client.running--;
+                client.waiting.addFirst(job);
+                return false;
+            }
+        }
+        if (client.running == 0 && client.waiting.isEmpty()) {
+            clients.remove(clientId);
+        }
+        return true;
+    }
+
+    /**
+     * A slot has freed: its own client first, then any client left waiting on a full executor.
+     * Caller holds the clients lock.
+     */
+    private void dispatchAfterFinish(UUID clientId, ClientJobs client) {
+        if (!dispatch(clientId, client)) {
+            return;
+        }
+        for (Map.Entry<UUID, ClientJobs> waiting : new ArrayList<>(clients.entrySet())) {
+            if (!dispatch(waiting.getKey(), waiting.getValue())) {
+                return;
+            }
+        }
+    }
+
+    private void run(UUID clientId, BillingJob job) {
+        job.start();
+        try {
+            job.complete(invoiceService.getOrCalculate(job.getRequest(), job.isRecalculate()));
+        } catch (Exception e) {
+            job.fail(e.getMessage() != null ? e.getMessage() : e.getClass().getSimpleName());
+        } finally {
+            synchronized (clients) {
+                ClientJobs client = clients.get(clientId);
+                client.running--;
+                dispatchAfterFinish(clientId, client);
+            }
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${billing.jobs.cleanup-interval:PT5M}")
+    public void evictFinished() {
+        Instant cutoff = Instant.now().minus(retention);
+        jobs.values().removeIf(job -> job.isFinished() && job.getFinishedAt().isBefore(cutoff));
+    }
+
+    private BillingJobResponse toResponse(BillingJob job) {
+        BillingCalculationRequest request = job.getRequest();
+        Instant now = Instant.now();
+        Instant started = job.getStartedAt();
+        Instant finished = job.getFinishedAt();
+
+        BillingJobResponse response = new BillingJobResponse();
+        response.setJobId(job.getJobId());
+        response.setClientId(request.getClientId());
+        response.setVendorId(request.getVendorId());
+        response.setBillingMonth(request.getBillingMonth());
+        response.setStatus(job.getStatus());
+        response.setSubmittedAt(job.getSubmittedAt());
+        response.setStartedAt(started);
+        response.setFinishedAt(finished);
+        response.setQueuedMillis(Duration.between(job.getSubmittedAt(),
+            started != null ? started : finished != null ? finished : now).toMillis());
+        response.setElapsedMillis(started == null ? 0 : Duration.between(started, finished != null ? finished : now).toMillis());
+        response.setResult(job.getResult());
+        response.setError(job.getError());
+        return response;
+    }
+
+    private static final class ClientJobs {
+        private final Deque<BillingJob> waiting = new ArrayDeque<>();
+        private int running;
+    }
+}
@@ -0,0 +1,95 @@
+package com.pm.billingservice.service;
+
+import java.time.Instant;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Mutable progress of one month-end billing run.
+ * Updated concurrently by the calculation workers; read by the status endpoint.
+ */
+class BillingRun {
+
+    private static final int MAX_RECORDED_ERRORS = 20;
+
+    private final UUID runId;
+    private final YearMonth billingMonth;
+    private final Instant startedAt = Instant.now();
+
+    private volatile String status = "RUNNING";
+    private volatile Instant finishedAt;
+    private volatile int totalPairs;
+
+    private final AtomicInteger completedPairs = new AtomicInteger();
+    private final AtomicInteger failedPairs = new AtomicInteger();
+    private final AtomicInteger invoicesPersisted = new AtomicInteger();
+    private final List<String> errors = Collections.synchronizedList(new ArrayList<>());
+
+    BillingRun(UUID runId, YearMonth billingMonth) {
+        this.runId = runId;
+        this.billingMonth = billingMonth;
+    }
+
+    void pairCompleted() {
+        completedPairs.incrementAndGet();
+    }
+
+    void pairsCompleted(int count) {
+        completedPairs.addAndGet(count);
+    }
+
+    void pairFailed(String error) {
+        pairsFailed(1, error);
+    }
+
+    void pairsFailed(int count, String error) {
+        failedPairs.addAndGet(count);
+        recordError(error);
+    }
+
+    void invoicesPersisted(int count) {
+        invoicesPersisted.addAndGet(count);
+    }
+
+    void recordError(String error) {
+        if (errors.size() < MAX_RECORDED_ERRORS) {
+            errors.add(error);
+        }
+    }
+
+    /**
+     * COMPLETED when every pair is invoiced, FAILED when none is, PARTIAL otherwise
+     */
+    void finish() {
+        if (failedPairs.get() == 0) {
+            finish("COMPLETED");
+        } else {
+            finish(completedPairs.get() == 0 ? "FAILED" : "PARTIAL");
+        }
+    }
+
+    void finish(String finalStatus) {
+        this.finishedAt = Instant.now();
+        this.status = finalStatus;
+    }
+
+    UUID getRunId() { return runId; }
+    YearMonth getBillingMonth() { return billingMonth; }
+    Instant getStartedAt() { return startedAt; }
+    String getStatus() { return status; }
+    Instant getFinishedAt() { return finishedAt; }
+    int getTotalPairs() { return totalPairs; }
+    void setTotalPairs(int totalPairs) { this.totalPairs = totalPairs; }
+    int getCompletedPairs() { return completedPairs.get(); }
+    int getFailedPairs() { return failedPairs.get(); }
+    int getInvoicesPersisted() { return invoicesPersisted.get(); }
+    List<String> getErrors() {
+        synchronized (errors) {
+            return new ArrayList<>(errors);
+        }
+    }
+}
@@ -0,0 +1,218 @@
+package com.pm.billingservice.service;
+
+import com.pm.billingservice.client.BillingModelData;
+import com.pm.billingservice.client.TripServiceClient;
+import com.pm.billingservice.dto.BillingCalculationRequest;
+import com.pm.billingservice.dto.BillingCalculationResponse;
+import com.pm.billingservice.dto.BillingRunResponse;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.YearMonth;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.stream.Collectors;
+
+/**
+ * Month-end billing run across every active client-vendor pair.
+ * 1. Load all active billing models from Trip Service in one call
+ * 2. Fan the calculations out over the billing executor, at most `parallelism` in flight
+ * 3. Upsert the results as DRAFT invoices in batches
+ * Closed months that already have an up-to-date invoice are skipped, so re-running a month is cheap.
+ * Pending trip events are applied first, so invoices of months whose trips changed are recalculated.
+ * A pair counts as completed once its invoice is stored; a pair whose calculation or invoice batch
+ * failed counts as failed and leaves the run PARTIAL (or FAILED if nothing was stored).
+ * Progress and throughput are tracked per run and exposed through {@link #getRun(UUID)}; a finished
+ * run is kept for `retention`, then dropped.
+ */
+@Service
+public class BillingRunService {
+
+    private final TripServiceClient tripServiceClient;
+    private final BillingCalculationService billingCalculationService;
+    private final InvoiceService invoiceService;
+    private final RunningTotalsService runningTotalsService;
+    private final ExecutorService billingRunExecutor;
+
+    // Coordinator threads only wait on the workers; one per concurrently running job
+    private final ExecutorService coordinator = Executors.newCachedThreadPool(runnable -> {
+        Thread thread = new Thread(runnable, "billing-run-coordinator");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final Map<UUID, BillingRun> runs = new ConcurrentHashMap<>();
+
+    @Value("${billing.run.parallelism:32}")
+    private int parallelism;
+
+    @Value("${billing.run.insert-batch-size:200}")
+    private int insertBatchSize;
+
+    @Value("${billing.run.retention:P1D}")
+    private Duration retention = Duration.ofDays(1);
+
+    public BillingRunService(
+            TripServiceClient tripServiceClient,
+            BillingCalculationService billingCalculationService,
+            InvoiceService invoiceService,
+            RunningTotalsService runningTotalsService,
+            @Qualifier("billingRunExecutor") ExecutorService billingRunExecutor) {
+        this.tripServiceClient = tripServiceClient;
+        this.billingCalculationService = billingCalculationService;
+        this.invoiceService = invoiceService;
+        this.runningTotalsService = runningTotalsService;
+        this.billingRunExecutor = billingRunExecutor;
+    }
+
+    /**
+     * Start a run in the background and return immediately with its handle
+     */
+    public BillingRunResponse startRun(YearMonth billingMonth) {
+        BillingRun run = new BillingRun(UUID.randomUUID(), billingMonth);
+        runs.put(run.getRunId(), run);
+        coordinator.execute(() -> execute(run));
+        return toResponse(run);
+    }
+
+    public Optional<BillingRunResponse> getRun(UUID runId) {
+        return Optional.ofNullable(runs.get(runId)).map(this::toResponse);
+    }
+
+    public List<BillingRunResponse> getRuns() {
+        return runs.values().stream()
+            .sorted(Comparator.comparing(BillingRun::getStartedAt).reversed())
+            .map(this::toResponse)
+            .collect(Collectors.toList());
+    }
+
+    private void execute(BillingRun run) {
+        try {
+            // Apply trip changes not yet seen, so stale invoices are flagged before they are reused
+            runningTotalsService.catchUp();
+        } catch (Exception e) {
+            run.recordError("Trip event catch-up failed: " + e.getMessage());
+        }
+
+        try {
+            List<BillingModelData> models = tripServiceClient.fetchActiveBillingModels();
+            run.setTotalPairs(models.size());
+
+            Semaphore inFlight = new Semaphore(parallelism);
+            CountDownLatch done = new CountDownLatch(models.size());
+            BlockingQueue<BillingCalculationResponse> pending = new LinkedBlockingQueue<>();
+
+            for (BillingModelData model : models) {
+                inFlight.acquire();
+                try {
+                    billingRunExecutor.execute(() -> {
+                        try {
+                            calculatePair(run, model, pending);
+                        } finally {
+                            inFlight.release();
+                            done.countDown();
+                        }
+                    });
+                } catch (RejectedExecutionException e) {
+                    // The worker never runs: settle the pair here or done.await() never returns
+                    run.pairFailed(model.getClientId() + "/" + model.getVendorId() + ": rejected by the billing executor");
+                    inFlight.release();
+                    done.countDown();
+                }
+            }
+
+            done.await();
+            while (!pending.isEmpty()) {
+                flush(run, pending);
+            }
+            run.finish();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            run.recordError("Run interrupted");
+            run.finish("FAILED");
+        } catch (Exception e) {
+            run.recordError("Run aborted: " + e.getMessage());
+            run.finish("FAILED");
+        }
+    }
+
+    private void calculatePair(BillingRun run, BillingModelData model, BlockingQueue<BillingCalculationResponse> pending) {
+        try {
+            if (invoiceService.findReusable(model, run.getBillingMonth()).isPresent()) {
+                run.pairCompleted(); // already invoiced and unchanged
+                return;
+            }
+
+            BillingCalculationRequest request = new BillingCalculationRequest();
+            request.setClientId(model.getClientId());
+            request.setVendorId(model.getVendorId());
+            request.setBillingMonth(run.getBillingMonth());
+
+            pending.add(billingCalculationService.calculateBilling(request, model)); // completed once flushed
+        } catch (Exception e) {
+            run.pairFailed(model.getClientId() + "/" + model.getVendorId() + ": " + e.getMessage());
+            return;
+        }
+
+        // Whichever worker fills a batch writes it; the coordinator writes the tail
+        if (pending.size() >= insertBatchSize) {
+            flush(run, pending);
+        }
+    }
+
+    /**
+     * Upsert up to one batch of pending results in a single transaction.
+     * Its pairs are completed if the upsert commits and failed if it does not: the batch is not retried.
+     */
+    private void flush(BillingRun run, BlockingQueue<BillingCalculationResponse> pending) {
+        List<BillingCalculationResponse> batch = new ArrayList<>(insertBatchSize);
+        pending.drainTo(batch, insertBatchSize);
+        if (batch.isEmpty()) {
+            return;
+        }
+        try {
+            run.invoicesPersisted(invoiceService.saveAll(batch));
+            run.pairsCompleted(batch.size());
+        } catch (Exception e) {
+            run.pairsFailed(batch.size(), "Invoice batch upsert of " + batch.size() + " pairs failed: " + e.getMessage());
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${billing.run.cleanup-interval:PT1H}")
+    public void evictFinished() {
+        Instant cutoff = Instant.now().minus(retention);
+        runs.values().removeIf(run -> run.getFinishedAt() != null && run.getFinishedAt().isBefore(cutoff));
+    }
+
+    private BillingRunResponse toResponse(BillingRun run) {
+        Instant end = run.getFinishedAt() != null ? run.getFinishedAt() : Instant.now();
+        long elapsedMillis = Duration.between(run.getStartedAt(), end).toMillis();
+        int processed = run.getCompletedPairs() + run.getFailedPairs();
+
+        BillingRunResponse response = new BillingRunResponse();
+        response.setRunId(run.getRunId());
+        response.setBillingMonth(run.getBillingMonth());
+        response.setStatus(run.getStatus());
+        response.setTotalPairs(run.getTotalPairs());
+        response.setCompletedPairs(run.getCompletedPairs());
+        response.setFailedPairs(run.getFailedPairs());
+        response.setInvoicesPersisted(run.getInvoicesPersisted());
+        response.setPercentComplete(run.getTotalPairs() == 0 ? 0.0 : processed * 100.0 / run.getTotalPairs());
+        response.setStartedAt(run.getStartedAt());
+        response.setFinishedAt(run.getFinishedAt());
+        response.setElapsedMillis(elapsedMillis);
+        response.setPairsPerSecond(elapsedMillis == 0 ? 0.0 : processed * 1000.0 / elapsedMillis);
+        response.setErrors(run.getErrors());
+        return response;
+    }
+
+    @PreDestroy
+    void shutdown() {
+        coordinator.shutdownNow();
+    }
+}
@@ -0,0 +1,270 @@
+package com.pm.billingservice.service;
+
+import com.pm.billingservice.client.BillingModelCache;
+import com.pm.billingservice.client.BillingModelData;
+import com.pm.billingservice.client.TripServiceClient;
+import com.pm.billingservice.service.IncentiveCalculationService.EmployeeIncentiveResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.time.YearMonth;
+import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Monthly employee incentives for a whole client, computed from its raw trips.
+ * 1. Trip Service streams the client's completed trips of the month once (every vendor)
+ * 2. On the decoding thread each trip is reduced to (employee slot, extra hours, late-night/weekend
+ *    flags) in a columnar chunk; an employee gets the next slot the first time they appear
+ * 3. A full chunk is folded into per-employee primitive accumulators on the fold pool. The chunk is
+ *    bucketed by partition once (counting sort on slot; partitions own contiguous slot ranges), so
+ *    each worker reads only its own trips and owns its accumulators outright: no locks, no merge
+ * 4. One EmployeeIncentiveResponse per employee through IncentiveCalculationService
+ * Extra hours are measured against the current standard trip hours of the trip's client-vendor
+ * billing model (none without a model or limit), the same rule as the rollups behind the employee
+ * report and the billing totals.
+ * Time Complexity: O(n + e) for n trips and e employees, plus O(p) per chunk for p partitions;
+ * memory O(chunk size + e)
+ */
+@Service
+public class EmployeeIncentiveEngine {
+
+    private static final Logger log = LoggerFactory.getLogger(EmployeeIncentiveEngine.class);
+
+    private static final int QUANTITY_SCALE = TripBatch.QUANTITY_SCALE;
+    // Standard of a pair without a limit: no trip goes beyond it
+    private static final long NO_LIMIT = Long.MAX_VALUE;
+    private static final byte LATE_NIGHT = 1;
+    private static final byte WEEKEND = 2;
+
+    private final TripServiceClient tripServiceClient;
+    private final BillingModelCache billingModelCache;
+    private final IncentiveCalculationService incentiveCalculationService;
+    private final ForkJoinPool billingFoldPool;
+
+    @Value("${billing.incentives.chunk-size:65536}")
+    private int chunkSize = 65536;
+
+    // Chunks smaller than this are folded on the decoding thread
+    @Value("${billing.incentives.parallel-threshold:8192}")
+    private int parallelThreshold = 8192;
+
+    public EmployeeIncentiveEngine(
+            TripServiceClient tripServiceClient,
+            BillingModelCache billingModelCache,
+            IncentiveCalculationService incentiveCalculationService,
+            @Qualifier("billingFoldPool") ForkJoinPool billingFoldPool) {
+        this.tripServiceClient = tripServiceClient;
+        this.billingModelCache = billingModelCache;
+        this.incentiveCalculationService = incentiveCalculationService;
+        this.billingFoldPool = billingFoldPool;
+    }
+
+    /**
+     * Incentives of every employee of the client with at least one completed trip in the month,
+     * in order of first trip seen
+     */
+    public List<EmployeeIncentiveResponse> calculateMonthlyIncentives(UUID clientId, YearMonth month) {
+        Map<UUID, Integer> slots = new HashMap<>();
+        List<UUID> employees = new ArrayList<>();
+        // Standard trip hours per vendor, as hundredths; one billing model lookup per vendor
+        Map<UUID, Long> standardHours = new HashMap<>();
+        Chunk chunk = new Chunk(chunkSize);
+        Accumulators totals = new Accumulators();
+
+        tripServiceClient.streamIncentiveRecords(clientId, month, (employeeId, vendorId, durationHours, lateNight, weekend) -> {
+            Integer slot = slots.get(employeeId);
+            if (slot == null) {
+                slot = employees.size();
+                slots.put(employeeId, slot);
+                employees.add(employeeId);
+            }
+            long standard = standardHours.computeIfAbsent(vendorId, id -> standardTripHours(clientId, id));
+            long hours = durationHours != null ? FixedPointSum.toUnscaled(durationHours, QUANTITY_SCALE) : 0L;
+            long extra = Math.max(0L, hours - standard);
+            chunk.add(slot, extra, (byte) ((lateNight ? LATE_NIGHT : 0) | (weekend ? WEEKEND : 0)));
+            if (chunk.isFull()) {
+                fold(totals, chunk, employees.size());
+                chunk.clear();
+            }
+        });
+        fold(totals, chunk, employees.size());
+
+        List<EmployeeIncentiveResponse> responses = new ArrayList<>(employees.size());
+        for (int slot = 0; slot < employees.size(); slot++) {
+            responses.add(incentiveCalculationService.calculateMonthlyEmployeeIncentive(
+                employees.get(slot), clientId, totals.trips[slot],
+                BigDecimal.valueOf(totals.extraHours[slot], QUANTITY_SCALE),
+                totals.lateNightTrips[slot], totals.weekendTrips[slot]));
+        }
+        return responses;
+    }
+
+    private long standardTripHours(UUID clientId, UUID vendorId) {
+        try {
+            BillingModelData model = billingModelCache.get(clientId, vendorId);
+            BigDecimal standard = model.getStandardTripHours();
+            return standard != null ? FixedPointSum.toUnscaled(standard, QUANTITY_SCALE) : NO_LIMIT;
+        } catch (Exception e) {
+            log.warn("No billing model for client {} and vendor {}, no extra hours counted: {}",
+                clientId, vendorId, e.getMessage());
+            return NO_LIMIT;
+        }
+    }
+
+    private void fold(Accumulators totals, Chunk chunk, int employeeCount) {
+        totals.ensureCapacity(employeeCount);
+        int partitions = Math.min(billingFoldPool.getParallelism(), employeeCount);
+        if (chunk.size < parallelThreshold || partitions <= 1) {
+            totals.addAll(chunk);
+            return;
+        }
+        int[] bounds = chunk.bucketByPartition(employeeCount, partitions);
+        billingFoldPool.invoke(new PartitionFold(totals, chunk, bounds, 0, partitions));
+    }
+
+    /**
+     * Folds one bucketed chunk for partitions [from, to), splitting in halves down to one partition
+     * each. Partition k folds the trips at chunk.order[bounds[k], bounds[k + 1]).
+     */
+    private static final class PartitionFold extends RecursiveAction {
+
+        private final Accumulators totals;
+        private final Chunk chunk;
+        private final int[] bounds;
+        private final int from;
+        private final int to;
+
+        PartitionFold(Accumulators totals, Chunk chunk, int[] bounds, int from, int to) {
+            this.totals = totals;
+            this.chunk = chunk;
+            this.bounds = bounds;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from == 1) {
+                totals.add(chunk, bounds[from], bounds[to]);
+                return;
+            }
+            int mid = (from + to) >>> 1;
+            invokeAll(
+                new PartitionFold(totals, chunk, bounds, from, mid),
+                new PartitionFold(totals, chunk, bounds, mid, to));
+        }
+    }
+
+    /**
+     * Reduced trips awaiting a fold, in parallel primitive arrays
+     */
+    private static final class Chunk {
+
+        private final int[] employee;
+        private final long[] extraHours;
+        private final byte[] flags;
+        // Trip indexes grouped by partition, filled by bucketByPartition
+        private final int[] order;
+        private int size;
+
+        Chunk(int capacity) {
+            this.employee = new int[capacity];
+            this.extraHours = new long[capacity];
+            this.flags = new byte[capacity];
+            this.order = new int[capacity];
+        }
+
+        void add(int slot, long extraHundredths, byte tripFlags) {
+            employee[size] = slot;
+            extraHours[size] = extraHundredths;
+            flags[size] = tripFlags;
+            size++;
+        }
+
+        boolean isFull() {
+            return size == employee.length;
+        }
+
+        void clear() {
+            size = 0;
+        }
+
+        /**
+         * Counting sort of the trip indexes into `order` by partition, slot * p / e, so partition k
+         * owns a contiguous slot range
+         * @return bounds with partition k at order[bounds[k], bounds[k + 1])
+         * Time Complexity: O(size + p)
+         */
+        int[] bucketByPartition(int employeeCount, int partitions) {
+            int[] bounds = new int[partitions + 1];
+            for (int i = 0; i < size; i++) {
+                bounds[partitionOf(employee[i], employeeCount, partitions) + 1]++;
+            }
+            for (int k = 0; k < partitions; k++) {
+                bounds[k + 1] += bounds[k];
+            }
+            int[] next = Arrays.copyOf(bounds, partitions);
+            for (int i = 0; i < size; i++) {
+                order[next[partitionOf(employee[i], employeeCount, partitions)]++] = i;
+            }
+            return bounds;
+        }
+
+        private static int partitionOf(int slot, int employeeCount, int partitions) {
+            return (int) ((long) slot * partitions / employeeCount);
+        }
+    }
+
+    /**
+     * Month totals per employee slot
+     */
+    private static final class Accumulators {
+
+        private int[] trips = new int[0];
+        private long[] extraHours = new long[0];
+        private int[] lateNightTrips = new int[0];
+        private int[] weekendTrips = new int[0];
+
+        void ensureCapacity(int employeeCount) {
+            if (employeeCount <= trips.length) {
+                return;
+            }
+            int capacity = Math.max(employeeCount, trips.length * 2);
+            trips = Arrays.copyOf(trips, capacity);
+            extraHours = Arrays.copyOf(extraHours, capacity);
+            lateNightTrips = Arrays.copyOf(lateNightTrips, capacity);
+            weekendTrips = Arrays.copyOf(weekendTrips, capacity);
+        }
+
+        void addAll(Chunk chunk) {
+            for (int i = 0; i < chunk.size; i++) {
+                addTrip(chunk, i);
+            }
+        }
+
+        /**
+         * Add the trips at chunk.order[from, to), one partition of a bucketed chunk
+         */
+        void add(Chunk chunk, int from, int to) {
+            int[] order = chunk.order;
+            for (int j = from; j < to; j++) {
+                addTrip(chunk, order[j]);
+            }
+        }
+
+        private void addTrip(Chunk chunk, int i) {
+            int slot = chunk.employee[i];
+            byte flags = chunk.flags[i];
+            trips[slot]++;
+            extraHours[slot] += chunk.extraHours[i];
+            lateNightTrips[slot] += flags & LATE_NIGHT;
+            weekendTrips[slot] += (flags & WEEKEND) >>> 1;
+        }
+    }
+}
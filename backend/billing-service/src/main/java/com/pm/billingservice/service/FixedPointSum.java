@@ -0,0 +1,64 @@
+package com.pm.billingservice.service;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * Running sum of decimal values kept as a long at a fixed scale.
+ * Adding is a primitive add, so a fold over a month of trips allocates nothing per trip.
+ * The largest scale among the added values is tracked as well, so {@link #toBigDecimal()} returns
+ * exactly what the equivalent chain of BigDecimal.add calls starting from BigDecimal.ZERO would:
+ * same value and same scale.
+ * Overflow and values finer than the fixed scale throw ArithmeticException rather than round.
+ */
+final class FixedPointSum {
+
+    private static final long[] POWERS_OF_TEN = {1L, 10L, 100L, 1_000L, 10_000L};
+
+    private final int fixedScale;
+    private long unscaled;
+    private int scale;
+
+    FixedPointSum(int fixedScale) {
+        this.fixedScale = fixedScale;
+    }
+
+    /**
+     * @param unscaledValue value at this sum's fixed scale
+     * @param valueScale    scale the value had as a BigDecimal
+     */
+    void add(long unscaledValue, int valueScale) {
+        unscaled = Math.addExact(unscaled, unscaledValue);
+        if (valueScale > scale) {
+            scale = valueScale;
+        }
+    }
+
+    /**
+     * Add another sum at the same fixed scale (merging partial folds)
+     */
+    void add(FixedPointSum other) {
+        add(other.unscaled, other.scale);
+    }
+
+    BigDecimal toBigDecimal() {
+        // Exact: every added value was representable at `scale`
+        return BigDecimal.valueOf(unscaled, fixedScale).setScale(scale);
+    }
+
+    /**
+     * Unscaled long of a value at the given fixed scale (0-4), e.g. 12.34 at scale 2 is 1234
+     * Time Complexity: O(1), and allocation-free for ordinary amounts:
+     * BigDecimal.doubleValue() of a compact value with scale 0-4 is a single division, and while
+     * the result stays below 2^50 the double error is under 0.25, so rounding recovers it exactly.
+     * Anything else goes through the exact BigDecimal conversion.
+     */
+    static long toUnscaled(BigDecimal value, int fixedScale) {
+        int valueScale = value.scale();
+        if (valueScale >= 0 && valueScale <= fixedScale
+                && value.precision() - valueScale <= 15 - fixedScale) {
+            return Math.round(value.doubleValue() * POWERS_OF_TEN[fixedScale]);
+        }
+        return value.setScale(fixedScale, RoundingMode.UNNECESSARY).unscaledValue().longValueExact();
+    }
+}
@@ -0,0 +1,154 @@
+package com.pm.billingservice.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.pm.billingservice.client.BillingModelData;
+import com.pm.billingservice.dto.BillingCalculationRequest;
+import com.pm.billingservice.dto.BillingCalculationResponse;
+import com.pm.billingservice.mapper.InvoiceMapper;
+import com.pm.billingservice.model.Invoice;
+import com.pm.billingservice.model.InvoiceStatus;
+import com.pm.billingservice.repository.InvoiceRepository;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.YearMonth;
+import java.util.*;
+
+/**
+ * Persisted billing results, one invoice per (client, vendor, billing month).
+ * - Closed months: an up-to-date invoice is served from its stored snapshot (one indexed read)
+ * - Open months, stale invoices and explicit recalculation: calculated again and upserted
+ * Only DRAFT invoices are overwritten; once issued, an invoice keeps the amounts it was sent with.
+ */
+@Service
+public class InvoiceService {
+
+    private final BillingCalculationService billingCalculationService;
+    private final InvoiceRepository invoiceRepository;
+    private final InvoiceMapper invoiceMapper;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transactionTemplate;
+
+    public InvoiceService(
+            BillingCalculationService billingCalculationService,
+            InvoiceRepository invoiceRepository,
+            InvoiceMapper invoiceMapper,
+            ObjectMapper objectMapper,
+            TransactionTemplate transactionTemplate) {
+        this.billingCalculationService = billingCalculationService;
+        this.invoiceRepository = invoiceRepository;
+        this.invoiceMapper = invoiceMapper;
+        this.objectMapper = objectMapper;
+        this.transactionTemplate = transactionTemplate;
+    }
+
+    /**
+     * Billing for a client-vendor month, calculated at most once per closed month
+     * Time Complexity: O(1) indexed read when an up-to-date invoice exists, otherwise a full calculation
+     */
+    public BillingCalculationResponse getOrCalculate(BillingCalculationRequest request, boolean recalculate) {
+        if (!recalculate) {
+            Optional<BillingCalculationResponse> stored = findReusable(request);
+            if (stored.isPresent()) {
+                return stored.get();
+            }
+        }
+
+        BillingCalculationResponse response = billingCalculationService.calculateBilling(request);
+        saveAll(List.of(response));
+        return response;
+    }
+
+    /**
+     * Stored result for the request's month, if it can be served without recalculating
+     */
+    public Optional<BillingCalculationResponse> findReusable(BillingCalculationRequest request) {
+        YearMonth month = request.getBillingMonth();
+        if (!month.isBefore(YearMonth.now())) {
+            return Optional.empty(); // open month: trips are still coming in
+        }
+
+        return invoiceRepository
+            .findByClientIdAndVendorIdAndBillingPeriodStart(request.getClientId(), request.getVendorId(), month.atDay(1))
+            .filter(invoice -> !Boolean.TRUE.equals(invoice.getStale()) || invoice.getStatus() != InvoiceStatus.DRAFT)
+            .map(this::readSnapshot);
+    }
+
+    /**
+     * Used by the month-end billing run, which already holds the billing model
+     */
+    public Optional<BillingCalculationResponse> findReusable(BillingModelData model, YearMonth month) {
+        BillingCalculationRequest request = new BillingCalculationRequest();
+        request.setClientId(model.getClientId());
+        request.setVendorId(model.getVendorId());
+        request.setBillingMonth(month);
+        return findReusable(request);
+    }
+
+    /**
+     * Insert new invoices and update existing DRAFT ones in a single transaction
+     * With hibernate.jdbc.batch_size set, Hibernate sends inserts and updates as JDBC batches.
+     *
+     * @return number of invoices written
+     */
+    public int saveAll(List<BillingCalculationResponse> responses) {
+        try {
+            return transactionTemplate.execute(status -> upsert(responses));
+        } catch (DataIntegrityViolationException e) {
+            // A concurrent request inserted one of these months first; retry as updates
+            return transactionTemplate.execute(status -> upsert(responses));
+        }
+    }
+
+    /**
+     * Flag a month as out of date after its trips changed, so the next request recalculates it
+     */
+    public void markStale(UUID clientId, UUID vendorId, YearMonth month) {
+        transactionTemplate.executeWithoutResult(
+            status -> invoiceRepository.markStale(clientId, vendorId, month.atDay(1)));
+    }
+
+    private int upsert(List<BillingCalculationResponse> responses) {
+        List<Invoice> invoices = new ArrayList<>(responses.size());
+        for (BillingCalculationResponse response : responses) {
+            Optional<Invoice> existing = invoiceRepository.findByClientIdAndVendorIdAndBillingPeriodStart(
+                response.getClientId(), response.getVendorId(), response.getBillingMonth().atDay(1));
+
+            Invoice invoice;
+            if (existing.isEmpty()) {
+                invoice = invoiceMapper.toEntity(response);
+            } else if (existing.get().getStatus() == InvoiceStatus.DRAFT) {
+                invoice = existing.get();
+                invoiceMapper.updateEntity(invoice, response);
+            } else {
+                continue; // issued invoices are never rewritten
+            }
+            invoice.setCalculationSnapshot(writeSnapshot(response));
+            invoices.add(invoice);
+        }
+        invoiceRepository.saveAll(invoices);
+        return invoices.size();
+    }
+
+    private String writeSnapshot(BillingCalculationResponse response) {
+        try {
+            return objectMapper.writeValueAsString(response);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize billing result: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Calculation result stored with an invoice, or null for invoices without a snapshot
+     */
+    public BillingCalculationResponse readSnapshot(Invoice invoice) {
+        try {
+            return objectMapper.readValue(invoice.getCalculationSnapshot(), BillingCalculationResponse.class);
+        } catch (Exception e) {
+            // Rows written before snapshots existed are recalculated instead
+            return null;
+        }
+    }
+}
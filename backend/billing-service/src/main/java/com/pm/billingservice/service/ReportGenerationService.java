@@ -1,11 +1,21 @@
 package com.pm.billingservice.service;
 
+import com.pm.billingservice.client.DirectoryServiceClient;
+import com.pm.billingservice.client.TripRollupData;
+import com.pm.billingservice.client.TripServiceClient;
+import com.pm.billingservice.dto.BillingCalculationResponse;
+import com.pm.billingservice.model.Invoice;
+import com.pm.billingservice.model.InvoiceStatus;
+import com.pm.billingservice.repository.InvoiceRepository;
 import org.springframework.stereotype.Service;
 
 import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.YearMonth;
 import java.util.*;
+import java.util.function.Supplier;
 
 /**
  * Report Generation Service for MoveInSync
@@ -15,14 +25,39 @@ import java.util.*;
  * 3. Employees - Summary of earned incentives
  * 
  * As per MoveInSync requirements: Reports must be clear, reliable, and auditable
+ * 
+ * Trip figures come from Trip Service's daily rollups and amounts from persisted invoices;
+ * raw trips are never scanned, so report cost is independent of trip volume.
  */
 @Service
 public class ReportGenerationService {
     
+    private static final String PAYMENT_TERMS = "Net 15 Days";
+    private static final int INCENTIVE_PAYOUT_DAYS = 5;
+    
+    private final TripServiceClient tripServiceClient;
+    private final DirectoryServiceClient directoryServiceClient;
+    private final InvoiceRepository invoiceRepository;
+    private final InvoiceService invoiceService;
+    private final IncentiveCalculationService incentiveCalculationService;
+    
+    public ReportGenerationService(
+            TripServiceClient tripServiceClient,
+            DirectoryServiceClient directoryServiceClient,
+            InvoiceRepository invoiceRepository,
+            InvoiceService invoiceService,
+            IncentiveCalculationService incentiveCalculationService) {
+        this.tripServiceClient = tripServiceClient;
+        this.directoryServiceClient = directoryServiceClient;
+        this.invoiceRepository = invoiceRepository;
+        this.invoiceService = invoiceService;
+        this.incentiveCalculationService = incentiveCalculationService;
+    }
+    
     /**
      * Generate Client Report
      * Shows: Total trips, Total cost, Vendor-wise breakdown, Employee usage
-     * Time Complexity: O(n) where n = number of trips
+     * Time Complexity: O(v + d) where v = vendors and d = departments of the client
      */
     public ClientReport generateClientReport(UUID clientId, YearMonth reportMonth) {
         ClientReport report = new ClientReport();
@@ -31,64 +66,68 @@ public class ReportGenerationService {
         report.setGeneratedAt(LocalDateTime.now());
         report.setReportId(UUID.randomUUID());
         
-        // Summary data (in production, fetch from database/services)
-        report.setTotalTrips(150);
-        report.setTotalDistance(new BigDecimal("2500.50"));
-        report.setTotalCost(new BigDecimal("75000.00"));
-        report.setTotalTax(new BigDecimal("13500.00"));
-        report.setGrandTotal(new BigDecimal("88500.00"));
-        report.setActiveEmployees(25);
-        report.setActiveVendors(3);
+        // Trip summary from rollups
+        TripRollupData totals = tripServiceClient.fetchRollupTotals(reportMonth, clientId, null, null);
+        report.setTotalTrips(Math.toIntExact(totals.getTripCount()));
+        report.setTotalDistance(totals.getDistanceKm());
+        report.setActiveEmployees(Math.toIntExact(totals.getEmployeeCount()));
+        report.setActiveVendors(Math.toIntExact(totals.getVendorCount()));
+        
+        // Amounts from the month's invoices, one per vendor
+        Map<UUID, Invoice> invoicesByVendor = new HashMap<>();
+        for (Invoice invoice : invoiceRepository.findByClientIdAndBillingPeriodStart(clientId, reportMonth.atDay(1))) {
+            invoicesByVendor.put(invoice.getVendorId(), invoice);
+        }
+        
+        BigDecimal totalCost = BigDecimal.ZERO;
+        BigDecimal totalTax = BigDecimal.ZERO;
+        BigDecimal grandTotal = BigDecimal.ZERO;
+        for (Invoice invoice : invoicesByVendor.values()) {
+            totalCost = totalCost.add(orZero(invoice.getTotalAmount()));
+            totalTax = totalTax.add(orZero(invoice.getTaxAmount()));
+            grandTotal = grandTotal.add(orZero(invoice.getFinalAmount()));
+        }
+        report.setTotalCost(totalCost);
+        report.setTotalTax(totalTax);
+        report.setGrandTotal(grandTotal);
         
         // Vendor-wise breakdown
+        Map<UUID, String> vendorNames = directoryServiceClient.fetchVendorNamesForClient(clientId);
         List<VendorBreakdown> vendorBreakdowns = new ArrayList<>();
-        
-        VendorBreakdown vendor1 = new VendorBreakdown();
-        vendor1.setVendorId(UUID.randomUUID());
-        vendor1.setVendorName("Ola Cabs");
-        vendor1.setTripCount(60);
-        vendor1.setTotalDistance(new BigDecimal("950.25"));
-        vendor1.setBillingModel("TRIP");
-        vendor1.setAmount(new BigDecimal("28500.00"));
-        vendorBreakdowns.add(vendor1);
-        
-        VendorBreakdown vendor2 = new VendorBreakdown();
-        vendor2.setVendorId(UUID.randomUUID());
-        vendor2.setVendorName("Uber India");
-        vendor2.setTripCount(70);
-        vendor2.setTotalDistance(new BigDecimal("1050.00"));
-        vendor2.setBillingModel("PACKAGE");
-        vendor2.setAmount(new BigDecimal("25000.00"));
-        vendorBreakdowns.add(vendor2);
-        
-        VendorBreakdown vendor3 = new VendorBreakdown();
-        vendor3.setVendorId(UUID.randomUUID());
-        vendor3.setVendorName("Rapido Bike Taxi");
-        vendor3.setTripCount(20);
-        vendor3.setTotalDistance(new BigDecimal("500.25"));
-        vendor3.setBillingModel("HYBRID");
-        vendor3.setAmount(new BigDecimal("21500.00"));
-        vendorBreakdowns.add(vendor3);
-        
+        for (TripRollupData vendorRollup : tripServiceClient.fetchRollups(reportMonth, clientId, null, null, "VENDOR")) {
+            UUID vendorId = UUID.fromString(vendorRollup.getGroupKey());
+            Invoice invoice = invoicesByVendor.get(vendorId);
+            BillingCalculationResponse calculation = invoice != null ? invoiceService.readSnapshot(invoice) : null;
+            
+            VendorBreakdown breakdown = new VendorBreakdown();
+            breakdown.setVendorId(vendorId);
+            breakdown.setVendorName(vendorNames.getOrDefault(vendorId, vendorId.toString()));
+            breakdown.setTripCount(Math.toIntExact(vendorRollup.getTripCount()));
+            breakdown.setTotalDistance(vendorRollup.getDistanceKm());
+            breakdown.setBillingModel(calculation != null ? calculation.getBillingModelType() : null);
+            breakdown.setAmount(invoice != null ? orZero(invoice.getTotalAmount()) : BigDecimal.ZERO);
+            vendorBreakdowns.add(breakdown);
+        }
         report.setVendorBreakdown(vendorBreakdowns);
         
         // Department-wise usage
-        Map<String, Integer> departmentUsage = new HashMap<>();
-        departmentUsage.put("Engineering", 50);
-        departmentUsage.put("Operations", 40);
-        departmentUsage.put("HR", 30);
-        departmentUsage.put("Sales", 30);
+        Map<String, Integer> departmentUsage = new TreeMap<>();
+        for (TripRollupData department : tripServiceClient.fetchRollups(reportMonth, clientId, null, null, "DEPARTMENT")) {
+            departmentUsage.put(department.getGroupKey(), Math.toIntExact(department.getTripCount()));
+        }
         report.setDepartmentWiseUsage(departmentUsage);
         
         report.setReportStatus("GENERATED");
-        report.setAuditTrail("Generated by system at " + LocalDateTime.now());
+        report.setAuditTrail("Generated by system at " + LocalDateTime.now() + " from trip rollups and " +
+            invoicesByVendor.size() + " of " + vendorBreakdowns.size() + " vendor invoices");
         
         return report;
     }
     
     /**
      * Generate Vendor Report
-     * Shows: Payable amount, Trip details, Incentives, Payment breakdown
+     * Shows: Payable amount, Trip statistics, Incentives, Payment breakdown
+     * Time Complexity: O(1) - one rollup row and one invoice
      */
     public VendorReport generateVendorReport(UUID vendorId, UUID clientId, YearMonth reportMonth) {
         VendorReport report = new VendorReport();
@@ -98,42 +137,44 @@ public class ReportGenerationService {
         report.setGeneratedAt(LocalDateTime.now());
         report.setReportId(UUID.randomUUID());
         
-        // Payment summary
-        report.setTotalTripsCompleted(70);
-        report.setTotalDistanceKm(new BigDecimal("1050.00"));
-        report.setBillingModelType("PACKAGE");
-        report.setBasePackageAmount(new BigDecimal("25000.00"));
-        report.setOverageCharges(new BigDecimal("2500.00"));
-        report.setIncentiveAmount(new BigDecimal("1500.00"));
-        report.setTotalPayable(new BigDecimal("29000.00"));
-        report.setServiceRating(4.7);
+        TripRollupData totals = tripServiceClient.fetchRollupTotals(reportMonth, clientId, vendorId, null);
+        int trips = Math.toIntExact(totals.getTripCount());
         
         // Trip statistics
-        report.setAverageDistancePerTrip(new BigDecimal("15.0"));
-        report.setAverageDurationPerTrip(new BigDecimal("1.2"));
-        report.setPeakHourTrips(15);
-        report.setOffPeakTrips(55);
+        report.setTotalTripsCompleted(trips);
+        report.setTotalDistanceKm(totals.getDistanceKm());
+        report.setAverageDistancePerTrip(average(totals.getDistanceKm(), trips));
+        report.setAverageDurationPerTrip(average(totals.getDurationHours(), trips));
+        report.setPeakHourTrips(Math.toIntExact(totals.getPeakHourTrips()));
+        report.setOffPeakTrips(Math.toIntExact(trips - totals.getPeakHourTrips()));
+        
+        // Payment summary from the month's invoice
+        Optional<Invoice> invoice = invoiceRepository.findByClientIdAndVendorIdAndBillingPeriodStart(
+            clientId, vendorId, reportMonth.atDay(1));
+        BillingCalculationResponse calculation = invoice.map(invoiceService::readSnapshot).orElse(null);
+        
+        BigDecimal extraKm = calculation != null ? orZero(calculation.getExtraKm()) : BigDecimal.ZERO;
+        BigDecimal incentive = incentiveCalculationService
+            .calculateVendorIncentive(vendorId, clientId, extraKm, trips, 0.0) // no rating source yet
+            .getTotalIncentive();
+        
+        report.setBillingModelType(calculation != null ? calculation.getBillingModelType() : null);
+        report.setBasePackageAmount(invoice.map(Invoice::getBaseAmount).orElse(BigDecimal.ZERO));
+        report.setOverageCharges(invoice.map(Invoice::getExtraCharges).orElse(BigDecimal.ZERO));
+        report.setIncentiveAmount(incentive);
+        report.setTotalPayable(invoice.map(Invoice::getFinalAmount).orElse(BigDecimal.ZERO).add(incentive));
         
         // Payment details
-        report.setPaymentTerms("Net 30 Days");
-        report.setPaymentDueDate(LocalDateTime.now().plusDays(30));
-        report.setPaymentStatus("PENDING");
-        
-        // Detailed trip list (top 10 for preview)
-        List<TripDetail> tripDetails = new ArrayList<>();
-        for (int i = 1; i <= 10; i++) {
-            TripDetail trip = new TripDetail();
-            trip.setTripId(UUID.randomUUID());
-            trip.setTripDate(reportMonth.atDay(i).atTime(9, 0));
-            trip.setEmployeeName("Employee " + i);
-            trip.setDistance(new BigDecimal("15.0"));
-            trip.setDuration(new BigDecimal("1.2"));
-            trip.setAmount(new BigDecimal("350.00"));
-            tripDetails.add(trip);
-        }
-        report.setTripDetails(tripDetails);
+        report.setPaymentTerms(PAYMENT_TERMS);
+        report.setPaymentDueDate(invoice.map(Invoice::getDueDate).map(LocalDate::atStartOfDay).orElse(null));
+        report.setPaymentStatus(invoice.map(i -> i.getStatus().name()).orElse("NOT_INVOICED"));
         
-        report.setReportNotes("All trips completed successfully. Excellent service rating!");
+        // Per-trip lines are not part of the rollups; they stay available from Trip Service
+        report.setTripDetails(new ArrayList<>());
+        
+        report.setReportNotes(invoice.isPresent()
+            ? "Amounts from invoice " + invoice.get().getInvoiceNumber()
+            : "No invoice generated for " + reportMonth + " yet; payable amounts exclude billing");
         
         return report;
     }
@@ -141,6 +182,7 @@ public class ReportGenerationService {
     /**
      * Generate Employee Report
      * Shows: Total trips, Incentives earned, Monthly summary
+     * Time Complexity: O(d) where d = days in the month
      */
     public EmployeeReport generateEmployeeReport(UUID employeeId, UUID clientId, YearMonth reportMonth) {
         EmployeeReport report = new EmployeeReport();
@@ -150,43 +192,45 @@ public class ReportGenerationService {
         report.setGeneratedAt(LocalDateTime.now());
         report.setReportId(UUID.randomUUID());
         
-        // Trip summary
-        report.setTotalTrips(22);
-        report.setTotalDistanceKm(new BigDecimal("305.75"));
-        report.setTotalHours(new BigDecimal("26.4"));
-        report.setAverageDistance(new BigDecimal("13.9"));
+        TripRollupData totals = tripServiceClient.fetchRollupTotals(reportMonth, clientId, null, employeeId);
+        int trips = Math.toIntExact(totals.getTripCount());
         
-        // Incentive summary
-        report.setExtraHourIncentive(new BigDecimal("750.00")); // 3 hours × ₹250
-        report.setLateNightTripIncentive(new BigDecimal("300.00")); // 2 trips × ₹150
-        report.setWeekendTripIncentive(new BigDecimal("400.00")); // 2 trips × ₹200
-        report.setTotalIncentiveEarned(new BigDecimal("1450.00"));
+        // Trip summary
+        report.setTotalTrips(trips);
+        report.setTotalDistanceKm(totals.getDistanceKm());
+        report.setTotalHours(totals.getDurationHours());
+        report.setAverageDistance(average(totals.getDistanceKm(), trips));
+        
+        // Incentive summary (incentives are linear in these totals, so no per-trip pass is needed)
+        IncentiveCalculationService.EmployeeIncentiveResponse incentive =
+            incentiveCalculationService.calculateMonthlyEmployeeIncentive(
+                employeeId, clientId, trips, totals.getExtraHours(),
+                Math.toIntExact(totals.getLateNightTrips()), Math.toIntExact(totals.getWeekendTrips()));
+        report.setExtraHourIncentive(incentive.getExtraHourIncentive());
+        report.setLateNightTripIncentive(incentive.getLateNightIncentive());
+        report.setWeekendTripIncentive(incentive.getWeekendIncentive());
+        report.setTotalIncentiveEarned(incentive.getTotalIncentive());
         
         // Trip breakdown
-        report.setMorningTrips(11);
-        report.setEveningTrips(8);
-        report.setLateNightTrips(2);
-        report.setWeekendTrips(2);
+        report.setMorningTrips(Math.toIntExact(totals.getMorningTrips()));
+        report.setEveningTrips(Math.toIntExact(totals.getEveningTrips()));
+        report.setLateNightTrips(Math.toIntExact(totals.getLateNightTrips()));
+        report.setWeekendTrips(Math.toIntExact(totals.getWeekendTrips()));
         
         // Monthly trend
-        Map<String, Integer> weeklyTrips = new HashMap<>();
-        weeklyTrips.put("Week 1", 6);
-        weeklyTrips.put("Week 2", 5);
-        weeklyTrips.put("Week 3", 6);
-        weeklyTrips.put("Week 4", 5);
+        Map<String, Integer> weeklyTrips = new TreeMap<>();
+        for (TripRollupData day : tripServiceClient.fetchRollups(reportMonth, clientId, null, employeeId, "DATE")) {
+            int week = (LocalDate.parse(day.getGroupKey()).getDayOfMonth() - 1) / 7 + 1;
+            weeklyTrips.merge("Week " + week, Math.toIntExact(day.getTripCount()), Integer::sum);
+        }
         report.setWeeklyTripBreakdown(weeklyTrips);
         
-        // Top routes
-        List<String> topRoutes = Arrays.asList(
-            "Whitefield → Office (8 trips)",
-            "HSR Layout → Office (6 trips)",
-            "Koramangala → Office (5 trips)"
-        );
-        report.setTopRoutes(topRoutes);
+        // Routes are not part of the rollups
+        report.setTopRoutes(new ArrayList<>());
         
         report.setIncentivePayoutStatus("PENDING");
-        report.setIncentivePayoutDate(LocalDateTime.now().plusDays(5));
-        report.setReportNotes("Great usage! You've earned extra incentives for late-night and weekend trips.");
+        report.setIncentivePayoutDate(reportMonth.atEndOfMonth().plusDays(INCENTIVE_PAYOUT_DAYS).atStartOfDay());
+        report.setReportNotes(incentive.getCalculationDetails());
         
         return report;
     }
@@ -194,6 +238,7 @@ public class ReportGenerationService {
     /**
      * Generate Consolidated Monthly Report
      * Master report combining all entities
+     * Time Complexity: O(c + v) where c = clients and v = vendors with trips in the month
      */
     public ConsolidatedReport generateConsolidatedReport(YearMonth reportMonth) {
         ConsolidatedReport report = new ConsolidatedReport();
@@ -202,25 +247,66 @@ public class ReportGenerationService {
         report.setReportId(UUID.randomUUID());
         
         // Platform-wide statistics
-        report.setTotalClients(4);
-        report.setTotalVendors(5);
-        report.setTotalEmployees(150);
-        report.setTotalTrips(450);
-        report.setTotalRevenue(new BigDecimal("250000.00"));
-        report.setTotalIncentivesPaid(new BigDecimal("35000.00"));
-        
-        // Top performing client
-        report.setTopClient("Amazon India - 150 trips");
-        report.setTopVendor("Uber India - 120 trips");
-        
-        // Financial summary
-        report.setTotalBilled(new BigDecimal("250000.00"));
-        report.setTotalCollected(new BigDecimal("200000.00"));
-        report.setTotalPending(new BigDecimal("50000.00"));
+        TripRollupData totals = tripServiceClient.fetchRollupTotals(reportMonth, null, null, null);
+        report.setTotalClients(Math.toIntExact(totals.getClientCount()));
+        report.setTotalVendors(Math.toIntExact(totals.getVendorCount()));
+        report.setTotalEmployees(Math.toIntExact(totals.getEmployeeCount()));
+        report.setTotalTrips(Math.toIntExact(totals.getTripCount()));
+        report.setTotalIncentivesPaid(incentiveCalculationService.calculateMonthlyEmployeeIncentive(
+                null, null, Math.toIntExact(totals.getTripCount()), totals.getExtraHours(),
+                Math.toIntExact(totals.getLateNightTrips()), Math.toIntExact(totals.getWeekendTrips()))
+            .getTotalIncentive());
+        
+        // Top performing client and vendor by trips
+        report.setTopClient(topByTrips(
+            tripServiceClient.fetchRollups(reportMonth, null, null, null, "CLIENT"),
+            directoryServiceClient::fetchClientNames));
+        report.setTopVendor(topByTrips(
+            tripServiceClient.fetchRollups(reportMonth, null, null, null, "VENDOR"),
+            directoryServiceClient::fetchVendorNames));
+        
+        // Financial summary from invoices, aggregated per status
+        BigDecimal totalRevenue = BigDecimal.ZERO;
+        BigDecimal totalBilled = BigDecimal.ZERO;
+        BigDecimal totalCollected = BigDecimal.ZERO;
+        for (Object[] row : invoiceRepository.sumByStatus(reportMonth.atDay(1))) {
+            InvoiceStatus status = (InvoiceStatus) row[0];
+            if (status == InvoiceStatus.CANCELLED) {
+                continue;
+            }
+            totalRevenue = totalRevenue.add(orZero((BigDecimal) row[2]));
+            totalBilled = totalBilled.add(orZero((BigDecimal) row[3]));
+            if (status == InvoiceStatus.PAID) {
+                totalCollected = totalCollected.add(orZero((BigDecimal) row[3]));
+            }
+        }
+        report.setTotalRevenue(totalRevenue);
+        report.setTotalBilled(totalBilled);
+        report.setTotalCollected(totalCollected);
+        report.setTotalPending(totalBilled.subtract(totalCollected));
         
         return report;
     }
     
+    /**
+     * "Name - N trips" for the group with the most trips; names are only looked up when there is one
+     */
+    private String topByTrips(List<TripRollupData> groups, Supplier<Map<UUID, String>> names) {
+        return groups.stream()
+            .max(Comparator.comparingLong(TripRollupData::getTripCount))
+            .map(top -> names.get().getOrDefault(UUID.fromString(top.getGroupKey()), top.getGroupKey())
+                + " - " + top.getTripCount() + " trips")
+            .orElse(null);
+    }
+    
+    private BigDecimal average(BigDecimal total, int count) {
+        return count == 0 ? BigDecimal.ZERO : total.divide(new BigDecimal(count), 2, RoundingMode.HALF_UP);
+    }
+    
+    private BigDecimal orZero(BigDecimal value) {
+        return value != null ? value : BigDecimal.ZERO;
+    }
+    
     // Inner classes for report DTOs
     public static class ClientReport {
         private UUID reportId;
@@ -0,0 +1,281 @@
+package com.pm.billingservice.service;
+
+import com.pm.billingservice.client.BillingModelData;
+import com.pm.billingservice.client.TripAggregateData;
+import com.pm.billingservice.client.TripEventData;
+import com.pm.billingservice.client.TripEventPageData;
+import com.pm.billingservice.client.TripServiceClient;
+import com.pm.billingservice.client.TripSnapshotData;
+import com.pm.billingservice.model.RunningBillingTotal;
+import com.pm.billingservice.model.TripEventOffset;
+import com.pm.billingservice.repository.InvoiceRepository;
+import com.pm.billingservice.repository.RunningBillingTotalRepository;
+import com.pm.billingservice.repository.TripEventOffsetRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.YearMonth;
+import java.time.ZoneId;
+import java.util.*;
+
+/**
+ * Running trip totals per client-vendor month, kept current from Trip Service's event feed.
+ * - A month is seeded once from a Trip Service aggregate, which says which events it already includes
+ * - Every later trip change adjusts it in O(1): the trip's old figures are subtracted, the new ones added
+ * - A change to a closed month marks its invoice stale, so the next request recalculates it
+ * TRIP and PACKAGE billing then read one row instead of aggregating the month's trips.
+ *
+ * The feed position is a locked row (trip_event_offsets); applying a page of events and
+ * seeding a month both hold that lock, so every event lands in a month exactly once.
+ * If the feed was purged past our position the totals can no longer be trusted: they are
+ * dropped and seeded again on demand.
+ */
+@Service
+public class RunningTotalsService {
+
+    private static final Logger log = LoggerFactory.getLogger(RunningTotalsService.class);
+
+    static final String CONSUMER = "billing-running-totals";
+
+    private final TripServiceClient tripServiceClient;
+    private final RunningBillingTotalRepository runningBillingTotalRepository;
+    private final TripEventOffsetRepository tripEventOffsetRepository;
+    private final InvoiceRepository invoiceRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${billing.trip-events.page-size:500}")
+    private int pageSize = 500;
+
+    @Value("${billing.trip-events.max-pages-per-poll:20}")
+    private int maxPagesPerPoll = 20;
+
+    public RunningTotalsService(
+            TripServiceClient tripServiceClient,
+            RunningBillingTotalRepository runningBillingTotalRepository,
+            TripEventOffsetRepository tripEventOffsetRepository,
+            InvoiceRepository invoiceRepository,
+            TransactionTemplate transactionTemplate) {
+        this.tripServiceClient = tripServiceClient;
+        this.runningBillingTotalRepository = runningBillingTotalRepository;
+        this.tripEventOffsetRepository = tripEventOffsetRepository;
+        this.invoiceRepository = invoiceRepository;
+        this.transactionTemplate = transactionTemplate;
+    }
+
+    @Scheduled(fixedDelayString = "${billing.trip-events.poll-interval:PT5S}")
+    public void poll() {
+        try {
+            catchUp();
+        } catch (Exception e) {
+            log.error("Error applying trip events", e);
+        }
+    }
+
+    /**
+     * Apply pending trip events, one transaction per page
+     * Time Complexity: O(e) where e = number of new events
+     * @return number of events applied
+     */
+    public int catchUp() {
+        int applied = 0;
+        for (int page = 0; page < maxPagesPerPoll; page++) {
+            Integer count = transactionTemplate.execute(status -> applyNextPage());
+            if (count == null || count == 0) {
+                break;
+            }
+            applied += count;
+        }
+        return applied;
+    }
+
+    /**
+     * Trip totals of a month as of the last applied event, measured against the model's standard limits.
+     * Seeds the month from Trip Service on first use or when the standard limits changed.
+     */
+    public TripAggregateData totals(UUID clientId, UUID vendorId, YearMonth month, BillingModelData model) {
+        Optional<RunningBillingTotal> total = runningBillingTotalRepository
+            .findByClientIdAndVendorIdAndBillingMonth(clientId, vendorId, month.atDay(1));
+        if (total.isPresent() && sameStandards(total.get(), model)) {
+            return toAggregate(total.get());
+        }
+        return transactionTemplate.execute(status -> seed(clientId, vendorId, month, model));
+    }
+
+    private TripAggregateData seed(UUID clientId, UUID vendorId, YearMonth month, BillingModelData model) {
+        TripEventOffset offset = lockOffset();
+        // Held under the offset lock, so the frontier it returns is never behind the events already applied
+        TripAggregateData aggregate = tripServiceClient.fetchTripAggregate(
+            clientId, vendorId, month, model.getStandardTripKm(), model.getStandardTripHours(),
+            Math.max(offset.getLastEventId(), 0L));
+        if (offset.getLastEventId() == TripEventOffset.UNINITIALIZED) {
+            return aggregate; // not following the feed yet; nothing would keep the row current
+        }
+
+        RunningBillingTotal total = runningBillingTotalRepository
+            .findByClientIdAndVendorIdAndBillingMonth(clientId, vendorId, month.atDay(1))
+            .orElseGet(RunningBillingTotal::new);
+        total.setClientId(clientId);
+        total.setVendorId(vendorId);
+        total.setBillingMonth(month.atDay(1));
+        total.setTripCount(aggregate.getTripCount());
+        total.setDistanceKm(orZero(aggregate.getTotalDistanceKm()));
+        total.setDurationHours(orZero(aggregate.getTotalDurationHours()));
+        total.setExtraKm(orZero(aggregate.getExtraKm()));
+        total.setExtraHours(orZero(aggregate.getExtraHours()));
+        total.setStandardTripKm(model.getStandardTripKm());
+        total.setStandardTripHours(model.getStandardTripHours());
+        // Exactly the events up to the settled frontier asOfEventId are in the aggregate; later ones,
+        // committed or still in flight when it was read, are applied from the feed
+        long asOf = aggregate.getAsOfEventId() != null ? aggregate.getAsOfEventId() : 0L;
+        total.setSeededThroughEventId(Math.max(asOf, offset.getLastEventId()));
+        runningBillingTotalRepository.save(total);
+        return aggregate;
+    }
+
+    private int applyNextPage() {
+        TripEventOffset offset = lockOffset();
+        long lastEventId = offset.getLastEventId();
+        TripEventPageData page = tripServiceClient.fetchTripEvents(Math.max(lastEventId, 0L), pageSize);
+
+        Long oldest = page.getOldestEventId();
+        if (lastEventId == TripEventOffset.UNINITIALIZED || (oldest != null && oldest > lastEventId + 1)) {
+            // First start, or events we never saw were purged: start over from the end of the feed
+            runningBillingTotalRepository.deleteAllInBatch();
+            offset.setLastEventId(page.getLatestEventId() != null ? page.getLatestEventId() : 0L);
+            return 0;
+        }
+
+        List<TripEventData> events = page.getEvents();
+        if (events.isEmpty()) {
+            return 0;
+        }
+
+        Map<MonthKey, Optional<RunningBillingTotal>> totals = new HashMap<>();
+        Set<MonthKey> changedClosedMonths = new LinkedHashSet<>();
+        for (TripEventData event : events) {
+            if (event.getId() <= lastEventId || sameFigures(event.getBefore(), event.getAfter())) {
+                continue;
+            }
+            adjust(totals, changedClosedMonths, event.getBefore(), -1, event.getId());
+            adjust(totals, changedClosedMonths, event.getAfter(), 1, event.getId());
+        }
+
+        runningBillingTotalRepository.saveAll(
+            totals.values().stream().flatMap(Optional::stream).toList());
+        for (MonthKey key : changedClosedMonths) {
+            invoiceRepository.markStale(key.clientId, key.vendorId, key.month.atDay(1));
+        }
+        offset.setLastEventId(events.get(events.size() - 1).getId());
+        return events.size();
+    }
+
+    /**
+     * Add (sign 1) or remove (sign -1) one trip's figures from its month
+     */
+    private void adjust(Map<MonthKey, Optional<RunningBillingTotal>> totals, Set<MonthKey> changedClosedMonths,
+                        TripSnapshotData trip, int sign, long eventId) {
+        if (trip == null || trip.getTripStartTime() == null) {
+            return;
+        }
+        YearMonth month = YearMonth.from(trip.getTripStartTime().atZone(ZoneId.systemDefault()));
+        MonthKey key = new MonthKey(trip.getClientId(), trip.getVendorId(), month);
+        if (month.isBefore(YearMonth.now())) {
+            changedClosedMonths.add(key);
+        }
+
+        Optional<RunningBillingTotal> loaded = totals.computeIfAbsent(key, k -> runningBillingTotalRepository
+            .findByClientIdAndVendorIdAndBillingMonth(k.clientId, k.vendorId, k.month.atDay(1)));
+        if (loaded.isEmpty() || eventId <= loaded.get().getSeededThroughEventId()) {
+            return; // not tracked yet, or already part of the seeded aggregate
+        }
+
+        RunningBillingTotal total = loaded.get();
+        BigDecimal distance = orZero(trip.getDistanceKm());
+        BigDecimal hours = orZero(trip.getDurationHours());
+        BigDecimal factor = BigDecimal.valueOf(sign);
+        total.setTripCount(total.getTripCount() + sign);
+        total.setDistanceKm(total.getDistanceKm().add(distance.multiply(factor)));
+        total.setDurationHours(total.getDurationHours().add(hours.multiply(factor)));
+        total.setExtraKm(total.getExtraKm().add(beyond(distance, total.getStandardTripKm()).multiply(factor)));
+        total.setExtraHours(total.getExtraHours().add(beyond(hours, total.getStandardTripHours()).multiply(factor)));
+    }
+
+    private TripEventOffset lockOffset() {
+        return tripEventOffsetRepository.findForUpdate(CONSUMER)
+            .orElseGet(() -> tripEventOffsetRepository.saveAndFlush(new TripEventOffset(CONSUMER)));
+    }
+
+    private static TripAggregateData toAggregate(RunningBillingTotal total) {
+        TripAggregateData aggregate = new TripAggregateData();
+        aggregate.setTripCount(total.getTripCount());
+        aggregate.setTotalDistanceKm(total.getDistanceKm());
+        aggregate.setTotalDurationHours(total.getDurationHours());
+        aggregate.setExtraKm(total.getExtraKm());
+        aggregate.setExtraHours(total.getExtraHours());
+        aggregate.setAsOfEventId(total.getSeededThroughEventId());
+        return aggregate;
+    }
+
+    // Same per-trip overage rule as Trip Service's aggregate
+    private static BigDecimal beyond(BigDecimal value, BigDecimal standard) {
+        if (standard == null || value.compareTo(standard) <= 0) {
+            return BigDecimal.ZERO;
+        }
+        return value.subtract(standard);
+    }
+
+    private static boolean sameStandards(RunningBillingTotal total, BillingModelData model) {
+        return sameValue(total.getStandardTripKm(), model.getStandardTripKm())
+            && sameValue(total.getStandardTripHours(), model.getStandardTripHours());
+    }
+
+    // An update that does not move the trip or change its figures leaves every total as it is
+    private static boolean sameFigures(TripSnapshotData before, TripSnapshotData after) {
+        return before != null && after != null
+            && Objects.equals(before.getClientId(), after.getClientId())
+            && Objects.equals(before.getVendorId(), after.getVendorId())
+            && Objects.equals(before.getTripStartTime(), after.getTripStartTime())
+            && sameValue(before.getDistanceKm(), after.getDistanceKm())
+            && sameValue(before.getDurationHours(), after.getDurationHours());
+    }
+
+    private static boolean sameValue(BigDecimal a, BigDecimal b) {
+        return a == null ? b == null : b != null && a.compareTo(b) == 0;
+    }
+
+    private static BigDecimal orZero(BigDecimal value) {
+        return value != null ? value : BigDecimal.ZERO;
+    }
+
+    private static final class MonthKey {
+        private final UUID clientId;
+        private final UUID vendorId;
+        private final YearMonth month;
+
+        MonthKey(UUID clientId, UUID vendorId, YearMonth month) {
+            this.clientId = clientId;
+            this.vendorId = vendorId;
+            this.month = month;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof MonthKey)) return false;
+            MonthKey other = (MonthKey) o;
+            return Objects.equals(clientId, other.clientId)
+                && Objects.equals(vendorId, other.vendorId)
+                && Objects.equals(month, other.month);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(clientId, vendorId, month);
+        }
+    }
+}
@@ -0,0 +1,92 @@
+package com.pm.billingservice.service;
+
+import java.math.BigDecimal;
+
+/**
+ * Columnar batch of trip quantities, filled as the trip stream is decoded.
+ * Distance and duration are stored as hundredths in parallel primitive arrays, with the scale
+ * each value arrived with alongside, so {@link TripTotals} can fold a batch in one sequential
+ * pass over contiguous memory instead of chasing a TripData object per trip.
+ * A batch is reused: {@link #clear()} keeps the arrays and advances {@link #firstIndex()}, so the
+ * position of every trip in the month (which decides HYBRID package overage) is preserved.
+ */
+final class TripBatch {
+
+    static final int QUANTITY_SCALE = 2;
+
+    final long[] distance;
+    final byte[] distanceScale;
+    final long[] hours;
+    final byte[] hoursScale;
+
+    private int size;
+    private long firstIndex;
+
+    TripBatch(int capacity) {
+        this.distance = new long[capacity];
+        this.distanceScale = new byte[capacity];
+        this.hours = new long[capacity];
+        this.hoursScale = new byte[capacity];
+    }
+
+    /**
+     * Append one trip; null quantities (trip not completed) count as zero
+     */
+    void add(BigDecimal distanceKm, BigDecimal durationHours) {
+        if (distanceKm != null) {
+            distance[size] = FixedPointSum.toUnscaled(distanceKm, QUANTITY_SCALE);
+            distanceScale[size] = scaleOf(distanceKm);
+        } else {
+            distance[size] = 0L;
+            distanceScale[size] = 0;
+        }
+        if (durationHours != null) {
+            hours[size] = FixedPointSum.toUnscaled(durationHours, QUANTITY_SCALE);
+            hoursScale[size] = scaleOf(durationHours);
+        } else {
+            hours[size] = 0L;
+            hoursScale[size] = 0;
+        }
+        size++;
+    }
+
+    /**
+     * Append one trip already in hundredths (the gRPC wire form), with the scale each value had
+     */
+    void add(long distanceHundredths, int distanceKmScale, long hoursHundredths, int durationHoursScale) {
+        distance[size] = distanceHundredths;
+        distanceScale[size] = clampScale(distanceKmScale);
+        hours[size] = hoursHundredths;
+        hoursScale[size] = clampScale(durationHoursScale);
+        size++;
+    }
+
+    private static byte scaleOf(BigDecimal value) {
+        // Scales above QUANTITY_SCALE with non-zero digits were already rejected by toUnscaled
+        return clampScale(value.scale());
+    }
+
+    private static byte clampScale(int scale) {
+        return (byte) Math.max(Byte.MIN_VALUE, Math.min(Byte.MAX_VALUE, scale));
+    }
+
+    int size() {
+        return size;
+    }
+
+    boolean isFull() {
+        return size == distance.length;
+    }
+
+    /**
+     * Position in the month of the first trip in this batch
+     */
+    long firstIndex() {
+        return firstIndex;
+    }
+
+    void clear() {
+        firstIndex += size;
+        size = 0;
+    }
+}
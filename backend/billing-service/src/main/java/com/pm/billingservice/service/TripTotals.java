@@ -0,0 +1,278 @@
+package com.pm.billingservice.service;
+
+import com.pm.billingservice.client.BillingModelData;
+import com.pm.billingservice.client.TripAggregateData;
+import com.pm.billingservice.client.TripData;
+
+import java.math.BigDecimal;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Running totals for one client-vendor month.
+ * Trips are folded in one at a time as they stream in, so memory is O(1) in the number of trips.
+ * Every figure needed by the TRIP, PACKAGE and HYBRID models is kept, so the model can be
+ * chosen after the fold without a second pass.
+ * TRIP and PACKAGE totals can also be seeded directly from a server-side aggregate.
+ *
+ * The fold is fixed-point: km, hours and rates are DECIMAL(10,2) upstream and are handled as
+ * hundredths in a long, charges (quantity x rate) as ten-thousandths. BigDecimals are only
+ * created by the getters, and they are identical in value and scale to plain BigDecimal arithmetic.
+ * Streamed trips arrive as columnar {@link TripBatch}es and are folded in one pass per batch;
+ * every sum is exact and order-independent, so a large batch can be split across a ForkJoinPool
+ * and the partial totals merged.
+ */
+class TripTotals {
+
+    private static final int QUANTITY_SCALE = TripBatch.QUANTITY_SCALE;
+    private static final int CHARGE_SCALE = 2 * QUANTITY_SCALE;
+
+    private final Term standardTripKm;
+    private final Term standardTripHours;
+    private final Term extraKmRate;
+    private final Term extraHourRate;
+    private final Term ratePerTrip;
+    private final Term ratePerKm;
+    private final int packageTripsIncluded;
+
+    private int totalTrips;
+    private final FixedPointSum totalDistance = new FixedPointSum(QUANTITY_SCALE);
+    private final FixedPointSum totalHours = new FixedPointSum(QUANTITY_SCALE);
+
+    // Per-trip overage beyond the standard trip limits (TRIP model)
+    private final FixedPointSum extraKm = new FixedPointSum(QUANTITY_SCALE);
+    private final FixedPointSum extraHours = new FixedPointSum(QUANTITY_SCALE);
+    private final FixedPointSum extraKmCharges = new FixedPointSum(CHARGE_SCALE);
+    private final FixedPointSum extraHourCharges = new FixedPointSum(CHARGE_SCALE);
+
+    // Trips beyond the package allowance, in arrival order (HYBRID model)
+    private final FixedPointSum beyondPackageKm = new FixedPointSum(QUANTITY_SCALE);
+    private final FixedPointSum beyondPackageTripCharges = new FixedPointSum(QUANTITY_SCALE);
+    private final FixedPointSum beyondPackageDistanceCharges = new FixedPointSum(CHARGE_SCALE);
+
+    /**
+     * Empty totals sharing another instance's model terms; used for fork/join partials
+     */
+    private TripTotals(TripTotals prototype) {
+        this.standardTripKm = prototype.standardTripKm;
+        this.standardTripHours = prototype.standardTripHours;
+        this.extraKmRate = prototype.extraKmRate;
+        this.extraHourRate = prototype.extraHourRate;
+        this.ratePerTrip = prototype.ratePerTrip;
+        this.ratePerKm = prototype.ratePerKm;
+        this.packageTripsIncluded = prototype.packageTripsIncluded;
+    }
+
+    TripTotals(BillingModelData model) {
+        // Each model type only carries its own rates; the others arrive as null
+        this.standardTripKm = Term.of(model.getStandardTripKm());
+        this.standardTripHours = Term.of(model.getStandardTripHours());
+        this.extraKmRate = Term.orZero(model.getExtraKmRate());
+        this.extraHourRate = Term.orZero(model.getExtraHourRate());
+        this.ratePerTrip = Term.orZero(model.getRatePerTrip());
+        this.ratePerKm = Term.orZero(model.getRatePerKm());
+        // No package (TRIP model): no trip is ever beyond the allowance
+        this.packageTripsIncluded = model.getPackageTripsIncluded() != null
+            ? model.getPackageTripsIncluded()
+            : Integer.MAX_VALUE;
+    }
+
+    /**
+     * Totals from a Trip Service aggregate (TRIP/PACKAGE only).
+     * Per-trip overage charges are (sum of overage) x rate, which is exact in fixed point.
+     * The arrival-order figures used by HYBRID are not available from an aggregate.
+     */
+    static TripTotals fromAggregate(BillingModelData model, TripAggregateData aggregate) {
+        TripTotals totals = new TripTotals(model);
+        totals.totalTrips = Math.toIntExact(aggregate.getTripCount());
+        addQuantity(totals.totalDistance, aggregate.getTotalDistanceKm());
+        addQuantity(totals.totalHours, aggregate.getTotalDurationHours());
+        Term extraKm = addQuantity(totals.extraKm, aggregate.getExtraKm());
+        Term extraHours = addQuantity(totals.extraHours, aggregate.getExtraHours());
+        if (extraKm.unscaled > 0) {
+            totals.extraKmCharges.add(extraKm.times(totals.extraKmRate), extraKm.scale + totals.extraKmRate.scale);
+        }
+        if (extraHours.unscaled > 0) {
+            totals.extraHourCharges.add(extraHours.times(totals.extraHourRate), extraHours.scale + totals.extraHourRate.scale);
+        }
+        return totals;
+    }
+
+    private static Term addQuantity(FixedPointSum sum, BigDecimal value) {
+        Term term = Term.orZero(value);
+        sum.add(term.unscaled, term.scale);
+        return term;
+    }
+
+    /**
+     * Fold one trip into the totals.
+     * Trips that are not yet completed carry no distance/duration and count as zero.
+     * Time Complexity: O(1), no allocation
+     */
+    void add(TripData trip) {
+        BigDecimal distanceValue = trip.getDistanceKm();
+        BigDecimal hoursValue = trip.getDurationHours();
+        fold(
+            totalTrips,
+            distanceValue != null ? FixedPointSum.toUnscaled(distanceValue, QUANTITY_SCALE) : 0L,
+            distanceValue != null ? distanceValue.scale() : 0,
+            hoursValue != null ? FixedPointSum.toUnscaled(hoursValue, QUANTITY_SCALE) : 0L,
+            hoursValue != null ? hoursValue.scale() : 0
+        );
+    }
+
+    /**
+     * Fold a whole batch in one sequential pass over its columns
+     * Time Complexity: O(n) where n = batch size, no allocation
+     */
+    void add(TripBatch batch) {
+        add(batch, 0, batch.size());
+    }
+
+    /**
+     * Fold a batch, splitting it into slices of at most sliceSize trips that are folded
+     * in parallel on the given pool and merged. Small batches are folded on the calling thread.
+     */
+    void add(TripBatch batch, ForkJoinPool pool, int sliceSize) {
+        if (batch.size() < 2 * sliceSize) {
+            add(batch);
+            return;
+        }
+        merge(pool.invoke(new FoldTask(this, batch, 0, batch.size(), sliceSize)));
+    }
+
+    private void add(TripBatch batch, int from, int to) {
+        long[] distance = batch.distance;
+        byte[] distanceScale = batch.distanceScale;
+        long[] hours = batch.hours;
+        byte[] hoursScale = batch.hoursScale;
+        long firstIndex = batch.firstIndex();
+        for (int i = from; i < to; i++) {
+            fold(firstIndex + i, distance[i], distanceScale[i], hours[i], hoursScale[i]);
+        }
+    }
+
+    /**
+     * @param index position of the trip in the month; trips at or beyond the package allowance
+     *              are the HYBRID overage
+     */
+    private void fold(long index, long distance, int distanceScale, long hours, int hoursScale) {
+        if (index >= packageTripsIncluded) {
+            beyondPackageTripCharges.add(ratePerTrip.unscaled, ratePerTrip.scale);
+            beyondPackageDistanceCharges.add(
+                Math.multiplyExact(distance, ratePerKm.unscaled), distanceScale + ratePerKm.scale);
+            beyondPackageKm.add(distance, distanceScale);
+        }
+
+        totalTrips++;
+        totalDistance.add(distance, distanceScale);
+        totalHours.add(hours, hoursScale);
+
+        // Extra KM beyond standard (no standard, no per-trip overage)
+        if (standardTripKm != null && distance > standardTripKm.unscaled) {
+            long tripExtraKm = distance - standardTripKm.unscaled;
+            int tripExtraKmScale = Math.max(distanceScale, standardTripKm.scale);
+            extraKm.add(tripExtraKm, tripExtraKmScale);
+            extraKmCharges.add(
+                Math.multiplyExact(tripExtraKm, extraKmRate.unscaled), tripExtraKmScale + extraKmRate.scale);
+        }
+
+        // Extra hours beyond standard
+        if (standardTripHours != null && hours > standardTripHours.unscaled) {
+            long tripExtraHours = hours - standardTripHours.unscaled;
+            int tripExtraHoursScale = Math.max(hoursScale, standardTripHours.scale);
+            extraHours.add(tripExtraHours, tripExtraHoursScale);
+            extraHourCharges.add(
+                Math.multiplyExact(tripExtraHours, extraHourRate.unscaled), tripExtraHoursScale + extraHourRate.scale);
+        }
+    }
+
+    /**
+     * Add another partial fold of the same month into this one
+     */
+    private void merge(TripTotals other) {
+        totalTrips = Math.addExact(totalTrips, other.totalTrips);
+        totalDistance.add(other.totalDistance);
+        totalHours.add(other.totalHours);
+        extraKm.add(other.extraKm);
+        extraHours.add(other.extraHours);
+        extraKmCharges.add(other.extraKmCharges);
+        extraHourCharges.add(other.extraHourCharges);
+        beyondPackageKm.add(other.beyondPackageKm);
+        beyondPackageTripCharges.add(other.beyondPackageTripCharges);
+        beyondPackageDistanceCharges.add(other.beyondPackageDistanceCharges);
+    }
+
+    int getTotalTrips() { return totalTrips; }
+    BigDecimal getTotalDistance() { return totalDistance.toBigDecimal(); }
+    BigDecimal getTotalHours() { return totalHours.toBigDecimal(); }
+    BigDecimal getExtraKm() { return extraKm.toBigDecimal(); }
+    BigDecimal getExtraHours() { return extraHours.toBigDecimal(); }
+    BigDecimal getExtraKmCharges() { return extraKmCharges.toBigDecimal(); }
+    BigDecimal getExtraHourCharges() { return extraHourCharges.toBigDecimal(); }
+    BigDecimal getBeyondPackageKm() { return beyondPackageKm.toBigDecimal(); }
+    BigDecimal getBeyondPackageTripCharges() { return beyondPackageTripCharges.toBigDecimal(); }
+    BigDecimal getBeyondPackageDistanceCharges() { return beyondPackageDistanceCharges.toBigDecimal(); }
+
+    /**
+     * Folds a range of a batch, halving it until a slice fits, then merges the halves
+     */
+    private static final class FoldTask extends RecursiveTask<TripTotals> {
+        private final TripTotals prototype;
+        private final TripBatch batch;
+        private final int from;
+        private final int to;
+        private final int sliceSize;
+
+        FoldTask(TripTotals prototype, TripBatch batch, int from, int to, int sliceSize) {
+            this.prototype = prototype;
+            this.batch = batch;
+            this.from = from;
+            this.to = to;
+            this.sliceSize = sliceSize;
+        }
+
+        @Override
+        protected TripTotals compute() {
+            if (to - from <= sliceSize) {
+                TripTotals part = new TripTotals(prototype);
+                part.add(batch, from, to);
+                return part;
+            }
+            int mid = (from + to) >>> 1;
+            FoldTask left = new FoldTask(prototype, batch, from, mid, sliceSize);
+            left.fork();
+            TripTotals right = new FoldTask(prototype, batch, mid, to, sliceSize).compute();
+            TripTotals result = left.join();
+            result.merge(right);
+            return result;
+        }
+    }
+
+    /**
+     * A model term or aggregate figure in hundredths, with the scale it arrived with
+     */
+    private static final class Term {
+        private static final Term ZERO = new Term(0L, 0);
+
+        final long unscaled;
+        final int scale;
+
+        private Term(long unscaled, int scale) {
+            this.unscaled = unscaled;
+            this.scale = scale;
+        }
+
+        static Term of(BigDecimal value) {
+            return value != null ? new Term(FixedPointSum.toUnscaled(value, QUANTITY_SCALE), value.scale()) : null;
+        }
+
+        static Term orZero(BigDecimal value) {
+            return value != null ? of(value) : ZERO;
+        }
+
+        long times(Term other) {
+            return Math.multiplyExact(unscaled, other.unscaled);
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package com.pm.billingservice.service;
+
+import com.pm.billingservice.client.BillingModelData;
+import com.pm.billingservice.client.TripAggregateData;
+
+import java.math.BigDecimal;
+
+/**
+ * The BigDecimal fold TripTotals replaced, kept as the reference its fixed-point fold must match
+ * in value and scale
+ */
+final class BigDecimalTripTotals {
+
+    private final BigDecimal standardTripKm;
+    private final BigDecimal standardTripHours;
+    private final BigDecimal extraKmRate;
+    private final BigDecimal extraHourRate;
+    private final BigDecimal ratePerTrip;
+    private final BigDecimal ratePerKm;
+    private final int packageTripsIncluded;
+
+    int totalTrips;
+    BigDecimal totalDistance = BigDecimal.ZERO;
+    BigDecimal totalHours = BigDecimal.ZERO;
+    BigDecimal extraKm = BigDecimal.ZERO;
+    BigDecimal extraHours = BigDecimal.ZERO;
+    BigDecimal extraKmCharges = BigDecimal.ZERO;
+    BigDecimal extraHourCharges = BigDecimal.ZERO;
+    BigDecimal beyondPackageKm = BigDecimal.ZERO;
+    BigDecimal beyondPackageTripCharges = BigDecimal.ZERO;
+    BigDecimal beyondPackageDistanceCharges = BigDecimal.ZERO;
+
+    BigDecimalTripTotals(BillingModelData model) {
+        this.standardTripKm = model.getStandardTripKm();
+        this.standardTripHours = model.getStandardTripHours();
+        this.extraKmRate = orZero(model.getExtraKmRate());
+        this.extraHourRate = orZero(model.getExtraHourRate());
+        this.ratePerTrip = orZero(model.getRatePerTrip());
+        this.ratePerKm = orZero(model.getRatePerKm());
+        this.packageTripsIncluded = model.getPackageTripsIncluded() != null
+            ? model.getPackageTripsIncluded()
+            : Integer.MAX_VALUE;
+    }
+
+    static BigDecimalTripTotals fromAggregate(BillingModelData model, TripAggregateData aggregate) {
+        BigDecimalTripTotals totals = new BigDecimalTripTotals(model);
+        totals.totalTrips = Math.toIntExact(aggregate.getTripCount());
+        totals.totalDistance = orZero(aggregate.getTotalDistanceKm());
+        totals.totalHours = orZero(aggregate.getTotalDurationHours());
+        totals.extraKm = orZero(aggregate.getExtraKm());
+        totals.extraHours = orZero(aggregate.getExtraHours());
+        if (totals.extraKm.signum() > 0) {
+            totals.extraKmCharges = totals.extraKm.multiply(totals.extraKmRate);
+        }
+        if (totals.extraHours.signum() > 0) {
+            totals.extraHourCharges = totals.extraHours.multiply(totals.extraHourRate);
+        }
+        return totals;
+    }
+
+    void add(BigDecimal distanceKm, BigDecimal durationHours) {
+        BigDecimal distance = orZero(distanceKm);
+        BigDecimal hours = orZero(durationHours);
+
+        if (totalTrips >= packageTripsIncluded) {
+            beyondPackageTripCharges = beyondPackageTripCharges.add(ratePerTrip);
+            beyondPackageDistanceCharges = beyondPackageDistanceCharges.add(distance.multiply(ratePerKm));
+            beyondPackageKm = beyondPackageKm.add(distance);
+        }
+
+        totalTrips++;
+        totalDistance = totalDistance.add(distance);
+        totalHours = totalHours.add(hours);
+
+        if (standardTripKm != null && distance.compareTo(standardTripKm) > 0) {
+            BigDecimal tripExtraKm = distance.subtract(standardTripKm);
+            extraKm = extraKm.add(tripExtraKm);
+            extraKmCharges = extraKmCharges.add(tripExtraKm.multiply(extraKmRate));
+        }
+
+        if (standardTripHours != null && hours.compareTo(standardTripHours) > 0) {
+            BigDecimal tripExtraHours = hours.subtract(standardTripHours);
+            extraHours = extraHours.add(tripExtraHours);
+            extraHourCharges = extraHourCharges.add(tripExtraHours.multiply(extraHourRate));
+        }
+    }
+
+    private static BigDecimal orZero(BigDecimal value) {
+        return value != null ? value : BigDecimal.ZERO;
+    }
+}
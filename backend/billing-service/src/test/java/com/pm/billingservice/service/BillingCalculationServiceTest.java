@@ -0,0 +1,84 @@
+package com.pm.billingservice.service;
+
+import com.pm.billingservice.client.BillingModelCache;
+import com.pm.billingservice.client.BillingModelData;
+import com.pm.billingservice.client.TripQuantitySink;
+import com.pm.billingservice.client.TripServiceClient;
+import com.pm.billingservice.dto.BillingCalculationRequest;
+import com.pm.billingservice.exception.TripServiceUnavailableException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.client.ResourceAccessException;
+
+import java.time.YearMonth;
+import java.util.UUID;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * A Trip Service failure fails the calculation; it is never priced as a month without trips
+ */
+class BillingCalculationServiceTest {
+
+    private final UUID clientId = UUID.randomUUID();
+    private final UUID vendorId = UUID.randomUUID();
+    private final YearMonth month = YearMonth.now().minusMonths(1);
+
+    private TripServiceClient tripServiceClient;
+    private RunningTotalsService runningTotalsService;
+    private ForkJoinPool pool;
+    private BillingCalculationService billingCalculationService;
+
+    @BeforeEach
+    void setUp() {
+        tripServiceClient = mock(TripServiceClient.class);
+        runningTotalsService = mock(RunningTotalsService.class);
+        pool = new ForkJoinPool(1);
+        billingCalculationService = new BillingCalculationService(
+            tripServiceClient, mock(BillingModelCache.class), pool, runningTotalsService, new SimpleMeterRegistry());
+    }
+
+    @AfterEach
+    void tearDown() {
+        pool.shutdown();
+    }
+
+    @Test
+    void failedAggregateIsNotBilledAsAnEmptyMonth() {
+        when(runningTotalsService.totals(any(), any(), any(), any()))
+            .thenThrow(new ResourceAccessException("Connection refused"));
+
+        assertThrows(TripServiceUnavailableException.class,
+            () -> billingCalculationService.calculateBilling(request(), model("TRIP")));
+    }
+
+    @Test
+    void failedTripStreamIsNotBilledAsAnEmptyMonth() {
+        when(tripServiceClient.streamTripQuantities(any(), any(), any(), any(TripQuantitySink.class)))
+            .thenThrow(new ResourceAccessException("Premature end of chunk coded message body"));
+
+        assertThrows(TripServiceUnavailableException.class,
+            () -> billingCalculationService.calculateBilling(request(), model("HYBRID")));
+    }
+
+    private BillingCalculationRequest request() {
+        BillingCalculationRequest request = new BillingCalculationRequest();
+        request.setClientId(clientId);
+        request.setVendorId(vendorId);
+        request.setBillingMonth(month);
+        return request;
+    }
+
+    private BillingModelData model(String modelType) {
+        BillingModelData model = new BillingModelData();
+        model.setClientId(clientId);
+        model.setVendorId(vendorId);
+        model.setModelType(modelType);
+        return model;
+    }
+}
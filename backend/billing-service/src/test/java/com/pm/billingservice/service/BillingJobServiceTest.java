@@ -0,0 +1,143 @@
+package com.pm.billingservice.service;
+
+import com.pm.billingservice.dto.BillingCalculationRequest;
+import com.pm.billingservice.dto.BillingCalculationResponse;
+import com.pm.billingservice.dto.BillingJobResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.YearMonth;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * A client never has more than its limit of jobs on the executor, and a job the executor refuses
+ * waits for a free slot instead of failing: it was already accepted with a handle.
+ */
+class BillingJobServiceTest {
+
+    private final UUID clientA = UUID.randomUUID();
+    private final UUID clientB = UUID.randomUUID();
+
+    private ManualExecutor executor;
+    private BillingJobService billingJobService;
+
+    @BeforeEach
+    void setUp() {
+        InvoiceService invoiceService = mock(InvoiceService.class);
+        when(invoiceService.getOrCalculate(any(), anyBoolean())).thenReturn(new BillingCalculationResponse());
+        executor = new ManualExecutor();
+        billingJobService = new BillingJobService(invoiceService, executor);
+        ReflectionTestUtils.setField(billingJobService, "maxConcurrentPerClient", 2);
+    }
+
+    @Test
+    void clientRunsAtMostItsLimit() {
+        executor.capacity = 10;
+        BillingJobResponse first = submit(clientA);
+        submit(clientA);
+        BillingJobResponse third = submit(clientA);
+
+        assertEquals(2, executor.tasks.size());
+        assertEquals("QUEUED", status(third));
+
+        executor.runNext();
+
+        assertEquals("COMPLETED", status(first));
+        assertEquals(2, executor.tasks.size()); // the third job took the freed slot
+    }
+
+    @Test
+    void refusedJobWaitsForAFreeSlot() {
+        executor.capacity = 1;
+        BillingJobResponse a = submit(clientA);
+        BillingJobResponse b1 = submit(clientB);
+        BillingJobResponse b2 = submit(clientB);
+
+        assertEquals(1, executor.tasks.size());
+        assertEquals("QUEUED", status(b1));
+        assertEquals("QUEUED", status(b2));
+
+        executor.runNext(); // A finishes; client B's first job gets the slot, its second still waits
+
+        assertEquals("COMPLETED", status(a));
+        assertEquals("QUEUED", status(b1));
+        assertEquals(1, executor.tasks.size());
+
+        executor.runNext();
+        executor.runNext();
+
+        assertEquals("COMPLETED", status(b1));
+        assertEquals("COMPLETED", status(b2));
+        assertTrue(executor.tasks.isEmpty());
+    }
+
+    private BillingJobResponse submit(UUID clientId) {
+        BillingCalculationRequest request = new BillingCalculationRequest();
+        request.setClientId(clientId);
+        request.setVendorId(UUID.randomUUID());
+        request.setBillingMonth(YearMonth.of(2025, 3));
+        return billingJobService.submit(request, false).orElseThrow();
+    }
+
+    private String status(BillingJobResponse job) {
+        return billingJobService.getJob(job.getJobId()).orElseThrow().getStatus();
+    }
+
+    /**
+     * Holds submitted tasks until the test runs them; refuses any beyond its capacity
+     */
+    private static final class ManualExecutor extends AbstractExecutorService {
+
+        private final Deque<Runnable> tasks = new ArrayDeque<>();
+        private int capacity;
+
+        @Override
+        public void execute(Runnable command) {
+            if (tasks.size() >= capacity) {
+                throw new RejectedExecutionException("full");
+            }
+            tasks.add(command);
+        }
+
+        void runNext() {
+            tasks.poll().run();
+        }
+
+        @Override
+        public void shutdown() {
+        }
+
+        @Override
+        public List<Runnable> shutdownNow() {
+            return List.of();
+        }
+
+        @Override
+        public boolean isShutdown() {
+            return false;
+        }
+
+        @Override
+        public boolean isTerminated() {
+            return false;
+        }
+
+        @Override
+        public boolean awaitTermination(long timeout, TimeUnit unit) {
+            return true;
+        }
+    }
+}
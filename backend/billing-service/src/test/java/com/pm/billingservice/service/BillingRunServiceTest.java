@@ -0,0 +1,109 @@
+package com.pm.billingservice.service;
+
+import com.pm.billingservice.client.BillingModelData;
+import com.pm.billingservice.client.TripServiceClient;
+import com.pm.billingservice.dto.BillingCalculationResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.CannotAcquireLockException;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.YearMonth;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * A pair only counts as completed once its invoice batch is stored; a lost batch fails its pairs
+ * and the run ends PARTIAL or FAILED instead of COMPLETED.
+ */
+class BillingRunServiceTest {
+
+    private final YearMonth month = YearMonth.of(2026, 9);
+
+    private TripServiceClient tripServiceClient;
+    private InvoiceService invoiceService;
+    private ExecutorService executor;
+    private BillingRunService billingRunService;
+
+    @BeforeEach
+    void setUp() {
+        tripServiceClient = mock(TripServiceClient.class);
+        invoiceService = mock(InvoiceService.class);
+        BillingCalculationService billingCalculationService = mock(BillingCalculationService.class);
+        when(invoiceService.findReusable(any(BillingModelData.class), any())).thenReturn(Optional.empty());
+        when(billingCalculationService.calculateBilling(any(), any())).thenAnswer(call -> new BillingCalculationResponse());
+
+        executor = Executors.newSingleThreadExecutor();
+        billingRunService = new BillingRunService(tripServiceClient, billingCalculationService, invoiceService,
+            mock(RunningTotalsService.class), executor);
+        ReflectionTestUtils.setField(billingRunService, "parallelism", 1);
+        ReflectionTestUtils.setField(billingRunService, "insertBatchSize", 2);
+    }
+
+    @Test
+    void storedBatchesCompleteTheirPairs() {
+        when(tripServiceClient.fetchActiveBillingModels()).thenReturn(models(3));
+        when(invoiceService.saveAll(anyList())).thenAnswer(call -> call.<List<?>>getArgument(0).size());
+
+        BillingRun run = execute();
+
+        assertEquals("COMPLETED", run.getStatus());
+        assertEquals(3, run.getCompletedPairs());
+        assertEquals(0, run.getFailedPairs());
+        assertEquals(3, run.getInvoicesPersisted());
+    }
+
+    @Test
+    void lostBatchFailsItsPairs() {
+        when(tripServiceClient.fetchActiveBillingModels()).thenReturn(models(3));
+        when(invoiceService.saveAll(anyList()))
+            .thenThrow(new CannotAcquireLockException("lock wait timeout"))
+            .thenAnswer(call -> call.<List<?>>getArgument(0).size());
+
+        BillingRun run = execute();
+
+        assertEquals("PARTIAL", run.getStatus());
+        assertEquals(1, run.getCompletedPairs());
+        assertEquals(2, run.getFailedPairs());
+        assertEquals(1, run.getInvoicesPersisted());
+        assertTrue(run.getErrors().get(0).contains("Invoice batch upsert of 2 pairs failed"));
+    }
+
+    @Test
+    void runWithNothingStoredFails() {
+        when(tripServiceClient.fetchActiveBillingModels()).thenReturn(models(3));
+        when(invoiceService.saveAll(anyList())).thenThrow(new CannotAcquireLockException("lock wait timeout"));
+
+        BillingRun run = execute();
+
+        assertEquals("FAILED", run.getStatus());
+        assertEquals(0, run.getCompletedPairs());
+        assertEquals(3, run.getFailedPairs());
+    }
+
+    private BillingRun execute() {
+        BillingRun run = new BillingRun(UUID.randomUUID(), month);
+        ReflectionTestUtils.invokeMethod(billingRunService, "execute", run);
+        executor.shutdown();
+        return run;
+    }
+
+    private static List<BillingModelData> models(int count) {
+        return IntStream.range(0, count).mapToObj(i -> {
+            BillingModelData model = new BillingModelData();
+            model.setClientId(UUID.randomUUID());
+            model.setVendorId(UUID.randomUUID());
+            return model;
+        }).toList();
+    }
+}
@@ -0,0 +1,90 @@
+package com.pm.billingservice.service;
+
+import com.pm.billingservice.client.BillingModelCache;
+import com.pm.billingservice.client.BillingModelData;
+import com.pm.billingservice.client.TripIncentiveSink;
+import com.pm.billingservice.client.TripServiceClient;
+import com.pm.billingservice.service.IncentiveCalculationService.EmployeeIncentiveResponse;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Folding a chunk bucketed by partition on the fold pool must give every employee exactly the
+ * totals of a serial fold, whatever the number of partitions.
+ */
+class EmployeeIncentiveEngineTest {
+
+    private static final int TRIPS = 20_000;
+
+    private final UUID clientId = UUID.randomUUID();
+    private final YearMonth month = YearMonth.of(2025, 3);
+
+    private ForkJoinPool foldPool;
+    private EmployeeIncentiveEngine engine;
+
+    @BeforeEach
+    void setUp() {
+        UUID[] employees = new UUID[37];
+        for (int i = 0; i < employees.length; i++) {
+            employees[i] = UUID.randomUUID();
+        }
+        UUID vendorId = UUID.randomUUID();
+        TripServiceClient tripServiceClient = mock(TripServiceClient.class);
+        doAnswer(invocation -> {
+            TripIncentiveSink sink = invocation.getArgument(2);
+            Random random = new Random(42);
+            for (int i = 0; i < TRIPS; i++) {
+                sink.accept(employees[random.nextInt(employees.length)], vendorId,
+                    BigDecimal.valueOf(25 + random.nextInt(276), 2), random.nextInt(100) < 30, random.nextInt(7) >= 5);
+            }
+            return (long) TRIPS;
+        }).when(tripServiceClient).streamIncentiveRecords(any(), any(), any());
+
+        BillingModelData model = new BillingModelData();
+        model.setStandardTripHours(new BigDecimal("1.50"));
+        BillingModelCache billingModelCache = mock(BillingModelCache.class);
+        when(billingModelCache.get(any(), any())).thenReturn(model);
+
+        foldPool = new ForkJoinPool(5);
+        engine = new EmployeeIncentiveEngine(tripServiceClient, billingModelCache, new IncentiveCalculationService(), foldPool);
+        ReflectionTestUtils.setField(engine, "chunkSize", 4096);
+    }
+
+    @AfterEach
+    void tearDown() {
+        foldPool.shutdown();
+    }
+
+    @Test
+    void partitionedFoldMatchesSerialFold() {
+        ReflectionTestUtils.setField(engine, "parallelThreshold", Integer.MAX_VALUE);
+        List<EmployeeIncentiveResponse> serial = engine.calculateMonthlyIncentives(clientId, month);
+        ReflectionTestUtils.setField(engine, "parallelThreshold", 1);
+        List<EmployeeIncentiveResponse> partitioned = engine.calculateMonthlyIncentives(clientId, month);
+
+        assertEquals(serial.size(), partitioned.size());
+        int trips = 0;
+        for (int i = 0; i < serial.size(); i++) {
+            assertEquals(serial.get(i).getEmployeeId(), partitioned.get(i).getEmployeeId());
+            assertEquals(serial.get(i).getTotalTrips(), partitioned.get(i).getTotalTrips());
+            assertEquals(serial.get(i).getTotalIncentive(), partitioned.get(i).getTotalIncentive());
+            trips += partitioned.get(i).getTotalTrips();
+        }
+        assertEquals(TRIPS, trips);
+    }
+}
@@ -0,0 +1,119 @@
+package com.pm.billingservice.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.pm.billingservice.dto.BillingCalculationRequest;
+import com.pm.billingservice.dto.BillingCalculationResponse;
+import com.pm.billingservice.exception.TripServiceUnavailableException;
+import com.pm.billingservice.mapper.InvoiceMapper;
+import com.pm.billingservice.model.Invoice;
+import com.pm.billingservice.model.InvoiceStatus;
+import com.pm.billingservice.repository.InvoiceRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Invoice generation is idempotent per (client, vendor, month): losing the insert race to a
+ * concurrent request turns into an update of the row it wrote, and a failed calculation
+ * stores nothing.
+ */
+class InvoiceServiceTest {
+
+    private final UUID clientId = UUID.randomUUID();
+    private final UUID vendorId = UUID.randomUUID();
+    private final YearMonth month = YearMonth.now().minusMonths(1);
+
+    private BillingCalculationService billingCalculationService;
+    private InvoiceRepository invoiceRepository;
+    private InvoiceMapper invoiceMapper;
+    private InvoiceService invoiceService;
+
+    @BeforeEach
+    void setUp() {
+        billingCalculationService = mock(BillingCalculationService.class);
+        invoiceRepository = mock(InvoiceRepository.class);
+        invoiceMapper = mock(InvoiceMapper.class);
+        ObjectMapper objectMapper = JsonMapper.builder().findAndAddModules().build();
+        TransactionTemplate transactionTemplate = new TransactionTemplate(mock(PlatformTransactionManager.class));
+        invoiceService = new InvoiceService(
+            billingCalculationService, invoiceRepository, invoiceMapper, objectMapper, transactionTemplate);
+    }
+
+    @Test
+    void concurrentInsertIsRetriedAsUpdate() {
+        BillingCalculationResponse response = response();
+        Invoice inserted = new Invoice();
+        Invoice concurrent = invoice(InvoiceStatus.DRAFT);
+        when(invoiceRepository.findByClientIdAndVendorIdAndBillingPeriodStart(clientId, vendorId, month.atDay(1)))
+            .thenReturn(Optional.empty(), Optional.of(concurrent));
+        when(invoiceMapper.toEntity(response)).thenReturn(inserted);
+        when(invoiceRepository.saveAll(anyList()))
+            .thenThrow(new DataIntegrityViolationException("Duplicate entry for uk_invoice_client_vendor_period"))
+            .thenReturn(List.of(concurrent));
+
+        assertEquals(1, invoiceService.saveAll(List.of(response)));
+
+        verify(invoiceMapper).updateEntity(concurrent, response);
+        verify(invoiceRepository, times(2)).saveAll(anyList());
+        verify(invoiceRepository).saveAll(List.of(concurrent));
+        assertNotNull(concurrent.getCalculationSnapshot());
+    }
+
+    @Test
+    void retryNeverRewritesASentInvoice() {
+        BillingCalculationResponse response = response();
+        when(invoiceRepository.findByClientIdAndVendorIdAndBillingPeriodStart(clientId, vendorId, month.atDay(1)))
+            .thenReturn(Optional.empty(), Optional.of(invoice(InvoiceStatus.PENDING)));
+        when(invoiceMapper.toEntity(response)).thenReturn(new Invoice());
+        when(invoiceRepository.saveAll(anyList()))
+            .thenThrow(new DataIntegrityViolationException("Duplicate entry for uk_invoice_client_vendor_period"))
+            .thenReturn(List.of());
+
+        assertEquals(0, invoiceService.saveAll(List.of(response)));
+
+        verify(invoiceMapper, never()).updateEntity(any(), any());
+        verify(invoiceRepository).saveAll(List.of());
+    }
+
+    @Test
+    void failedCalculationStoresNoInvoice() {
+        BillingCalculationRequest request = new BillingCalculationRequest();
+        request.setClientId(clientId);
+        request.setVendorId(vendorId);
+        request.setBillingMonth(month);
+        when(billingCalculationService.calculateBilling(request))
+            .thenThrow(new TripServiceUnavailableException("Could not fetch trips from Trip Service", null));
+
+        assertThrows(TripServiceUnavailableException.class, () -> invoiceService.getOrCalculate(request, false));
+
+        verify(invoiceRepository, never()).saveAll(anyList());
+    }
+
+    private BillingCalculationResponse response() {
+        BillingCalculationResponse response = new BillingCalculationResponse();
+        response.setClientId(clientId);
+        response.setVendorId(vendorId);
+        response.setBillingMonth(month);
+        response.setTotalCost(new BigDecimal("1250.00"));
+        return response;
+    }
+
+    private static Invoice invoice(InvoiceStatus status) {
+        Invoice invoice = new Invoice();
+        invoice.setStatus(status);
+        return invoice;
+    }
+}
@@ -0,0 +1,99 @@
+package com.pm.billingservice.service;
+
+import com.pm.billingservice.client.BillingModelData;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+
+import static com.pm.billingservice.service.TripTotalsTest.*;
+
+/**
+ * Folding a month through reused columnar batches, sequentially or split across a pool, must give
+ * the same totals (value and scale) as the BigDecimal per-trip fold. Batches are kept small so a
+ * month spans several of them and HYBRID package overage crosses batch boundaries.
+ */
+class TripBatchTest {
+
+    private static final int MONTHS = 300;
+    private static final int BATCH_SIZE = 64;
+    private static final int SLICE_SIZE = 8;
+
+    private static ForkJoinPool pool;
+
+    @BeforeAll
+    static void startPool() {
+        pool = new ForkJoinPool(4);
+    }
+
+    @AfterAll
+    static void stopPool() {
+        pool.shutdown();
+    }
+
+    @Test
+    void decimalBatchesMatchBigDecimal() {
+        SplittableRandom random = new SplittableRandom(20240303L);
+        for (int month = 0; month < MONTHS; month++) {
+            BillingModelData model = randomModel(random);
+            BigDecimalTripTotals expected = new BigDecimalTripTotals(model);
+            TripTotals sequential = new TripTotals(model);
+            TripTotals forked = new TripTotals(model);
+            TripBatch batch = new TripBatch(BATCH_SIZE);
+
+            int trips = random.nextInt(0, 500);
+            for (int i = 0; i < trips; i++) {
+                BigDecimal distance = randomQuantity(random, 500);
+                BigDecimal hours = randomQuantity(random, 6);
+                expected.add(distance, hours);
+                batch.add(distance, hours);
+                if (batch.isFull()) {
+                    fold(sequential, forked, batch);
+                }
+            }
+            fold(sequential, forked, batch);
+
+            assertSameTotals(expected, sequential, "sequential month " + month);
+            assertSameTotals(expected, forked, "fork/join month " + month);
+        }
+    }
+
+    @Test
+    void hundredthsBatchesMatchBigDecimal() {
+        SplittableRandom random = new SplittableRandom(20240404L);
+        for (int month = 0; month < MONTHS; month++) {
+            BillingModelData model = randomModel(random);
+            BigDecimalTripTotals expected = new BigDecimalTripTotals(model);
+            TripTotals sequential = new TripTotals(model);
+            TripTotals forked = new TripTotals(model);
+            TripBatch batch = new TripBatch(BATCH_SIZE);
+
+            int trips = random.nextInt(0, 500);
+            for (int i = 0; i < trips; i++) {
+                BigDecimal distance = randomQuantity(random, 500);
+                BigDecimal hours = randomQuantity(random, 6);
+                expected.add(distance, hours);
+                // gRPC wire form: hundredths plus the scale the value had, 0 for a missing value
+                batch.add(
+                    distance != null ? distance.movePointRight(2).longValueExact() : 0L, distance != null ? distance.scale() : 0,
+                    hours != null ? hours.movePointRight(2).longValueExact() : 0L, hours != null ? hours.scale() : 0);
+                if (batch.isFull()) {
+                    fold(sequential, forked, batch);
+                }
+            }
+            fold(sequential, forked, batch);
+
+            assertSameTotals(expected, sequential, "sequential month " + month);
+            assertSameTotals(expected, forked, "fork/join month " + month);
+        }
+    }
+
+    private static void fold(TripTotals sequential, TripTotals forked, TripBatch batch) {
+        sequential.add(batch);
+        forked.add(batch, pool, SLICE_SIZE);
+        batch.clear();
+    }
+}
@@ -0,0 +1,150 @@
+package com.pm.billingservice.service;
+
+import com.pm.billingservice.client.BillingModelData;
+import com.pm.billingservice.client.TripAggregateData;
+import com.pm.billingservice.client.TripData;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * The fixed-point fold must reproduce the BigDecimal fold exactly: BigDecimal.equals, so value
+ * and scale. Months are randomized over scales 0-2, null quantities (trips not completed),
+ * models without a package or without standard limits, and missing rates.
+ */
+class TripTotalsTest {
+
+    private static final int MONTHS = 2000;
+
+    @Test
+    void perTripFoldMatchesBigDecimal() {
+        SplittableRandom random = new SplittableRandom(20240101L);
+        for (int month = 0; month < MONTHS; month++) {
+            BillingModelData model = randomModel(random);
+            BigDecimalTripTotals expected = new BigDecimalTripTotals(model);
+            TripTotals actual = new TripTotals(model);
+
+            int trips = random.nextInt(0, 120);
+            for (int i = 0; i < trips; i++) {
+                TripData trip = new TripData();
+                trip.setDistanceKm(randomQuantity(random, 500));
+                trip.setDurationHours(randomQuantity(random, 6));
+                expected.add(trip.getDistanceKm(), trip.getDurationHours());
+                actual.add(trip);
+            }
+
+            assertSameTotals(expected, actual, "month " + month);
+        }
+    }
+
+    @Test
+    void aggregateMatchesBigDecimal() {
+        SplittableRandom random = new SplittableRandom(20240202L);
+        for (int month = 0; month < MONTHS; month++) {
+            BillingModelData model = randomModel(random);
+            TripAggregateData aggregate = new TripAggregateData();
+            aggregate.setTripCount(random.nextInt(0, 5000));
+            aggregate.setTotalDistanceKm(randomQuantity(random, 100_000));
+            aggregate.setTotalDurationHours(randomQuantity(random, 10_000));
+            aggregate.setExtraKm(randomQuantity(random, 5_000));
+            aggregate.setExtraHours(randomQuantity(random, 500));
+
+            assertSameTotals(BigDecimalTripTotals.fromAggregate(model, aggregate),
+                TripTotals.fromAggregate(model, aggregate), "month " + month);
+        }
+    }
+
+    @Test
+    void tripModelWithoutPackageHasNoPackageOverage() {
+        BillingModelData model = new BillingModelData();
+        model.setModelType("TRIP");
+        model.setRatePerTrip(new BigDecimal("300.00"));
+        model.setRatePerKm(new BigDecimal("20.00"));
+        model.setExtraKmRate(new BigDecimal("25.00"));
+        model.setExtraHourRate(new BigDecimal("50.00"));
+        model.setStandardTripKm(new BigDecimal("15.00"));
+        model.setStandardTripHours(new BigDecimal("1.00"));
+        BigDecimalTripTotals expected = new BigDecimalTripTotals(model);
+        TripTotals actual = new TripTotals(model);
+
+        for (String[] quantities : new String[][] {{"22.50", "1.25"}, {"8", "0.5"}, {null, null}, {"15.00", "1.0"}}) {
+            TripData trip = new TripData();
+            trip.setDistanceKm(quantities[0] != null ? new BigDecimal(quantities[0]) : null);
+            trip.setDurationHours(quantities[1] != null ? new BigDecimal(quantities[1]) : null);
+            expected.add(trip.getDistanceKm(), trip.getDurationHours());
+            actual.add(trip);
+        }
+
+        assertSameTotals(expected, actual, "TRIP model");
+        assertEquals(new BigDecimal("45.50"), actual.getTotalDistance());
+        assertEquals(new BigDecimal("7.50"), actual.getExtraKm());
+        assertEquals(new BigDecimal("187.5000"), actual.getExtraKmCharges());
+        assertEquals(BigDecimal.ZERO, actual.getBeyondPackageKm());
+        assertEquals(BigDecimal.ZERO, actual.getBeyondPackageTripCharges());
+    }
+
+    @Test
+    void emptyMonthIsZeroAtScaleZero() {
+        TripTotals totals = new TripTotals(new BillingModelData());
+
+        assertEquals(0, totals.getTotalTrips());
+        assertEquals(BigDecimal.ZERO, totals.getTotalDistance());
+        assertEquals(BigDecimal.ZERO, totals.getExtraHourCharges());
+    }
+
+    @Test
+    void valuesFinerThanAHundredthAreRejected() {
+        TripData trip = new TripData();
+        trip.setDistanceKm(new BigDecimal("12.345"));
+
+        assertThrows(ArithmeticException.class, () -> new TripTotals(new BillingModelData()).add(trip));
+    }
+
+    static BillingModelData randomModel(SplittableRandom random) {
+        BillingModelData model = new BillingModelData();
+        model.setModelType(new String[] {"TRIP", "PACKAGE", "HYBRID"}[random.nextInt(3)]);
+        model.setRatePerTrip(maybe(random, randomAmount(random, 400)));
+        model.setRatePerKm(maybe(random, randomAmount(random, 30)));
+        model.setExtraKmRate(maybe(random, randomAmount(random, 40)));
+        model.setExtraHourRate(maybe(random, randomAmount(random, 100)));
+        model.setStandardTripKm(maybe(random, randomAmount(random, 25)));
+        model.setStandardTripHours(maybe(random, randomAmount(random, 3)));
+        model.setPackageTripsIncluded(random.nextInt(3) == 0 ? null : random.nextInt(0, 100));
+        return model;
+    }
+
+    /**
+     * Zero to max at a random scale 0-2, or null for a trip that is not completed
+     */
+    static BigDecimal randomQuantity(SplittableRandom random, int max) {
+        return random.nextInt(20) == 0 ? null : randomAmount(random, max);
+    }
+
+    private static BigDecimal randomAmount(SplittableRandom random, int max) {
+        int scale = random.nextInt(3);
+        long bound = max * (long) Math.pow(10, scale);
+        return BigDecimal.valueOf(random.nextLong(0, bound + 1), scale);
+    }
+
+    private static BigDecimal maybe(SplittableRandom random, BigDecimal value) {
+        return random.nextInt(5) == 0 ? null : value;
+    }
+
+    static void assertSameTotals(BigDecimalTripTotals expected, TripTotals actual, String label) {
+        assertEquals(expected.totalTrips, actual.getTotalTrips(), label + ": totalTrips");
+        assertEquals(expected.totalDistance, actual.getTotalDistance(), label + ": totalDistance");
+        assertEquals(expected.totalHours, actual.getTotalHours(), label + ": totalHours");
+        assertEquals(expected.extraKm, actual.getExtraKm(), label + ": extraKm");
+        assertEquals(expected.extraHours, actual.getExtraHours(), label + ": extraHours");
+        assertEquals(expected.extraKmCharges, actual.getExtraKmCharges(), label + ": extraKmCharges");
+        assertEquals(expected.extraHourCharges, actual.getExtraHourCharges(), label + ": extraHourCharges");
+        assertEquals(expected.beyondPackageKm, actual.getBeyondPackageKm(), label + ": beyondPackageKm");
+        assertEquals(expected.beyondPackageTripCharges, actual.getBeyondPackageTripCharges(),
+            label + ": beyondPackageTripCharges");
+        assertEquals(expected.beyondPackageDistanceCharges, actual.getBeyondPackageDistanceCharges(),
+            label + ": beyondPackageDistanceCharges");
+    }
+}
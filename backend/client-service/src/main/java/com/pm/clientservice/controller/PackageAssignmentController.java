@@ -3,6 +3,7 @@ package com.pm.clientservice.controller;
 import com.pm.clientservice.dto.PackageAssignmentRequestDTO;
 import com.pm.clientservice.dto.PackageAssignmentResponseDTO;
 import com.pm.clientservice.service.PackageAssignmentService;
+import com.pm.common.security.JwtClaims;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
@@ -23,9 +24,12 @@ public class PackageAssignmentController {
     @PostMapping
     public ResponseEntity<PackageAssignmentResponseDTO> assignPackage(
             @Valid @RequestBody PackageAssignmentRequestDTO requestDTO,
-            @RequestHeader(value = "X-User-Id", required = false) String userIdHeader) {
+            @RequestHeader(value = "X-User-Id", required = false) String userIdHeader,
+            @RequestAttribute(name = JwtClaims.REQUEST_ATTRIBUTE, required = false) JwtClaims claims) {
         
-        UUID assignedBy = userIdHeader != null ? UUID.fromString(userIdHeader) : null;
+        // The verified token identifies the caller; the header is kept for callers without one
+        UUID assignedBy = claims != null && claims.getUserId() != null ? claims.getUserId()
+                : userIdHeader != null ? UUID.fromString(userIdHeader) : null;
         PackageAssignmentResponseDTO response = packageAssignmentService.assignPackage(requestDTO, assignedBy);
         return new ResponseEntity<>(response, HttpStatus.CREATED);
     }
@@ -6,7 +6,10 @@ import java.time.LocalDate;
 import java.util.UUID;
 
 @Entity
-@Table(name = "employee_package_assignments")
+@Table(name = "employee_package_assignments", indexes = {
+    @Index(name = "idx_assignment_employee", columnList = "employee_id"),
+    @Index(name = "idx_assignment_client", columnList = "client_id")
+})
 public class EmployeePackageAssignment {
     
     @Id
@@ -34,24 +34,28 @@ public class ClientService {
         return clientMapper.toResponseDTO(savedClient);
     }
 
+    @Transactional(readOnly = true)
     public ClientResponseDTO getClientById(UUID id) {
         Client client = clientRepository.findById(id)
                 .orElseThrow(() -> new ClientNotFoundException("Client not found with id: " + id));
         return clientMapper.toResponseDTO(client);
     }
 
+    @Transactional(readOnly = true)
     public ClientResponseDTO getClientByCode(String code) {
         Client client = clientRepository.findByCode(code)
                 .orElseThrow(() -> new ClientNotFoundException("Client not found with code: " + code));
         return clientMapper.toResponseDTO(client);
     }
 
+    @Transactional(readOnly = true)
     public List<ClientResponseDTO> getAllClients() {
         return clientRepository.findAll().stream()
                 .map(clientMapper::toResponseDTO)
                 .collect(Collectors.toList());
     }
 
+    @Transactional(readOnly = true)
     public List<ClientResponseDTO> getActiveClients() {
         return clientRepository.findByActive(true).stream()
                 .map(clientMapper::toResponseDTO)
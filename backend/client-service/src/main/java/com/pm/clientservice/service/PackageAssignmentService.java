@@ -43,12 +43,19 @@ public class PackageAssignmentService {
         return mapToResponseDTO(savedAssignment);
     }
 
+    @Transactional(readOnly = true)
     public List<PackageAssignmentResponseDTO> getEmployeeAssignments(UUID employeeId) {
         return assignmentRepository.findByEmployeeIdAndActive(employeeId, true).stream()
                 .map(this::mapToResponseDTO)
                 .collect(Collectors.toList());
     }
 
+    /**
+     * A tenant's active assignments
+     * Queries: one indexed lookup on client_id; employee names live in Employee Service
+     * and are not resolved here, so nothing is fetched per assignment
+     */
+    @Transactional(readOnly = true)
     public List<PackageAssignmentResponseDTO> getClientAssignments(UUID clientId) {
         return assignmentRepository.findByClientIdAndActive(clientId, true).stream()
                 .map(this::mapToResponseDTO)
@@ -0,0 +1,87 @@
+package com.pm.common.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceAutoConfiguration;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Routes @Transactional(readOnly = true) work to read replicas (opt-in, DB_READ_REPLICAS=true).
+ * The application DataSource is a LazyConnectionDataSourceProxy over the primary: the transaction
+ * manager marks the connection read-only before its first statement, and only then does the proxy
+ * pick the physical connection, from ReadReplicaDataSource for read-only transactions.
+ * Everything else (writes, schema updates, data.sql, reads outside a transaction) stays on the primary,
+ * and so do reads that must see the latest commits: a replica may be up to max lag behind, so they run
+ * in read-write transactions.
+ * Runs before DataSourceAutoConfiguration, whose DataSource then backs off.
+ */
+@AutoConfiguration(before = DataSourceAutoConfiguration.class)
+@ConditionalOnClass({HikariDataSource.class, LazyConnectionDataSourceProxy.class})
+@ConditionalOnProperty(name = "datasource.read-replicas.enabled", havingValue = "true")
+@EnableConfigurationProperties({DataSourceProperties.class, ReadReplicaProperties.class})
+public class ReadReplicaAutoConfiguration {
+
+    private static final Pattern JDBC_URL = Pattern.compile("^(jdbc:[^/]+//)[^/?]+(.*)$");
+
+    @Bean
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        HikariDataSource primary = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        primary.setPoolName("primary");
+        return primary;
+    }
+
+    @Bean
+    public ReadReplicaDataSource readReplicaDataSource(
+            HikariDataSource primaryDataSource, DataSourceProperties properties, ReadReplicaProperties replicas,
+            ObjectProvider<MeterRegistry> meterRegistry) {
+        List<HikariDataSource> pools = new ArrayList<>();
+        for (String host : replicas.getHosts()) {
+            HikariDataSource pool = new HikariDataSource();
+            pool.setPoolName("replica-" + host);
+            pool.setJdbcUrl(replicaUrl(properties.determineUrl(), host.trim()));
+            pool.setDriverClassName(properties.determineDriverClassName());
+            pool.setUsername(replicas.getUsername());
+            pool.setPassword(replicas.getPassword());
+            pool.setMaximumPoolSize(replicas.getPoolSize());
+            pool.setConnectionTimeout(replicas.getConnectionTimeout().toMillis());
+            pool.setReadOnly(true);
+            pool.setInitializationFailTimeout(-1); // an unreachable replica must not stop startup
+            // Not beans, so not picked up by the pool metrics auto-configuration like the primary
+            meterRegistry.ifAvailable(registry -> pool.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(registry)));
+            pools.add(pool);
+        }
+        return new ReadReplicaDataSource(primaryDataSource, pools, replicas.getMaxLag(), replicas.getCheckInterval());
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(HikariDataSource primaryDataSource, ReadReplicaDataSource readReplicaDataSource) {
+        LazyConnectionDataSourceProxy dataSource = new LazyConnectionDataSourceProxy(primaryDataSource);
+        dataSource.setReadOnlyDataSource(readReplicaDataSource);
+        return dataSource;
+    }
+
+    // Same database and URL parameters as the primary, on the replica's host:port
+    private static String replicaUrl(String primaryUrl, String host) {
+        Matcher matcher = JDBC_URL.matcher(primaryUrl);
+        if (!matcher.matches()) {
+            throw new IllegalStateException("Cannot derive a replica URL from " + primaryUrl);
+        }
+        return matcher.group(1) + host + matcher.group(2);
+    }
+}
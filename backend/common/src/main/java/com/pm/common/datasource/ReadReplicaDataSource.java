@@ -0,0 +1,150 @@
+package com.pm.common.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Connections for read-only transactions: round-robin over the healthy replicas, else the primary.
+ * - A replica is healthy when its last check connected and, with a max lag set, replication was
+ *   running and at most max lag behind (Seconds_Behind_Source)
+ * - Checks run every check interval on a background thread; replicas start unhealthy until checked
+ * - A replica that cannot hand out a connection is marked unhealthy and the primary serves instead
+ */
+public class ReadReplicaDataSource extends AbstractDataSource implements AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(ReadReplicaDataSource.class);
+
+    private final DataSource primary;
+    private final List<Replica> replicas = new ArrayList<>();
+    private final Duration maxLag;
+    private final AtomicInteger next = new AtomicInteger();
+    private final ScheduledExecutorService checker;
+
+    public ReadReplicaDataSource(DataSource primary, List<HikariDataSource> replicaPools, Duration maxLag,
+                                 Duration checkInterval) {
+        this.primary = primary;
+        this.maxLag = maxLag;
+        for (HikariDataSource pool : replicaPools) {
+            replicas.add(new Replica(pool));
+        }
+        this.checker = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "read-replica-check");
+            thread.setDaemon(true);
+            return thread;
+        });
+        checker.scheduleWithFixedDelay(this::checkReplicas, 0, checkInterval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        for (int attempt = 0; attempt < replicas.size(); attempt++) {
+            Replica replica = replicas.get(Math.floorMod(next.getAndIncrement(), replicas.size()));
+            if (!replica.healthy) {
+                continue;
+            }
+            try {
+                return replica.pool.getConnection();
+            } catch (SQLException e) {
+                replica.markUnhealthy("no connection: " + e.getMessage());
+            }
+        }
+        return primary.getConnection();
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return primary.getConnection(username, password);
+    }
+
+    private void checkReplicas() {
+        for (Replica replica : replicas) {
+            try (Connection connection = replica.pool.getConnection();
+                 Statement statement = connection.createStatement()) {
+                if (maxLag.isZero()) {
+                    replica.markHealthy();
+                    continue;
+                }
+                Long lagSeconds = replicationLagSeconds(statement);
+                if (lagSeconds == null) {
+                    replica.markUnhealthy("replication not running");
+                } else if (lagSeconds > maxLag.getSeconds()) {
+                    replica.markUnhealthy(lagSeconds + "s behind");
+                } else {
+                    replica.markHealthy();
+                }
+            } catch (Exception e) {
+                replica.markUnhealthy("check failed: " + e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Seconds behind the source; null while replication is stopped, 0 for a server that is not a replica
+     */
+    private static Long replicationLagSeconds(Statement statement) throws SQLException {
+        try (ResultSet status = statement.executeQuery("SHOW REPLICA STATUS")) {
+            return lagSeconds(status, "Seconds_Behind_Source");
+        } catch (SQLException e) {
+            // MySQL before 8.0.22
+            try (ResultSet status = statement.executeQuery("SHOW SLAVE STATUS")) {
+                return lagSeconds(status, "Seconds_Behind_Master");
+            }
+        }
+    }
+
+    private static Long lagSeconds(ResultSet status, String column) throws SQLException {
+        if (!status.next()) {
+            return 0L;
+        }
+        long seconds = status.getLong(column);
+        return status.wasNull() ? null : seconds;
+    }
+
+    @Override
+    public void close() {
+        checker.shutdownNow();
+        for (Replica replica : replicas) {
+            replica.pool.close();
+        }
+    }
+
+    private static final class Replica {
+
+        private final HikariDataSource pool;
+        private volatile boolean healthy;
+
+        Replica(HikariDataSource pool) {
+            this.pool = pool;
+        }
+
+        // Transitions are logged, not every check
+        void markHealthy() {
+            if (!healthy) {
+                healthy = true;
+                log.info("Read replica {} is serving read-only transactions", pool.getJdbcUrl());
+            }
+        }
+
+        void markUnhealthy(String reason) {
+            if (healthy) {
+                healthy = false;
+                log.warn("Read replica {} taken out of rotation: {}", pool.getJdbcUrl(), reason);
+            }
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package com.pm.common.datasource;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Read replicas serving read-only transactions (datasource.read-replicas.*)
+ */
+@ConfigurationProperties(prefix = "datasource.read-replicas")
+public class ReadReplicaProperties {
+
+    private boolean enabled = false;
+    private List<String> hosts = new ArrayList<>(); // host:port; schema and parameters come from spring.datasource.url
+    private String username;
+    private String password;
+    private Duration maxLag = Duration.ofSeconds(5); // zero: any replica that answers is used
+    private Duration checkInterval = Duration.ofSeconds(2);
+    private int poolSize = 10; // per replica
+    private Duration connectionTimeout = Duration.ofSeconds(2); // short, so a dead replica falls back to primary quickly
+
+    public boolean isEnabled() { return enabled; }
+    public void setEnabled(boolean enabled) { this.enabled = enabled; }
+    public List<String> getHosts() { return hosts; }
+    public void setHosts(List<String> hosts) { this.hosts = hosts; }
+    public String getUsername() { return username; }
+    public void setUsername(String username) { this.username = username; }
+    public String getPassword() { return password; }
+    public void setPassword(String password) { this.password = password; }
+    public Duration getMaxLag() { return maxLag; }
+    public void setMaxLag(Duration maxLag) { this.maxLag = maxLag; }
+    public Duration getCheckInterval() { return checkInterval; }
+    public void setCheckInterval(Duration checkInterval) { this.checkInterval = checkInterval; }
+    public int getPoolSize() { return poolSize; }
+    public void setPoolSize(int poolSize) { this.poolSize = poolSize; }
+    public Duration getConnectionTimeout() { return connectionTimeout; }
+    public void setConnectionTimeout(Duration connectionTimeout) { this.connectionTimeout = connectionTimeout; }
+}
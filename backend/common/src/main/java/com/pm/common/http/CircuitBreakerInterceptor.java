@@ -0,0 +1,110 @@
+package com.pm.common.http;
+
+import org.springframework.http.HttpRequest;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+
+import java.io.IOException;
+import java.net.URI;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongSupplier;
+
+/**
+ * One circuit breaker per target (scheme://host:port).
+ * CLOSED: requests pass; consecutive failures (any exception or 5xx) are counted
+ * OPEN: after failureThreshold failures, requests fail immediately for openDuration
+ * HALF_OPEN: one trial request is let through; success closes, failure re-opens
+ * A slow or down service then costs callers nothing instead of tying up their threads.
+ */
+class CircuitBreakerInterceptor implements ClientHttpRequestInterceptor {
+
+    private final int failureThreshold;
+    private final long openNanos;
+    private final LongSupplier nanoTime;
+    private final Map<String, Breaker> breakers = new ConcurrentHashMap<>();
+
+    CircuitBreakerInterceptor(int failureThreshold, Duration openDuration) {
+        this(failureThreshold, openDuration, System::nanoTime);
+    }
+
+    CircuitBreakerInterceptor(int failureThreshold, Duration openDuration, LongSupplier nanoTime) {
+        this.failureThreshold = failureThreshold;
+        this.openNanos = openDuration.toNanos();
+        this.nanoTime = nanoTime;
+    }
+
+    @Override
+    public ClientHttpResponse intercept(HttpRequest request, byte[] body, ClientHttpRequestExecution execution)
+            throws IOException {
+        String target = targetOf(request.getURI());
+        Breaker breaker = breakers.computeIfAbsent(target, t -> new Breaker());
+
+        if (!breaker.tryAcquire()) {
+            throw new CircuitOpenException("Circuit open for " + target + ", failing fast");
+        }
+
+        // Any outcome but a non-5xx response is a failure, so a half-open trial always settles
+        boolean failed = true;
+        try {
+            ClientHttpResponse response = execution.execute(request, body);
+            failed = response.getStatusCode().is5xxServerError();
+            return response;
+        } finally {
+            if (failed) {
+                breaker.onFailure();
+            } else {
+                breaker.onSuccess();
+            }
+        }
+    }
+
+    private static String targetOf(URI uri) {
+        return uri.getScheme() + "://" + uri.getHost() + ":" + uri.getPort();
+    }
+
+    /**
+     * Thrown instead of calling a target whose circuit is open.
+     * RestTemplate surfaces it as a ResourceAccessException, like any other I/O failure.
+     */
+    static class CircuitOpenException extends IOException {
+        CircuitOpenException(String message) {
+            super(message);
+        }
+    }
+
+    private final class Breaker {
+        private int consecutiveFailures;
+        private long openedAt;
+        private boolean open;
+        private boolean trialInFlight;
+
+        synchronized boolean tryAcquire() {
+            if (!open) {
+                return true;
+            }
+            if (nanoTime.getAsLong() - openedAt < openNanos || trialInFlight) {
+                return false;
+            }
+            trialInFlight = true; // half-open
+            return true;
+        }
+
+        synchronized void onSuccess() {
+            consecutiveFailures = 0;
+            open = false;
+            trialInFlight = false;
+        }
+
+        synchronized void onFailure() {
+            consecutiveFailures++;
+            if (trialInFlight || consecutiveFailures >= failureThreshold) {
+                open = true;
+                openedAt = nanoTime.getAsLong();
+            }
+            trialInFlight = false;
+        }
+    }
+}
@@ -0,0 +1,122 @@
+package com.pm.common.http;
+
+import com.pm.common.security.JwtSecurityAutoConfiguration;
+import com.pm.common.security.ServiceTokenInterceptor;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.httpcomponents.hc5.PoolingHttpClientConnectionManagerMetricsBinder;
+import org.apache.hc.client5.http.HttpRoute;
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
+import org.apache.hc.core5.http.HttpHost;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.web.client.RestTemplateAutoConfiguration;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.web.client.RestTemplate;
+
+import java.net.URISyntaxException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Shared HTTP client for calls to other services.
+ * Pooled keep-alive connections (Apache HttpClient 5), connect/read/pool-wait timeouts,
+ * retry with backoff for idempotent calls and a per-target circuit breaker.
+ * Every call carries this service's token, so the target's JWT filter accepts it.
+ * Active in every service with Apache HttpClient 5 on its classpath; inject the
+ * `interServiceRestTemplate` bean.
+ */
+@AutoConfiguration(after = {JwtSecurityAutoConfiguration.class, RestTemplateAutoConfiguration.class})
+@ConditionalOnClass(CloseableHttpClient.class)
+@ConditionalOnBean(ServiceTokenInterceptor.class)
+@EnableConfigurationProperties(InterServiceHttpProperties.class)
+public class InterServiceHttpAutoConfiguration {
+
+    @Bean(destroyMethod = "close")
+    @ConditionalOnMissingBean(name = "interServiceConnectionManager")
+    public PoolingHttpClientConnectionManager interServiceConnectionManager(InterServiceHttpProperties properties)
+            throws URISyntaxException {
+        PoolingHttpClientConnectionManager connectionManager = PoolingHttpClientConnectionManagerBuilder.create()
+            .setMaxConnTotal(properties.getMaxTotal())
+            .setMaxConnPerRoute(properties.getMaxPerRoute())
+            .setDefaultConnectionConfig(ConnectionConfig.custom()
+                .setConnectTimeout(Timeout.of(properties.getConnectTimeout()))
+                .setSocketTimeout(Timeout.of(properties.getReadTimeout()))
+                .setTimeToLive(TimeValue.of(properties.getConnectionTimeToLive()))
+                .setValidateAfterInactivity(TimeValue.ofSeconds(2))
+                .build())
+            .build();
+
+        for (InterServiceHttpProperties.Target target : properties.getTargets()) {
+            connectionManager.setMaxPerRoute(new HttpRoute(HttpHost.create(target.getUrl())), target.getMaxConnections());
+        }
+        return connectionManager;
+    }
+
+    // Leased, pending and idle connections per pool, as httpcomponents.httpclient.pool.*
+    @Configuration(proxyBeanMethods = false)
+    @ConditionalOnClass(MeterBinder.class)
+    static class ConnectionPoolMetricsConfiguration {
+
+        @Bean
+        public MeterBinder interServiceConnectionPoolMetrics(PoolingHttpClientConnectionManager interServiceConnectionManager) {
+            return new PoolingHttpClientConnectionManagerMetricsBinder(interServiceConnectionManager, "inter-service");
+        }
+    }
+
+    @Bean(destroyMethod = "close")
+    @ConditionalOnMissingBean(name = "interServiceHttpClient")
+    public CloseableHttpClient interServiceHttpClient(
+            PoolingHttpClientConnectionManager interServiceConnectionManager,
+            InterServiceHttpProperties properties) {
+        return HttpClients.custom()
+            .setConnectionManager(interServiceConnectionManager)
+            .setDefaultRequestConfig(RequestConfig.custom()
+                .setConnectionRequestTimeout(Timeout.of(properties.getConnectionRequestTimeout()))
+                .setResponseTimeout(Timeout.of(properties.getReadTimeout()))
+                .build())
+            .evictIdleConnections(TimeValue.of(properties.getIdleTimeout()))
+            .evictExpiredConnections()
+            .disableAutomaticRetries() // retries are handled by RetryInterceptor
+            .build();
+    }
+
+    @Bean
+    @ConditionalOnMissingBean(name = "interServiceRestTemplate")
+    public RestTemplate interServiceRestTemplate(
+            RestTemplateBuilder builder,
+            CloseableHttpClient interServiceHttpClient,
+            InterServiceHttpProperties properties,
+            ServiceTokenInterceptor serviceTokenInterceptor) {
+        List<ClientHttpRequestInterceptor> interceptors = new ArrayList<>();
+        // Breaker outermost: it sees the outcome after retries are exhausted
+        if (properties.getCircuitBreaker().isEnabled()) {
+            interceptors.add(new CircuitBreakerInterceptor(
+                properties.getCircuitBreaker().getFailureThreshold(),
+                properties.getCircuitBreaker().getOpenDuration()));
+        }
+        interceptors.add(new RetryInterceptor(
+            properties.getRetry().getMaxAttempts(),
+            properties.getRetry().getInitialBackoff(),
+            properties.getRetry().getMaxBackoff()));
+        interceptors.add(serviceTokenInterceptor);
+
+        return builder
+            .requestFactory(() -> new HttpComponentsClientHttpRequestFactory(interServiceHttpClient))
+            .additionalInterceptors(interceptors)
+            .build();
+    }
+}
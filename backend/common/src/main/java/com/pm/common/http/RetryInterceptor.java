@@ -0,0 +1,76 @@
+package com.pm.common.http;
+
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Retries idempotent requests on I/O errors and on 502/503/504 with jittered exponential backoff.
+ * Non-idempotent requests (POST, PATCH) are sent exactly once.
+ */
+class RetryInterceptor implements ClientHttpRequestInterceptor {
+
+    private static final Set<HttpMethod> IDEMPOTENT = Set.of(
+        HttpMethod.GET, HttpMethod.HEAD, HttpMethod.OPTIONS, HttpMethod.PUT, HttpMethod.DELETE);
+
+    private final int maxAttempts;
+    private final long initialBackoffMillis;
+    private final long maxBackoffMillis;
+
+    RetryInterceptor(int maxAttempts, Duration initialBackoff, Duration maxBackoff) {
+        this.maxAttempts = Math.max(1, maxAttempts);
+        this.initialBackoffMillis = initialBackoff.toMillis();
+        this.maxBackoffMillis = maxBackoff.toMillis();
+    }
+
+    @Override
+    public ClientHttpResponse intercept(HttpRequest request, byte[] body, ClientHttpRequestExecution execution)
+            throws IOException {
+        int attempts = IDEMPOTENT.contains(request.getMethod()) ? maxAttempts : 1;
+
+        for (int attempt = 1; ; attempt++) {
+            try {
+                ClientHttpResponse response = execution.execute(request, body);
+                if (attempt >= attempts || !isRetryableStatus(response.getStatusCode().value())) {
+                    return response;
+                }
+                response.close();
+            } catch (InterruptedIOException e) {
+                throw e;
+            } catch (IOException e) {
+                if (attempt >= attempts) {
+                    throw e;
+                }
+            }
+            sleep(backoffMillis(attempt));
+        }
+    }
+
+    private boolean isRetryableStatus(int status) {
+        return status == 502 || status == 503 || status == 504;
+    }
+
+    long backoffMillis(int attempt) {
+        long exponential = initialBackoffMillis << Math.min(attempt - 1, 20);
+        long capped = Math.min(exponential, maxBackoffMillis);
+        // Full jitter keeps retrying callers from hitting a recovering service in lockstep
+        return ThreadLocalRandom.current().nextLong(capped / 2, capped + 1);
+    }
+
+    private void sleep(long millis) throws InterruptedIOException {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while backing off before retry");
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package com.pm.common.security;
+
+import io.jsonwebtoken.JwtException;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.util.PathMatcher;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Verifies the bearer token once per request and exposes its claims
+ * (tenantId, role, vendorId, ...) as the {@link JwtClaims#REQUEST_ATTRIBUTE} request attribute.
+ * - A valid token: claims are attached and the request continues
+ * - An invalid or expired token: 401
+ * - No token: 401 unless jwt.required is false (service-to-service calls carry a service token)
+ * Paths in jwt.public-paths are never filtered, so a stale token cannot block them either.
+ */
+public class JwtAuthenticationFilter extends OncePerRequestFilter {
+
+    private static final String BEARER_PREFIX = "Bearer ";
+
+    private final JwtVerifier jwtVerifier;
+    private final boolean required;
+    private final List<String> publicPaths;
+    private final PathMatcher pathMatcher = new AntPathMatcher();
+
+    public JwtAuthenticationFilter(JwtVerifier jwtVerifier, JwtProperties properties) {
+        this.jwtVerifier = jwtVerifier;
+        this.required = properties.isRequired();
+        this.publicPaths = List.copyOf(properties.getPublicPaths());
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        String path = request.getServletPath();
+        for (String publicPath : publicPaths) {
+            if (pathMatcher.match(publicPath, path)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        String header = request.getHeader(HttpHeaders.AUTHORIZATION);
+        if (header == null || !header.startsWith(BEARER_PREFIX)) {
+            if (required && !HttpMethod.OPTIONS.matches(request.getMethod())) {
+                reject(response, "Missing bearer token");
+                return;
+            }
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        try {
+            request.setAttribute(JwtClaims.REQUEST_ATTRIBUTE, jwtVerifier.verify(header.substring(BEARER_PREFIX.length()).trim()));
+        } catch (JwtException e) {
+            reject(response, "Invalid or expired token");
+            return;
+        }
+        filterChain.doFilter(request, response);
+    }
+
+    private static void reject(HttpServletResponse response, String message) throws IOException {
+        response.setStatus(HttpStatus.UNAUTHORIZED.value());
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.getWriter().write("{\"error\":\"" + message + "\"}");
+    }
+}
@@ -0,0 +1,76 @@
+package com.pm.common.security;
+
+import io.jsonwebtoken.Claims;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Identity carried by a verified JWT: a user's, issued by Auth Service, or a calling service's
+ * (role SERVICE, subject the service name).
+ * JwtAuthenticationFilter stores it as a request attribute; controllers read it with
+ * {@code @RequestAttribute(name = JwtClaims.REQUEST_ATTRIBUTE, required = false) JwtClaims claims}.
+ */
+public class JwtClaims {
+
+    public static final String REQUEST_ATTRIBUTE = "jwtClaims";
+
+    // Role of the tokens services mint for calls to each other (ServiceTokenProvider)
+    public static final String SERVICE_ROLE = "SERVICE";
+
+    private String email;
+    private UUID userId;
+    private UUID tenantId;
+    private String role;
+    private UUID vendorId;
+    private String name;
+    private Instant expiresAt;
+
+    public static JwtClaims from(Claims claims) {
+        JwtClaims jwtClaims = new JwtClaims();
+        jwtClaims.email = claims.getSubject();
+        jwtClaims.userId = uuid(claims.get("userId", String.class));
+        jwtClaims.tenantId = uuid(claims.get("tenantId", String.class));
+        jwtClaims.role = claims.get("role", String.class);
+        jwtClaims.vendorId = uuid(claims.get("vendorId", String.class));
+        jwtClaims.name = claims.get("name", String.class);
+        jwtClaims.expiresAt = claims.getExpiration() != null ? claims.getExpiration().toInstant() : null;
+        return jwtClaims;
+    }
+
+    private static UUID uuid(String value) {
+        return value != null ? UUID.fromString(value) : null;
+    }
+
+    public String getEmail() {
+        return email;
+    }
+
+    public UUID getUserId() {
+        return userId;
+    }
+
+    public UUID getTenantId() {
+        return tenantId;
+    }
+
+    public String getRole() {
+        return role;
+    }
+
+    public UUID getVendorId() {
+        return vendorId;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public Instant getExpiresAt() {
+        return expiresAt;
+    }
+
+    public boolean isService() {
+        return SERVICE_ROLE.equals(role);
+    }
+}
@@ -0,0 +1,95 @@
+package com.pm.common.security;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * jwt.* settings shared by every service
+ */
+@ConfigurationProperties(prefix = "jwt")
+public class JwtProperties {
+
+    /**
+     * Base64 HMAC key; the same in every service, so each can verify the others' tokens
+     */
+    private String secret;
+
+    /**
+     * Reject requests without a bearer token, except on publicPaths
+     */
+    private boolean required = true;
+
+    /**
+     * Servlet paths (Ant patterns) served without a token: health checks and metrics scrapes carry none
+     */
+    private List<String> publicPaths = new ArrayList<>(List.of(
+        "/actuator/health", "/actuator/health/**", "/actuator/prometheus"));
+
+    private final ClaimsCache claimsCache = new ClaimsCache();
+
+    private final ServiceToken serviceToken = new ServiceToken();
+
+    public String getSecret() {
+        return secret;
+    }
+
+    public void setSecret(String secret) {
+        this.secret = secret;
+    }
+
+    public boolean isRequired() {
+        return required;
+    }
+
+    public void setRequired(boolean required) {
+        this.required = required;
+    }
+
+    public List<String> getPublicPaths() {
+        return publicPaths;
+    }
+
+    public void setPublicPaths(List<String> publicPaths) {
+        this.publicPaths = publicPaths;
+    }
+
+    public ClaimsCache getClaimsCache() {
+        return claimsCache;
+    }
+
+    public ServiceToken getServiceToken() {
+        return serviceToken;
+    }
+
+    public static class ClaimsCache {
+
+        private int maxEntries = 10000;
+
+        public int getMaxEntries() {
+            return maxEntries;
+        }
+
+        public void setMaxEntries(int maxEntries) {
+            this.maxEntries = maxEntries;
+        }
+    }
+
+    public static class ServiceToken {
+
+        /**
+         * Lifetime of a minted service token; a new one is minted once half of it has passed
+         */
+        private Duration ttl = Duration.ofHours(1);
+
+        public Duration getTtl() {
+            return ttl;
+        }
+
+        public void setTtl(Duration ttl) {
+            this.ttl = ttl;
+        }
+    }
+}
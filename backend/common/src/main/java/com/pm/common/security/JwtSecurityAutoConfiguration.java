@@ -0,0 +1,44 @@
+package com.pm.common.security;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+
+/**
+ * JWT authentication for every service that depends on this module: the request filter,
+ * and the service token for its own calls to other services (add {@link ServiceTokenInterceptor}
+ * to the RestTemplate making them).
+ */
+@AutoConfiguration
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@EnableConfigurationProperties(JwtProperties.class)
+public class JwtSecurityAutoConfiguration {
+
+    @Bean
+    @ConditionalOnMissingBean
+    public JwtVerifier jwtVerifier(JwtProperties properties) {
+        return new JwtVerifier(properties);
+    }
+
+    @Bean
+    @ConditionalOnMissingBean
+    public JwtAuthenticationFilter jwtAuthenticationFilter(JwtVerifier jwtVerifier, JwtProperties properties) {
+        return new JwtAuthenticationFilter(jwtVerifier, properties);
+    }
+
+    @Bean
+    @ConditionalOnMissingBean
+    public ServiceTokenProvider serviceTokenProvider(JwtProperties properties,
+                                                     @Value("${spring.application.name}") String serviceName) {
+        return new ServiceTokenProvider(properties, serviceName);
+    }
+
+    @Bean
+    @ConditionalOnMissingBean
+    public ServiceTokenInterceptor serviceTokenInterceptor(ServiceTokenProvider serviceTokenProvider) {
+        return new ServiceTokenInterceptor(serviceTokenProvider);
+    }
+}
@@ -0,0 +1,78 @@
+package com.pm.common.security;
+
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+
+import javax.crypto.SecretKey;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Verifies Auth Service and service JWTs locally with the shared HMAC secret, so no request
+ * needs a round trip to /auth/validate.
+ * A token's signature is checked once: its parsed claims are cached under the token's
+ * SHA-256 hash until the token expires.
+ */
+public class JwtVerifier {
+
+    private final SecretKey secretKey;
+    private final int maxCachedTokens;
+    private final Map<String, JwtClaims> cache = new ConcurrentHashMap<>();
+
+    public JwtVerifier(JwtProperties properties) {
+        this.secretKey = secretKey(properties.getSecret());
+        this.maxCachedTokens = properties.getClaimsCache().getMaxEntries();
+    }
+
+    static SecretKey secretKey(String secret) {
+        return Keys.hmacShaKeyFor(Base64.getDecoder().decode(secret.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    /**
+     * @return the token's claims
+     * @throws JwtException if the signature is invalid or the token has expired
+     */
+    public JwtClaims verify(String token) {
+        String key = hash(token);
+        Instant now = Instant.now();
+        JwtClaims cached = cache.get(key);
+        if (cached != null) {
+            if (cached.getExpiresAt().isAfter(now)) {
+                return cached;
+            }
+            cache.remove(key, cached);
+            throw new JwtException("JWT expired");
+        }
+
+        JwtClaims claims;
+        try {
+            claims = JwtClaims.from(Jwts.parser().verifyWith(secretKey).build().parseSignedClaims(token).getPayload());
+        } catch (IllegalArgumentException e) {
+            throw new JwtException("Invalid JWT");
+        }
+        if (claims.getExpiresAt() != null) {
+            if (cache.size() >= maxCachedTokens) {
+                cache.values().removeIf(entry -> !entry.getExpiresAt().isAfter(now));
+            }
+            if (cache.size() < maxCachedTokens) {
+                cache.put(key, claims);
+            }
+        }
+        return claims;
+    }
+
+    private static String hash(String token) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            return Base64.getEncoder().encodeToString(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
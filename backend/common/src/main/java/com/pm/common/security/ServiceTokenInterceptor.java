@@ -0,0 +1,33 @@
+package com.pm.common.security;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+
+import java.io.IOException;
+
+/**
+ * Authenticates a RestTemplate's calls to other services with this service's token.
+ * A request that already carries an Authorization header keeps it.
+ */
+public class ServiceTokenInterceptor implements ClientHttpRequestInterceptor {
+
+    private static final String BEARER_PREFIX = "Bearer ";
+
+    private final ServiceTokenProvider serviceTokenProvider;
+
+    public ServiceTokenInterceptor(ServiceTokenProvider serviceTokenProvider) {
+        this.serviceTokenProvider = serviceTokenProvider;
+    }
+
+    @Override
+    public ClientHttpResponse intercept(HttpRequest request, byte[] body, ClientHttpRequestExecution execution)
+            throws IOException {
+        if (!request.getHeaders().containsKey(HttpHeaders.AUTHORIZATION)) {
+            request.getHeaders().set(HttpHeaders.AUTHORIZATION, BEARER_PREFIX + serviceTokenProvider.token());
+        }
+        return execution.execute(request, body);
+    }
+}
@@ -0,0 +1,59 @@
+package com.pm.common.security;
+
+import io.jsonwebtoken.Jwts;
+
+import javax.crypto.SecretKey;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Date;
+
+/**
+ * Mints the bearer token a service sends on calls to other services: signed with the shared
+ * jwt.secret, role SERVICE, subject the calling service's name.
+ * One token is reused until half its lifetime has passed, so a call never carries one about to expire.
+ */
+public class ServiceTokenProvider {
+
+    private final SecretKey secretKey;
+    private final String serviceName;
+    private final Duration ttl;
+    private final Clock clock;
+
+    private volatile Token current;
+
+    public ServiceTokenProvider(JwtProperties properties, String serviceName) {
+        this(properties, serviceName, Clock.systemUTC());
+    }
+
+    ServiceTokenProvider(JwtProperties properties, String serviceName, Clock clock) {
+        this.secretKey = JwtVerifier.secretKey(properties.getSecret());
+        this.serviceName = serviceName;
+        this.ttl = properties.getServiceToken().getTtl();
+        this.clock = clock;
+    }
+
+    public String token() {
+        Instant now = clock.instant();
+        Token token = current;
+        if (token == null || !now.isBefore(token.renewAt())) {
+            token = mint(now);
+            current = token;
+        }
+        return token.value();
+    }
+
+    private Token mint(Instant now) {
+        String value = Jwts.builder()
+            .subject(serviceName)
+            .claim("role", JwtClaims.SERVICE_ROLE)
+            .issuedAt(Date.from(now))
+            .expiration(Date.from(now.plus(ttl)))
+            .signWith(secretKey)
+            .compact();
+        return new Token(value, now.plus(ttl.dividedBy(2)));
+    }
+
+    private record Token(String value, Instant renewAt) {
+    }
+}
@@ -0,0 +1,112 @@
+package com.pm.common.http;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.mock.http.client.MockClientHttpRequest;
+import org.springframework.mock.http.client.MockClientHttpResponse;
+
+import java.io.IOException;
+import java.net.URI;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * CLOSED until failureThreshold consecutive failures, then OPEN (no calls) for openDuration, then
+ * HALF_OPEN: one trial whose outcome closes or re-opens the circuit. Each target has its own.
+ */
+class CircuitBreakerInterceptorTest {
+
+    private static final Duration OPEN = Duration.ofSeconds(30);
+
+    private long now;
+    private final AtomicInteger calls = new AtomicInteger();
+    private CircuitBreakerInterceptor breaker;
+
+    @BeforeEach
+    void setUp() {
+        breaker = new CircuitBreakerInterceptor(3, OPEN, () -> now);
+    }
+
+    @Test
+    void opensAfterConsecutiveFailuresAndFailsFast() throws IOException {
+        call(HttpStatus.INTERNAL_SERVER_ERROR);
+        call(HttpStatus.OK); // success resets the count
+        call(HttpStatus.INTERNAL_SERVER_ERROR);
+        call(HttpStatus.INTERNAL_SERVER_ERROR);
+        assertEquals(HttpStatus.OK, call(HttpStatus.OK)); // still closed after 2 in a row
+
+        failTimes(3);
+        int before = calls.get();
+        assertThrows(CircuitBreakerInterceptor.CircuitOpenException.class, () -> call(HttpStatus.OK));
+        assertEquals(before, calls.get());
+
+        // Other targets are unaffected
+        assertEquals(HttpStatus.OK, call("http://vendor-service:4015/vendors", HttpStatus.OK));
+    }
+
+    @Test
+    void halfOpenTrialSuccessCloses() throws IOException {
+        failTimes(3);
+        now += OPEN.toNanos();
+
+        assertEquals(HttpStatus.OK, call(HttpStatus.OK));
+        assertEquals(HttpStatus.OK, call(HttpStatus.OK));
+    }
+
+    @Test
+    void halfOpenTrialFailureReopens() throws IOException {
+        failTimes(3);
+        now += OPEN.toNanos();
+
+        call(HttpStatus.SERVICE_UNAVAILABLE); // the trial: one failure is enough
+        assertThrows(CircuitBreakerInterceptor.CircuitOpenException.class, () -> call(HttpStatus.OK));
+
+        now += OPEN.toNanos();
+        assertEquals(HttpStatus.OK, call(HttpStatus.OK));
+    }
+
+    @Test
+    void onlyOneTrialWhileHalfOpen() throws IOException {
+        failTimes(3);
+        now += OPEN.toNanos();
+
+        ClientHttpRequestExecution trial = (request, body) -> {
+            // A second caller arrives while the trial is in flight
+            assertThrows(CircuitBreakerInterceptor.CircuitOpenException.class, () -> call(HttpStatus.OK));
+            return new MockClientHttpResponse(new byte[0], HttpStatus.OK);
+        };
+        breaker.intercept(request("http://trip-service:4020/trips"), new byte[0], trial);
+
+        assertEquals(HttpStatus.OK, call(HttpStatus.OK));
+    }
+
+    private void failTimes(int failures) throws IOException {
+        for (int i = 0; i < failures; i++) {
+            assertThrows(IOException.class, () -> breaker.intercept(
+                request("http://trip-service:4020/trips"), new byte[0], (request, body) -> {
+                    calls.incrementAndGet();
+                    throw new IOException("connection refused");
+                }));
+        }
+    }
+
+    private HttpStatus call(HttpStatus status) throws IOException {
+        return call("http://trip-service:4020/trips", status);
+    }
+
+    private HttpStatus call(String url, HttpStatus status) throws IOException {
+        return (HttpStatus) breaker.intercept(request(url), new byte[0], (request, body) -> {
+            calls.incrementAndGet();
+            return new MockClientHttpResponse(new byte[0], status);
+        }).getStatusCode();
+    }
+
+    private static MockClientHttpRequest request(String url) {
+        return new MockClientHttpRequest(HttpMethod.GET, URI.create(url));
+    }
+}
@@ -0,0 +1,88 @@
+package com.pm.common.http;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.mock.http.client.MockClientHttpRequest;
+import org.springframework.mock.http.client.MockClientHttpResponse;
+
+import java.io.IOException;
+import java.net.URI;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Idempotent calls are retried on I/O errors and 502/503/504 up to the attempt limit, with a
+ * jittered backoff that doubles per attempt up to the cap; other calls are sent once.
+ */
+class RetryInterceptorTest {
+
+    private final RetryInterceptor noBackoff = new RetryInterceptor(3, Duration.ZERO, Duration.ZERO);
+
+    @Test
+    void idempotentCallIsRetriedUntilItSucceeds() throws IOException {
+        AtomicInteger calls = new AtomicInteger();
+
+        ClientHttpResponse response = noBackoff.intercept(request(HttpMethod.GET), new byte[0], (request, body) ->
+            new MockClientHttpResponse(new byte[0],
+                calls.incrementAndGet() < 3 ? HttpStatus.SERVICE_UNAVAILABLE : HttpStatus.OK));
+
+        assertEquals(3, calls.get());
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+    }
+
+    @Test
+    void lastFailureIsReturnedOnceAttemptsRunOut() throws IOException {
+        AtomicInteger calls = new AtomicInteger();
+
+        assertThrows(IOException.class, () -> noBackoff.intercept(request(HttpMethod.GET), new byte[0], (request, body) -> {
+            calls.incrementAndGet();
+            throw new IOException("connection reset");
+        }));
+        assertEquals(3, calls.get());
+
+        ClientHttpResponse response = noBackoff.intercept(request(HttpMethod.GET), new byte[0], (request, body) ->
+            new MockClientHttpResponse(new byte[0], HttpStatus.BAD_GATEWAY));
+        assertEquals(HttpStatus.BAD_GATEWAY, response.getStatusCode());
+    }
+
+    @Test
+    void nonIdempotentOrNonRetryableCallIsSentOnce() throws IOException {
+        AtomicInteger calls = new AtomicInteger();
+
+        noBackoff.intercept(request(HttpMethod.POST), new byte[0], (request, body) -> {
+            calls.incrementAndGet();
+            return new MockClientHttpResponse(new byte[0], HttpStatus.SERVICE_UNAVAILABLE);
+        });
+        noBackoff.intercept(request(HttpMethod.GET), new byte[0], (request, body) -> {
+            calls.incrementAndGet();
+            return new MockClientHttpResponse(new byte[0], HttpStatus.INTERNAL_SERVER_ERROR);
+        });
+
+        assertEquals(2, calls.get());
+    }
+
+    @Test
+    void backoffDoublesWithJitterUpToTheCap() {
+        RetryInterceptor retry = new RetryInterceptor(10, Duration.ofMillis(100), Duration.ofMillis(1000));
+
+        for (int i = 0; i < 1000; i++) {
+            assertBetween(50, 100, retry.backoffMillis(1));
+            assertBetween(100, 200, retry.backoffMillis(2));
+            assertBetween(200, 400, retry.backoffMillis(3));
+            assertBetween(500, 1000, retry.backoffMillis(5)); // 1600 ms, capped
+            assertBetween(500, 1000, retry.backoffMillis(40));
+        }
+    }
+
+    private static void assertBetween(long min, long max, long actual) {
+        assertTrue(actual >= min && actual <= max, actual + " not in [" + min + ", " + max + "]");
+    }
+
+    private static MockClientHttpRequest request(HttpMethod method) {
+        return new MockClientHttpRequest(method, URI.create("http://trip-service:4020/trips"));
+    }
+}
@@ -0,0 +1,94 @@
+package com.pm.common.security;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.util.Base64;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Every path but the public ones needs a valid token by default; a service token is one
+ */
+class JwtAuthenticationFilterTest {
+
+    private static final String SECRET = Base64.getEncoder().encodeToString(new byte[32]);
+
+    private JwtProperties properties;
+    private JwtAuthenticationFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        properties = properties(SECRET);
+        filter = new JwtAuthenticationFilter(new JwtVerifier(properties), properties);
+    }
+
+    @Test
+    void requestWithoutTokenIsRejected() throws Exception {
+        MockHttpServletResponse response = run(request("POST", "/trip-events", null));
+
+        assertEquals(401, response.getStatus());
+    }
+
+    @Test
+    void publicPathsNeedNoToken() throws Exception {
+        assertEquals(200, run(request("GET", "/actuator/health", null)).getStatus());
+        assertEquals(200, run(request("GET", "/actuator/health/liveness", null)).getStatus());
+        assertEquals(200, run(request("GET", "/actuator/prometheus", null)).getStatus());
+        assertEquals(401, run(request("GET", "/actuator/env", null)).getStatus());
+    }
+
+    @Test
+    void serviceTokenIsAccepted() throws Exception {
+        String token = new ServiceTokenProvider(properties, "trip-service").token();
+        MockHttpServletRequest request = request("POST", "/trip-events", token);
+
+        MockHttpServletResponse response = run(request);
+
+        assertEquals(200, response.getStatus());
+        JwtClaims claims = (JwtClaims) request.getAttribute(JwtClaims.REQUEST_ATTRIBUTE);
+        assertTrue(claims.isService());
+        assertEquals("trip-service", claims.getEmail());
+    }
+
+    @Test
+    void tokenSignedWithAnotherKeyIsRejected() throws Exception {
+        byte[] otherKey = new byte[32];
+        otherKey[0] = 1;
+        String token = new ServiceTokenProvider(properties(Base64.getEncoder().encodeToString(otherKey)), "intruder").token();
+
+        assertEquals(401, run(request("POST", "/trip-events", token)).getStatus());
+    }
+
+    @Test
+    void optionalAuthenticationLetsAnonymousRequestsThrough() throws Exception {
+        properties.setRequired(false);
+        filter = new JwtAuthenticationFilter(new JwtVerifier(properties), properties);
+
+        assertEquals(200, run(request("GET", "/trips", null)).getStatus());
+    }
+
+    private MockHttpServletResponse run(MockHttpServletRequest request) throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, new MockFilterChain());
+        return response;
+    }
+
+    private static MockHttpServletRequest request(String method, String path, String token) {
+        MockHttpServletRequest request = new MockHttpServletRequest(method, path);
+        request.setServletPath(path);
+        if (token != null) {
+            request.addHeader("Authorization", "Bearer " + token);
+        }
+        return request;
+    }
+
+    static JwtProperties properties(String secret) {
+        JwtProperties properties = new JwtProperties();
+        properties.setSecret(secret);
+        return properties;
+    }
+}
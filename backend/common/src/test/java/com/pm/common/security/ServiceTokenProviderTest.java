@@ -0,0 +1,62 @@
+package com.pm.common.security;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.Base64;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * A service token is reused for the first half of its lifetime and renewed after
+ */
+class ServiceTokenProviderTest {
+
+    @Test
+    void tokenIsRenewedAfterHalfItsLifetime() {
+        JwtProperties properties = JwtAuthenticationFilterTest.properties(Base64.getEncoder().encodeToString(new byte[32]));
+        properties.getServiceToken().setTtl(Duration.ofMinutes(10));
+        MutableClock clock = new MutableClock(Instant.now());
+        ServiceTokenProvider provider = new ServiceTokenProvider(properties, "billing-service", clock);
+
+        String first = provider.token();
+        clock.now = clock.now.plus(Duration.ofMinutes(4));
+        assertSame(first, provider.token());
+
+        clock.now = clock.now.plus(Duration.ofMinutes(1));
+        String renewed = provider.token();
+        assertNotEquals(first, renewed);
+
+        JwtClaims claims = new JwtVerifier(properties).verify(renewed);
+        assertEquals(JwtClaims.SERVICE_ROLE, claims.getRole());
+        assertEquals(clock.now.plus(Duration.ofMinutes(10)).getEpochSecond(), claims.getExpiresAt().getEpochSecond());
+    }
+
+    private static final class MutableClock extends Clock {
+
+        private Instant now;
+
+        MutableClock(Instant now) {
+            this.now = now;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+    }
+}
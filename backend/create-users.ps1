@@ -1,4 +1,5 @@
 # Script to create initial users via API
+# /create-user needs a bearer token once Auth Service requires one: run it with JWT_REQUIRED=false while seeding
 # Wait for auth service to be ready
 Write-Host "Waiting for Auth Service to be ready..."
 Start-Sleep -Seconds 5
@@ -1,5 +1,6 @@
 package com.pm.employeeservice.controller;
 
+import com.pm.common.security.JwtClaims;
 import com.pm.employeeservice.dto.PackageAssignmentRequestDTO;
 import com.pm.employeeservice.dto.PackageAssignmentResponseDTO;
 import com.pm.employeeservice.service.PackageAssignmentService;
@@ -23,9 +24,12 @@ public class PackageAssignmentController {
     @PostMapping
     public ResponseEntity<PackageAssignmentResponseDTO> assignPackage(
             @Valid @RequestBody PackageAssignmentRequestDTO requestDTO,
-            @RequestHeader(value = "X-User-Id", required = false) String userIdHeader) {
+            @RequestHeader(value = "X-User-Id", required = false) String userIdHeader,
+            @RequestAttribute(name = JwtClaims.REQUEST_ATTRIBUTE, required = false) JwtClaims claims) {
         
-        UUID assignedBy = userIdHeader != null ? UUID.fromString(userIdHeader) : null;
+        // The verified token identifies the caller; the header is kept for callers without one
+        UUID assignedBy = claims != null && claims.getUserId() != null ? claims.getUserId()
+                : userIdHeader != null ? UUID.fromString(userIdHeader) : null;
         PackageAssignmentResponseDTO response = packageAssignmentService.assignPackage(requestDTO, assignedBy);
         return new ResponseEntity<>(response, HttpStatus.CREATED);
     }
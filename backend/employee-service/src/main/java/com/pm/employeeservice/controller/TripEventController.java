@@ -0,0 +1,51 @@
+package com.pm.employeeservice.controller;
+
+import com.pm.common.security.JwtClaims;
+import com.pm.employeeservice.dto.TripEventBatchDTO;
+import com.pm.employeeservice.dto.TripEventRecountDTO;
+import com.pm.employeeservice.exception.ServiceTokenRequiredException;
+import com.pm.employeeservice.service.EmployeeTripCounterService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * Only Trip Service's relay may write here: requests need a service token (role SERVICE),
+ * whatever jwt.required says
+ */
+@RestController
+@RequestMapping("/trip-events")
+@Tag(name = "Trip Events", description = "Receiver of trip changes pushed by Trip Service")
+public class TripEventController {
+    
+    @Autowired
+    private EmployeeTripCounterService employeeTripCounterService;
+    
+    @PostMapping
+    @Operation(summary = "Apply trip events", description = "Updates employee trip counters from a batch of trip events. Batches may be redelivered; events already applied are skipped. Requires a service token")
+    public ResponseEntity<Void> apply(
+            @RequestAttribute(name = JwtClaims.REQUEST_ATTRIBUTE, required = false) JwtClaims claims,
+            @RequestBody TripEventBatchDTO batch) {
+        requireService(claims);
+        employeeTripCounterService.apply(batch);
+        return ResponseEntity.noContent().build();
+    }
+    
+    @PostMapping("/recount")
+    @Operation(summary = "Replace trip counters", description = "Sets every employee's trip counters from a recount and resumes the event feed after it; sent when events were purged before they arrived. Requires a service token")
+    public ResponseEntity<Void> recount(
+            @RequestAttribute(name = JwtClaims.REQUEST_ATTRIBUTE, required = false) JwtClaims claims,
+            @RequestBody TripEventRecountDTO recount) {
+        requireService(claims);
+        employeeTripCounterService.recount(recount);
+        return ResponseEntity.noContent().build();
+    }
+    
+    private static void requireService(JwtClaims claims) {
+        if (claims == null || !claims.isService()) {
+            throw new ServiceTokenRequiredException("Trip events are only accepted from Trip Service");
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package com.pm.employeeservice.dto;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+/**
+ * Completed trips of one employee and their total distance, as recounted by Trip Service
+ */
+public class EmployeeTripTotalDTO {
+
+    private UUID employeeId;
+    private long completedTrips;
+    private BigDecimal distanceKm;
+
+    // Getters and Setters
+    public UUID getEmployeeId() {
+        return employeeId;
+    }
+
+    public void setEmployeeId(UUID employeeId) {
+        this.employeeId = employeeId;
+    }
+
+    public long getCompletedTrips() {
+        return completedTrips;
+    }
+
+    public void setCompletedTrips(long completedTrips) {
+        this.completedTrips = completedTrips;
+    }
+
+    public BigDecimal getDistanceKm() {
+        return distanceKm;
+    }
+
+    public void setDistanceKm(BigDecimal distanceKm) {
+        this.distanceKm = distanceKm;
+    }
+}
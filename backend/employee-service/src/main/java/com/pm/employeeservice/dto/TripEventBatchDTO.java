@@ -0,0 +1,38 @@
+package com.pm.employeeservice.dto;
+
+import java.util.List;
+
+/**
+ * A batch of trip events in id order, as pushed by Trip Service's event relay
+ */
+public class TripEventBatchDTO {
+
+    private List<TripEventDTO> events;
+    private Long oldestEventId;
+    private Long latestEventId;
+
+    // Getters and Setters
+    public List<TripEventDTO> getEvents() {
+        return events;
+    }
+
+    public void setEvents(List<TripEventDTO> events) {
+        this.events = events;
+    }
+
+    public Long getOldestEventId() {
+        return oldestEventId;
+    }
+
+    public void setOldestEventId(Long oldestEventId) {
+        this.oldestEventId = oldestEventId;
+    }
+
+    public Long getLatestEventId() {
+        return latestEventId;
+    }
+
+    public void setLatestEventId(Long latestEventId) {
+        this.latestEventId = latestEventId;
+    }
+}
@@ -0,0 +1,59 @@
+package com.pm.employeeservice.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+
+import java.util.UUID;
+
+/**
+ * One trip change pushed by Trip Service; before is null for CREATED, after for DELETED
+ */
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class TripEventDTO {
+
+    private Long id;
+    private String eventType;
+    private UUID tripId;
+    private TripSnapshotDTO before;
+    private TripSnapshotDTO after;
+
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getEventType() {
+        return eventType;
+    }
+
+    public void setEventType(String eventType) {
+        this.eventType = eventType;
+    }
+
+    public UUID getTripId() {
+        return tripId;
+    }
+
+    public void setTripId(UUID tripId) {
+        this.tripId = tripId;
+    }
+
+    public TripSnapshotDTO getBefore() {
+        return before;
+    }
+
+    public void setBefore(TripSnapshotDTO before) {
+        this.before = before;
+    }
+
+    public TripSnapshotDTO getAfter() {
+        return after;
+    }
+
+    public void setAfter(TripSnapshotDTO after) {
+        this.after = after;
+    }
+}
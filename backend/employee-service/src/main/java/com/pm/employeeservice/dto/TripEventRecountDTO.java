@@ -0,0 +1,30 @@
+package com.pm.employeeservice.dto;
+
+import java.util.List;
+
+/**
+ * Completed trip totals of every employee with completed trips as of event asOfEventId, pushed by
+ * Trip Service's event relay when events this service had not received yet were purged
+ */
+public class TripEventRecountDTO {
+
+    private Long asOfEventId;
+    private List<EmployeeTripTotalDTO> employees;
+
+    // Getters and Setters
+    public Long getAsOfEventId() {
+        return asOfEventId;
+    }
+
+    public void setAsOfEventId(Long asOfEventId) {
+        this.asOfEventId = asOfEventId;
+    }
+
+    public List<EmployeeTripTotalDTO> getEmployees() {
+        return employees;
+    }
+
+    public void setEmployees(List<EmployeeTripTotalDTO> employees) {
+        this.employees = employees;
+    }
+}
@@ -0,0 +1,42 @@
+package com.pm.employeeservice.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+/**
+ * A trip as carried by a trip event; only the fields employee counters use are read
+ */
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class TripSnapshotDTO {
+
+    private UUID employeeId;
+    private String status;
+    private BigDecimal distanceKm;
+
+    // Getters and Setters
+    public UUID getEmployeeId() {
+        return employeeId;
+    }
+
+    public void setEmployeeId(UUID employeeId) {
+        this.employeeId = employeeId;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public void setStatus(String status) {
+        this.status = status;
+    }
+
+    public BigDecimal getDistanceKm() {
+        return distanceKm;
+    }
+
+    public void setDistanceKm(BigDecimal distanceKm) {
+        this.distanceKm = distanceKm;
+    }
+}
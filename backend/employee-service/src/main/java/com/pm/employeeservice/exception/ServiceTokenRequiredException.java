@@ -0,0 +1,7 @@
+package com.pm.employeeservice.exception;
+
+public class ServiceTokenRequiredException extends RuntimeException {
+    public ServiceTokenRequiredException(String message) {
+        super(message);
+    }
+}
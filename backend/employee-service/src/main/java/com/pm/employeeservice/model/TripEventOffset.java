@@ -0,0 +1,60 @@
+package com.pm.employeeservice.model;
+
+import jakarta.persistence.*;
+import java.time.Instant;
+
+/**
+ * Id of the last trip event applied to the employee trip counters.
+ * Trip Service delivers at least once; events at or below this id are redeliveries and are skipped.
+ */
+@Entity
+@Table(name = "trip_event_offsets")
+public class TripEventOffset {
+
+    @Id
+    private String source;
+
+    @Column(nullable = false)
+    private Long lastEventId = 0L;
+
+    @Column
+    private Instant updatedAt;
+
+    public TripEventOffset() {
+    }
+
+    public TripEventOffset(String source) {
+        this.source = source;
+    }
+
+    @PrePersist
+    @PreUpdate
+    protected void onUpdate() {
+        updatedAt = Instant.now();
+    }
+
+    // Getters and Setters
+    public String getSource() {
+        return source;
+    }
+
+    public void setSource(String source) {
+        this.source = source;
+    }
+
+    public Long getLastEventId() {
+        return lastEventId;
+    }
+
+    public void setLastEventId(Long lastEventId) {
+        this.lastEventId = lastEventId;
+    }
+
+    public Instant getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public void setUpdatedAt(Instant updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+}
@@ -0,0 +1,26 @@
+package com.pm.employeeservice.repository;
+
+import com.pm.employeeservice.model.EmployeePackageAssignment;
+
+/**
+ * An assignment together with its employee's name, read in one joined query.
+ * The name is null when the employee no longer exists.
+ */
+public class AssignmentWithEmployeeName {
+
+    private final EmployeePackageAssignment assignment;
+    private final String employeeName;
+
+    public AssignmentWithEmployeeName(EmployeePackageAssignment assignment, String firstName, String lastName) {
+        this.assignment = assignment;
+        this.employeeName = firstName == null && lastName == null ? null : firstName + " " + lastName;
+    }
+
+    public EmployeePackageAssignment getAssignment() {
+        return assignment;
+    }
+
+    public String getEmployeeName() {
+        return employeeName;
+    }
+}
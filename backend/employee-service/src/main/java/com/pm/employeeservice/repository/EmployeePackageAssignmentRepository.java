@@ -2,6 +2,7 @@ package com.pm.employeeservice.repository;
 
 import com.pm.employeeservice.model.EmployeePackageAssignment;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -20,6 +21,17 @@ public interface EmployeePackageAssignmentRepository extends JpaRepository<Emplo
     
     List<EmployeePackageAssignment> findByVendorId(UUID vendorId);
     
+    // Assignments joined with employee names: one query for a whole listing
+    @Query("SELECT new com.pm.employeeservice.repository.AssignmentWithEmployeeName(a, e.firstName, e.lastName) " +
+           "FROM EmployeePackageAssignment a LEFT JOIN Employee e ON e.id = a.employeeId " +
+           "WHERE a.clientId = :clientId AND a.active = :active")
+    List<AssignmentWithEmployeeName> findWithEmployeeNameByClientIdAndActive(UUID clientId, Boolean active);
+    
+    @Query("SELECT new com.pm.employeeservice.repository.AssignmentWithEmployeeName(a, e.firstName, e.lastName) " +
+           "FROM EmployeePackageAssignment a LEFT JOIN Employee e ON e.id = a.employeeId " +
+           "WHERE a.employeeId = :employeeId AND a.active = :active")
+    List<AssignmentWithEmployeeName> findWithEmployeeNameByEmployeeIdAndActive(UUID employeeId, Boolean active);
+    
     boolean existsByEmployeeIdAndPackageIdAndActive(UUID employeeId, Long packageId, Boolean active);
 }
 
@@ -0,0 +1,20 @@
+package com.pm.employeeservice.repository;
+
+import com.pm.employeeservice.model.TripEventOffset;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+@Repository
+public interface TripEventOffsetRepository extends JpaRepository<TripEventOffset, String> {
+    
+    // SELECT ... FOR UPDATE: a redelivered batch waits for the first delivery to commit
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT o FROM TripEventOffset o WHERE o.source = :source")
+    Optional<TripEventOffset> findForUpdate(@Param("source") String source);
+}
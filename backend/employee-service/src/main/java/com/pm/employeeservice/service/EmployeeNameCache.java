@@ -0,0 +1,31 @@
+package com.pm.employeeservice.service;
+
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.annotation.RequestScope;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Employee names already resolved during the current request, so mapping the
+ * same employee again costs no query. Missing employees are remembered as null.
+ */
+@Component
+@RequestScope
+public class EmployeeNameCache {
+
+    private final Map<UUID, String> names = new HashMap<>();
+
+    public boolean contains(UUID employeeId) {
+        return names.containsKey(employeeId);
+    }
+
+    public String get(UUID employeeId) {
+        return names.get(employeeId);
+    }
+
+    public void put(UUID employeeId, String name) {
+        names.put(employeeId, name);
+    }
+}
@@ -0,0 +1,125 @@
+package com.pm.employeeservice.service;
+
+import com.pm.employeeservice.dto.EmployeeTripTotalDTO;
+import com.pm.employeeservice.dto.TripEventBatchDTO;
+import com.pm.employeeservice.dto.TripEventDTO;
+import com.pm.employeeservice.dto.TripEventRecountDTO;
+import com.pm.employeeservice.dto.TripSnapshotDTO;
+import com.pm.employeeservice.model.Employee;
+import com.pm.employeeservice.model.TripEventOffset;
+import com.pm.employeeservice.repository.EmployeeRepository;
+import com.pm.employeeservice.repository.TripEventOffsetRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.util.*;
+
+/**
+ * Keeps Employee.totalTripsCompleted and totalDistanceTraveled current from Trip Service's trip events.
+ * A completed trip counts once with its distance; each event removes the trip's old contribution
+ * and adds the new one, so completions, corrections, cancellations and deletions all net out.
+ * A batch is applied in one transaction together with the offset, so redeliveries are no-ops.
+ * When events were purged before they arrived, Trip Service sends a recount instead, which
+ * replaces the counters outright.
+ */
+@Service
+@Transactional
+public class EmployeeTripCounterService {
+    
+    static final String SOURCE = "trip-service";
+    
+    private static final String COMPLETED = "COMPLETED";
+    
+    @Autowired
+    private EmployeeRepository employeeRepository;
+    
+    @Autowired
+    private TripEventOffsetRepository tripEventOffsetRepository;
+    
+    /**
+     * Time Complexity: O(n) where n = number of events, one query for all affected employees
+     * @return number of events applied (redelivered ones excluded)
+     */
+    public int apply(TripEventBatchDTO batch) {
+        TripEventOffset offset = tripEventOffsetRepository.findForUpdate(SOURCE)
+            .orElseGet(() -> tripEventOffsetRepository.saveAndFlush(new TripEventOffset(SOURCE)));
+        long lastEventId = offset.getLastEventId();
+        
+        List<TripEventDTO> events = new ArrayList<>();
+        Set<UUID> employeeIds = new HashSet<>();
+        for (TripEventDTO event : batch.getEvents()) {
+            if (event.getId() > lastEventId) {
+                events.add(event);
+                addEmployee(employeeIds, event.getBefore());
+                addEmployee(employeeIds, event.getAfter());
+            }
+        }
+        if (events.isEmpty()) {
+            return 0;
+        }
+        
+        Map<UUID, Employee> employees = new HashMap<>();
+        for (Employee employee : employeeRepository.findAllById(employeeIds)) {
+            employees.put(employee.getId(), employee);
+        }
+        for (TripEventDTO event : events) {
+            adjust(employees, event.getBefore(), -1);
+            adjust(employees, event.getAfter(), 1);
+        }
+        
+        offset.setLastEventId(events.get(events.size() - 1).getId());
+        return events.size();
+    }
+    
+    /**
+     * Replace every employee's counters with the recount and move the offset to its event, in one
+     * transaction; employees without completed trips are reset to zero
+     * Time Complexity: O(e + r) for e employees and r recounted totals
+     */
+    public void recount(TripEventRecountDTO recount) {
+        TripEventOffset offset = tripEventOffsetRepository.findForUpdate(SOURCE)
+            .orElseGet(() -> tripEventOffsetRepository.saveAndFlush(new TripEventOffset(SOURCE)));
+        
+        Map<UUID, EmployeeTripTotalDTO> totals = new HashMap<>();
+        for (EmployeeTripTotalDTO total : recount.getEmployees()) {
+            totals.put(total.getEmployeeId(), total);
+        }
+        for (Employee employee : employeeRepository.findAll()) {
+            EmployeeTripTotalDTO total = totals.get(employee.getId());
+            employee.setTotalTripsCompleted(total != null ? Math.toIntExact(total.getCompletedTrips()) : 0);
+            employee.setTotalDistanceTraveled(total != null ? orZero(total.getDistanceKm()) : BigDecimal.ZERO);
+        }
+        
+        offset.setLastEventId(recount.getAsOfEventId());
+    }
+    
+    private void adjust(Map<UUID, Employee> employees, TripSnapshotDTO trip, int sign) {
+        if (trip == null || !COMPLETED.equals(trip.getStatus())) {
+            return; // only completed trips count
+        }
+        Employee employee = employees.get(trip.getEmployeeId());
+        if (employee == null) {
+            return; // employee not managed here
+        }
+        BigDecimal distance = trip.getDistanceKm() != null ? trip.getDistanceKm() : BigDecimal.ZERO;
+        employee.setTotalTripsCompleted(orZero(employee.getTotalTripsCompleted()) + sign);
+        employee.setTotalDistanceTraveled(orZero(employee.getTotalDistanceTraveled())
+            .add(sign > 0 ? distance : distance.negate()));
+    }
+    
+    private static void addEmployee(Set<UUID> employeeIds, TripSnapshotDTO trip) {
+        if (trip != null && trip.getEmployeeId() != null) {
+            employeeIds.add(trip.getEmployeeId());
+        }
+    }
+    
+    private static int orZero(Integer value) {
+        return value != null ? value : 0;
+    }
+    
+    private static BigDecimal orZero(BigDecimal value) {
+        return value != null ? value : BigDecimal.ZERO;
+    }
+}
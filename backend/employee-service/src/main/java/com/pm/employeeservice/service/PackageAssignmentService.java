@@ -4,6 +4,7 @@ import com.pm.employeeservice.dto.PackageAssignmentRequestDTO;
 import com.pm.employeeservice.dto.PackageAssignmentResponseDTO;
 import com.pm.employeeservice.model.Employee;
 import com.pm.employeeservice.model.EmployeePackageAssignment;
+import com.pm.employeeservice.repository.AssignmentWithEmployeeName;
 import com.pm.employeeservice.repository.EmployeePackageAssignmentRepository;
 import com.pm.employeeservice.repository.EmployeeRepository;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -25,6 +26,9 @@ public class PackageAssignmentService {
     @Autowired
     private EmployeeRepository employeeRepository;
 
+    @Autowired
+    private EmployeeNameCache employeeNameCache;
+
     public PackageAssignmentResponseDTO assignPackage(PackageAssignmentRequestDTO requestDTO, UUID assignedBy) {
         // Check if this package is already assigned to the employee
         if (assignmentRepository.existsByEmployeeIdAndPackageIdAndActive(
@@ -39,6 +43,7 @@ public class PackageAssignmentService {
             if (employeeOpt.isPresent()) {
                 clientId = employeeOpt.get().getClientId();
             }
+            employeeNameCache.put(requestDTO.getEmployeeId(), employeeOpt.map(Employee::getFullName).orElse(null));
         }
 
         EmployeePackageAssignment assignment = new EmployeePackageAssignment();
@@ -59,15 +64,15 @@ public class PackageAssignmentService {
     }
 
     public List<PackageAssignmentResponseDTO> getEmployeeAssignments(UUID employeeId) {
-        return assignmentRepository.findByEmployeeIdAndActive(employeeId, true).stream()
-                .map(this::mapToResponseDTO)
-                .collect(Collectors.toList());
+        return mapToResponseDTOs(assignmentRepository.findWithEmployeeNameByEmployeeIdAndActive(employeeId, true));
     }
 
+    /**
+     * A tenant's active assignments with employee names
+     * Queries: one, however many assignments the tenant has
+     */
     public List<PackageAssignmentResponseDTO> getClientAssignments(UUID clientId) {
-        return assignmentRepository.findByClientIdAndActive(clientId, true).stream()
-                .map(this::mapToResponseDTO)
-                .collect(Collectors.toList());
+        return mapToResponseDTOs(assignmentRepository.findWithEmployeeNameByClientIdAndActive(clientId, true));
     }
 
     public void deactivateAssignment(Long assignmentId) {
@@ -81,7 +86,29 @@ public class PackageAssignmentService {
         assignmentRepository.deleteById(assignmentId);
     }
 
+    private List<PackageAssignmentResponseDTO> mapToResponseDTOs(List<AssignmentWithEmployeeName> rows) {
+        return rows.stream()
+                .map(row -> {
+                    employeeNameCache.put(row.getAssignment().getEmployeeId(), row.getEmployeeName());
+                    return mapToResponseDTO(row.getAssignment(), row.getEmployeeName());
+                })
+                .collect(Collectors.toList());
+    }
+
     private PackageAssignmentResponseDTO mapToResponseDTO(EmployeePackageAssignment assignment) {
+        return mapToResponseDTO(assignment, employeeName(assignment.getEmployeeId()));
+    }
+
+    private String employeeName(UUID employeeId) {
+        if (!employeeNameCache.contains(employeeId)) {
+            employeeNameCache.put(employeeId, employeeRepository.findById(employeeId)
+                    .map(Employee::getFullName)
+                    .orElse(null));
+        }
+        return employeeNameCache.get(employeeId);
+    }
+
+    private PackageAssignmentResponseDTO mapToResponseDTO(EmployeePackageAssignment assignment, String employeeName) {
         PackageAssignmentResponseDTO dto = new PackageAssignmentResponseDTO();
         dto.setId(assignment.getId());
         dto.setEmployeeId(assignment.getEmployeeId());
@@ -98,12 +125,7 @@ public class PackageAssignmentService {
         dto.setNotes(assignment.getNotes());
         dto.setCreatedAt(assignment.getCreatedAt());
         dto.setUpdatedAt(assignment.getUpdatedAt());
-
-        // Get employee name
-        employeeRepository.findById(assignment.getEmployeeId()).ifPresent(emp -> {
-            dto.setEmployeeName(emp.getFirstName() + " " + emp.getLastName());
-        });
-
+        dto.setEmployeeName(employeeName);
         return dto;
     }
 }
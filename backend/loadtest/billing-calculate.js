@@ -0,0 +1,39 @@
+// POST /billing/calculate under rising concurrency.
+// k6 run -e CLIENT_ID=<uuid> -e VENDOR_ID=<uuid> [-e MONTH=2025-01] [-e TOKEN=<jwt>] billing-calculate.js
+import http from 'k6/http';
+import { check } from 'k6';
+
+const BASE_URL = __ENV.BILLING_URL || 'http://localhost:4025';
+const MONTH = __ENV.MONTH || new Date().toISOString().slice(0, 7);
+// recalculate=true so closed months are calculated instead of served from the stored invoice
+const RECALCULATE = __ENV.RECALCULATE || 'true';
+
+export const options = {
+  scenarios: {
+    calculate: {
+      executor: 'ramping-vus',
+      startVUs: 0,
+      stages: [
+        { duration: '30s', target: Number(__ENV.VUS || 200) },
+        { duration: __ENV.HOLD || '2m', target: Number(__ENV.VUS || 200) },
+        { duration: '15s', target: 0 },
+      ],
+    },
+  },
+  summaryTrendStats: ['avg', 'med', 'p(90)', 'p(95)', 'p(99)', 'max'],
+};
+
+const headers = { 'Content-Type': 'application/json' };
+if (__ENV.TOKEN) {
+  headers.Authorization = `Bearer ${__ENV.TOKEN}`;
+}
+
+export default function () {
+  const body = JSON.stringify({
+    clientId: __ENV.CLIENT_ID,
+    vendorId: __ENV.VENDOR_ID,
+    billingMonth: MONTH,
+  });
+  const res = http.post(`${BASE_URL}/billing/calculate?recalculate=${RECALCULATE}`, body, { headers });
+  check(res, { 'status is 200': (r) => r.status === 200 });
+}
@@ -0,0 +1,22 @@
+#!/usr/bin/env sh
+# Runs both load tests against the running stack and stores k6 summaries under results/<label>/.
+# Usage: ./compare.sh <label>        (e.g. platform, virtual)
+# Needs CLIENT_ID and VENDOR_ID of a client-vendor pair with a billing model and trips.
+set -e
+
+LABEL=${1:?usage: compare.sh <label>}
+: "${CLIENT_ID:?set CLIENT_ID}"
+: "${VENDOR_ID:?set VENDOR_ID}"
+OUT="results/$LABEL"
+mkdir -p "$OUT"
+
+k6 run --summary-export "$OUT/billing-calculate.json" billing-calculate.js
+k6 run --summary-export "$OUT/trips.json" trips.js
+
+for test in billing-calculate trips; do
+  if command -v jq >/dev/null 2>&1; then
+    jq -r --arg t "$test" --arg l "$LABEL" \
+      '"\($l) \($t): \(.metrics.http_reqs.rate | floor) req/s, p99 \(.metrics.http_req_duration["p(99)"] | floor) ms, failed \(.metrics.http_req_failed.value * 100 | floor)%"' \
+      "$OUT/$test.json"
+  fi
+done
@@ -0,0 +1,29 @@
+// GET /trips/client/{clientId} (first keyset page) under rising concurrency.
+// k6 run -e CLIENT_ID=<uuid> [-e PAGE_SIZE=200] [-e TOKEN=<jwt>] trips.js
+import http from 'k6/http';
+import { check } from 'k6';
+
+const BASE_URL = __ENV.TRIP_URL || 'http://localhost:4020';
+const PAGE_SIZE = __ENV.PAGE_SIZE || '200';
+
+export const options = {
+  scenarios: {
+    trips: {
+      executor: 'ramping-vus',
+      startVUs: 0,
+      stages: [
+        { duration: '30s', target: Number(__ENV.VUS || 200) },
+        { duration: __ENV.HOLD || '2m', target: Number(__ENV.VUS || 200) },
+        { duration: '15s', target: 0 },
+      ],
+    },
+  },
+  summaryTrendStats: ['avg', 'med', 'p(90)', 'p(95)', 'p(99)', 'max'],
+};
+
+const params = __ENV.TOKEN ? { headers: { Authorization: `Bearer ${__ENV.TOKEN}` } } : {};
+
+export default function () {
+  const res = http.get(`${BASE_URL}/trips/client/${__ENV.CLIENT_ID}?size=${PAGE_SIZE}`, params);
+  check(res, { 'status is 200': (r) => r.status === 200 });
+}
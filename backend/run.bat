@@ -55,6 +55,10 @@ echo All existing services stopped.
 echo.
 echo Starting new service instances...
 echo.
+REM Every service depends on the shared common module
+echo Installing common module...
+call mvn -q -f common\pom.xml install -DskipTests
+echo.
 
 REM Start Auth Service (Port 4005)
 echo Starting Auth Service on port 4005...
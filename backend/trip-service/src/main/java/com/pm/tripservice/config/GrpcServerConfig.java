@@ -0,0 +1,66 @@
+package com.pm.tripservice.config;
+
+import com.pm.common.security.JwtClaims;
+import com.pm.common.security.JwtProperties;
+import com.pm.common.security.JwtVerifier;
+import io.grpc.Context;
+import io.grpc.Contexts;
+import io.grpc.Metadata;
+import io.grpc.ServerCall;
+import io.grpc.ServerCallHandler;
+import io.grpc.ServerInterceptor;
+import io.grpc.Status;
+import io.jsonwebtoken.JwtException;
+import net.devh.boot.grpc.server.interceptor.GrpcGlobalServerInterceptor;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * The gRPC port applies the same rule as JwtAuthenticationFilter: a call needs a valid bearer
+ * token (Billing Service sends its service token) unless jwt.required is false.
+ * Verified claims are available to services through {@link #CLAIMS}.
+ */
+@Configuration
+public class GrpcServerConfig {
+
+    public static final Context.Key<JwtClaims> CLAIMS = Context.key(JwtClaims.REQUEST_ATTRIBUTE);
+
+    private static final Metadata.Key<String> AUTHORIZATION =
+        Metadata.Key.of("authorization", Metadata.ASCII_STRING_MARSHALLER);
+    private static final String BEARER_PREFIX = "Bearer ";
+    // Probed by health checks, which carry no token
+    private static final String HEALTH_SERVICE = "grpc.health.v1.Health";
+
+    @GrpcGlobalServerInterceptor
+    ServerInterceptor jwtServerInterceptor(JwtVerifier jwtVerifier, JwtProperties properties) {
+        return new ServerInterceptor() {
+            @Override
+            public <ReqT, RespT> ServerCall.Listener<ReqT> interceptCall(
+                    ServerCall<ReqT, RespT> call, Metadata headers, ServerCallHandler<ReqT, RespT> next) {
+                if (HEALTH_SERVICE.equals(call.getMethodDescriptor().getServiceName())) {
+                    return next.startCall(call, headers);
+                }
+                String header = headers.get(AUTHORIZATION);
+                if (header == null || !header.startsWith(BEARER_PREFIX)) {
+                    if (properties.isRequired()) {
+                        return reject(call, "Missing bearer token");
+                    }
+                    return next.startCall(call, headers);
+                }
+
+                JwtClaims claims;
+                try {
+                    claims = jwtVerifier.verify(header.substring(BEARER_PREFIX.length()).trim());
+                } catch (JwtException e) {
+                    return reject(call, "Invalid or expired token");
+                }
+                return Contexts.interceptCall(Context.current().withValue(CLAIMS, claims), call, headers, next);
+            }
+        };
+    }
+
+    private static <ReqT, RespT> ServerCall.Listener<ReqT> reject(ServerCall<ReqT, RespT> call, String message) {
+        call.close(Status.UNAUTHENTICATED.withDescription(message), new Metadata());
+        return new ServerCall.Listener<>() {
+        };
+    }
+}
@@ -0,0 +1,27 @@
+package com.pm.tripservice.config;
+
+import com.pm.common.security.ServiceTokenInterceptor;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.client.RestTemplate;
+
+@Configuration
+@EnableConfigurationProperties(TripEventRelayProperties.class)
+public class TripEventRelayConfig {
+
+    /**
+     * Client for pushing event batches; timeouts are short so an unreachable subscriber only
+     * delays its own deliveries. Batches carry this service's token.
+     */
+    @Bean
+    public RestTemplate tripEventRestTemplate(RestTemplateBuilder builder, TripEventRelayProperties properties,
+                                              ServiceTokenInterceptor serviceTokenInterceptor) {
+        return builder
+            .connectTimeout(properties.getConnectTimeout())
+            .readTimeout(properties.getReadTimeout())
+            .additionalInterceptors(serviceTokenInterceptor)
+            .build();
+    }
+}
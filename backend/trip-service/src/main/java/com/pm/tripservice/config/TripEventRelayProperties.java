@@ -0,0 +1,44 @@
+package com.pm.tripservice.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Settings for pushing trip events to subscribers (trip.events.relay.*)
+ */
+@ConfigurationProperties(prefix = "trip.events.relay")
+public class TripEventRelayProperties {
+
+    private int batchSize = 500;
+    private int maxBatchesPerRun = 20; // per subscriber, so one slow subscriber cannot starve the others
+    private Duration connectTimeout = Duration.ofSeconds(2);
+    private Duration readTimeout = Duration.ofSeconds(10);
+    private List<Subscriber> subscribers = new ArrayList<>();
+
+    /**
+     * A service that receives event batches as POST requests
+     */
+    public static class Subscriber {
+        private String name;
+        private String url;
+
+        public String getName() { return name; }
+        public void setName(String name) { this.name = name; }
+        public String getUrl() { return url; }
+        public void setUrl(String url) { this.url = url; }
+    }
+
+    public int getBatchSize() { return batchSize; }
+    public void setBatchSize(int batchSize) { this.batchSize = batchSize; }
+    public int getMaxBatchesPerRun() { return maxBatchesPerRun; }
+    public void setMaxBatchesPerRun(int maxBatchesPerRun) { this.maxBatchesPerRun = maxBatchesPerRun; }
+    public Duration getConnectTimeout() { return connectTimeout; }
+    public void setConnectTimeout(Duration connectTimeout) { this.connectTimeout = connectTimeout; }
+    public Duration getReadTimeout() { return readTimeout; }
+    public void setReadTimeout(Duration readTimeout) { this.readTimeout = readTimeout; }
+    public List<Subscriber> getSubscribers() { return subscribers; }
+    public void setSubscribers(List<Subscriber> subscribers) { this.subscribers = subscribers; }
+}
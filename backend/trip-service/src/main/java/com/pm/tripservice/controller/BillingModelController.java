@@ -4,10 +4,13 @@ import com.pm.tripservice.model.BillingModel;
 import com.pm.tripservice.repository.BillingModelRepository;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 
 @RestController
@@ -35,14 +38,31 @@ public class BillingModelController {
         return ResponseEntity.ok(models);
     }
 
-    @Operation(summary = "Get billing model for a specific client-vendor combination")
+    @Operation(summary = "Get billing model for a specific client-vendor combination",
+               description = "Carries an ETag (model id + last update); send If-None-Match to get 304 when unchanged")
     @GetMapping("/client/{clientId}/vendor/{vendorId}")
     public ResponseEntity<BillingModel> getBillingModelByClientAndVendor(
             @PathVariable UUID clientId,
-            @PathVariable UUID vendorId) {
-        return billingModelRepository.findByClientIdAndVendorId(clientId, vendorId)
-                .map(ResponseEntity::ok)
-                .orElse(ResponseEntity.notFound().build());
+            @PathVariable UUID vendorId,
+            WebRequest webRequest) {
+        Optional<BillingModel> model = billingModelRepository.findByClientIdAndVendorId(clientId, vendorId);
+        if (model.isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+
+        String etag = etagOf(model.get());
+        if (webRequest.checkNotModified(etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+        }
+        return ResponseEntity.ok().eTag(etag).body(model.get());
+    }
+
+    /**
+     * Version tag of a billing model. updatedAt is bumped by @PreUpdate on every change.
+     */
+    private String etagOf(BillingModel model) {
+        long version = model.getUpdatedAt() != null ? model.getUpdatedAt().toEpochMilli() : 0L;
+        return "\"" + model.getId() + "-" + version + "\"";
     }
 
     @Operation(summary = "Get all billing models for a vendor")
@@ -59,6 +79,13 @@ public class BillingModelController {
         return ResponseEntity.ok(models);
     }
 
+    @Operation(summary = "Get all active billing models", description = "Every billable client-vendor pair; used by the month-end billing run")
+    @GetMapping("/active")
+    public ResponseEntity<List<BillingModel>> getActiveBillingModels() {
+        List<BillingModel> models = billingModelRepository.findByActive(true);
+        return ResponseEntity.ok(models);
+    }
+
     @Operation(summary = "Get all billing models")
     @GetMapping
     public ResponseEntity<List<BillingModel>> getAllBillingModels() {
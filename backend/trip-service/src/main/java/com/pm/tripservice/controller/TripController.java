@@ -1,7 +1,18 @@
 package com.pm.tripservice.controller;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.pm.tripservice.dto.TripAggregateDTO;
+import com.pm.tripservice.dto.TripBillingRecordDTO;
+import com.pm.tripservice.dto.TripImportResultDTO;
+import com.pm.tripservice.dto.TripIncentiveRecordDTO;
+import com.pm.tripservice.dto.TripPageDTO;
 import com.pm.tripservice.dto.TripRequestDTO;
 import com.pm.tripservice.dto.TripResponseDTO;
+import com.pm.tripservice.service.TripImportService;
 import com.pm.tripservice.service.TripService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
@@ -9,22 +20,37 @@ import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.util.List;
 import java.util.UUID;
+import java.util.function.Consumer;
 
 @RestController
 @RequestMapping("/trips")
 @Tag(name = "Trip", description = "Trip management endpoints")
 public class TripController {
 
+    private static final MediaType APPLICATION_NDJSON = MediaType.parseMediaType("application/x-ndjson");
+    private static final int STREAM_FLUSH_EVERY = 1000;
+
     @Autowired
     private TripService tripService;
 
+    @Autowired
+    private TripImportService tripImportService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
     @PostMapping
     @Operation(summary = "Create a new trip")
     public ResponseEntity<TripResponseDTO> createTrip(@Valid @RequestBody TripRequestDTO requestDTO) {
@@ -32,6 +58,20 @@ public class TripController {
         return ResponseEntity.status(HttpStatus.CREATED).body(response);
     }
 
+    @PostMapping(value = "/import", consumes = "text/csv")
+    @Operation(summary = "Bulk import trips from CSV",
+               description = "Header row of trip fields, one trip per line. Invalid rows are reported and skipped.")
+    public ResponseEntity<TripImportResultDTO> importTripsCsv(InputStream body) throws IOException {
+        return ResponseEntity.ok(tripImportService.importCsv(body));
+    }
+
+    @PostMapping(value = "/import", consumes = "application/x-ndjson")
+    @Operation(summary = "Bulk import trips from NDJSON",
+               description = "One trip JSON object per line. Invalid rows are reported and skipped.")
+    public ResponseEntity<TripImportResultDTO> importTripsNdjson(InputStream body) throws IOException {
+        return ResponseEntity.ok(tripImportService.importNdjson(body));
+    }
+
     @GetMapping("/{id}")
     @Operation(summary = "Get trip by ID")
     public ResponseEntity<TripResponseDTO> getTripById(@PathVariable UUID id) {
@@ -40,31 +80,42 @@ public class TripController {
     }
 
     @GetMapping
-    @Operation(summary = "Get all trips")
-    public ResponseEntity<List<TripResponseDTO>> getAllTrips() {
-        List<TripResponseDTO> trips = tripService.getAllTrips();
-        return ResponseEntity.ok(trips);
+    @Operation(summary = "Get all trips, newest first, one keyset page at a time")
+    public ResponseEntity<TripPageDTO> getAllTrips(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
+        TripPageDTO page = tripService.getAllTrips(cursor, size);
+        return ResponseEntity.ok(page);
     }
 
     @GetMapping("/client/{clientId}")
-    @Operation(summary = "Get all trips for a client")
-    public ResponseEntity<List<TripResponseDTO>> getTripsByClient(@PathVariable UUID clientId) {
-        List<TripResponseDTO> trips = tripService.getTripsByClient(clientId);
-        return ResponseEntity.ok(trips);
+    @Operation(summary = "Get trips for a client, newest first, one keyset page at a time")
+    public ResponseEntity<TripPageDTO> getTripsByClient(
+            @PathVariable UUID clientId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
+        TripPageDTO page = tripService.getTripsByClient(clientId, cursor, size);
+        return ResponseEntity.ok(page);
     }
 
     @GetMapping("/employee/{employeeId}")
-    @Operation(summary = "Get all trips for an employee")
-    public ResponseEntity<List<TripResponseDTO>> getTripsByEmployee(@PathVariable UUID employeeId) {
-        List<TripResponseDTO> trips = tripService.getTripsByEmployee(employeeId);
-        return ResponseEntity.ok(trips);
+    @Operation(summary = "Get trips for an employee, newest first, one keyset page at a time")
+    public ResponseEntity<TripPageDTO> getTripsByEmployee(
+            @PathVariable UUID employeeId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
+        TripPageDTO page = tripService.getTripsByEmployee(employeeId, cursor, size);
+        return ResponseEntity.ok(page);
     }
 
     @GetMapping("/vendor/{vendorId}")
-    @Operation(summary = "Get all trips for a vendor")
-    public ResponseEntity<List<TripResponseDTO>> getTripsByVendor(@PathVariable UUID vendorId) {
-        List<TripResponseDTO> trips = tripService.getTripsByVendor(vendorId);
-        return ResponseEntity.ok(trips);
+    @Operation(summary = "Get trips for a vendor, newest first, one keyset page at a time")
+    public ResponseEntity<TripPageDTO> getTripsByVendor(
+            @PathVariable UUID vendorId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
+        TripPageDTO page = tripService.getTripsByVendor(vendorId, cursor, size);
+        return ResponseEntity.ok(page);
     }
 
     @GetMapping("/client/{clientId}/vendor/{vendorId}")
@@ -81,6 +132,77 @@ public class TripController {
         return ResponseEntity.ok(trips);
     }
 
+    @GetMapping("/client/{clientId}/vendor/{vendorId}/stream")
+    @Operation(summary = "Stream billing records by client, vendor and date range",
+               description = "Newline-delimited JSON, one trip per line, ordered by start time. Used by billing-service.")
+    public ResponseEntity<StreamingResponseBody> streamTripsByClientVendorAndDateRange(
+            @PathVariable UUID clientId,
+            @PathVariable UUID vendorId,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate) {
+        
+        StreamingResponseBody body = ndjson(TripBillingRecordDTO.class, consumer ->
+                tripService.streamBillingRecords(clientId, vendorId, startDate, endDate, consumer));
+        return ResponseEntity.ok().contentType(APPLICATION_NDJSON).body(body);
+    }
+
+    @GetMapping("/client/{clientId}/incentive-stream")
+    @Operation(summary = "Stream incentive records of a client's completed trips by date range",
+               description = "Newline-delimited JSON, one completed trip per line (employee, vendor, duration, late-night and weekend flags). Used by billing-service.")
+    public ResponseEntity<StreamingResponseBody> streamIncentiveRecordsByClientAndDateRange(
+            @PathVariable UUID clientId,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate) {
+        
+        StreamingResponseBody body = ndjson(TripIncentiveRecordDTO.class, consumer ->
+                tripService.streamIncentiveRecords(clientId, startDate, endDate, consumer));
+        return ResponseEntity.ok().contentType(APPLICATION_NDJSON).body(body);
+    }
+
+    /**
+     * Writes every record the source pushes as one JSON line, flushing every STREAM_FLUSH_EVERY lines
+     */
+    private <T> StreamingResponseBody ndjson(Class<T> type, Consumer<Consumer<T>> source) {
+        ObjectWriter writer = objectMapper.writerFor(type)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        return outputStream -> {
+            try (JsonGenerator generator = objectMapper.getFactory().createGenerator(outputStream)) {
+                generator.setRootValueSeparator(new SerializedString("\n"));
+                int[] written = {0};
+                source.accept(record -> {
+                    try {
+                        writer.writeValue(generator, record);
+                        if (++written[0] % STREAM_FLUSH_EVERY == 0) {
+                            generator.flush();
+                        }
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+            }
+        };
+    }
+
+    @GetMapping("/client/{clientId}/vendor/{vendorId}/aggregate")
+    @Operation(summary = "Aggregate billing totals by client, vendor and date range",
+               description = "Trip count, distance/duration sums and per-trip overage beyond the given standard limits "
+                   + "(no overage for an omitted limit), "
+                   + "as of the settled event frontier (asOfEventId); settledThroughEventId is the caller's feed position")
+    public ResponseEntity<TripAggregateDTO> aggregateTripsByClientVendorAndDateRange(
+            @PathVariable UUID clientId,
+            @PathVariable UUID vendorId,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
+            @RequestParam(required = false) BigDecimal standardTripKm,
+            @RequestParam(required = false) BigDecimal standardTripHours,
+            @RequestParam(defaultValue = "0") long settledThroughEventId) {
+        
+        TripAggregateDTO aggregate = tripService.aggregateTripsByClientVendorAndDateRange(
+            clientId, vendorId, startDate, endDate, standardTripKm, standardTripHours, settledThroughEventId
+        );
+        return ResponseEntity.ok(aggregate);
+    }
+
     @GetMapping("/employee/{employeeId}/daterange")
     @Operation(summary = "Get trips by employee and date range")
     public ResponseEntity<List<TripResponseDTO>> getTripsByEmployeeAndDateRange(
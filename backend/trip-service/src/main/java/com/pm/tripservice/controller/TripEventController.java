@@ -0,0 +1,42 @@
+package com.pm.tripservice.controller;
+
+import com.pm.tripservice.dto.TripEventPageDTO;
+import com.pm.tripservice.dto.TripEventSubscriptionDTO;
+import com.pm.tripservice.service.TripEventRelay;
+import com.pm.tripservice.service.TripEventService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/trip-events")
+@Tag(name = "Trip Events", description = "Outbox feed of trip changes and the state of pushed subscriptions")
+public class TripEventController {
+
+    @Autowired
+    private TripEventService tripEventService;
+
+    @Autowired
+    private TripEventRelay tripEventRelay;
+
+    @GetMapping
+    @Operation(summary = "Read the trip event feed",
+               description = "Events with an id greater than `after`, oldest first. Pass the id of the last event " +
+                             "processed as `after` on the next call.")
+    public ResponseEntity<TripEventPageDTO> feed(
+            @RequestParam(defaultValue = "0") long after,
+            @RequestParam(defaultValue = "500") int limit) {
+        return ResponseEntity.ok(tripEventService.feed(after, limit));
+    }
+
+    @GetMapping("/subscriptions")
+    @Operation(summary = "Subscriber delivery state",
+               description = "Position, lag and last error of every subscriber the relay pushes events to")
+    public ResponseEntity<List<TripEventSubscriptionDTO>> subscriptions() {
+        return ResponseEntity.ok(tripEventRelay.getSubscriptions());
+    }
+}
@@ -0,0 +1,52 @@
+package com.pm.tripservice.controller;
+
+import com.pm.tripservice.dto.RollupGroupBy;
+import com.pm.tripservice.dto.TripRollupDTO;
+import com.pm.tripservice.service.TripRollupService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+@RestController
+@RequestMapping("/trip-rollups")
+@Tag(name = "Trip Rollups", description = "Pre-aggregated daily trip totals for reporting")
+public class TripRollupController {
+
+    @Autowired
+    private TripRollupService tripRollupService;
+
+    @GetMapping
+    @Operation(summary = "Query trip rollups",
+               description = "Completed-trip totals for a date range, optionally filtered by client, vendor and employee, " +
+                             "grouped by NONE, CLIENT, VENDOR, EMPLOYEE, DEPARTMENT or DATE. Reads rollups only, never raw trips.")
+    public ResponseEntity<List<TripRollupDTO>> queryRollups(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
+            @RequestParam(required = false) UUID clientId,
+            @RequestParam(required = false) UUID vendorId,
+            @RequestParam(required = false) UUID employeeId,
+            @RequestParam(defaultValue = "NONE") RollupGroupBy groupBy) {
+        
+        List<TripRollupDTO> rollups = tripRollupService.query(startDate, endDate, clientId, vendorId, employeeId, groupBy);
+        return ResponseEntity.ok(rollups);
+    }
+
+    @PostMapping("/rebuild")
+    @Operation(summary = "Rebuild trip rollups",
+               description = "Recomputes the rollups of a date range from raw trips (backfill or repair)")
+    public ResponseEntity<Map<String, Integer>> rebuild(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate) {
+        
+        int rows = tripRollupService.rebuild(startDate, endDate);
+        return ResponseEntity.ok(Map.of("rollupRows", rows));
+    }
+}
@@ -0,0 +1,52 @@
+package com.pm.tripservice.dto;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+/**
+ * Completed trips of one employee and their total distance
+ */
+public class EmployeeTripTotalDTO {
+    private UUID employeeId;
+    private long completedTrips;
+    private BigDecimal distanceKm = BigDecimal.ZERO;
+
+    public EmployeeTripTotalDTO() {
+    }
+
+    public EmployeeTripTotalDTO(UUID employeeId, Long completedTrips, BigDecimal distanceKm) {
+        this.employeeId = employeeId;
+        this.completedTrips = completedTrips != null ? completedTrips : 0L;
+        this.distanceKm = distanceKm != null ? distanceKm : BigDecimal.ZERO;
+    }
+
+    public void add(long trips, BigDecimal distance) {
+        completedTrips += trips;
+        distanceKm = distanceKm.add(distance);
+    }
+
+    // Getters and Setters
+    public UUID getEmployeeId() {
+        return employeeId;
+    }
+
+    public void setEmployeeId(UUID employeeId) {
+        this.employeeId = employeeId;
+    }
+
+    public long getCompletedTrips() {
+        return completedTrips;
+    }
+
+    public void setCompletedTrips(long completedTrips) {
+        this.completedTrips = completedTrips;
+    }
+
+    public BigDecimal getDistanceKm() {
+        return distanceKm;
+    }
+
+    public void setDistanceKm(BigDecimal distanceKm) {
+        this.distanceKm = distanceKm;
+    }
+}
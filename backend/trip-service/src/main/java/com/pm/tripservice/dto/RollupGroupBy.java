@@ -0,0 +1,13 @@
+package com.pm.tripservice.dto;
+
+/**
+ * Dimension a rollup query is grouped by; NONE returns a single totals row
+ */
+public enum RollupGroupBy {
+    NONE,
+    CLIENT,
+    VENDOR,
+    EMPLOYEE,
+    DEPARTMENT,
+    DATE
+}
@@ -0,0 +1,99 @@
+package com.pm.tripservice.dto;
+
+import java.math.BigDecimal;
+
+/**
+ * Billing totals for a client-vendor date range, computed by the database in a single aggregate query.
+ * Extra km/hours are the per-trip overage beyond the supplied standard trip limits, summed.
+ */
+public class TripAggregateDTO {
+    private long tripCount;
+    private BigDecimal totalDistanceKm;
+    private BigDecimal totalDurationHours;
+    private BigDecimal extraKm;
+    private BigDecimal extraHours;
+    private Long asOfEventId; // newest trip event already reflected in these totals
+
+    public TripAggregateDTO() {
+    }
+
+    // Numeric arguments arrive as whatever type the dialect picks for COUNT/SUM/CASE
+    public TripAggregateDTO(Number tripCount, Number totalDistanceKm, Number totalDurationHours,
+                            Number extraKm, Number extraHours) {
+        this.tripCount = tripCount != null ? tripCount.longValue() : 0L;
+        this.totalDistanceKm = toBigDecimal(totalDistanceKm);
+        this.totalDurationHours = toBigDecimal(totalDurationHours);
+        this.extraKm = toBigDecimal(extraKm);
+        this.extraHours = toBigDecimal(extraHours);
+    }
+
+    /**
+     * Adds the totals of a disjoint set of trips (e.g. the archived part of the range)
+     */
+    public void add(TripAggregateDTO other) {
+        this.tripCount += other.tripCount;
+        this.totalDistanceKm = this.totalDistanceKm.add(other.totalDistanceKm);
+        this.totalDurationHours = this.totalDurationHours.add(other.totalDurationHours);
+        this.extraKm = this.extraKm.add(other.extraKm);
+        this.extraHours = this.extraHours.add(other.extraHours);
+    }
+
+    private static BigDecimal toBigDecimal(Number value) {
+        if (value == null) {
+            return BigDecimal.ZERO;
+        }
+        if (value instanceof BigDecimal) {
+            return (BigDecimal) value;
+        }
+        return new BigDecimal(value.toString());
+    }
+
+    // Getters and Setters
+    public long getTripCount() {
+        return tripCount;
+    }
+
+    public void setTripCount(long tripCount) {
+        this.tripCount = tripCount;
+    }
+
+    public BigDecimal getTotalDistanceKm() {
+        return totalDistanceKm;
+    }
+
+    public void setTotalDistanceKm(BigDecimal totalDistanceKm) {
+        this.totalDistanceKm = totalDistanceKm;
+    }
+
+    public BigDecimal getTotalDurationHours() {
+        return totalDurationHours;
+    }
+
+    public void setTotalDurationHours(BigDecimal totalDurationHours) {
+        this.totalDurationHours = totalDurationHours;
+    }
+
+    public BigDecimal getExtraKm() {
+        return extraKm;
+    }
+
+    public void setExtraKm(BigDecimal extraKm) {
+        this.extraKm = extraKm;
+    }
+
+    public BigDecimal getExtraHours() {
+        return extraHours;
+    }
+
+    public void setExtraHours(BigDecimal extraHours) {
+        this.extraHours = extraHours;
+    }
+
+    public Long getAsOfEventId() {
+        return asOfEventId;
+    }
+
+    public void setAsOfEventId(Long asOfEventId) {
+        this.asOfEventId = asOfEventId;
+    }
+}
@@ -0,0 +1,59 @@
+package com.pm.tripservice.dto;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Slim, billing-only view of a trip.
+ * Streamed one-per-line (NDJSON) to billing-service so it never has to hold a whole month in memory.
+ */
+public class TripBillingRecordDTO {
+    private UUID id;
+    private Instant tripStartTime;
+    private BigDecimal distanceKm;
+    private BigDecimal durationHours;
+
+    public TripBillingRecordDTO() {
+    }
+
+    public TripBillingRecordDTO(UUID id, Instant tripStartTime, BigDecimal distanceKm, BigDecimal durationHours) {
+        this.id = id;
+        this.tripStartTime = tripStartTime;
+        this.distanceKm = distanceKm;
+        this.durationHours = durationHours;
+    }
+
+    // Getters and Setters
+    public UUID getId() {
+        return id;
+    }
+
+    public void setId(UUID id) {
+        this.id = id;
+    }
+
+    public Instant getTripStartTime() {
+        return tripStartTime;
+    }
+
+    public void setTripStartTime(Instant tripStartTime) {
+        this.tripStartTime = tripStartTime;
+    }
+
+    public BigDecimal getDistanceKm() {
+        return distanceKm;
+    }
+
+    public void setDistanceKm(BigDecimal distanceKm) {
+        this.distanceKm = distanceKm;
+    }
+
+    public BigDecimal getDurationHours() {
+        return durationHours;
+    }
+
+    public void setDurationHours(BigDecimal durationHours) {
+        this.durationHours = durationHours;
+    }
+}
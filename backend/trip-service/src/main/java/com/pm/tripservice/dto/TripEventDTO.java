@@ -0,0 +1,72 @@
+package com.pm.tripservice.dto;
+
+import com.pm.tripservice.model.TripSnapshot;
+import com.pm.tripservice.model.TripEventType;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * One trip change from the outbox feed. Consumers apply (after - before) to whatever
+ * they derive from trips; before is null for CREATED and after is null for DELETED.
+ */
+public class TripEventDTO {
+    private Long id;
+    private TripEventType eventType;
+    private UUID tripId;
+    private Instant occurredAt;
+    private TripSnapshot before;
+    private TripSnapshot after;
+
+    public TripEventDTO() {
+    }
+
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public TripEventType getEventType() {
+        return eventType;
+    }
+
+    public void setEventType(TripEventType eventType) {
+        this.eventType = eventType;
+    }
+
+    public UUID getTripId() {
+        return tripId;
+    }
+
+    public void setTripId(UUID tripId) {
+        this.tripId = tripId;
+    }
+
+    public Instant getOccurredAt() {
+        return occurredAt;
+    }
+
+    public void setOccurredAt(Instant occurredAt) {
+        this.occurredAt = occurredAt;
+    }
+
+    public TripSnapshot getBefore() {
+        return before;
+    }
+
+    public void setBefore(TripSnapshot before) {
+        this.before = before;
+    }
+
+    public TripSnapshot getAfter() {
+        return after;
+    }
+
+    public void setAfter(TripSnapshot after) {
+        this.after = after;
+    }
+}
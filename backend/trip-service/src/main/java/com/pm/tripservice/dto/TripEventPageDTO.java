@@ -0,0 +1,48 @@
+package com.pm.tripservice.dto;
+
+import java.util.List;
+
+/**
+ * A slice of the trip event feed in id order.
+ * oldestEventId lets a consumer detect that events it never read were already purged;
+ * latestEventId is where a consumer starting from scratch should begin.
+ */
+public class TripEventPageDTO {
+    private List<TripEventDTO> events;
+    private Long oldestEventId;
+    private Long latestEventId;
+
+    public TripEventPageDTO() {
+    }
+
+    public TripEventPageDTO(List<TripEventDTO> events, Long oldestEventId, Long latestEventId) {
+        this.events = events;
+        this.oldestEventId = oldestEventId;
+        this.latestEventId = latestEventId;
+    }
+
+    // Getters and Setters
+    public List<TripEventDTO> getEvents() {
+        return events;
+    }
+
+    public void setEvents(List<TripEventDTO> events) {
+        this.events = events;
+    }
+
+    public Long getOldestEventId() {
+        return oldestEventId;
+    }
+
+    public void setOldestEventId(Long oldestEventId) {
+        this.oldestEventId = oldestEventId;
+    }
+
+    public Long getLatestEventId() {
+        return latestEventId;
+    }
+
+    public void setLatestEventId(Long latestEventId) {
+        this.latestEventId = latestEventId;
+    }
+}
@@ -0,0 +1,38 @@
+package com.pm.tripservice.dto;
+
+import java.util.List;
+
+/**
+ * Completed trip totals of every employee with completed trips, exactly as of event asOfEventId.
+ * Sent to a subscriber whose position fell behind the outbox's retention: it replaces the totals
+ * the subscriber keeps and resumes the feed after asOfEventId.
+ */
+public class TripEventRecountDTO {
+    private Long asOfEventId;
+    private List<EmployeeTripTotalDTO> employees;
+
+    public TripEventRecountDTO() {
+    }
+
+    public TripEventRecountDTO(Long asOfEventId, List<EmployeeTripTotalDTO> employees) {
+        this.asOfEventId = asOfEventId;
+        this.employees = employees;
+    }
+
+    // Getters and Setters
+    public Long getAsOfEventId() {
+        return asOfEventId;
+    }
+
+    public void setAsOfEventId(Long asOfEventId) {
+        this.asOfEventId = asOfEventId;
+    }
+
+    public List<EmployeeTripTotalDTO> getEmployees() {
+        return employees;
+    }
+
+    public void setEmployees(List<EmployeeTripTotalDTO> employees) {
+        this.employees = employees;
+    }
+}
@@ -0,0 +1,66 @@
+package com.pm.tripservice.dto;
+
+import java.time.Instant;
+
+/**
+ * Delivery state of one trip event subscriber
+ */
+public class TripEventSubscriptionDTO {
+    private String subscriber;
+    private Long lastEventId;
+    private Long lag; // events written but not yet delivered
+    private Instant lastDeliveredAt;
+    private String lastError;
+
+    public TripEventSubscriptionDTO() {
+    }
+
+    public TripEventSubscriptionDTO(String subscriber, Long lastEventId, Long lag, Instant lastDeliveredAt, String lastError) {
+        this.subscriber = subscriber;
+        this.lastEventId = lastEventId;
+        this.lag = lag;
+        this.lastDeliveredAt = lastDeliveredAt;
+        this.lastError = lastError;
+    }
+
+    // Getters and Setters
+    public String getSubscriber() {
+        return subscriber;
+    }
+
+    public void setSubscriber(String subscriber) {
+        this.subscriber = subscriber;
+    }
+
+    public Long getLastEventId() {
+        return lastEventId;
+    }
+
+    public void setLastEventId(Long lastEventId) {
+        this.lastEventId = lastEventId;
+    }
+
+    public Long getLag() {
+        return lag;
+    }
+
+    public void setLag(Long lag) {
+        this.lag = lag;
+    }
+
+    public Instant getLastDeliveredAt() {
+        return lastDeliveredAt;
+    }
+
+    public void setLastDeliveredAt(Instant lastDeliveredAt) {
+        this.lastDeliveredAt = lastDeliveredAt;
+    }
+
+    public String getLastError() {
+        return lastError;
+    }
+
+    public void setLastError(String lastError) {
+        this.lastError = lastError;
+    }
+}
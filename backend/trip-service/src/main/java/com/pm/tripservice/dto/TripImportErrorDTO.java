@@ -0,0 +1,34 @@
+package com.pm.tripservice.dto;
+
+/**
+ * A rejected import row: its line number in the upload and why it was rejected
+ */
+public class TripImportErrorDTO {
+    private long line;
+    private String message;
+
+    public TripImportErrorDTO() {
+    }
+
+    public TripImportErrorDTO(long line, String message) {
+        this.line = line;
+        this.message = message;
+    }
+
+    // Getters and Setters
+    public long getLine() {
+        return line;
+    }
+
+    public void setLine(long line) {
+        this.line = line;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+
+    public void setMessage(String message) {
+        this.message = message;
+    }
+}
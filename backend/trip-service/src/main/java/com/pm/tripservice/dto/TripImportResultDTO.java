@@ -0,0 +1,78 @@
+package com.pm.tripservice.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Outcome of a bulk trip import. Rejected rows do not stop the import; the first
+ * errors are listed individually and errorsTruncated says whether more were dropped.
+ */
+public class TripImportResultDTO {
+    private long rowsRead;
+    private long rowsImported;
+    private long rowsRejected;
+    private List<TripImportErrorDTO> errors = new ArrayList<>();
+    private boolean errorsTruncated;
+    private long elapsedMillis;
+    private double rowsPerSecond;
+
+    public TripImportResultDTO() {
+    }
+
+    // Getters and Setters
+    public long getRowsRead() {
+        return rowsRead;
+    }
+
+    public void setRowsRead(long rowsRead) {
+        this.rowsRead = rowsRead;
+    }
+
+    public long getRowsImported() {
+        return rowsImported;
+    }
+
+    public void setRowsImported(long rowsImported) {
+        this.rowsImported = rowsImported;
+    }
+
+    public long getRowsRejected() {
+        return rowsRejected;
+    }
+
+    public void setRowsRejected(long rowsRejected) {
+        this.rowsRejected = rowsRejected;
+    }
+
+    public List<TripImportErrorDTO> getErrors() {
+        return errors;
+    }
+
+    public void setErrors(List<TripImportErrorDTO> errors) {
+        this.errors = errors;
+    }
+
+    public boolean isErrorsTruncated() {
+        return errorsTruncated;
+    }
+
+    public void setErrorsTruncated(boolean errorsTruncated) {
+        this.errorsTruncated = errorsTruncated;
+    }
+
+    public long getElapsedMillis() {
+        return elapsedMillis;
+    }
+
+    public void setElapsedMillis(long elapsedMillis) {
+        this.elapsedMillis = elapsedMillis;
+    }
+
+    public double getRowsPerSecond() {
+        return rowsPerSecond;
+    }
+
+    public void setRowsPerSecond(double rowsPerSecond) {
+        this.rowsPerSecond = rowsPerSecond;
+    }
+}
@@ -0,0 +1,82 @@
+package com.pm.tripservice.dto;
+
+import com.pm.tripservice.model.TripTimeWindows;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.UUID;
+
+/**
+ * Incentive view of a completed trip: who rode, with which vendor, how long, and when.
+ * The late-night and weekend flags are the ones stamped at completion; a trip without a stamp has
+ * them derived from the start time here, in the same zone as the rollups. Either way
+ * billing-service never converts a timestamp per trip; it measures extra hours itself.
+ */
+public class TripIncentiveRecordDTO {
+    private UUID employeeId;
+    private UUID vendorId;
+    private BigDecimal durationHours;
+    private boolean lateNight;
+    private boolean weekend;
+
+    public TripIncentiveRecordDTO() {
+    }
+
+    public TripIncentiveRecordDTO(UUID employeeId, UUID vendorId, Instant tripStartTime, BigDecimal durationHours,
+                                  Boolean lateNight, Boolean weekend) {
+        this.employeeId = employeeId;
+        this.vendorId = vendorId;
+        this.durationHours = durationHours;
+        if (lateNight != null && weekend != null) {
+            this.lateNight = lateNight;
+            this.weekend = weekend;
+        } else {
+            ZonedDateTime start = tripStartTime.atZone(ZoneId.systemDefault());
+            this.lateNight = TripTimeWindows.isLateNight(start.getHour());
+            this.weekend = TripTimeWindows.isWeekend(start);
+        }
+    }
+
+    // Getters and Setters
+    public UUID getEmployeeId() {
+        return employeeId;
+    }
+
+    public void setEmployeeId(UUID employeeId) {
+        this.employeeId = employeeId;
+    }
+
+    public UUID getVendorId() {
+        return vendorId;
+    }
+
+    public void setVendorId(UUID vendorId) {
+        this.vendorId = vendorId;
+    }
+
+    public BigDecimal getDurationHours() {
+        return durationHours;
+    }
+
+    public void setDurationHours(BigDecimal durationHours) {
+        this.durationHours = durationHours;
+    }
+
+    public boolean isLateNight() {
+        return lateNight;
+    }
+
+    public void setLateNight(boolean lateNight) {
+        this.lateNight = lateNight;
+    }
+
+    public boolean isWeekend() {
+        return weekend;
+    }
+
+    public void setWeekend(boolean weekend) {
+        this.weekend = weekend;
+    }
+}
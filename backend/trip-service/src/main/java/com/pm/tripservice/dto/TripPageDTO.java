@@ -0,0 +1,57 @@
+package com.pm.tripservice.dto;
+
+import java.util.List;
+
+/**
+ * One page of a trip listing, newest first.
+ * Pass nextCursor back as ?cursor= to get the following page; it is null on the last page.
+ */
+public class TripPageDTO {
+    private List<TripResponseDTO> trips;
+    private String nextCursor;
+    private boolean hasMore;
+    private int size;
+
+    public TripPageDTO() {
+    }
+
+    public TripPageDTO(List<TripResponseDTO> trips, String nextCursor) {
+        this.trips = trips;
+        this.nextCursor = nextCursor;
+        this.hasMore = nextCursor != null;
+        this.size = trips.size();
+    }
+
+    // Getters and Setters
+    public List<TripResponseDTO> getTrips() {
+        return trips;
+    }
+
+    public void setTrips(List<TripResponseDTO> trips) {
+        this.trips = trips;
+    }
+
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
+    public void setNextCursor(String nextCursor) {
+        this.nextCursor = nextCursor;
+    }
+
+    public boolean isHasMore() {
+        return hasMore;
+    }
+
+    public void setHasMore(boolean hasMore) {
+        this.hasMore = hasMore;
+    }
+
+    public int getSize() {
+        return size;
+    }
+
+    public void setSize(int size) {
+        this.size = size;
+    }
+}
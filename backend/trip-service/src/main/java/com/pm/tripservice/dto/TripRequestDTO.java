@@ -19,6 +19,8 @@ public class TripRequestDTO {
     @NotNull(message = "Employee ID is required")
     private UUID employeeId;
 
+    private String department;
+
     @NotNull(message = "Vehicle number is required")
     @Size(min = 5, max = 20, message = "Vehicle number must be between 5 and 20 characters")
     private String vehicleNumber;
@@ -71,6 +73,14 @@ public class TripRequestDTO {
         this.employeeId = employeeId;
     }
 
+    public String getDepartment() {
+        return department;
+    }
+
+    public void setDepartment(String department) {
+        this.department = department;
+    }
+
     public String getVehicleNumber() {
         return vehicleNumber;
     }
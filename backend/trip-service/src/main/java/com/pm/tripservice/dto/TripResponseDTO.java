@@ -11,6 +11,7 @@ public class TripResponseDTO {
     private UUID clientId;
     private UUID vendorId;
     private UUID employeeId;
+    private String department;
     private String vehicleNumber;
     private String driverName;
     private String driverPhone;
@@ -64,6 +65,14 @@ public class TripResponseDTO {
         this.employeeId = employeeId;
     }
 
+    public String getDepartment() {
+        return department;
+    }
+
+    public void setDepartment(String department) {
+        this.department = department;
+    }
+
     public String getVehicleNumber() {
         return vehicleNumber;
     }
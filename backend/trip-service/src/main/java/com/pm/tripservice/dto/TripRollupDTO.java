@@ -0,0 +1,151 @@
+package com.pm.tripservice.dto;
+
+import java.math.BigDecimal;
+
+/**
+ * Completed-trip totals for one group of a rollup query (a client, vendor, employee, department or day).
+ * Distinct client/vendor/employee counts are within the group.
+ */
+public class TripRollupDTO {
+    private String groupKey;
+    private long tripCount;
+    private BigDecimal distanceKm;
+    private BigDecimal durationHours;
+    private BigDecimal extraHours;
+    private long morningTrips;
+    private long eveningTrips;
+    private long lateNightTrips;
+    private long peakHourTrips;
+    private long weekendTrips;
+    private long employeeCount;
+    private long vendorCount;
+    private long clientCount;
+
+    public TripRollupDTO() {
+    }
+
+    // JPQL constructor expression; SUM/COUNT come back as Long, SUM of decimals as BigDecimal (null on no rows)
+    public TripRollupDTO(Object groupKey, Number tripCount, BigDecimal distanceKm, BigDecimal durationHours,
+                         BigDecimal extraHours, Number morningTrips, Number eveningTrips, Number lateNightTrips,
+                         Number peakHourTrips, Number weekendTrips, Number employeeCount, Number vendorCount,
+                         Number clientCount) {
+        this.groupKey = groupKey != null ? groupKey.toString() : null;
+        this.tripCount = tripCount != null ? tripCount.longValue() : 0L;
+        this.distanceKm = distanceKm != null ? distanceKm : BigDecimal.ZERO;
+        this.durationHours = durationHours != null ? durationHours : BigDecimal.ZERO;
+        this.extraHours = extraHours != null ? extraHours : BigDecimal.ZERO;
+        this.morningTrips = morningTrips != null ? morningTrips.longValue() : 0L;
+        this.eveningTrips = eveningTrips != null ? eveningTrips.longValue() : 0L;
+        this.lateNightTrips = lateNightTrips != null ? lateNightTrips.longValue() : 0L;
+        this.peakHourTrips = peakHourTrips != null ? peakHourTrips.longValue() : 0L;
+        this.weekendTrips = weekendTrips != null ? weekendTrips.longValue() : 0L;
+        this.employeeCount = employeeCount != null ? employeeCount.longValue() : 0L;
+        this.vendorCount = vendorCount != null ? vendorCount.longValue() : 0L;
+        this.clientCount = clientCount != null ? clientCount.longValue() : 0L;
+    }
+
+    // Getters and Setters
+    public String getGroupKey() {
+        return groupKey;
+    }
+
+    public void setGroupKey(String groupKey) {
+        this.groupKey = groupKey;
+    }
+
+    public long getTripCount() {
+        return tripCount;
+    }
+
+    public void setTripCount(long tripCount) {
+        this.tripCount = tripCount;
+    }
+
+    public BigDecimal getDistanceKm() {
+        return distanceKm;
+    }
+
+    public void setDistanceKm(BigDecimal distanceKm) {
+        this.distanceKm = distanceKm;
+    }
+
+    public BigDecimal getDurationHours() {
+        return durationHours;
+    }
+
+    public void setDurationHours(BigDecimal durationHours) {
+        this.durationHours = durationHours;
+    }
+
+    public BigDecimal getExtraHours() {
+        return extraHours;
+    }
+
+    public void setExtraHours(BigDecimal extraHours) {
+        this.extraHours = extraHours;
+    }
+
+    public long getMorningTrips() {
+        return morningTrips;
+    }
+
+    public void setMorningTrips(long morningTrips) {
+        this.morningTrips = morningTrips;
+    }
+
+    public long getEveningTrips() {
+        return eveningTrips;
+    }
+
+    public void setEveningTrips(long eveningTrips) {
+        this.eveningTrips = eveningTrips;
+    }
+
+    public long getLateNightTrips() {
+        return lateNightTrips;
+    }
+
+    public void setLateNightTrips(long lateNightTrips) {
+        this.lateNightTrips = lateNightTrips;
+    }
+
+    public long getPeakHourTrips() {
+        return peakHourTrips;
+    }
+
+    public void setPeakHourTrips(long peakHourTrips) {
+        this.peakHourTrips = peakHourTrips;
+    }
+
+    public long getWeekendTrips() {
+        return weekendTrips;
+    }
+
+    public void setWeekendTrips(long weekendTrips) {
+        this.weekendTrips = weekendTrips;
+    }
+
+    public long getEmployeeCount() {
+        return employeeCount;
+    }
+
+    public void setEmployeeCount(long employeeCount) {
+        this.employeeCount = employeeCount;
+    }
+
+    public long getVendorCount() {
+        return vendorCount;
+    }
+
+    public void setVendorCount(long vendorCount) {
+        this.vendorCount = vendorCount;
+    }
+
+    public long getClientCount() {
+        return clientCount;
+    }
+
+    public void setClientCount(long clientCount) {
+        this.clientCount = clientCount;
+    }
+}
@@ -0,0 +1,166 @@
+package com.pm.tripservice.grpc;
+
+import com.pm.grpc.trip.v1.ActiveBillingModelsRequest;
+import com.pm.grpc.trip.v1.Decimal;
+import com.pm.grpc.trip.v1.TripDataGrpc;
+import com.pm.grpc.trip.v1.TripQuantityBatch;
+import com.pm.grpc.trip.v1.TripRangeRequest;
+import com.pm.grpc.trip.v1.Uuid;
+import com.pm.tripservice.model.BillingModel;
+import com.pm.tripservice.repository.BillingModelRepository;
+import com.pm.tripservice.service.TripService;
+import io.grpc.Status;
+import io.grpc.stub.ServerCallStreamObserver;
+import io.grpc.stub.StreamObserver;
+import net.devh.boot.grpc.server.service.GrpcService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.IntConsumer;
+import java.util.function.LongConsumer;
+
+/**
+ * Binary trip data channel for Billing Service (common/src/main/proto/trip_data.proto).
+ * Same rows as the NDJSON billing feed, but quantities travel as scaled longs in columnar batches,
+ * so neither side formats or parses decimal strings.
+ * Flow control: a batch is only sent once the transport can take it, so a slow reader holds back
+ * the database cursor instead of buffering the month in this service's heap.
+ */
+@GrpcService
+public class TripDataGrpcService extends TripDataGrpc.TripDataImplBase {
+
+    private static final Logger log = LoggerFactory.getLogger(TripDataGrpcService.class);
+
+    private static final long READY_POLL_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+
+    @Autowired
+    private TripService tripService;
+
+    @Autowired
+    private BillingModelRepository billingModelRepository;
+
+    @Value("${trip.grpc.batch-size:4096}")
+    private int batchSize = 4096;
+
+    @Override
+    public void streamTripQuantities(TripRangeRequest request, StreamObserver<TripQuantityBatch> responseObserver) {
+        ServerCallStreamObserver<TripQuantityBatch> observer = (ServerCallStreamObserver<TripQuantityBatch>) responseObserver;
+        TripQuantityBatch.Builder[] batch = {TripQuantityBatch.newBuilder()};
+        try {
+            tripService.streamBillingRecords(
+                toUuid(request.getClientId()), toUuid(request.getVendorId()),
+                LocalDate.ofEpochDay(request.getStartEpochDay()), LocalDate.ofEpochDay(request.getEndEpochDay()),
+                record -> {
+                    TripQuantityBatch.Builder builder = batch[0];
+                    addQuantity(record.getDistanceKm(), builder::addDistanceHundredths, builder::addDistanceScale);
+                    addQuantity(record.getDurationHours(), builder::addHoursHundredths, builder::addHoursScale);
+                    if (builder.getDistanceHundredthsCount() >= batchSize) {
+                        send(observer, builder.build());
+                        batch[0] = TripQuantityBatch.newBuilder();
+                    }
+                });
+            if (batch[0].getDistanceHundredthsCount() > 0) {
+                send(observer, batch[0].build());
+            }
+            observer.onCompleted();
+        } catch (CancellationException e) {
+            // Billing Service went away; the cursor is already closed
+        } catch (Exception e) {
+            log.error("Error streaming trip quantities over gRPC", e);
+            observer.onError(Status.INTERNAL.withDescription(e.getMessage()).withCause(e).asRuntimeException());
+        }
+    }
+
+    @Override
+    public void streamActiveBillingModels(
+            ActiveBillingModelsRequest request, StreamObserver<com.pm.grpc.trip.v1.BillingModel> responseObserver) {
+        ServerCallStreamObserver<com.pm.grpc.trip.v1.BillingModel> observer =
+            (ServerCallStreamObserver<com.pm.grpc.trip.v1.BillingModel>) responseObserver;
+        try {
+            List<BillingModel> models = billingModelRepository.findByActive(true);
+            for (BillingModel model : models) {
+                send(observer, toMessage(model));
+            }
+            observer.onCompleted();
+        } catch (CancellationException e) {
+            // Billing Service went away
+        } catch (Exception e) {
+            log.error("Error streaming billing models over gRPC", e);
+            observer.onError(Status.INTERNAL.withDescription(e.getMessage()).withCause(e).asRuntimeException());
+        }
+    }
+
+    /**
+     * Waits until the transport can take another message, then sends it.
+     * Polls isReady() rather than using onReadyHandler: the handler runs on this call's
+     * serialized executor, which is busy right here until the stream ends.
+     */
+    private static <T> void send(ServerCallStreamObserver<T> observer, T message) {
+        while (!observer.isReady()) {
+            if (observer.isCancelled()) {
+                throw new CancellationException("Call cancelled by client");
+            }
+            LockSupport.parkNanos(READY_POLL_NANOS);
+        }
+        observer.onNext(message);
+    }
+
+    /**
+     * Null (trip not completed) is sent as 0 with scale 0, which adds nothing to any sum
+     */
+    private static void addQuantity(BigDecimal value, LongConsumer unscaled, IntConsumer scale) {
+        if (value == null) {
+            unscaled.accept(0);
+            scale.accept(0);
+            return;
+        }
+        unscaled.accept(value.setScale(2, RoundingMode.UNNECESSARY).unscaledValue().longValueExact());
+        scale.accept(value.scale());
+    }
+
+    private static com.pm.grpc.trip.v1.BillingModel toMessage(BillingModel model) {
+        com.pm.grpc.trip.v1.BillingModel.Builder builder = com.pm.grpc.trip.v1.BillingModel.newBuilder()
+            .setClientId(toMessage(model.getClientId()))
+            .setVendorId(toMessage(model.getVendorId()))
+            .setModelType(model.getModelType().name());
+        if (model.getRatePerTrip() != null) builder.setRatePerTrip(toMessage(model.getRatePerTrip()));
+        if (model.getRatePerKm() != null) builder.setRatePerKm(toMessage(model.getRatePerKm()));
+        if (model.getPackageMonthlyRate() != null) builder.setPackageMonthlyRate(toMessage(model.getPackageMonthlyRate()));
+        if (model.getPackageTripsIncluded() != null) builder.setPackageTripsIncluded(model.getPackageTripsIncluded());
+        if (model.getPackageKmsIncluded() != null) builder.setPackageKmsIncluded(toMessage(model.getPackageKmsIncluded()));
+        if (model.getExtraTripRate() != null) builder.setExtraTripRate(toMessage(model.getExtraTripRate()));
+        if (model.getExtraKmRate() != null) builder.setExtraKmRate(toMessage(model.getExtraKmRate()));
+        if (model.getExtraHourRate() != null) builder.setExtraHourRate(toMessage(model.getExtraHourRate()));
+        if (model.getStandardTripKm() != null) builder.setStandardTripKm(toMessage(model.getStandardTripKm()));
+        if (model.getStandardTripHours() != null) builder.setStandardTripHours(toMessage(model.getStandardTripHours()));
+        return builder.build();
+    }
+
+    private static Decimal toMessage(BigDecimal value) {
+        return Decimal.newBuilder()
+            .setUnscaled(value.unscaledValue().longValueExact())
+            .setScale(value.scale())
+            .build();
+    }
+
+    private static Uuid toMessage(UUID id) {
+        return Uuid.newBuilder()
+            .setMostSignificantBits(id.getMostSignificantBits())
+            .setLeastSignificantBits(id.getLeastSignificantBits())
+            .build();
+    }
+
+    private static UUID toUuid(Uuid id) {
+        return new UUID(id.getMostSignificantBits(), id.getLeastSignificantBits());
+    }
+}
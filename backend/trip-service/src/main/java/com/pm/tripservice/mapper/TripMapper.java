@@ -13,6 +13,7 @@ public class TripMapper {
         trip.setClientId(requestDTO.getClientId());
         trip.setVendorId(requestDTO.getVendorId());
         trip.setEmployeeId(requestDTO.getEmployeeId());
+        trip.setDepartment(requestDTO.getDepartment());
         trip.setVehicleNumber(requestDTO.getVehicleNumber());
         trip.setDriverName(requestDTO.getDriverName());
         trip.setDriverPhone(requestDTO.getDriverPhone());
@@ -37,6 +38,7 @@ public class TripMapper {
         responseDTO.setClientId(trip.getClientId());
         responseDTO.setVendorId(trip.getVendorId());
         responseDTO.setEmployeeId(trip.getEmployeeId());
+        responseDTO.setDepartment(trip.getDepartment());
         responseDTO.setVehicleNumber(trip.getVehicleNumber());
         responseDTO.setDriverName(trip.getDriverName());
         responseDTO.setDriverPhone(trip.getDriverPhone());
@@ -9,11 +9,16 @@ import java.util.UUID;
 
 @Entity
 @Table(name = "trips", indexes = {
-    @Index(name = "idx_trip_client", columnList = "clientId"),
-    @Index(name = "idx_trip_vendor", columnList = "vendorId"),
-    @Index(name = "idx_trip_employee", columnList = "employeeId"),
+    // (owner, tripStartTime) serve both owner lookups and keyset pages ordered by (tripStartTime, id);
+    // InnoDB appends the primary key to every secondary index
+    @Index(name = "idx_trip_client_start", columnList = "clientId,tripStartTime"),
+    @Index(name = "idx_trip_vendor_start", columnList = "vendorId,tripStartTime"),
+    @Index(name = "idx_trip_employee_start", columnList = "employeeId,tripStartTime"),
     @Index(name = "idx_trip_start_time", columnList = "tripStartTime"),
-    @Index(name = "idx_trip_client_vendor_date", columnList = "clientId,vendorId,tripStartTime")
+    // Covers the billing aggregate (the month's sums are read from the index alone) and, as its
+    // prefix, every other (clientId, vendorId, tripStartTime) range
+    @Index(name = "idx_trip_billing_totals",
+           columnList = "clientId,vendorId,tripStartTime,distanceKm,durationHours")
 })
 public class Trip {
     @Id
@@ -32,6 +37,9 @@ public class Trip {
     @Column(nullable = false)
     private UUID employeeId;
 
+    @Column
+    private String department;  // Employee's department when the trip was booked (for reporting)
+
     @NotNull
     @Column(nullable = false)
     private String vehicleNumber;
@@ -70,6 +78,16 @@ public class Trip {
     @Column
     private TripStatus status;
 
+    // Start-time buckets, stamped when the trip completes (TripTimeWindowStamper); null otherwise
+    @Column
+    private Boolean lateNight;
+
+    @Column
+    private Boolean peakHour;
+
+    @Column
+    private Boolean weekend;
+
     @Column(precision = 10, scale = 2)
     private BigDecimal baseCost;
 
@@ -163,6 +181,14 @@ public class Trip {
         this.employeeId = employeeId;
     }
 
+    public String getDepartment() {
+        return department;
+    }
+
+    public void setDepartment(String department) {
+        this.department = department;
+    }
+
     public String getVehicleNumber() {
         return vehicleNumber;
     }
@@ -283,6 +309,30 @@ public class Trip {
         this.totalCost = totalCost;
     }
 
+    public Boolean getLateNight() {
+        return lateNight;
+    }
+
+    public void setLateNight(Boolean lateNight) {
+        this.lateNight = lateNight;
+    }
+
+    public Boolean getPeakHour() {
+        return peakHour;
+    }
+
+    public void setPeakHour(Boolean peakHour) {
+        this.peakHour = peakHour;
+    }
+
+    public Boolean getWeekend() {
+        return weekend;
+    }
+
+    public void setWeekend(Boolean weekend) {
+        this.weekend = weekend;
+    }
+
     public UUID getBillingCycleId() {
         return billingCycleId;
     }
@@ -0,0 +1,72 @@
+package com.pm.tripservice.model;
+
+import jakarta.persistence.*;
+import java.time.Instant;
+import java.time.LocalDate;
+
+/**
+ * A month of trips moved from its `trips` partition to the compressed `trips_archive` table.
+ * Written as ARCHIVING before the copy starts and switched to ARCHIVED once it is complete; the
+ * partition is dropped only after that, so an interrupted run always leaves a record to resume from.
+ * Readers go to the archive for ARCHIVED months only.
+ */
+@Entity
+@Table(name = "trip_archive_months")
+public class TripArchiveMonth {
+
+    @Id
+    private LocalDate monthStart; // first day of the month, in the zone of the trip date-range queries
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private TripArchiveStatus status;
+
+    @Column(nullable = false)
+    private Long tripCount;
+
+    @Column(nullable = false)
+    private Instant archivedAt;
+
+    public TripArchiveMonth() {
+    }
+
+    public TripArchiveMonth(LocalDate monthStart, TripArchiveStatus status, long tripCount, Instant archivedAt) {
+        this.monthStart = monthStart;
+        this.status = status;
+        this.tripCount = tripCount;
+        this.archivedAt = archivedAt;
+    }
+
+    // Getters and Setters
+    public LocalDate getMonthStart() {
+        return monthStart;
+    }
+
+    public void setMonthStart(LocalDate monthStart) {
+        this.monthStart = monthStart;
+    }
+
+    public TripArchiveStatus getStatus() {
+        return status;
+    }
+
+    public void setStatus(TripArchiveStatus status) {
+        this.status = status;
+    }
+
+    public Long getTripCount() {
+        return tripCount;
+    }
+
+    public void setTripCount(Long tripCount) {
+        this.tripCount = tripCount;
+    }
+
+    public Instant getArchivedAt() {
+        return archivedAt;
+    }
+
+    public void setArchivedAt(Instant archivedAt) {
+        this.archivedAt = archivedAt;
+    }
+}
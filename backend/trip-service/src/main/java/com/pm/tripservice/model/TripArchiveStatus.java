@@ -0,0 +1,6 @@
+package com.pm.tripservice.model;
+
+public enum TripArchiveStatus {
+    ARCHIVING, // being copied; its trips are still read from the `trips` partition
+    ARCHIVED   // copied; read from `trips_archive`, its partition is dropped (or about to be)
+}
@@ -0,0 +1,206 @@
+package com.pm.tripservice.model;
+
+import jakarta.persistence.*;
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.UUID;
+
+/**
+ * Pre-aggregated completed-trip totals per (client, vendor, employee, department, day).
+ * Maintained incrementally whenever a trip enters or leaves the COMPLETED state, so reports
+ * read at most one row per employee-day instead of scanning raw trips.
+ */
+@Entity
+@Table(name = "trip_daily_rollups", uniqueConstraints = {
+    @UniqueConstraint(name = "uk_rollup_key", columnNames = {"clientId", "vendorId", "employeeId", "department", "tripDate"})
+}, indexes = {
+    @Index(name = "idx_rollup_date", columnList = "tripDate"),
+    @Index(name = "idx_rollup_client_date", columnList = "clientId,tripDate"),
+    @Index(name = "idx_rollup_vendor_date", columnList = "vendorId,tripDate"),
+    @Index(name = "idx_rollup_employee_date", columnList = "employeeId,tripDate")
+})
+public class TripDailyRollup {
+
+    public static final String UNASSIGNED_DEPARTMENT = "UNASSIGNED";
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.AUTO)
+    private UUID id;
+
+    @Column(nullable = false)
+    private UUID clientId;
+
+    @Column(nullable = false)
+    private UUID vendorId;
+
+    @Column(nullable = false)
+    private UUID employeeId;
+
+    @Column(nullable = false)
+    private String department;
+
+    @Column(nullable = false)
+    private LocalDate tripDate;
+
+    @Column(nullable = false)
+    private Integer tripCount = 0;
+
+    @Column(precision = 12, scale = 2, nullable = false)
+    private BigDecimal distanceKm = BigDecimal.ZERO;
+
+    @Column(precision = 12, scale = 2, nullable = false)
+    private BigDecimal durationHours = BigDecimal.ZERO;
+
+    @Column(precision = 12, scale = 2, nullable = false)
+    private BigDecimal extraHours = BigDecimal.ZERO;  // Beyond the billing model's standard trip hours
+
+    @Column(nullable = false)
+    private Integer morningTrips = 0;
+
+    @Column(nullable = false)
+    private Integer eveningTrips = 0;
+
+    @Column(nullable = false)
+    private Integer lateNightTrips = 0;
+
+    @Column(nullable = false)
+    private Integer peakHourTrips = 0;
+
+    @Column(nullable = false)
+    private Integer weekendTrips = 0;
+
+    @Column
+    private Instant updatedAt;
+
+    @PrePersist
+    @PreUpdate
+    protected void onSave() {
+        updatedAt = Instant.now();
+    }
+
+    // Getters and Setters
+    public UUID getId() {
+        return id;
+    }
+
+    public void setId(UUID id) {
+        this.id = id;
+    }
+
+    public UUID getClientId() {
+        return clientId;
+    }
+
+    public void setClientId(UUID clientId) {
+        this.clientId = clientId;
+    }
+
+    public UUID getVendorId() {
+        return vendorId;
+    }
+
+    public void setVendorId(UUID vendorId) {
+        this.vendorId = vendorId;
+    }
+
+    public UUID getEmployeeId() {
+        return employeeId;
+    }
+
+    public void setEmployeeId(UUID employeeId) {
+        this.employeeId = employeeId;
+    }
+
+    public String getDepartment() {
+        return department;
+    }
+
+    public void setDepartment(String department) {
+        this.department = department;
+    }
+
+    public LocalDate getTripDate() {
+        return tripDate;
+    }
+
+    public void setTripDate(LocalDate tripDate) {
+        this.tripDate = tripDate;
+    }
+
+    public Integer getTripCount() {
+        return tripCount;
+    }
+
+    public void setTripCount(Integer tripCount) {
+        this.tripCount = tripCount;
+    }
+
+    public BigDecimal getDistanceKm() {
+        return distanceKm;
+    }
+
+    public void setDistanceKm(BigDecimal distanceKm) {
+        this.distanceKm = distanceKm;
+    }
+
+    public BigDecimal getDurationHours() {
+        return durationHours;
+    }
+
+    public void setDurationHours(BigDecimal durationHours) {
+        this.durationHours = durationHours;
+    }
+
+    public BigDecimal getExtraHours() {
+        return extraHours;
+    }
+
+    public void setExtraHours(BigDecimal extraHours) {
+        this.extraHours = extraHours;
+    }
+
+    public Integer getMorningTrips() {
+        return morningTrips;
+    }
+
+    public void setMorningTrips(Integer morningTrips) {
+        this.morningTrips = morningTrips;
+    }
+
+    public Integer getEveningTrips() {
+        return eveningTrips;
+    }
+
+    public void setEveningTrips(Integer eveningTrips) {
+        this.eveningTrips = eveningTrips;
+    }
+
+    public Integer getLateNightTrips() {
+        return lateNightTrips;
+    }
+
+    public void setLateNightTrips(Integer lateNightTrips) {
+        this.lateNightTrips = lateNightTrips;
+    }
+
+    public Integer getPeakHourTrips() {
+        return peakHourTrips;
+    }
+
+    public void setPeakHourTrips(Integer peakHourTrips) {
+        this.peakHourTrips = peakHourTrips;
+    }
+
+    public Integer getWeekendTrips() {
+        return weekendTrips;
+    }
+
+    public void setWeekendTrips(Integer weekendTrips) {
+        this.weekendTrips = weekendTrips;
+    }
+
+    public Instant getUpdatedAt() {
+        return updatedAt;
+    }
+}
@@ -0,0 +1,84 @@
+package com.pm.tripservice.model;
+
+import jakarta.persistence.*;
+import java.time.Instant;
+
+/**
+ * Delivery position of one subscriber of the trip event relay.
+ * Advanced only after the subscriber acknowledged a batch, so a failed or interrupted delivery
+ * is retried from the same event (at-least-once); subscribers skip ids they already applied.
+ */
+@Entity
+@Table(name = "trip_event_subscriptions")
+public class TripEventSubscription {
+
+    @Id
+    private String subscriber;
+
+    @Column(nullable = false)
+    private Long lastEventId;
+
+    @Column
+    private Instant lastDeliveredAt;
+
+    @Column(length = 1000)
+    private String lastError;
+
+    @Column
+    private Instant updatedAt;
+
+    public TripEventSubscription() {
+    }
+
+    public TripEventSubscription(String subscriber, long lastEventId) {
+        this.subscriber = subscriber;
+        this.lastEventId = lastEventId;
+    }
+
+    @PrePersist
+    @PreUpdate
+    protected void onUpdate() {
+        updatedAt = Instant.now();
+    }
+
+    // Getters and Setters
+    public String getSubscriber() {
+        return subscriber;
+    }
+
+    public void setSubscriber(String subscriber) {
+        this.subscriber = subscriber;
+    }
+
+    public Long getLastEventId() {
+        return lastEventId;
+    }
+
+    public void setLastEventId(Long lastEventId) {
+        this.lastEventId = lastEventId;
+    }
+
+    public Instant getLastDeliveredAt() {
+        return lastDeliveredAt;
+    }
+
+    public void setLastDeliveredAt(Instant lastDeliveredAt) {
+        this.lastDeliveredAt = lastDeliveredAt;
+    }
+
+    public String getLastError() {
+        return lastError;
+    }
+
+    public void setLastError(String lastError) {
+        this.lastError = lastError;
+    }
+
+    public Instant getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public void setUpdatedAt(Instant updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+}
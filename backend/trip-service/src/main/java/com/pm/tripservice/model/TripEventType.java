@@ -0,0 +1,9 @@
+package com.pm.tripservice.model;
+
+public enum TripEventType {
+    CREATED,
+    UPDATED,
+    COMPLETED,
+    CANCELLED,
+    DELETED
+}
@@ -0,0 +1,119 @@
+package com.pm.tripservice.model;
+
+import jakarta.persistence.*;
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Transactional outbox of trip changes.
+ * Written in the same transaction as the trip change itself, so an event exists if and only if
+ * the change committed. Consumers either read the table in id order through the /trip-events feed
+ * and keep their own position, or are pushed batches by the relay, which keeps it for them;
+ * rows are purged after a retention period.
+ */
+@Entity
+@Table(name = "trip_outbox_events", indexes = {
+    @Index(name = "idx_outbox_occurred_at", columnList = "occurredAt")
+})
+public class TripOutboxEvent {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private TripEventType eventType;
+
+    @Column(nullable = false)
+    private UUID tripId;
+
+    @Column(nullable = false)
+    private Instant occurredAt;
+
+    // The trip before the change; null for CREATED
+    @Embedded
+    @AttributeOverrides({
+        @AttributeOverride(name = "clientId", column = @Column(name = "before_client_id")),
+        @AttributeOverride(name = "vendorId", column = @Column(name = "before_vendor_id")),
+        @AttributeOverride(name = "employeeId", column = @Column(name = "before_employee_id")),
+        @AttributeOverride(name = "status", column = @Column(name = "before_status")),
+        @AttributeOverride(name = "tripStartTime", column = @Column(name = "before_trip_start_time")),
+        @AttributeOverride(name = "distanceKm", column = @Column(name = "before_distance_km", precision = 10, scale = 2)),
+        @AttributeOverride(name = "durationHours", column = @Column(name = "before_duration_hours", precision = 10, scale = 2))
+    })
+    private TripSnapshot before;
+
+    // The trip after the change; null for DELETED
+    @Embedded
+    @AttributeOverrides({
+        @AttributeOverride(name = "clientId", column = @Column(name = "after_client_id")),
+        @AttributeOverride(name = "vendorId", column = @Column(name = "after_vendor_id")),
+        @AttributeOverride(name = "employeeId", column = @Column(name = "after_employee_id")),
+        @AttributeOverride(name = "status", column = @Column(name = "after_status")),
+        @AttributeOverride(name = "tripStartTime", column = @Column(name = "after_trip_start_time")),
+        @AttributeOverride(name = "distanceKm", column = @Column(name = "after_distance_km", precision = 10, scale = 2)),
+        @AttributeOverride(name = "durationHours", column = @Column(name = "after_duration_hours", precision = 10, scale = 2))
+    })
+    private TripSnapshot after;
+
+    public TripOutboxEvent() {
+    }
+
+    public TripOutboxEvent(TripEventType eventType, UUID tripId, TripSnapshot before, TripSnapshot after) {
+        this.eventType = eventType;
+        this.tripId = tripId;
+        this.before = before;
+        this.after = after;
+        this.occurredAt = Instant.now();
+    }
+
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public TripEventType getEventType() {
+        return eventType;
+    }
+
+    public void setEventType(TripEventType eventType) {
+        this.eventType = eventType;
+    }
+
+    public UUID getTripId() {
+        return tripId;
+    }
+
+    public void setTripId(UUID tripId) {
+        this.tripId = tripId;
+    }
+
+    public Instant getOccurredAt() {
+        return occurredAt;
+    }
+
+    public void setOccurredAt(Instant occurredAt) {
+        this.occurredAt = occurredAt;
+    }
+
+    public TripSnapshot getBefore() {
+        return before;
+    }
+
+    public void setBefore(TripSnapshot before) {
+        this.before = before;
+    }
+
+    public TripSnapshot getAfter() {
+        return after;
+    }
+
+    public void setAfter(TripSnapshot after) {
+        this.after = after;
+    }
+}
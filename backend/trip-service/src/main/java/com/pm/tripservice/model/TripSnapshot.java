@@ -0,0 +1,132 @@
+package com.pm.tripservice.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Embeddable;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.Objects;
+import java.util.UUID;
+
+/**
+ * The fields of a trip that downstream stores depend on (billing totals, employee trip counters),
+ * captured at one point in time. Stored with the same precision as the trips table, so an event
+ * carries exactly the values the database holds for the trip.
+ */
+@Embeddable
+public class TripSnapshot {
+
+    private UUID clientId;
+
+    private UUID vendorId;
+
+    private UUID employeeId;
+
+    @Enumerated(EnumType.STRING)
+    private TripStatus status;
+
+    private Instant tripStartTime;
+
+    @Column(precision = 10, scale = 2)
+    private BigDecimal distanceKm;
+
+    @Column(precision = 10, scale = 2)
+    private BigDecimal durationHours;
+
+    public TripSnapshot() {
+    }
+
+    public static TripSnapshot of(Trip trip) {
+        TripSnapshot snapshot = new TripSnapshot();
+        snapshot.clientId = trip.getClientId();
+        snapshot.vendorId = trip.getVendorId();
+        snapshot.employeeId = trip.getEmployeeId();
+        snapshot.status = trip.getStatus();
+        snapshot.tripStartTime = trip.getTripStartTime();
+        snapshot.distanceKm = trip.getDistanceKm();
+        snapshot.durationHours = trip.getDurationHours();
+        return snapshot;
+    }
+
+    // Numeric equality: 12.5 and 12.50 are the same distance
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof TripSnapshot)) return false;
+        TripSnapshot that = (TripSnapshot) o;
+        return Objects.equals(clientId, that.clientId)
+            && Objects.equals(vendorId, that.vendorId)
+            && Objects.equals(employeeId, that.employeeId)
+            && status == that.status
+            && Objects.equals(tripStartTime, that.tripStartTime)
+            && sameAmount(distanceKm, that.distanceKm)
+            && sameAmount(durationHours, that.durationHours);
+    }
+
+    private static boolean sameAmount(BigDecimal a, BigDecimal b) {
+        return a == null ? b == null : b != null && a.compareTo(b) == 0;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(clientId, vendorId, tripStartTime);
+    }
+
+    // Getters and Setters
+    public UUID getClientId() {
+        return clientId;
+    }
+
+    public void setClientId(UUID clientId) {
+        this.clientId = clientId;
+    }
+
+    public UUID getVendorId() {
+        return vendorId;
+    }
+
+    public void setVendorId(UUID vendorId) {
+        this.vendorId = vendorId;
+    }
+
+    public UUID getEmployeeId() {
+        return employeeId;
+    }
+
+    public void setEmployeeId(UUID employeeId) {
+        this.employeeId = employeeId;
+    }
+
+    public TripStatus getStatus() {
+        return status;
+    }
+
+    public void setStatus(TripStatus status) {
+        this.status = status;
+    }
+
+    public Instant getTripStartTime() {
+        return tripStartTime;
+    }
+
+    public void setTripStartTime(Instant tripStartTime) {
+        this.tripStartTime = tripStartTime;
+    }
+
+    public BigDecimal getDistanceKm() {
+        return distanceKm;
+    }
+
+    public void setDistanceKm(BigDecimal distanceKm) {
+        this.distanceKm = distanceKm;
+    }
+
+    public BigDecimal getDurationHours() {
+        return durationHours;
+    }
+
+    public void setDurationHours(BigDecimal durationHours) {
+        this.durationHours = durationHours;
+    }
+}
@@ -0,0 +1,31 @@
+package com.pm.tripservice.model;
+
+import java.time.DayOfWeek;
+import java.time.ZonedDateTime;
+
+/**
+ * Time-of-day and day-of-week buckets of a trip's start, shared by the rollups and the incentive feed.
+ * Callers convert the start to the zone of the trip date-range queries first.
+ */
+public final class TripTimeWindows {
+
+    // Same window as the late-night incentive in billing (6 PM to 6 AM)
+    public static final int LATE_NIGHT_FROM_HOUR = 18;
+    public static final int LATE_NIGHT_UNTIL_HOUR = 6;
+    public static final int NOON = 12;
+
+    private TripTimeWindows() {
+    }
+
+    public static boolean isLateNight(int hour) {
+        return hour >= LATE_NIGHT_FROM_HOUR || hour <= LATE_NIGHT_UNTIL_HOUR;
+    }
+
+    public static boolean isPeakHour(int hour) {
+        return (hour >= 8 && hour < 11) || (hour >= 17 && hour < 20);
+    }
+
+    public static boolean isWeekend(ZonedDateTime start) {
+        return start.getDayOfWeek() == DayOfWeek.SATURDAY || start.getDayOfWeek() == DayOfWeek.SUNDAY;
+    }
+}
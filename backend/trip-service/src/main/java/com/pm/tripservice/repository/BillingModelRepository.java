@@ -17,6 +17,8 @@ public interface BillingModelRepository extends JpaRepository<BillingModel, UUID
     
     Optional<BillingModel> findByClientIdAndVendorId(UUID clientId, UUID vendorId);
     
+    List<BillingModel> findByActive(Boolean active);
+    
     List<BillingModel> findByClientIdAndActive(UUID clientId, Boolean active);
     
     List<BillingModel> findByVendorIdAndActive(UUID vendorId, Boolean active);
@@ -0,0 +1,16 @@
+package com.pm.tripservice.repository;
+
+import com.pm.tripservice.model.TripArchiveMonth;
+import com.pm.tripservice.model.TripArchiveStatus;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.Optional;
+
+@Repository
+public interface TripArchiveMonthRepository extends JpaRepository<TripArchiveMonth, LocalDate> {
+
+    // Months are archived oldest first, so the newest ARCHIVED one bounds everything readable in the archive
+    Optional<TripArchiveMonth> findTopByStatusOrderByMonthStartDesc(TripArchiveStatus status);
+}
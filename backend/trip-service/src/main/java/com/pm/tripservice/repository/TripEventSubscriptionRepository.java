@@ -0,0 +1,20 @@
+package com.pm.tripservice.repository;
+
+import com.pm.tripservice.model.TripEventSubscription;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+@Repository
+public interface TripEventSubscriptionRepository extends JpaRepository<TripEventSubscription, String> {
+
+    // SELECT ... FOR UPDATE: one trip-service instance delivers to a subscriber at a time
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT s FROM TripEventSubscription s WHERE s.subscriber = :subscriber")
+    Optional<TripEventSubscription> findForUpdate(@Param("subscriber") String subscriber);
+}
@@ -0,0 +1,34 @@
+package com.pm.tripservice.repository;
+
+import com.pm.tripservice.model.TripOutboxEvent;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.util.List;
+
+@Repository
+public interface TripOutboxRepository extends JpaRepository<TripOutboxEvent, Long> {
+
+    // Primary key range scan
+    @Query("SELECT e FROM TripOutboxEvent e WHERE e.id > :afterId ORDER BY e.id")
+    List<TripOutboxEvent> findAfter(@Param("afterId") long afterId, Limit limit);
+
+    // Primary key range scan, newest first
+    @Query("SELECT e FROM TripOutboxEvent e WHERE e.id < :beforeId ORDER BY e.id DESC")
+    List<TripOutboxEvent> findBefore(@Param("beforeId") long beforeId, Limit limit);
+
+    @Query("SELECT MIN(e.id) FROM TripOutboxEvent e")
+    Long findOldestId();
+
+    @Query("SELECT MAX(e.id) FROM TripOutboxEvent e")
+    Long findLatestId();
+
+    @Modifying
+    @Query("DELETE FROM TripOutboxEvent e WHERE e.occurredAt < :before")
+    int deleteOccurredBefore(@Param("before") Instant before);
+}
@@ -1,15 +1,25 @@
 package com.pm.tripservice.repository;
 
+import com.pm.tripservice.dto.EmployeeTripTotalDTO;
+import com.pm.tripservice.dto.TripAggregateDTO;
+import com.pm.tripservice.dto.TripBillingRecordDTO;
+import com.pm.tripservice.dto.TripIncentiveRecordDTO;
 import com.pm.tripservice.model.Trip;
 import com.pm.tripservice.model.TripStatus;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.math.BigDecimal;
 import java.time.Instant;
 import java.util.List;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 @Repository
 public interface TripRepository extends JpaRepository<Trip, UUID> {
@@ -22,6 +32,47 @@ public interface TripRepository extends JpaRepository<Trip, UUID> {
     
     List<Trip> findByStatus(TripStatus status);
     
+    // Keyset pages, newest first: rows strictly after the (tripStartTime, id) cursor, no OFFSET
+    
+    @Query("SELECT t FROM Trip t WHERE t.tripStartTime < :cursorTime " +
+           "OR (t.tripStartTime = :cursorTime AND t.id < :cursorId) " +
+           "ORDER BY t.tripStartTime DESC, t.id DESC")
+    List<Trip> findPageAfter(
+        @Param("cursorTime") Instant cursorTime,
+        @Param("cursorId") UUID cursorId,
+        Limit limit
+    );
+    
+    @Query("SELECT t FROM Trip t WHERE t.clientId = :clientId " +
+           "AND (t.tripStartTime < :cursorTime OR (t.tripStartTime = :cursorTime AND t.id < :cursorId)) " +
+           "ORDER BY t.tripStartTime DESC, t.id DESC")
+    List<Trip> findClientPageAfter(
+        @Param("clientId") UUID clientId,
+        @Param("cursorTime") Instant cursorTime,
+        @Param("cursorId") UUID cursorId,
+        Limit limit
+    );
+    
+    @Query("SELECT t FROM Trip t WHERE t.vendorId = :vendorId " +
+           "AND (t.tripStartTime < :cursorTime OR (t.tripStartTime = :cursorTime AND t.id < :cursorId)) " +
+           "ORDER BY t.tripStartTime DESC, t.id DESC")
+    List<Trip> findVendorPageAfter(
+        @Param("vendorId") UUID vendorId,
+        @Param("cursorTime") Instant cursorTime,
+        @Param("cursorId") UUID cursorId,
+        Limit limit
+    );
+    
+    @Query("SELECT t FROM Trip t WHERE t.employeeId = :employeeId " +
+           "AND (t.tripStartTime < :cursorTime OR (t.tripStartTime = :cursorTime AND t.id < :cursorId)) " +
+           "ORDER BY t.tripStartTime DESC, t.id DESC")
+    List<Trip> findEmployeePageAfter(
+        @Param("employeeId") UUID employeeId,
+        @Param("cursorTime") Instant cursorTime,
+        @Param("cursorId") UUID cursorId,
+        Limit limit
+    );
+    
     @Query("SELECT t FROM Trip t WHERE t.clientId = :clientId " +
            "AND t.vendorId = :vendorId " +
            "AND t.tripStartTime >= :startDate " +
@@ -33,6 +84,69 @@ public interface TripRepository extends JpaRepository<Trip, UUID> {
         @Param("endDate") Instant endDate
     );
     
+    /**
+     * Streams the billing view of a client-vendor month as unmanaged projections.
+     * With useCursorFetch=true on the MySQL URL the driver pulls rows in fetch-size batches from a
+     * server-side cursor, so memory stays flat regardless of trip volume.
+     * Must be consumed inside a (read-only) transaction.
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("SELECT new com.pm.tripservice.dto.TripBillingRecordDTO(t.id, t.tripStartTime, t.distanceKm, t.durationHours) " +
+           "FROM Trip t WHERE t.clientId = :clientId " +
+           "AND t.vendorId = :vendorId " +
+           "AND t.tripStartTime >= :startDate " +
+           "AND t.tripStartTime < :endDate " +
+           "ORDER BY t.tripStartTime, t.id")
+    Stream<TripBillingRecordDTO> streamBillingRecordsByClientVendorAndDateRange(
+        @Param("clientId") UUID clientId,
+        @Param("vendorId") UUID vendorId,
+        @Param("startDate") Instant startDate,
+        @Param("endDate") Instant endDate
+    );
+    
+    /**
+     * Streams the incentive view of a client's completed trips (every vendor, every employee).
+     * Served from idx_trip_client_start; same cursor and transaction rules as the billing stream.
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("SELECT new com.pm.tripservice.dto.TripIncentiveRecordDTO(" +
+           "t.employeeId, t.vendorId, t.tripStartTime, t.durationHours, t.lateNight, t.weekend) " +
+           "FROM Trip t WHERE t.clientId = :clientId " +
+           "AND t.status = 'COMPLETED' " +
+           "AND t.tripStartTime >= :startDate " +
+           "AND t.tripStartTime < :endDate")
+    Stream<TripIncentiveRecordDTO> streamIncentiveRecordsByClientAndDateRange(
+        @Param("clientId") UUID clientId,
+        @Param("startDate") Instant startDate,
+        @Param("endDate") Instant endDate
+    );
+    
+    /**
+     * Billing totals for a client-vendor date range in one round-trip.
+     * Overage is measured per trip against the given standard limits, never the values stamped at
+     * completion (those follow whatever model was in force then); a null limit means no overage,
+     * as in Billing Service's RunningTotalsService.
+     * Served from idx_trip_billing_totals alone; only a single row leaves the database.
+     */
+    @Query("SELECT new com.pm.tripservice.dto.TripAggregateDTO(" +
+           "COUNT(t), " +
+           "SUM(t.distanceKm), " +
+           "SUM(t.durationHours), " +
+           "SUM(CASE WHEN t.distanceKm > :standardTripKm THEN t.distanceKm - :standardTripKm ELSE 0 END), " +
+           "SUM(CASE WHEN t.durationHours > :standardTripHours THEN t.durationHours - :standardTripHours ELSE 0 END)) " +
+           "FROM Trip t WHERE t.clientId = :clientId " +
+           "AND t.vendorId = :vendorId " +
+           "AND t.tripStartTime >= :startDate " +
+           "AND t.tripStartTime < :endDate")
+    TripAggregateDTO aggregateByClientVendorAndDateRange(
+        @Param("clientId") UUID clientId,
+        @Param("vendorId") UUID vendorId,
+        @Param("startDate") Instant startDate,
+        @Param("endDate") Instant endDate,
+        @Param("standardTripKm") BigDecimal standardTripKm,
+        @Param("standardTripHours") BigDecimal standardTripHours
+    );
+    
     @Query("SELECT t FROM Trip t WHERE t.employeeId = :employeeId " +
            "AND t.tripStartTime >= :startDate " +
            "AND t.tripStartTime < :endDate")
@@ -57,5 +171,27 @@ public interface TripRepository extends JpaRepository<Trip, UUID> {
     
     @Query("SELECT t FROM Trip t WHERE t.status = 'COMPLETED' AND t.billed = false")
     List<Trip> findCompletedUnbilledTrips();
-}
+    
+    long countByStatus(TripStatus status);
 
+    // Completed trips without start-time buckets yet (TripTimeWindowStamper backfill)
+    List<Trip> findByStatusAndLateNightIsNull(TripStatus status, Limit limit);
+    
+    /**
+     * Completed trips started in [startDate, endDate), read through a cursor (rollup rebuild).
+     * Must be consumed inside a transaction.
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("SELECT t FROM Trip t WHERE t.status = 'COMPLETED' " +
+           "AND t.tripStartTime >= :startDate " +
+           "AND t.tripStartTime < :endDate")
+    Stream<Trip> streamCompletedTrips(
+        @Param("startDate") Instant startDate,
+        @Param("endDate") Instant endDate
+    );
+
+    // Completed trips and distance per employee, the totals a trip event subscriber keeps (recount)
+    @Query("SELECT new com.pm.tripservice.dto.EmployeeTripTotalDTO(t.employeeId, COUNT(t), SUM(t.distanceKm)) " +
+           "FROM Trip t WHERE t.status = 'COMPLETED' GROUP BY t.employeeId")
+    List<EmployeeTripTotalDTO> sumCompletedByEmployee();
+}
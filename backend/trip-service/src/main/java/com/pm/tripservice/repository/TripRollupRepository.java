@@ -0,0 +1,107 @@
+package com.pm.tripservice.repository;
+
+import com.pm.tripservice.dto.TripRollupDTO;
+import com.pm.tripservice.model.TripDailyRollup;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public interface TripRollupRepository extends JpaRepository<TripDailyRollup, UUID> {
+
+    String SUMS = "SUM(r.tripCount), SUM(r.distanceKm), SUM(r.durationHours), SUM(r.extraHours), " +
+                  "SUM(r.morningTrips), SUM(r.eveningTrips), SUM(r.lateNightTrips), SUM(r.peakHourTrips), " +
+                  "SUM(r.weekendTrips), COUNT(DISTINCT r.employeeId), COUNT(DISTINCT r.vendorId), " +
+                  "COUNT(DISTINCT r.clientId)) ";
+
+    String FILTER = "FROM TripDailyRollup r WHERE r.tripDate BETWEEN :startDate AND :endDate " +
+                    "AND (:clientId IS NULL OR r.clientId = :clientId) " +
+                    "AND (:vendorId IS NULL OR r.vendorId = :vendorId) " +
+                    "AND (:employeeId IS NULL OR r.employeeId = :employeeId) ";
+
+    /**
+     * Apply a signed delta to one rollup row, creating it on first use.
+     * Runs in the caller's transaction, so the rollup moves together with the trip change.
+     * MySQL 8.0.19+ row-alias syntax.
+     */
+    @Modifying
+    @Query(nativeQuery = true, value =
+        "INSERT INTO trip_daily_rollups (id, client_id, vendor_id, employee_id, department, trip_date, " +
+        "trip_count, distance_km, duration_hours, extra_hours, morning_trips, evening_trips, " +
+        "late_night_trips, peak_hour_trips, weekend_trips, updated_at) " +
+        "VALUES (:id, :clientId, :vendorId, :employeeId, :department, :tripDate, " +
+        ":tripCount, :distanceKm, :durationHours, :extraHours, :morningTrips, :eveningTrips, " +
+        ":lateNightTrips, :peakHourTrips, :weekendTrips, :updatedAt) AS delta " +
+        "ON DUPLICATE KEY UPDATE " +
+        "trip_count = trip_daily_rollups.trip_count + delta.trip_count, " +
+        "distance_km = trip_daily_rollups.distance_km + delta.distance_km, " +
+        "duration_hours = trip_daily_rollups.duration_hours + delta.duration_hours, " +
+        "extra_hours = trip_daily_rollups.extra_hours + delta.extra_hours, " +
+        "morning_trips = trip_daily_rollups.morning_trips + delta.morning_trips, " +
+        "evening_trips = trip_daily_rollups.evening_trips + delta.evening_trips, " +
+        "late_night_trips = trip_daily_rollups.late_night_trips + delta.late_night_trips, " +
+        "peak_hour_trips = trip_daily_rollups.peak_hour_trips + delta.peak_hour_trips, " +
+        "weekend_trips = trip_daily_rollups.weekend_trips + delta.weekend_trips, " +
+        "updated_at = delta.updated_at")
+    int upsertDelta(
+        @Param("id") UUID id,
+        @Param("clientId") UUID clientId,
+        @Param("vendorId") UUID vendorId,
+        @Param("employeeId") UUID employeeId,
+        @Param("department") String department,
+        @Param("tripDate") LocalDate tripDate,
+        @Param("tripCount") int tripCount,
+        @Param("distanceKm") BigDecimal distanceKm,
+        @Param("durationHours") BigDecimal durationHours,
+        @Param("extraHours") BigDecimal extraHours,
+        @Param("morningTrips") int morningTrips,
+        @Param("eveningTrips") int eveningTrips,
+        @Param("lateNightTrips") int lateNightTrips,
+        @Param("peakHourTrips") int peakHourTrips,
+        @Param("weekendTrips") int weekendTrips,
+        @Param("updatedAt") Instant updatedAt
+    );
+
+    @Modifying
+    @Query("DELETE FROM TripDailyRollup r WHERE r.tripDate BETWEEN :startDate AND :endDate")
+    int deleteByTripDateRange(@Param("startDate") LocalDate startDate, @Param("endDate") LocalDate endDate);
+
+    @Query("SELECT new com.pm.tripservice.dto.TripRollupDTO('ALL', " + SUMS + FILTER)
+    List<TripRollupDTO> totals(
+        @Param("startDate") LocalDate startDate, @Param("endDate") LocalDate endDate,
+        @Param("clientId") UUID clientId, @Param("vendorId") UUID vendorId, @Param("employeeId") UUID employeeId);
+
+    @Query("SELECT new com.pm.tripservice.dto.TripRollupDTO(r.clientId, " + SUMS + FILTER + "GROUP BY r.clientId")
+    List<TripRollupDTO> groupByClient(
+        @Param("startDate") LocalDate startDate, @Param("endDate") LocalDate endDate,
+        @Param("clientId") UUID clientId, @Param("vendorId") UUID vendorId, @Param("employeeId") UUID employeeId);
+
+    @Query("SELECT new com.pm.tripservice.dto.TripRollupDTO(r.vendorId, " + SUMS + FILTER + "GROUP BY r.vendorId")
+    List<TripRollupDTO> groupByVendor(
+        @Param("startDate") LocalDate startDate, @Param("endDate") LocalDate endDate,
+        @Param("clientId") UUID clientId, @Param("vendorId") UUID vendorId, @Param("employeeId") UUID employeeId);
+
+    @Query("SELECT new com.pm.tripservice.dto.TripRollupDTO(r.employeeId, " + SUMS + FILTER + "GROUP BY r.employeeId")
+    List<TripRollupDTO> groupByEmployee(
+        @Param("startDate") LocalDate startDate, @Param("endDate") LocalDate endDate,
+        @Param("clientId") UUID clientId, @Param("vendorId") UUID vendorId, @Param("employeeId") UUID employeeId);
+
+    @Query("SELECT new com.pm.tripservice.dto.TripRollupDTO(r.department, " + SUMS + FILTER + "GROUP BY r.department")
+    List<TripRollupDTO> groupByDepartment(
+        @Param("startDate") LocalDate startDate, @Param("endDate") LocalDate endDate,
+        @Param("clientId") UUID clientId, @Param("vendorId") UUID vendorId, @Param("employeeId") UUID employeeId);
+
+    @Query("SELECT new com.pm.tripservice.dto.TripRollupDTO(r.tripDate, " + SUMS + FILTER +
+           "GROUP BY r.tripDate ORDER BY r.tripDate")
+    List<TripRollupDTO> groupByDate(
+        @Param("startDate") LocalDate startDate, @Param("endDate") LocalDate endDate,
+        @Param("clientId") UUID clientId, @Param("vendorId") UUID vendorId, @Param("employeeId") UUID employeeId);
+}
@@ -0,0 +1,61 @@
+package com.pm.tripservice.service;
+
+import com.pm.tripservice.model.BillingModel;
+import com.pm.tripservice.repository.BillingModelRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Billing model per client-vendor pair, read through on miss and kept for `ttl`.
+ * Trip writes (completion stamping, rollups) look the model up once per trip; a month has far
+ * fewer pairs than trips, so almost every lookup is a map hit instead of a query.
+ * A pair without a model is cached as empty too.
+ */
+@Component
+public class BillingModelCache {
+
+    @Autowired
+    private BillingModelRepository billingModelRepository;
+
+    @Value("${trip.billing-model-cache.ttl:PT5M}")
+    private Duration ttl = Duration.ofMinutes(5);
+
+    @Value("${trip.billing-model-cache.max-entries:10000}")
+    private int maxEntries = 10000;
+
+    private final Map<List<UUID>, Entry> entries = new ConcurrentHashMap<>();
+
+    public Optional<BillingModel> get(UUID clientId, UUID vendorId) {
+        List<UUID> key = List.of(clientId, vendorId);
+        long now = System.nanoTime();
+        Entry entry = entries.get(key);
+        if (entry != null && now - entry.loadedAt < ttl.toNanos()) {
+            return entry.model;
+        }
+
+        Optional<BillingModel> model = billingModelRepository.findByClientIdAndVendorId(clientId, vendorId);
+        if (entries.size() >= maxEntries) {
+            entries.clear();
+        }
+        entries.put(key, new Entry(model, now));
+        return model;
+    }
+
+    private static final class Entry {
+        private final Optional<BillingModel> model;
+        private final long loadedAt;
+
+        Entry(Optional<BillingModel> model, long loadedAt) {
+            this.model = model;
+            this.loadedAt = loadedAt;
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package com.pm.tripservice.service;
+
+import com.pm.tripservice.dto.TripEventPageDTO;
+import com.pm.tripservice.dto.TripEventRecountDTO;
+import org.springframework.web.client.RestTemplate;
+
+/**
+ * Subscriber behind an HTTP endpoint: each batch is POSTed as JSON, any 2xx acknowledges it.
+ * Recounts go to the same url + "/recount".
+ */
+class HttpTripEventSubscriber implements TripEventSubscriber {
+
+    private final String name;
+    private final String url;
+    private final RestTemplate restTemplate;
+
+    HttpTripEventSubscriber(String name, String url, RestTemplate restTemplate) {
+        this.name = name;
+        this.url = url;
+        this.restTemplate = restTemplate;
+    }
+
+    @Override
+    public String name() {
+        return name;
+    }
+
+    @Override
+    public void deliver(TripEventPageDTO batch) {
+        // 4xx/5xx and I/O errors throw, which leaves the batch undelivered
+        restTemplate.postForLocation(url, batch);
+    }
+
+    @Override
+    public void recount(TripEventRecountDTO recount) {
+        restTemplate.postForLocation(url + "/recount", recount);
+    }
+}
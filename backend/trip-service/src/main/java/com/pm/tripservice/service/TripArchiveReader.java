@@ -0,0 +1,258 @@
+package com.pm.tripservice.service;
+
+import com.pm.tripservice.dto.EmployeeTripTotalDTO;
+import com.pm.tripservice.dto.TripAggregateDTO;
+import com.pm.tripservice.dto.TripBillingRecordDTO;
+import com.pm.tripservice.dto.TripIncentiveRecordDTO;
+import com.pm.tripservice.model.Trip;
+import com.pm.tripservice.model.TripArchiveStatus;
+import com.pm.tripservice.repository.TripArchiveMonthRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Query;
+import org.hibernate.jpa.HibernateHints;
+import org.hibernate.query.NativeQuery;
+import org.hibernate.type.StandardBasicTypes;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * Read-through to the trips_archive table (see TripPartitionManager) for the reads that must still
+ * see archived months: trip lookups by id, keyset pages, and every date-range read.
+ * The archive is only queried when the range starts before the end of the newest ARCHIVED month,
+ * so reads of hot months cost one primary-key lookup here. Filters mirror the TripRepository
+ * queries these complement; archived trips are read-only.
+ */
+@Service
+public class TripArchiveReader {
+
+    private static final int FETCH_SIZE = 1000;
+
+    // Owner columns of the keyset pages (findPageAfter)
+    public static final String CLIENT = "client_id";
+    public static final String VENDOR = "vendor_id";
+    public static final String EMPLOYEE = "employee_id";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Autowired
+    private TripArchiveMonthRepository tripArchiveMonthRepository;
+
+    public Optional<Trip> findById(UUID id) {
+        if (archivedUntil().isEmpty()) {
+            return Optional.empty();
+        }
+        return detached(entityManager.createNativeQuery(
+                "SELECT * FROM " + TripPartitionManager.ARCHIVE_TABLE + " WHERE id = :id", Trip.class)
+            .setParameter("id", id)).stream().findFirst();
+    }
+
+    /**
+     * Archived part of the TripRepository keyset pages: rows strictly after the (tripStartTime, id)
+     * cursor, newest first. ownerColumn is CLIENT, VENDOR or EMPLOYEE, or null for every trip.
+     */
+    public List<Trip> findPageAfter(String ownerColumn, UUID ownerId, Instant cursorTime, UUID cursorId, int limit) {
+        if (archivedUntil().isEmpty()) {
+            return List.of();
+        }
+        Query query = entityManager.createNativeQuery(
+                "SELECT * FROM " + TripPartitionManager.ARCHIVE_TABLE + " WHERE " +
+                (ownerColumn != null ? ownerColumn + " = :ownerId AND " : "") +
+                "(trip_start_time < :cursorTime OR (trip_start_time = :cursorTime AND id < :cursorId)) " +
+                "ORDER BY trip_start_time DESC, id DESC", Trip.class)
+            .setParameter("cursorTime", cursorTime)
+            .setParameter("cursorId", cursorId)
+            .setMaxResults(limit);
+        if (ownerColumn != null) {
+            query.setParameter("ownerId", ownerId);
+        }
+        return detached(query);
+    }
+
+    /**
+     * Archived part of TripRepository.findByClientVendorAndDateRange
+     */
+    public List<Trip> findByClientVendorAndDateRange(UUID clientId, UUID vendorId, Instant startDate, Instant endDate) {
+        if (!isArchived(startDate)) {
+            return List.of();
+        }
+        return detached(entityManager.createNativeQuery(
+                "SELECT * FROM " + TripPartitionManager.ARCHIVE_TABLE + " WHERE client_id = :clientId " +
+                "AND vendor_id = :vendorId " +
+                "AND trip_start_time >= :startDate " +
+                "AND trip_start_time < :endDate", Trip.class)
+            .setParameter("clientId", clientId)
+            .setParameter("vendorId", vendorId)
+            .setParameter("startDate", startDate)
+            .setParameter("endDate", endDate));
+    }
+
+    /**
+     * Archived part of TripRepository.findByEmployeeAndDateRange
+     */
+    public List<Trip> findByEmployeeAndDateRange(UUID employeeId, Instant startDate, Instant endDate) {
+        if (!isArchived(startDate)) {
+            return List.of();
+        }
+        return detached(entityManager.createNativeQuery(
+                "SELECT * FROM " + TripPartitionManager.ARCHIVE_TABLE + " WHERE employee_id = :employeeId " +
+                "AND trip_start_time >= :startDate " +
+                "AND trip_start_time < :endDate", Trip.class)
+            .setParameter("employeeId", employeeId)
+            .setParameter("startDate", startDate)
+            .setParameter("endDate", endDate));
+    }
+
+    /**
+     * Archived part of TripRepository.countByClientAndMonth
+     */
+    public long countByClientAndDateRange(UUID clientId, Instant startDate, Instant endDate) {
+        if (!isArchived(startDate)) {
+            return 0L;
+        }
+        Number count = (Number) entityManager.createNativeQuery(
+                "SELECT COUNT(*) FROM " + TripPartitionManager.ARCHIVE_TABLE + " WHERE client_id = :clientId " +
+                "AND trip_start_time >= :startDate " +
+                "AND trip_start_time < :endDate")
+            .setParameter("clientId", clientId)
+            .setParameter("startDate", startDate)
+            .setParameter("endDate", endDate)
+            .getSingleResult();
+        return count.longValue();
+    }
+
+    /**
+     * Archived part of TripRepository.streamBillingRecordsByClientVendorAndDateRange, in the same order
+     * Time Complexity: O(n) for n archived trips in the range, one row in memory at a time
+     */
+    public void streamBillingRecords(UUID clientId, UUID vendorId, Instant startDate, Instant endDate,
+                                     Consumer<TripBillingRecordDTO> consumer) {
+        if (!isArchived(startDate)) {
+            return;
+        }
+        Query query = entityManager.createNativeQuery(
+                "SELECT * FROM " + TripPartitionManager.ARCHIVE_TABLE + " WHERE client_id = :clientId " +
+                "AND vendor_id = :vendorId " +
+                "AND trip_start_time >= :startDate " +
+                "AND trip_start_time < :endDate " +
+                "ORDER BY trip_start_time, id", Trip.class)
+            .setParameter("clientId", clientId)
+            .setParameter("vendorId", vendorId)
+            .setParameter("startDate", startDate)
+            .setParameter("endDate", endDate);
+        forEach(query, trip -> consumer.accept(new TripBillingRecordDTO(
+            trip.getId(), trip.getTripStartTime(), trip.getDistanceKm(), trip.getDurationHours())));
+    }
+
+    /**
+     * Archived part of TripRepository.streamIncentiveRecordsByClientAndDateRange
+     */
+    public void streamIncentiveRecords(UUID clientId, Instant startDate, Instant endDate,
+                                       Consumer<TripIncentiveRecordDTO> consumer) {
+        if (!isArchived(startDate)) {
+            return;
+        }
+        Query query = entityManager.createNativeQuery(
+                "SELECT * FROM " + TripPartitionManager.ARCHIVE_TABLE + " WHERE client_id = :clientId " +
+                "AND status = 'COMPLETED' " +
+                "AND trip_start_time >= :startDate " +
+                "AND trip_start_time < :endDate", Trip.class)
+            .setParameter("clientId", clientId)
+            .setParameter("startDate", startDate)
+            .setParameter("endDate", endDate);
+        forEach(query, trip -> consumer.accept(new TripIncentiveRecordDTO(
+            trip.getEmployeeId(), trip.getVendorId(), trip.getTripStartTime(), trip.getDurationHours(),
+            trip.getLateNight(), trip.getWeekend())));
+    }
+
+    /**
+     * Archived part of TripRepository.aggregateByClientVendorAndDateRange; null when no archived
+     * month overlaps the range
+     */
+    public TripAggregateDTO aggregate(UUID clientId, UUID vendorId, Instant startDate, Instant endDate,
+                                      BigDecimal standardTripKm, BigDecimal standardTripHours) {
+        if (!isArchived(startDate)) {
+            return null;
+        }
+        Object[] row = (Object[]) entityManager.createNativeQuery(
+                "SELECT COUNT(*), SUM(distance_km), SUM(duration_hours), " +
+                "SUM(CASE WHEN distance_km > :standardTripKm THEN distance_km - :standardTripKm ELSE 0 END), " +
+                "SUM(CASE WHEN duration_hours > :standardTripHours THEN duration_hours - :standardTripHours ELSE 0 END) " +
+                "FROM " + TripPartitionManager.ARCHIVE_TABLE + " WHERE client_id = :clientId " +
+                "AND vendor_id = :vendorId " +
+                "AND trip_start_time >= :startDate " +
+                "AND trip_start_time < :endDate")
+            .setParameter("clientId", clientId)
+            .setParameter("vendorId", vendorId)
+            .setParameter("startDate", startDate)
+            .setParameter("endDate", endDate)
+            .setParameter("standardTripKm", standardTripKm)
+            .setParameter("standardTripHours", standardTripHours)
+            .getSingleResult();
+        return new TripAggregateDTO((Number) row[0], (Number) row[1], (Number) row[2], (Number) row[3], (Number) row[4]);
+    }
+
+    /**
+     * Archived part of TripRepository.sumCompletedByEmployee
+     */
+    @SuppressWarnings("unchecked")
+    public List<EmployeeTripTotalDTO> sumCompletedByEmployee() {
+        if (archivedUntil().isEmpty()) {
+            return List.of();
+        }
+        List<Object[]> rows = entityManager.createNativeQuery(
+                "SELECT employee_id, COUNT(*) AS trips, SUM(distance_km) AS distance FROM " +
+                TripPartitionManager.ARCHIVE_TABLE + " WHERE status = 'COMPLETED' GROUP BY employee_id")
+            .unwrap(NativeQuery.class)
+            .addScalar("employee_id", StandardBasicTypes.UUID)
+            .addScalar("trips", StandardBasicTypes.LONG)
+            .addScalar("distance", StandardBasicTypes.BIG_DECIMAL)
+            .getResultList();
+        return rows.stream()
+            .map(row -> new EmployeeTripTotalDTO((UUID) row[0], (Long) row[1], (BigDecimal) row[2]))
+            .toList();
+    }
+
+    /**
+     * End of the newest ARCHIVED month; every archived trip started before it. Empty with no archive.
+     */
+    public Optional<Instant> archivedUntil() {
+        return tripArchiveMonthRepository.findTopByStatusOrderByMonthStartDesc(TripArchiveStatus.ARCHIVED)
+            .map(month -> month.getMonthStart().plusMonths(1).atStartOfDay(ZoneId.systemDefault()).toInstant());
+    }
+
+    // Months are archived oldest first, so the range touches the archive iff it starts before the newest one ends
+    private boolean isArchived(Instant startDate) {
+        return archivedUntil().map(startDate::isBefore).orElse(false);
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<Trip> detached(Query query) {
+        List<Trip> trips = query.getResultList();
+        trips.forEach(entityManager::detach);
+        return trips;
+    }
+
+    // Entities are detached once consumed, so the persistence context stays empty
+    @SuppressWarnings("unchecked")
+    private void forEach(Query query, Consumer<Trip> consumer) {
+        query.setHint(HibernateHints.HINT_FETCH_SIZE, FETCH_SIZE);
+        query.setHint(HibernateHints.HINT_READ_ONLY, true);
+        try (Stream<Trip> trips = query.getResultStream()) {
+            trips.forEach(trip -> {
+                consumer.accept(trip);
+                entityManager.detach(trip);
+            });
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package com.pm.tripservice.service;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.UUID;
+
+/**
+ * Opaque continuation token for keyset pages: the (tripStartTime, id) of the last trip returned.
+ * Base64url so clients treat it as a string and never build one themselves.
+ */
+final class TripCursor {
+
+    private static final String VERSION = "v1";
+
+    // Start of the first page; later than any real trip
+    static final TripCursor FIRST_PAGE = new TripCursor(Instant.parse("9999-12-31T00:00:00Z"), new UUID(-1L, -1L));
+
+    private final Instant tripStartTime;
+    private final UUID id;
+
+    TripCursor(Instant tripStartTime, UUID id) {
+        this.tripStartTime = tripStartTime;
+        this.id = id;
+    }
+
+    Instant getTripStartTime() {
+        return tripStartTime;
+    }
+
+    UUID getId() {
+        return id;
+    }
+
+    String encode() {
+        String raw = VERSION + "|" + tripStartTime + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * @throws IllegalArgumentException for tokens not produced by {@link #encode()}
+     */
+    static TripCursor decode(String token) {
+        if (token == null || token.isBlank()) {
+            return FIRST_PAGE;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            String[] parts = raw.split("\\|");
+            if (parts.length != 3 || !VERSION.equals(parts[0])) {
+                throw new IllegalArgumentException("Invalid page cursor");
+            }
+            return new TripCursor(Instant.parse(parts[1]), UUID.fromString(parts[2]));
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("Invalid page cursor");
+        }
+    }
+}
@@ -0,0 +1,171 @@
+package com.pm.tripservice.service;
+
+import com.pm.tripservice.config.TripEventRelayProperties;
+import com.pm.tripservice.dto.TripEventDTO;
+import com.pm.tripservice.dto.TripEventPageDTO;
+import com.pm.tripservice.dto.TripEventRecountDTO;
+import com.pm.tripservice.dto.TripEventSubscriptionDTO;
+import com.pm.tripservice.model.TripEventSubscription;
+import com.pm.tripservice.repository.TripEventSubscriptionRepository;
+import com.pm.tripservice.repository.TripOutboxRepository;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.client.RestTemplate;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Pushes trip events from the outbox to every subscriber in batches, in id order.
+ * Each subscriber has its own position (trip_event_subscriptions), locked while a batch is
+ * delivered and advanced only once the subscriber acknowledged it: delivery is at-least-once,
+ * and a failing subscriber is retried on the next run without holding up the others.
+ * A new subscriber starts at the end of the feed; earlier trips are not replayed.
+ * A subscriber whose position fell behind the outbox's retention has lost events for good, so it
+ * is sent a recount (its totals as of a settled event) and resumes the feed from there.
+ */
+@Service
+public class TripEventRelay {
+
+    private static final Logger log = LoggerFactory.getLogger(TripEventRelay.class);
+
+    @Autowired
+    private TripEventService tripEventService;
+
+    @Autowired
+    private TripService tripService;
+
+    @Autowired
+    private TripEventSubscriptionRepository tripEventSubscriptionRepository;
+
+    @Autowired
+    private TripOutboxRepository tripOutboxRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private TripEventRelayProperties properties;
+
+    @Autowired
+    @Qualifier("tripEventRestTemplate")
+    private RestTemplate restTemplate;
+
+    // In-process subscribers (the local bus); HTTP subscribers are added from configuration
+    @Autowired(required = false)
+    private List<TripEventSubscriber> localSubscribers = new ArrayList<>();
+
+    private final List<TripEventSubscriber> subscribers = new ArrayList<>();
+
+    @PostConstruct
+    void registerSubscribers() {
+        subscribers.addAll(localSubscribers);
+        for (TripEventRelayProperties.Subscriber subscriber : properties.getSubscribers()) {
+            subscribers.add(new HttpTripEventSubscriber(subscriber.getName(), subscriber.getUrl(), restTemplate));
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${trip.events.relay.interval:PT1S}")
+    public void relay() {
+        for (TripEventSubscriber subscriber : subscribers) {
+            try {
+                relay(subscriber);
+            } catch (Exception e) {
+                log.error("Error relaying trip events to {}", subscriber.name(), e);
+            }
+        }
+    }
+
+    /**
+     * Deliver pending events to one subscriber, one transaction per batch
+     * @return number of events delivered
+     */
+    public int relay(TripEventSubscriber subscriber) {
+        int delivered = 0;
+        for (int batch = 0; batch < properties.getMaxBatchesPerRun(); batch++) {
+            Integer count = transactionTemplate.execute(status -> deliverNextBatch(subscriber));
+            if (count == null || count == 0) {
+                break;
+            }
+            delivered += count;
+        }
+        return delivered;
+    }
+
+    /**
+     * Positions of all subscribers and how far each is behind the newest event
+     */
+    public List<TripEventSubscriptionDTO> getSubscriptions() {
+        long latest = tripEventService.latestEventId();
+        return tripEventSubscriptionRepository.findAll().stream()
+            .map(subscription -> new TripEventSubscriptionDTO(
+                subscription.getSubscriber(),
+                subscription.getLastEventId(),
+                Math.max(0L, latest - subscription.getLastEventId()),
+                subscription.getLastDeliveredAt(),
+                subscription.getLastError()))
+            .collect(Collectors.toList());
+    }
+
+    private int deliverNextBatch(TripEventSubscriber subscriber) {
+        TripEventSubscription subscription = tripEventSubscriptionRepository.findForUpdate(subscriber.name())
+            .orElseGet(() -> tripEventSubscriptionRepository.saveAndFlush(
+                new TripEventSubscription(subscriber.name(), tripEventService.latestEventId())));
+
+        Long oldest = tripOutboxRepository.findOldestId();
+        if (oldest != null && oldest > subscription.getLastEventId() + 1) {
+            return recount(subscriber, subscription, oldest);
+        }
+
+        List<TripEventDTO> events = tripEventService.settledAfter(subscription.getLastEventId(), properties.getBatchSize());
+        if (events.isEmpty()) {
+            return 0;
+        }
+
+        try {
+            subscriber.deliver(new TripEventPageDTO(events, oldest, tripOutboxRepository.findLatestId()));
+        } catch (Exception e) {
+            subscription.setLastError(truncate(e.getMessage()));
+            return 0; // position unchanged: the same batch is offered again next run
+        }
+
+        subscription.setLastEventId(events.get(events.size() - 1).getId());
+        subscription.setLastDeliveredAt(Instant.now());
+        subscription.setLastError(null);
+        return events.size();
+    }
+
+    // Events after the subscriber's position were purged: replace its totals instead of replaying.
+    // The frontier is at least oldest - 1, so the subscriber ends up within the retained feed.
+    private int recount(TripEventSubscriber subscriber, TripEventSubscription subscription, long oldest) {
+        log.warn("Trip events {} to {} were purged before they reached {}; sending a recount",
+            subscription.getLastEventId() + 1, oldest - 1, subscriber.name());
+        TripEventRecountDTO recount = tripService.recountCompletedByEmployee(oldest - 1);
+        try {
+            subscriber.recount(recount);
+        } catch (Exception e) {
+            subscription.setLastError(truncate(e.getMessage()));
+            return 0; // still behind retention: the recount is offered again next run
+        }
+
+        subscription.setLastEventId(recount.getAsOfEventId());
+        subscription.setLastDeliveredAt(Instant.now());
+        subscription.setLastError(null);
+        return 1;
+    }
+
+    private static String truncate(String message) {
+        if (message == null) {
+            return "Delivery failed";
+        }
+        return message.length() > 1000 ? message.substring(0, 1000) : message;
+    }
+}
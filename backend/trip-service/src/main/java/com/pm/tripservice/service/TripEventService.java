@@ -0,0 +1,237 @@
+package com.pm.tripservice.service;
+
+import com.pm.tripservice.dto.TripAggregateDTO;
+import com.pm.tripservice.dto.TripEventDTO;
+import com.pm.tripservice.dto.TripEventPageDTO;
+import com.pm.tripservice.model.Trip;
+import com.pm.tripservice.model.TripSnapshot;
+import com.pm.tripservice.model.TripEventType;
+import com.pm.tripservice.model.TripOutboxEvent;
+import com.pm.tripservice.repository.TripOutboxRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Query;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+/**
+ * Trip change events for billing, published through a transactional outbox.
+ * record() must run inside the transaction that changes the trip, so an event is stored
+ * exactly when the change commits. Consumers pull the feed in id order and track their own position.
+ *
+ * Ids are allocated on insert but become visible on commit, so a slow transaction could
+ * surface a lower id after a higher one was read. The feed therefore stops at the first
+ * event younger than the settle window; trip transactions are short and insert their
+ * event last, so the window only has to cover the commit itself.
+ * That only holds on the primary: a replica may lag by more than the window and hide settled
+ * events. None of the reads here are readOnly, so read replica routing never serves them.
+ */
+@Service
+@Transactional
+public class TripEventService {
+
+    private static final Logger log = LoggerFactory.getLogger(TripEventService.class);
+
+    private static final int BULK_INSERT_ROWS = 500;
+
+    @Autowired
+    private TripOutboxRepository tripOutboxRepository;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Value("${trip.events.settle:PT2S}")
+    private Duration settle;
+
+    @Value("${trip.events.retention:P7D}")
+    private Duration retention;
+
+    @Value("${trip.events.max-page-size:1000}")
+    private int maxPageSize;
+
+    /**
+     * Store one event in the caller's transaction
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void record(TripEventType eventType, UUID tripId, TripSnapshot before, TripSnapshot after) {
+        tripOutboxRepository.save(new TripOutboxEvent(eventType, tripId, before, after));
+    }
+
+    /**
+     * Store a CREATED event per trip in the caller's transaction (bulk import).
+     * IDENTITY ids keep Hibernate from batching outbox inserts, so these are written as
+     * multi-row INSERTs of up to BULK_INSERT_ROWS events each.
+     * Time Complexity: O(n), n / BULK_INSERT_ROWS statements
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordCreated(List<Trip> trips) {
+        Instant now = Instant.now();
+        for (int from = 0; from < trips.size(); from += BULK_INSERT_ROWS) {
+            List<Trip> slice = trips.subList(from, Math.min(from + BULK_INSERT_ROWS, trips.size()));
+            StringBuilder sql = new StringBuilder(
+                "INSERT INTO trip_outbox_events (event_type, trip_id, occurred_at, after_client_id, after_vendor_id, " +
+                "after_employee_id, after_status, after_trip_start_time, after_distance_km, after_duration_hours) VALUES ");
+            for (int i = 0; i < slice.size(); i++) {
+                sql.append(i == 0 ? "" : ", ").append("(?, ?, ?, ?, ?, ?, ?, ?, ?, ?)");
+            }
+
+            Query insert = entityManager.createNativeQuery(sql.toString());
+            int position = 1;
+            for (Trip trip : slice) {
+                insert.setParameter(position++, TripEventType.CREATED.name());
+                insert.setParameter(position++, trip.getId());
+                insert.setParameter(position++, now);
+                insert.setParameter(position++, trip.getClientId());
+                insert.setParameter(position++, trip.getVendorId());
+                insert.setParameter(position++, trip.getEmployeeId());
+                insert.setParameter(position++, trip.getStatus().name());
+                insert.setParameter(position++, trip.getTripStartTime());
+                insert.setParameter(position++, trip.getDistanceKm());
+                insert.setParameter(position++, trip.getDurationHours());
+            }
+            insert.executeUpdate();
+        }
+    }
+
+    /**
+     * Settled events after the given id, oldest first
+     * Time Complexity: O(limit), primary key range scan
+     */
+    public TripEventPageDTO feed(long afterId, int limit) {
+        if (limit < 1) {
+            throw new IllegalArgumentException("Limit must be at least 1");
+        }
+        return new TripEventPageDTO(
+            settledAfter(afterId, limit), tripOutboxRepository.findOldestId(), tripOutboxRepository.findLatestId());
+    }
+
+    /**
+     * Up to limit settled events after the given id, oldest first; shared by the feed and the relay
+     */
+    public List<TripEventDTO> settledAfter(long afterId, int limit) {
+        Instant settledBefore = Instant.now().minus(settle);
+        List<TripEventDTO> events = new ArrayList<>();
+        for (TripOutboxEvent event : tripOutboxRepository.findAfter(afterId, Limit.of(Math.min(limit, maxPageSize)))) {
+            if (!event.getOccurredAt().isBefore(settledBefore)) {
+                break;
+            }
+            events.add(toDTO(event));
+        }
+        return events;
+    }
+
+    /**
+     * Id of the newest event (where a new subscriber starts)
+     */
+    public long latestEventId() {
+        Long latest = tripOutboxRepository.findLatestId();
+        return latest != null ? latest : 0L;
+    }
+
+    /**
+     * Settled frontier for a read made in the current transaction: the newest event older than the
+     * settle window, or `floor` (a position the reader has already reached) if that is higher.
+     * No event at or below it is still in flight, so the snapshot holds all of them; the newer
+     * events the snapshot already holds are handed to `newer`, newest first, so the reader can
+     * back them out and be exactly as of the frontier.
+     * Time Complexity: O(w) for the w events newer than the frontier, primary key scan
+     */
+    public long settledFrontier(long floor, Consumer<TripOutboxEvent> newer) {
+        Instant settledBefore = Instant.now().minus(settle);
+        long beforeId = Long.MAX_VALUE;
+        while (true) {
+            List<TripOutboxEvent> page = tripOutboxRepository.findBefore(beforeId, Limit.of(maxPageSize));
+            for (TripOutboxEvent event : page) {
+                if (event.getId() <= floor || event.getOccurredAt().isBefore(settledBefore)) {
+                    return Math.max(event.getId(), floor);
+                }
+                newer.accept(event);
+                beforeId = event.getId();
+            }
+            if (page.size() < maxPageSize) {
+                return floor; // every event left in the outbox is newer than the window
+            }
+        }
+    }
+
+    /**
+     * Rewind a trip aggregate read in the current transaction to the settled frontier, and return it.
+     * A consumer that seeds from the aggregate and then applies every event after the frontier
+     * counts each trip change exactly once, whether it had committed at read time or not.
+     */
+    public long rewindToSettled(TripAggregateDTO aggregate, UUID clientId, UUID vendorId, Instant start, Instant end,
+                                BigDecimal standardTripKm, BigDecimal standardTripHours, long floor) {
+        RangeFilter range = new RangeFilter(clientId, vendorId, start, end);
+        return settledFrontier(floor, event -> {
+            // Undo the event: remove the state it produced, restore the one it replaced
+            if (range.contains(event.getAfter())) {
+                addTrip(aggregate, event.getAfter(), -1, standardTripKm, standardTripHours);
+            }
+            if (range.contains(event.getBefore())) {
+                addTrip(aggregate, event.getBefore(), 1, standardTripKm, standardTripHours);
+            }
+        });
+    }
+
+    // Same per-trip figures and overage rule as TripRepository.aggregateByClientVendorAndDateRange
+    private static void addTrip(TripAggregateDTO aggregate, TripSnapshot trip, int sign,
+                                BigDecimal standardTripKm, BigDecimal standardTripHours) {
+        BigDecimal distance = trip.getDistanceKm() != null ? trip.getDistanceKm() : BigDecimal.ZERO;
+        BigDecimal hours = trip.getDurationHours() != null ? trip.getDurationHours() : BigDecimal.ZERO;
+        BigDecimal factor = BigDecimal.valueOf(sign);
+        aggregate.setTripCount(aggregate.getTripCount() + sign);
+        aggregate.setTotalDistanceKm(aggregate.getTotalDistanceKm().add(distance.multiply(factor)));
+        aggregate.setTotalDurationHours(aggregate.getTotalDurationHours().add(hours.multiply(factor)));
+        aggregate.setExtraKm(aggregate.getExtraKm().add(beyond(distance, standardTripKm).multiply(factor)));
+        aggregate.setExtraHours(aggregate.getExtraHours().add(beyond(hours, standardTripHours).multiply(factor)));
+    }
+
+    private static BigDecimal beyond(BigDecimal value, BigDecimal standard) {
+        if (standard == null || value.compareTo(standard) <= 0) {
+            return BigDecimal.ZERO;
+        }
+        return value.subtract(standard);
+    }
+
+    private record RangeFilter(UUID clientId, UUID vendorId, Instant start, Instant end) {
+        boolean contains(TripSnapshot trip) {
+            return trip != null && trip.getTripStartTime() != null
+                && clientId.equals(trip.getClientId()) && vendorId.equals(trip.getVendorId())
+                && !trip.getTripStartTime().isBefore(start) && trip.getTripStartTime().isBefore(end);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${trip.events.purge-interval:PT1H}")
+    public void purgeExpired() {
+        int purged = tripOutboxRepository.deleteOccurredBefore(Instant.now().minus(retention));
+        if (purged > 0) {
+            log.info("Purged {} trip outbox events", purged);
+        }
+    }
+
+    private TripEventDTO toDTO(TripOutboxEvent event) {
+        TripEventDTO dto = new TripEventDTO();
+        dto.setId(event.getId());
+        dto.setEventType(event.getEventType());
+        dto.setTripId(event.getTripId());
+        dto.setOccurredAt(event.getOccurredAt());
+        dto.setBefore(event.getBefore());
+        dto.setAfter(event.getAfter());
+        return dto;
+    }
+}
@@ -0,0 +1,32 @@
+package com.pm.tripservice.service;
+
+import com.pm.tripservice.dto.TripEventPageDTO;
+import com.pm.tripservice.dto.TripEventRecountDTO;
+
+/**
+ * Receiver of trip event batches from the relay.
+ * Every bean implementing this is subscribed in-process; remote services are subscribed
+ * over HTTP through trip.events.relay.subscribers.
+ */
+public interface TripEventSubscriber {
+
+    /**
+     * Unique name; the relay keeps this subscriber's delivery position under it
+     */
+    String name();
+
+    /**
+     * Apply one batch of events in id order. Returning normally acknowledges the batch;
+     * throwing leaves it to be delivered again, so a batch may arrive more than once.
+     */
+    void deliver(TripEventPageDTO batch);
+
+    /**
+     * Replace the totals kept from earlier events with a recount; sent instead of a batch when
+     * events this subscriber had not received yet were purged. Delivery resumes after
+     * recount.getAsOfEventId(). Throwing leaves the recount to be sent again.
+     */
+    default void recount(TripEventRecountDTO recount) {
+        throw new UnsupportedOperationException(name() + " cannot be recounted");
+    }
+}
@@ -0,0 +1,272 @@
+package com.pm.tripservice.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.introspect.BeanPropertyDefinition;
+import com.pm.tripservice.dto.TripImportErrorDTO;
+import com.pm.tripservice.dto.TripImportResultDTO;
+import com.pm.tripservice.dto.TripRequestDTO;
+import com.pm.tripservice.mapper.TripMapper;
+import com.pm.tripservice.model.Trip;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.stream.Collectors;
+
+/**
+ * Bulk trip import from CSV or NDJSON uploads (nightly vendor uploads, 50k+ rows).
+ * 1. Rows are read from the request stream one at a time, parsed and validated like createTrip
+ * 2. Valid rows are written in chunks, one transaction per chunk: trips go out as JDBC batches
+ *    (UUIDs are generated in the application, so nothing blocks batching), rollups are upserted
+ *    once per rollup row and CREATED events as multi-row inserts
+ * 3. A chunk the database rejects is retried row by row, so one bad row only rejects itself
+ * Memory is bounded by the chunk size, not the upload size.
+ */
+@Service
+public class TripImportService {
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private Validator validator;
+
+    @Autowired
+    private TripMapper tripMapper;
+
+    @Autowired
+    private TripRollupService tripRollupService;
+
+    @Autowired
+    private TripEventService tripEventService;
+
+    @Autowired
+    private TripTimeWindowStamper tripTimeWindowStamper;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Value("${trip.import.chunk-size:1000}")
+    private int chunkSize;
+
+    @Value("${trip.import.max-reported-errors:1000}")
+    private int maxReportedErrors;
+
+    /**
+     * CSV with a header row naming TripRequestDTO fields (clientId, vendorId, tripStartTime, ...).
+     * Empty cells are null; cells may be double-quoted, with "" for a literal quote.
+     */
+    public TripImportResultDTO importCsv(InputStream input) throws IOException {
+        BufferedReader reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8));
+        String header = reader.readLine();
+        if (header == null) {
+            throw new IllegalArgumentException("CSV upload is empty");
+        }
+        List<String> columns = parseCsvLine(header.replace("\uFEFF", ""));
+        Set<String> known = requestProperties();
+        List<String> unknown = columns.stream().filter(column -> !known.contains(column)).collect(Collectors.toList());
+        if (!unknown.isEmpty()) {
+            throw new IllegalArgumentException("Unknown CSV columns: " + unknown + "; expected any of " + known);
+        }
+
+        return importRows(reader, 2, line -> {
+            List<String> cells = parseCsvLine(line);
+            if (cells.size() != columns.size()) {
+                throw new IllegalArgumentException(
+                    "Expected " + columns.size() + " columns but found " + cells.size());
+            }
+            Map<String, String> values = new HashMap<>();
+            for (int i = 0; i < cells.size(); i++) {
+                if (!cells.get(i).isEmpty()) {
+                    values.put(columns.get(i), cells.get(i));
+                }
+            }
+            return objectMapper.convertValue(values, TripRequestDTO.class);
+        });
+    }
+
+    /**
+     * One TripRequestDTO JSON object per line
+     */
+    public TripImportResultDTO importNdjson(InputStream input) throws IOException {
+        BufferedReader reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8));
+        return importRows(reader, 1, line -> objectMapper.readValue(line, TripRequestDTO.class));
+    }
+
+    private TripImportResultDTO importRows(BufferedReader reader, long firstLine, RowParser parser) throws IOException {
+        long started = System.nanoTime();
+        TripImportResultDTO result = new TripImportResultDTO();
+        List<ImportRow> chunk = new ArrayList<>(chunkSize);
+
+        long lineNumber = firstLine - 1;
+        String line;
+        while ((line = reader.readLine()) != null) {
+            lineNumber++;
+            if (line.isBlank()) {
+                continue;
+            }
+            result.setRowsRead(result.getRowsRead() + 1);
+
+            TripRequestDTO request;
+            try {
+                request = parser.parse(line);
+            } catch (Exception e) {
+                reject(result, lineNumber, describe(e));
+                continue;
+            }
+            Set<ConstraintViolation<TripRequestDTO>> violations = validator.validate(request);
+            if (!violations.isEmpty()) {
+                reject(result, lineNumber, violations.stream()
+                    .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+                    .sorted()
+                    .collect(Collectors.joining("; ")));
+                continue;
+            }
+
+            chunk.add(new ImportRow(lineNumber, request));
+            if (chunk.size() >= chunkSize) {
+                write(chunk, result);
+                chunk.clear();
+            }
+        }
+        if (!chunk.isEmpty()) {
+            write(chunk, result);
+        }
+
+        long elapsedMillis = (System.nanoTime() - started) / 1_000_000;
+        result.setElapsedMillis(elapsedMillis);
+        result.setRowsPerSecond(elapsedMillis == 0 ? 0.0 : result.getRowsImported() * 1000.0 / elapsedMillis);
+        return result;
+    }
+
+    private void write(List<ImportRow> chunk, TripImportResultDTO result) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> persist(chunk));
+            result.setRowsImported(result.getRowsImported() + chunk.size());
+            return;
+        } catch (RuntimeException e) {
+            // The database rejected something and the whole chunk was rolled back:
+            // find the offending rows one at a time
+        }
+
+        for (ImportRow row : chunk) {
+            try {
+                transactionTemplate.executeWithoutResult(status -> persist(List.of(row)));
+                result.setRowsImported(result.getRowsImported() + 1);
+            } catch (RuntimeException e) {
+                reject(result, row.line, describe(e));
+            }
+        }
+    }
+
+    private void persist(List<ImportRow> rows) {
+        List<Trip> trips = new ArrayList<>(rows.size());
+        for (ImportRow row : rows) {
+            Trip trip = tripMapper.toEntity(row.request);
+            tripTimeWindowStamper.stamp(trip);
+            entityManager.persist(trip);
+            trips.add(trip);
+        }
+        entityManager.flush(); // hibernate.jdbc.batch_size rows per round trip
+        tripRollupService.addAll(trips);
+        tripEventService.recordCreated(trips);
+        entityManager.clear(); // keep the persistence context from growing across chunks
+    }
+
+    private void reject(TripImportResultDTO result, long line, String message) {
+        result.setRowsRejected(result.getRowsRejected() + 1);
+        if (result.getErrors().size() < maxReportedErrors) {
+            result.getErrors().add(new TripImportErrorDTO(line, message));
+        } else {
+            result.setErrorsTruncated(true);
+        }
+    }
+
+    private Set<String> requestProperties() {
+        return objectMapper.getDeserializationConfig()
+            .introspect(objectMapper.constructType(TripRequestDTO.class))
+            .findProperties()
+            .stream()
+            .map(BeanPropertyDefinition::getName)
+            .collect(Collectors.toCollection(TreeSet::new));
+    }
+
+    // Jackson's original message without the location noise; otherwise the innermost cause
+    private static String describe(Throwable e) {
+        if (e instanceof IllegalArgumentException && e.getCause() instanceof JsonProcessingException) {
+            e = e.getCause();
+        }
+        if (e instanceof JsonProcessingException) {
+            return ((JsonProcessingException) e).getOriginalMessage();
+        }
+        Throwable root = e;
+        while (root.getCause() != null && root.getCause() != root) {
+            root = root.getCause();
+        }
+        return root.getMessage() != null ? root.getMessage() : root.getClass().getSimpleName();
+    }
+
+    /**
+     * Split one CSV line (RFC 4180 quoting, no line breaks inside fields)
+     */
+    static List<String> parseCsvLine(String line) {
+        List<String> cells = new ArrayList<>();
+        StringBuilder cell = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    cell.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    cell.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                cells.add(cell.toString().trim());
+                cell.setLength(0);
+            } else {
+                cell.append(c);
+            }
+        }
+        if (quoted) {
+            throw new IllegalArgumentException("Unterminated quoted field");
+        }
+        cells.add(cell.toString().trim());
+        return cells;
+    }
+
+    @FunctionalInterface
+    private interface RowParser {
+        TripRequestDTO parse(String line) throws Exception;
+    }
+
+    private static final class ImportRow {
+        private final long line;
+        private final TripRequestDTO request;
+
+        ImportRow(long line, TripRequestDTO request) {
+            this.line = line;
+            this.request = request;
+        }
+    }
+}
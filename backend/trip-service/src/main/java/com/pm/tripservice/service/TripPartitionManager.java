@@ -0,0 +1,309 @@
+package com.pm.tripservice.service;
+
+import com.pm.tripservice.model.TripArchiveMonth;
+import com.pm.tripservice.model.TripArchiveStatus;
+import com.pm.tripservice.repository.TripArchiveMonthRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.time.Instant;
+import java.time.YearMonth;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.StringJoiner;
+
+/**
+ * Monthly range partitions on `trips` (MySQL only), so every tripStartTime range query prunes to the
+ * months it touches, plus archival of closed months.
+ * 1. First run: the primary key becomes (id, trip_start_time), as MySQL requires every unique key of
+ *    a partitioned table to contain the partitioning column, and the table is partitioned from the
+ *    month of its oldest trip. This rebuilds the table once; schedule it on a large table.
+ * 2. Every run: partitions exist up to `months-ahead` months from now; pmax catches anything later.
+ * 3. With archival on, every partition older than `retention-months` is copied into the compressed
+ *    trips_archive table and dropped, oldest first; TripArchiveReader reads through to it. Each month
+ *    is recorded (ARCHIVING) before the copy and marked ARCHIVED after it; the partition is dropped
+ *    last, so a run interrupted at any step is finished by the next one.
+ * Months are those of the trip date-range queries (the JVM's zone), so a month's trips are exactly
+ * one partition; bounds are converted to the connection's serverTimezone (UTC). Runs under a MySQL
+ * named lock, so only one instance maintains the table at a time.
+ */
+@Service
+public class TripPartitionManager {
+
+    static final String ARCHIVE_TABLE = "trips_archive";
+    private static final String MAX_PARTITION = "pmax";
+    private static final String LOCK_NAME = "trips_partition_maintenance";
+    private static final DateTimeFormatter PARTITION_MONTH = DateTimeFormatter.ofPattern("yyyyMM");
+    private static final DateTimeFormatter PARTITION_BOUND = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+
+    private static final Logger log = LoggerFactory.getLogger(TripPartitionManager.class);
+
+    // The zone TripService turns date ranges into instants in
+    private final ZoneId zone = ZoneId.systemDefault();
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private TripArchiveMonthRepository tripArchiveMonthRepository;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Value("${trip.partitioning.enabled:false}")
+    private boolean enabled;
+
+    @Value("${trip.partitioning.months-ahead:3}")
+    private int monthsAhead = 3;
+
+    @Value("${trip.archive.enabled:false}")
+    private boolean archiveEnabled;
+
+    @Value("${trip.archive.retention-months:13}")
+    private int retentionMonths = 13;
+
+    private Boolean mySql;
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${trip.partitioning.interval:PT6H}",
+               initialDelayString = "${trip.partitioning.interval:PT6H}")
+    public void maintain() {
+        if (!enabled || !isMySql()) {
+            return;
+        }
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                // Session lock: it outlives the implicit commits of the DDL below
+                Number locked = (Number) entityManager.createNativeQuery("SELECT GET_LOCK(:name, 0)")
+                    .setParameter("name", LOCK_NAME)
+                    .getSingleResult();
+                if (locked == null || locked.intValue() != 1) {
+                    return; // another instance is at it
+                }
+                try {
+                    maintainLocked();
+                } finally {
+                    entityManager.createNativeQuery("SELECT RELEASE_LOCK(:name)")
+                        .setParameter("name", LOCK_NAME)
+                        .getSingleResult();
+                }
+            });
+        } catch (Exception e) {
+            log.error("Trip partition maintenance failed", e);
+        }
+    }
+
+    private void maintainLocked() {
+        // TIMESTAMP columns only partition on UNIX_TIMESTAMP(); DATETIME columns by RANGE COLUMNS
+        boolean epochBounds = "timestamp".equalsIgnoreCase(startTimeColumnType());
+        YearMonth last = YearMonth.now(zone).plusMonths(monthsAhead);
+        List<YearMonth> months = partitionMonths("trips");
+
+        if (months.isEmpty()) {
+            YearMonth first = oldestTripMonth();
+            if (first == null || first.isAfter(last)) {
+                first = YearMonth.now(zone);
+            }
+            execute("ALTER TABLE trips DROP PRIMARY KEY, ADD PRIMARY KEY (id, trip_start_time)");
+            execute("ALTER TABLE trips PARTITION BY "
+                + (epochBounds ? "RANGE (UNIX_TIMESTAMP(trip_start_time))" : "RANGE COLUMNS (trip_start_time)")
+                + " (" + partitionDefinitions(first, last, epochBounds) + ")");
+            log.info("Partitioned trips by month from {} to {}", first, last);
+        } else {
+            YearMonth newest = months.get(months.size() - 1);
+            if (newest.isBefore(last)) {
+                execute("ALTER TABLE trips REORGANIZE PARTITION " + MAX_PARTITION + " INTO ("
+                    + partitionDefinitions(newest.plusMonths(1), last, epochBounds) + ")");
+                log.info("Added trips partitions up to {}", last);
+            }
+        }
+
+        if (archiveEnabled) {
+            archiveClosedMonths();
+        }
+    }
+
+    private void archiveClosedMonths() {
+        YearMonth cutoff = YearMonth.now(zone).minusMonths(Math.max(1, retentionMonths));
+        List<YearMonth> partitions = partitionMonths("trips");
+        List<YearMonth> closed = new ArrayList<>();
+        for (YearMonth month : partitions) {
+            if (month.isBefore(cutoff)) {
+                closed.add(month);
+            }
+        }
+        if (closed.isEmpty()) {
+            return;
+        }
+
+        String columns = prepareArchiveTable();
+        for (YearMonth month : closed) {
+            String partition = partitionName(month);
+            TripArchiveMonth record = tripArchiveMonthRepository.findById(month.atDay(1)).orElse(null);
+            if (record == null || record.getStatus() != TripArchiveStatus.ARCHIVED) {
+                long trips = ((Number) entityManager.createNativeQuery(
+                    "SELECT COUNT(*) FROM trips PARTITION (" + partition + ")").getSingleResult()).longValue();
+                // Committed by the implicit commit of the next DDL at the latest
+                record = tripArchiveMonthRepository.saveAndFlush(
+                    new TripArchiveMonth(month.atDay(1), TripArchiveStatus.ARCHIVING, trips, Instant.now()));
+                // IGNORE: an interrupted run may have copied some of these rows already
+                execute("INSERT IGNORE INTO " + ARCHIVE_TABLE + " (" + columns + ") "
+                    + "SELECT " + columns + " FROM trips PARTITION (" + partition + ")");
+                record.setStatus(TripArchiveStatus.ARCHIVED);
+                record.setArchivedAt(Instant.now());
+                tripArchiveMonthRepository.saveAndFlush(record);
+            }
+            execute("ALTER TABLE trips DROP PARTITION " + partition);
+            log.info("Archived {} trips of {}", record.getTripCount(), month);
+        }
+    }
+
+    /**
+     * Creates trips_archive on first use (same columns and indexes as trips, unpartitioned,
+     * ROW_FORMAT=COMPRESSED) and adds any column trips gained since.
+     * Returns the shared column list for INSERT ... SELECT.
+     */
+    private String prepareArchiveTable() {
+        if (!tableExists(ARCHIVE_TABLE)) {
+            execute("CREATE TABLE " + ARCHIVE_TABLE + " LIKE trips");
+        }
+        if (!partitionMonths(ARCHIVE_TABLE).isEmpty() || hasMaxPartition(ARCHIVE_TABLE)) {
+            execute("ALTER TABLE " + ARCHIVE_TABLE + " REMOVE PARTITIONING");
+        }
+        if (!"Compressed".equalsIgnoreCase(rowFormat(ARCHIVE_TABLE))) {
+            execute("ALTER TABLE " + ARCHIVE_TABLE + " ROW_FORMAT=COMPRESSED KEY_BLOCK_SIZE=8");
+        }
+
+        Set<String> archived = new HashSet<>();
+        for (Object[] column : columns(ARCHIVE_TABLE)) {
+            archived.add((String) column[0]);
+        }
+        StringJoiner shared = new StringJoiner(", ");
+        for (Object[] column : columns("trips")) {
+            String name = (String) column[0];
+            if (!archived.contains(name)) {
+                execute("ALTER TABLE " + ARCHIVE_TABLE + " ADD COLUMN `" + name + "` " + column[1] + " NULL");
+            }
+            shared.add("`" + name + "`");
+        }
+        return shared.toString();
+    }
+
+    private String partitionDefinitions(YearMonth first, YearMonth last, boolean epochBounds) {
+        StringJoiner definitions = new StringJoiner(", ");
+        for (YearMonth month = first; !month.isAfter(last); month = month.plusMonths(1)) {
+            YearMonth next = month.plusMonths(1);
+            Instant end = next.atDay(1).atStartOfDay(zone).toInstant();
+            String bound = epochBounds
+                ? String.valueOf(end.getEpochSecond())
+                : "'" + PARTITION_BOUND.format(end.atOffset(ZoneOffset.UTC)) + "'";
+            definitions.add("PARTITION " + partitionName(month) + " VALUES LESS THAN (" + bound + ")");
+        }
+        definitions.add("PARTITION " + MAX_PARTITION + " VALUES LESS THAN " + (epochBounds ? "MAXVALUE" : "(MAXVALUE)"));
+        return definitions.toString();
+    }
+
+    private static String partitionName(YearMonth month) {
+        return "p" + month.format(PARTITION_MONTH);
+    }
+
+    // Monthly partitions of the table in order; empty when it is not partitioned
+    @SuppressWarnings("unchecked")
+    private List<YearMonth> partitionMonths(String table) {
+        List<String> names = entityManager.createNativeQuery(
+                "SELECT PARTITION_NAME FROM information_schema.PARTITIONS " +
+                "WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = :table AND PARTITION_NAME IS NOT NULL " +
+                "ORDER BY PARTITION_ORDINAL_POSITION")
+            .setParameter("table", table)
+            .getResultList();
+        List<YearMonth> months = new ArrayList<>();
+        for (String name : names) {
+            if (!MAX_PARTITION.equals(name)) {
+                months.add(YearMonth.parse(name.substring(1), PARTITION_MONTH));
+            }
+        }
+        return months;
+    }
+
+    private boolean hasMaxPartition(String table) {
+        return ((Number) entityManager.createNativeQuery(
+                "SELECT COUNT(*) FROM information_schema.PARTITIONS " +
+                "WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = :table AND PARTITION_NAME = :name")
+            .setParameter("table", table)
+            .setParameter("name", MAX_PARTITION)
+            .getSingleResult()).longValue() > 0;
+    }
+
+    private YearMonth oldestTripMonth() {
+        Instant oldest = entityManager.createQuery("SELECT MIN(t.tripStartTime) FROM Trip t", Instant.class)
+            .getSingleResult();
+        return oldest != null ? YearMonth.from(oldest.atZone(zone)) : null;
+    }
+
+    private String startTimeColumnType() {
+        return (String) entityManager.createNativeQuery(
+                "SELECT DATA_TYPE FROM information_schema.COLUMNS " +
+                "WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = 'trips' AND COLUMN_NAME = 'trip_start_time'")
+            .getSingleResult();
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<Object[]> columns(String table) {
+        return entityManager.createNativeQuery(
+                "SELECT COLUMN_NAME, COLUMN_TYPE FROM information_schema.COLUMNS " +
+                "WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = :table ORDER BY ORDINAL_POSITION")
+            .setParameter("table", table)
+            .getResultList();
+    }
+
+    private boolean tableExists(String table) {
+        return rowFormat(table) != null;
+    }
+
+    private String rowFormat(String table) {
+        List<?> formats = entityManager.createNativeQuery(
+                "SELECT ROW_FORMAT FROM information_schema.TABLES " +
+                "WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = :table")
+            .setParameter("table", table)
+            .getResultList();
+        return formats.isEmpty() ? null : String.valueOf(formats.get(0));
+    }
+
+    private void execute(String ddl) {
+        entityManager.createNativeQuery(ddl).executeUpdate();
+    }
+
+    private boolean isMySql() {
+        if (mySql == null) {
+            try (Connection connection = dataSource.getConnection()) {
+                mySql = "MySQL".equalsIgnoreCase(connection.getMetaData().getDatabaseProductName());
+            } catch (Exception e) {
+                log.warn("Could not determine the trips database: {}", e.getMessage());
+                return false;
+            }
+            if (!mySql) {
+                log.info("Trip partitioning needs MySQL; leaving trips unpartitioned");
+            }
+        }
+        return mySql;
+    }
+}
@@ -0,0 +1,302 @@
+package com.pm.tripservice.service;
+
+import com.pm.tripservice.dto.RollupGroupBy;
+import com.pm.tripservice.dto.TripRollupDTO;
+import com.pm.tripservice.model.BillingModel;
+import com.pm.tripservice.model.Trip;
+import com.pm.tripservice.model.TripDailyRollup;
+import com.pm.tripservice.model.TripStatus;
+import com.pm.tripservice.model.TripTimeWindows;
+import com.pm.tripservice.repository.TripRepository;
+import com.pm.tripservice.repository.TripRollupRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.*;
+import java.util.*;
+import java.util.stream.Stream;
+
+/**
+ * Maintains the daily trip rollups that reports are served from.
+ * A trip contributes to exactly one rollup row while it is COMPLETED. Every trip change
+ * is applied as (new contribution - old contribution), so the rollups never need a rescan.
+ * Day and hour buckets use the same zone as the trip date-range queries.
+ */
+@Service
+@Transactional
+public class TripRollupService {
+
+    private static final Logger log = LoggerFactory.getLogger(TripRollupService.class);
+
+    @Autowired
+    private TripRollupRepository tripRollupRepository;
+
+    @Autowired
+    private TripRepository tripRepository;
+
+    @Autowired
+    private BillingModelCache billingModelCache;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    /**
+     * What a trip currently adds to its rollup row; null when it adds nothing (not completed)
+     * Time Complexity: O(1); the billing model comes from the cache
+     */
+    public Contribution contributionOf(Trip trip) {
+        if (trip.getStatus() != TripStatus.COMPLETED) {
+            return null;
+        }
+        return contributionOf(trip, standardTripHours(trip.getClientId(), trip.getVendorId()));
+    }
+
+    /**
+     * Move a trip's contribution from its previous to its current state
+     */
+    public void apply(Contribution before, Contribution after) {
+        if (Objects.equals(before, after)) {
+            return;
+        }
+        if (before != null) {
+            upsert(before, -1);
+        }
+        if (after != null) {
+            upsert(after, 1);
+        }
+    }
+
+    @Transactional(readOnly = true)
+    public List<TripRollupDTO> query(
+            LocalDate startDate, LocalDate endDate, UUID clientId, UUID vendorId, UUID employeeId,
+            RollupGroupBy groupBy) {
+        switch (groupBy) {
+            case CLIENT:
+                return tripRollupRepository.groupByClient(startDate, endDate, clientId, vendorId, employeeId);
+            case VENDOR:
+                return tripRollupRepository.groupByVendor(startDate, endDate, clientId, vendorId, employeeId);
+            case EMPLOYEE:
+                return tripRollupRepository.groupByEmployee(startDate, endDate, clientId, vendorId, employeeId);
+            case DEPARTMENT:
+                return tripRollupRepository.groupByDepartment(startDate, endDate, clientId, vendorId, employeeId);
+            case DATE:
+                return tripRollupRepository.groupByDate(startDate, endDate, clientId, vendorId, employeeId);
+            default:
+                return tripRollupRepository.totals(startDate, endDate, clientId, vendorId, employeeId);
+        }
+    }
+
+    /**
+     * Recompute the rollups of a date range from raw trips (backfill / repair).
+     * Should not run while trips of the range are being changed.
+     * Time Complexity: O(n) where n = completed trips in the range
+     *
+     * @return number of rollup rows written
+     */
+    public int rebuild(LocalDate startDate, LocalDate endDate) {
+        tripRollupRepository.deleteByTripDateRange(startDate, endDate);
+        Instant startInstant = startDate.atStartOfDay(ZoneId.systemDefault()).toInstant();
+        Instant endInstant = endDate.plusDays(1).atStartOfDay(ZoneId.systemDefault()).toInstant();
+
+        Map<Contribution, TripDailyRollup> rows = new HashMap<>();
+        Map<String, BigDecimal> standardHours = new HashMap<>();
+        try (Stream<Trip> trips = tripRepository.streamCompletedTrips(startInstant, endInstant)) {
+            trips.forEach(trip -> {
+                accumulate(rows, standardHours, trip);
+                entityManager.detach(trip);
+            });
+        }
+
+        tripRollupRepository.saveAll(rows.values());
+        return rows.size();
+    }
+
+    /**
+     * Add many new trips at once (bulk import): contributions are merged per rollup row first,
+     * so each row is upserted once instead of once per trip
+     * Time Complexity: O(n + r) where n = trips, r = distinct rollup rows touched
+     */
+    public void addAll(List<Trip> trips) {
+        Map<Contribution, TripDailyRollup> rows = new HashMap<>();
+        Map<String, BigDecimal> standardHours = new HashMap<>();
+        for (Trip trip : trips) {
+            if (trip.getStatus() == TripStatus.COMPLETED) {
+                accumulate(rows, standardHours, trip);
+            }
+        }
+
+        Instant now = Instant.now();
+        for (TripDailyRollup row : rows.values()) {
+            tripRollupRepository.upsertDelta(
+                UUID.randomUUID(), row.getClientId(), row.getVendorId(), row.getEmployeeId(),
+                row.getDepartment(), row.getTripDate(),
+                row.getTripCount(),
+                row.getDistanceKm(),
+                row.getDurationHours(),
+                row.getExtraHours(),
+                row.getMorningTrips(),
+                row.getEveningTrips(),
+                row.getLateNightTrips(),
+                row.getPeakHourTrips(),
+                row.getWeekendTrips(),
+                now);
+        }
+    }
+
+    /**
+     * One-time backfill for trips that existed before rollups did (e.g. seed data)
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfillIfEmpty() {
+        if (tripRollupRepository.count() == 0 && tripRepository.countByStatus(TripStatus.COMPLETED) > 0) {
+            int rows = rebuild(LocalDate.of(2000, 1, 1), LocalDate.now().plusYears(1));
+            log.info("Backfilled {} trip rollup rows", rows);
+        }
+    }
+
+    // Standard hours are looked up once per client-vendor pair
+    private void accumulate(Map<Contribution, TripDailyRollup> rows, Map<String, BigDecimal> standardHours, Trip trip) {
+        String pair = trip.getClientId() + "/" + trip.getVendorId();
+        if (!standardHours.containsKey(pair)) { // null (no limit) is cached too
+            standardHours.put(pair, standardTripHours(trip.getClientId(), trip.getVendorId()));
+        }
+        BigDecimal standard = standardHours.get(pair);
+        Contribution contribution = contributionOf(trip, standard);
+        add(rows.computeIfAbsent(contribution.keyOnly(), key -> newRow(contribution)), contribution);
+    }
+
+    // Start-time buckets stamped at completion win; extra hours are measured against the current
+    // standard (null: no limit, no overage), the rule of the billing aggregate
+    private Contribution contributionOf(Trip trip, BigDecimal standardTripHours) {
+        ZonedDateTime start = trip.getTripStartTime().atZone(ZoneId.systemDefault());
+        int hour = start.getHour();
+        boolean lateNight = trip.getLateNight() != null ? trip.getLateNight() : TripTimeWindows.isLateNight(hour);
+        boolean peak = trip.getPeakHour() != null ? trip.getPeakHour() : TripTimeWindows.isPeakHour(hour);
+        boolean weekend = trip.getWeekend() != null ? trip.getWeekend() : TripTimeWindows.isWeekend(start);
+
+        BigDecimal distance = trip.getDistanceKm() != null ? trip.getDistanceKm() : BigDecimal.ZERO;
+        BigDecimal hours = trip.getDurationHours() != null ? trip.getDurationHours() : BigDecimal.ZERO;
+        BigDecimal extraHours = standardTripHours != null
+            ? hours.subtract(standardTripHours).max(BigDecimal.ZERO) : BigDecimal.ZERO;
+
+        Contribution c = new Contribution();
+        c.clientId = trip.getClientId();
+        c.vendorId = trip.getVendorId();
+        c.employeeId = trip.getEmployeeId();
+        c.department = trip.getDepartment() != null && !trip.getDepartment().isBlank()
+            ? trip.getDepartment() : TripDailyRollup.UNASSIGNED_DEPARTMENT;
+        c.tripDate = start.toLocalDate();
+        c.distanceKm = distance;
+        c.durationHours = hours;
+        c.extraHours = extraHours;
+        c.morningTrips = !lateNight && hour < TripTimeWindows.NOON ? 1 : 0;
+        c.eveningTrips = !lateNight && hour >= TripTimeWindows.NOON ? 1 : 0;
+        c.lateNightTrips = lateNight ? 1 : 0;
+        c.peakHourTrips = peak ? 1 : 0;
+        c.weekendTrips = weekend ? 1 : 0;
+        return c;
+    }
+
+    // Null without a model or limit: no overage, as in the billing aggregate
+    private BigDecimal standardTripHours(UUID clientId, UUID vendorId) {
+        return billingModelCache.get(clientId, vendorId)
+            .map(BillingModel::getStandardTripHours)
+            .orElse(null);
+    }
+
+    private void upsert(Contribution c, int sign) {
+        BigDecimal factor = BigDecimal.valueOf(sign);
+        tripRollupRepository.upsertDelta(
+            UUID.randomUUID(), c.clientId, c.vendorId, c.employeeId, c.department, c.tripDate,
+            sign,
+            c.distanceKm.multiply(factor),
+            c.durationHours.multiply(factor),
+            c.extraHours.multiply(factor),
+            sign * c.morningTrips,
+            sign * c.eveningTrips,
+            sign * c.lateNightTrips,
+            sign * c.peakHourTrips,
+            sign * c.weekendTrips,
+            Instant.now());
+    }
+
+    private TripDailyRollup newRow(Contribution c) {
+        TripDailyRollup row = new TripDailyRollup();
+        row.setClientId(c.clientId);
+        row.setVendorId(c.vendorId);
+        row.setEmployeeId(c.employeeId);
+        row.setDepartment(c.department);
+        row.setTripDate(c.tripDate);
+        return row;
+    }
+
+    private void add(TripDailyRollup row, Contribution c) {
+        row.setTripCount(row.getTripCount() + 1);
+        row.setDistanceKm(row.getDistanceKm().add(c.distanceKm));
+        row.setDurationHours(row.getDurationHours().add(c.durationHours));
+        row.setExtraHours(row.getExtraHours().add(c.extraHours));
+        row.setMorningTrips(row.getMorningTrips() + c.morningTrips);
+        row.setEveningTrips(row.getEveningTrips() + c.eveningTrips);
+        row.setLateNightTrips(row.getLateNightTrips() + c.lateNightTrips);
+        row.setPeakHourTrips(row.getPeakHourTrips() + c.peakHourTrips);
+        row.setWeekendTrips(row.getWeekendTrips() + c.weekendTrips);
+    }
+
+    /**
+     * One completed trip's share of a rollup row: the row key plus the amounts it adds
+     */
+    public static final class Contribution {
+        private UUID clientId;
+        private UUID vendorId;
+        private UUID employeeId;
+        private String department;
+        private LocalDate tripDate;
+        private BigDecimal distanceKm = BigDecimal.ZERO;
+        private BigDecimal durationHours = BigDecimal.ZERO;
+        private BigDecimal extraHours = BigDecimal.ZERO;
+        private int morningTrips;
+        private int eveningTrips;
+        private int lateNightTrips;
+        private int peakHourTrips;
+        private int weekendTrips;
+
+        private Contribution keyOnly() {
+            Contribution key = new Contribution();
+            key.clientId = clientId;
+            key.vendorId = vendorId;
+            key.employeeId = employeeId;
+            key.department = department;
+            key.tripDate = tripDate;
+            return key;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof Contribution)) return false;
+            Contribution other = (Contribution) o;
+            return clientId.equals(other.clientId) && vendorId.equals(other.vendorId)
+                && employeeId.equals(other.employeeId) && department.equals(other.department)
+                && tripDate.equals(other.tripDate)
+                && distanceKm.compareTo(other.distanceKm) == 0
+                && durationHours.compareTo(other.durationHours) == 0
+                && extraHours.compareTo(other.extraHours) == 0
+                && morningTrips == other.morningTrips && eveningTrips == other.eveningTrips
+                && lateNightTrips == other.lateNightTrips && peakHourTrips == other.peakHourTrips
+                && weekendTrips == other.weekendTrips;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(clientId, vendorId, employeeId, department, tripDate);
+        }
+    }
+}
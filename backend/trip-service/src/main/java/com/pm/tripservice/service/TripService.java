@@ -1,13 +1,23 @@
 package com.pm.tripservice.service;
 
+import com.pm.tripservice.dto.EmployeeTripTotalDTO;
+import com.pm.tripservice.dto.TripAggregateDTO;
+import com.pm.tripservice.dto.TripBillingRecordDTO;
+import com.pm.tripservice.dto.TripEventRecountDTO;
+import com.pm.tripservice.dto.TripIncentiveRecordDTO;
+import com.pm.tripservice.dto.TripPageDTO;
 import com.pm.tripservice.dto.TripRequestDTO;
 import com.pm.tripservice.dto.TripResponseDTO;
 import com.pm.tripservice.exception.TripNotFoundException;
 import com.pm.tripservice.mapper.TripMapper;
 import com.pm.tripservice.model.Trip;
+import com.pm.tripservice.model.TripSnapshot;
+import com.pm.tripservice.model.TripEventType;
 import com.pm.tripservice.model.TripStatus;
 import com.pm.tripservice.repository.TripRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -15,20 +25,53 @@ import java.math.BigDecimal;
 import java.time.Instant;
 import java.time.LocalDate;
 import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 @Transactional
 public class TripService {
 
+    // Keyset page order, (tripStartTime, id) descending; ids compare as the database compares them,
+    // byte by byte (unsigned), not as UUID.compareTo does
+    private static final Comparator<Trip> NEWEST_FIRST = Comparator
+            .comparing(Trip::getTripStartTime)
+            .thenComparing(Trip::getId, Comparator
+                    .comparing((UUID id) -> id.getMostSignificantBits(), Long::compareUnsigned)
+                    .thenComparing(UUID::getLeastSignificantBits, Long::compareUnsigned))
+            .reversed();
+
     @Autowired
     private TripRepository tripRepository;
 
     @Autowired
     private TripMapper tripMapper;
 
+    @Autowired
+    private TripRollupService tripRollupService;
+
+    @Autowired
+    private TripEventService tripEventService;
+
+    @Autowired
+    private TripTimeWindowStamper tripTimeWindowStamper;
+
+    @Autowired
+    private TripArchiveReader tripArchiveReader;
+
+    @Value("${trip.page.default-size:50}")
+    private int defaultPageSize;
+
+    @Value("${trip.page.max-size:200}")
+    private int maxPageSize;
+
     public TripResponseDTO createTrip(TripRequestDTO requestDTO) {
         // Validate employee ID (optional but recommended - call Employee Service to verify)
         // Note: In production, you would call Employee Service REST API to validate:
@@ -50,60 +93,212 @@ public class TripService {
         */
         
         Trip trip = tripMapper.toEntity(requestDTO);
+        tripTimeWindowStamper.stamp(trip);
         Trip savedTrip = tripRepository.save(trip);
+        tripRollupService.apply(null, tripRollupService.contributionOf(savedTrip));
+        tripEventService.record(TripEventType.CREATED, savedTrip.getId(), null, TripSnapshot.of(savedTrip));
         return tripMapper.toResponseDTO(savedTrip);
     }
 
+    @Transactional(readOnly = true)
     public TripResponseDTO getTripById(UUID id) {
         Trip trip = tripRepository.findById(id)
+                .or(() -> tripArchiveReader.findById(id))
                 .orElseThrow(() -> new TripNotFoundException("Trip not found with id: " + id));
         return tripMapper.toResponseDTO(trip);
     }
 
-    public List<TripResponseDTO> getAllTrips() {
-        return tripRepository.findAll().stream()
-                .map(tripMapper::toResponseDTO)
-                .collect(Collectors.toList());
+    @Transactional(readOnly = true)
+    public TripPageDTO getAllTrips(String cursor, Integer size) {
+        TripCursor after = TripCursor.decode(cursor);
+        int pageSize = pageSize(size);
+        return toPage(tripRepository.findPageAfter(
+                after.getTripStartTime(), after.getId(), Limit.of(pageSize + 1)), null, null, after, pageSize);
     }
 
-    public List<TripResponseDTO> getTripsByClient(UUID clientId) {
-        return tripRepository.findByClientId(clientId).stream()
-                .map(tripMapper::toResponseDTO)
-                .collect(Collectors.toList());
+    @Transactional(readOnly = true)
+    public TripPageDTO getTripsByClient(UUID clientId, String cursor, Integer size) {
+        TripCursor after = TripCursor.decode(cursor);
+        int pageSize = pageSize(size);
+        return toPage(tripRepository.findClientPageAfter(
+                clientId, after.getTripStartTime(), after.getId(), Limit.of(pageSize + 1)),
+                TripArchiveReader.CLIENT, clientId, after, pageSize);
     }
 
-    public List<TripResponseDTO> getTripsByEmployee(UUID employeeId) {
-        return tripRepository.findByEmployeeId(employeeId).stream()
-                .map(tripMapper::toResponseDTO)
-                .collect(Collectors.toList());
+    @Transactional(readOnly = true)
+    public TripPageDTO getTripsByEmployee(UUID employeeId, String cursor, Integer size) {
+        TripCursor after = TripCursor.decode(cursor);
+        int pageSize = pageSize(size);
+        return toPage(tripRepository.findEmployeePageAfter(
+                employeeId, after.getTripStartTime(), after.getId(), Limit.of(pageSize + 1)),
+                TripArchiveReader.EMPLOYEE, employeeId, after, pageSize);
+    }
+
+    @Transactional(readOnly = true)
+    public TripPageDTO getTripsByVendor(UUID vendorId, String cursor, Integer size) {
+        TripCursor after = TripCursor.decode(cursor);
+        int pageSize = pageSize(size);
+        return toPage(tripRepository.findVendorPageAfter(
+                vendorId, after.getTripStartTime(), after.getId(), Limit.of(pageSize + 1)),
+                TripArchiveReader.VENDOR, vendorId, after, pageSize);
+    }
+
+    private int pageSize(Integer requested) {
+        if (requested == null) {
+            return defaultPageSize;
+        }
+        if (requested < 1) {
+            throw new IllegalArgumentException("Page size must be at least 1");
+        }
+        return Math.min(requested, maxPageSize);
     }
 
-    public List<TripResponseDTO> getTripsByVendor(UUID vendorId) {
-        return tripRepository.findByVendorId(vendorId).stream()
+    /**
+     * The repository fetches one row past the page; its presence means there is a next page.
+     * Archived trips all started before the end of the newest archived month, so they are merged
+     * in only once the page reaches back past it; paging then continues into the archive.
+     */
+    private TripPageDTO toPage(List<Trip> live, String ownerColumn, UUID ownerId, TripCursor after, int pageSize) {
+        List<Trip> rows = live;
+        Instant archivedUntil = tripArchiveReader.archivedUntil().orElse(null);
+        if (archivedUntil != null
+                && (live.size() <= pageSize || live.get(pageSize).getTripStartTime().isBefore(archivedUntil))) {
+            rows = new ArrayList<>(live);
+            rows.addAll(tripArchiveReader.findPageAfter(
+                    ownerColumn, ownerId, after.getTripStartTime(), after.getId(), pageSize + 1));
+            rows.sort(NEWEST_FIRST);
+            rows = rows.subList(0, Math.min(rows.size(), pageSize + 1));
+        }
+        boolean hasMore = rows.size() > pageSize;
+        List<Trip> page = hasMore ? rows.subList(0, pageSize) : rows;
+        String nextCursor = null;
+        if (hasMore) {
+            Trip last = page.get(page.size() - 1);
+            nextCursor = new TripCursor(last.getTripStartTime(), last.getId()).encode();
+        }
+        List<TripResponseDTO> trips = page.stream()
                 .map(tripMapper::toResponseDTO)
                 .collect(Collectors.toList());
+        return new TripPageDTO(trips, nextCursor);
     }
 
+    @Transactional(readOnly = true)
     public List<TripResponseDTO> getTripsByClientVendorAndDateRange(
             UUID clientId, UUID vendorId, LocalDate startDate, LocalDate endDate) {
         
         Instant startInstant = startDate.atStartOfDay(ZoneId.systemDefault()).toInstant();
         Instant endInstant = endDate.plusDays(1).atStartOfDay(ZoneId.systemDefault()).toInstant();
         
-        return tripRepository.findByClientVendorAndDateRange(clientId, vendorId, startInstant, endInstant)
-                .stream()
+        return Stream.concat(
+                tripArchiveReader.findByClientVendorAndDateRange(clientId, vendorId, startInstant, endInstant).stream(),
+                tripRepository.findByClientVendorAndDateRange(clientId, vendorId, startInstant, endInstant).stream())
                 .map(tripMapper::toResponseDTO)
                 .collect(Collectors.toList());
     }
 
+    /**
+     * Pushes every trip of a client-vendor date range to the consumer, one row at a time.
+     * Rows are unmanaged projections read from a streaming cursor, so the persistence
+     * context never grows and heap usage is independent of the number of trips.
+     * Archived months of the range come first, then the trips table.
+     */
+    @Transactional(readOnly = true)
+    public void streamBillingRecords(
+            UUID clientId, UUID vendorId, LocalDate startDate, LocalDate endDate,
+            Consumer<TripBillingRecordDTO> consumer) {
+        
+        Instant startInstant = startDate.atStartOfDay(ZoneId.systemDefault()).toInstant();
+        Instant endInstant = endDate.plusDays(1).atStartOfDay(ZoneId.systemDefault()).toInstant();
+        
+        tripArchiveReader.streamBillingRecords(clientId, vendorId, startInstant, endInstant, consumer);
+        try (Stream<TripBillingRecordDTO> records = tripRepository.streamBillingRecordsByClientVendorAndDateRange(
+                clientId, vendorId, startInstant, endInstant)) {
+            records.forEach(consumer);
+        }
+    }
+
+    /**
+     * Pushes every completed trip of a client date range to the consumer, one row at a time,
+     * for the monthly employee incentive run. Same cursor as {@link #streamBillingRecords}.
+     */
+    @Transactional(readOnly = true)
+    public void streamIncentiveRecords(
+            UUID clientId, LocalDate startDate, LocalDate endDate, Consumer<TripIncentiveRecordDTO> consumer) {
+        
+        Instant startInstant = startDate.atStartOfDay(ZoneId.systemDefault()).toInstant();
+        Instant endInstant = endDate.plusDays(1).atStartOfDay(ZoneId.systemDefault()).toInstant();
+        
+        tripArchiveReader.streamIncentiveRecords(clientId, startInstant, endInstant, consumer);
+        try (Stream<TripIncentiveRecordDTO> records = tripRepository.streamIncentiveRecordsByClientAndDateRange(
+                clientId, startInstant, endInstant)) {
+            records.forEach(consumer);
+        }
+    }
+
+    // Not readOnly: the snapshot must hold every settled event, which a lagging replica may not
+    public TripAggregateDTO aggregateTripsByClientVendorAndDateRange(
+            UUID clientId, UUID vendorId, LocalDate startDate, LocalDate endDate,
+            BigDecimal standardTripKm, BigDecimal standardTripHours, long settledThroughEventId) {
+        
+        Instant startInstant = startDate.atStartOfDay(ZoneId.systemDefault()).toInstant();
+        Instant endInstant = endDate.plusDays(1).atStartOfDay(ZoneId.systemDefault()).toInstant();
+        
+        // Same transaction, so (MySQL REPEATABLE READ) the same snapshot; the rewind backs out the
+        // events it holds past the settled frontier, so it includes exactly the events up to asOfEventId
+        TripAggregateDTO aggregate = tripRepository.aggregateByClientVendorAndDateRange(
+            clientId, vendorId, startInstant, endInstant, standardTripKm, standardTripHours);
+        TripAggregateDTO archived = tripArchiveReader.aggregate(
+            clientId, vendorId, startInstant, endInstant, standardTripKm, standardTripHours);
+        if (archived != null) {
+            aggregate.add(archived);
+        }
+        aggregate.setAsOfEventId(tripEventService.rewindToSettled(aggregate, clientId, vendorId,
+            startInstant, endInstant, standardTripKm, standardTripHours, settledThroughEventId));
+        return aggregate;
+    }
+
+    /**
+     * Completed trips and distance of every employee, exactly as of the returned settled frontier
+     * (see TripEventService.settledFrontier); a subscriber that lost events to retention restarts from it.
+     * Time Complexity: O(n) for n trips, grouped in the database
+     */
+    // Not readOnly, like the aggregate: read on the primary
+    public TripEventRecountDTO recountCompletedByEmployee(long floor) {
+        Map<UUID, EmployeeTripTotalDTO> totals = new HashMap<>();
+        Consumer<EmployeeTripTotalDTO> merge = total -> totals.merge(total.getEmployeeId(), total, (mine, other) -> {
+            mine.add(other.getCompletedTrips(), other.getDistanceKm());
+            return mine;
+        });
+        tripRepository.sumCompletedByEmployee().forEach(merge);
+        tripArchiveReader.sumCompletedByEmployee().forEach(merge);
+
+        long asOfEventId = tripEventService.settledFrontier(floor, event -> {
+            // Undo the event: remove the state it produced, restore the one it replaced
+            addCompleted(totals, event.getAfter(), -1);
+            addCompleted(totals, event.getBefore(), 1);
+        });
+        return new TripEventRecountDTO(asOfEventId, new ArrayList<>(totals.values()));
+    }
+
+    private static void addCompleted(Map<UUID, EmployeeTripTotalDTO> totals, TripSnapshot trip, int sign) {
+        if (trip == null || trip.getStatus() != TripStatus.COMPLETED || trip.getEmployeeId() == null) {
+            return;
+        }
+        BigDecimal distance = trip.getDistanceKm() != null ? trip.getDistanceKm() : BigDecimal.ZERO;
+        totals.computeIfAbsent(trip.getEmployeeId(), id -> new EmployeeTripTotalDTO(id, 0L, BigDecimal.ZERO))
+            .add(sign, distance.multiply(BigDecimal.valueOf(sign)));
+    }
+
+    @Transactional(readOnly = true)
     public List<TripResponseDTO> getTripsByEmployeeAndDateRange(
             UUID employeeId, LocalDate startDate, LocalDate endDate) {
         
         Instant startInstant = startDate.atStartOfDay(ZoneId.systemDefault()).toInstant();
         Instant endInstant = endDate.plusDays(1).atStartOfDay(ZoneId.systemDefault()).toInstant();
         
-        return tripRepository.findByEmployeeAndDateRange(employeeId, startInstant, endInstant)
-                .stream()
+        return Stream.concat(
+                tripArchiveReader.findByEmployeeAndDateRange(employeeId, startInstant, endInstant).stream(),
+                tripRepository.findByEmployeeAndDateRange(employeeId, startInstant, endInstant).stream())
                 .map(tripMapper::toResponseDTO)
                 .collect(Collectors.toList());
     }
@@ -111,6 +306,8 @@ public class TripService {
     public TripResponseDTO updateTrip(UUID id, TripRequestDTO requestDTO) {
         Trip existingTrip = tripRepository.findById(id)
                 .orElseThrow(() -> new TripNotFoundException("Trip not found with id: " + id));
+        TripRollupService.Contribution before = tripRollupService.contributionOf(existingTrip);
+        TripSnapshot snapshotBefore = TripSnapshot.of(existingTrip);
 
         // Update fields
         if (requestDTO.getVehicleNumber() != null) {
@@ -137,8 +334,18 @@ public class TripService {
         if (requestDTO.getNotes() != null) {
             existingTrip.setNotes(requestDTO.getNotes());
         }
+        if (requestDTO.getDepartment() != null) {
+            existingTrip.setDepartment(requestDTO.getDepartment());
+        }
 
+        tripTimeWindowStamper.stamp(existingTrip);
         Trip updatedTrip = tripRepository.save(existingTrip);
+        tripRollupService.apply(before, tripRollupService.contributionOf(updatedTrip));
+        TripSnapshot snapshotAfter = TripSnapshot.of(updatedTrip);
+        if (!snapshotBefore.equals(snapshotAfter)) {
+            // Edits to driver, vehicle, notes etc. concern no event consumer
+            tripEventService.record(TripEventType.UPDATED, id, snapshotBefore, snapshotAfter);
+        }
         return tripMapper.toResponseDTO(updatedTrip);
     }
 
@@ -146,8 +353,13 @@ public class TripService {
         Trip trip = tripRepository.findById(id)
                 .orElseThrow(() -> new TripNotFoundException("Trip not found with id: " + id));
 
+        TripRollupService.Contribution before = tripRollupService.contributionOf(trip);
+        TripSnapshot snapshotBefore = TripSnapshot.of(trip);
         trip.completeTrip(Instant.now(), distance, dropLocation);
+        tripTimeWindowStamper.stamp(trip);
         Trip completedTrip = tripRepository.save(trip);
+        tripRollupService.apply(before, tripRollupService.contributionOf(completedTrip));
+        tripEventService.record(TripEventType.COMPLETED, id, snapshotBefore, TripSnapshot.of(completedTrip));
         return tripMapper.toResponseDTO(completedTrip);
     }
 
@@ -155,29 +367,37 @@ public class TripService {
         Trip trip = tripRepository.findById(id)
                 .orElseThrow(() -> new TripNotFoundException("Trip not found with id: " + id));
 
+        TripRollupService.Contribution before = tripRollupService.contributionOf(trip);
+        TripSnapshot snapshotBefore = TripSnapshot.of(trip);
         trip.setStatus(TripStatus.CANCELLED);
         if (reason != null) {
             trip.setNotes(trip.getNotes() != null ? 
                 trip.getNotes() + "; Cancelled: " + reason : "Cancelled: " + reason);
         }
 
+        tripTimeWindowStamper.stamp(trip);
         Trip cancelledTrip = tripRepository.save(trip);
+        tripRollupService.apply(before, null);
+        tripEventService.record(TripEventType.CANCELLED, id, snapshotBefore, TripSnapshot.of(cancelledTrip));
         return tripMapper.toResponseDTO(cancelledTrip);
     }
 
     public void deleteTrip(UUID id) {
-        if (!tripRepository.existsById(id)) {
-            throw new TripNotFoundException("Trip not found with id: " + id);
-        }
-        tripRepository.deleteById(id);
+        Trip trip = tripRepository.findById(id)
+                .orElseThrow(() -> new TripNotFoundException("Trip not found with id: " + id));
+        tripRollupService.apply(tripRollupService.contributionOf(trip), null);
+        tripEventService.record(TripEventType.DELETED, id, TripSnapshot.of(trip), null);
+        tripRepository.delete(trip);
     }
 
+    @Transactional(readOnly = true)
     public List<TripResponseDTO> getUnbilledTripsByClient(UUID clientId) {
         return tripRepository.findUnbilledTripsByClient(clientId).stream()
                 .map(tripMapper::toResponseDTO)
                 .collect(Collectors.toList());
     }
 
+    @Transactional(readOnly = true)
     public Integer countTripsByClientAndMonth(UUID clientId, LocalDate month) {
         LocalDate startOfMonth = month.withDayOfMonth(1);
         LocalDate endOfMonth = month.withDayOfMonth(month.lengthOfMonth());
@@ -185,7 +405,8 @@ public class TripService {
         Instant startInstant = startOfMonth.atStartOfDay(ZoneId.systemDefault()).toInstant();
         Instant endInstant = endOfMonth.plusDays(1).atStartOfDay(ZoneId.systemDefault()).toInstant();
         
-        return tripRepository.countByClientAndMonth(clientId, startInstant, endInstant);
+        long archived = tripArchiveReader.countByClientAndDateRange(clientId, startInstant, endInstant);
+        return Math.toIntExact(archived + tripRepository.countByClientAndMonth(clientId, startInstant, endInstant));
     }
 }
 
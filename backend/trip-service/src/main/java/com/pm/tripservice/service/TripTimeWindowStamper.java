@@ -0,0 +1,81 @@
+package com.pm.tripservice.service;
+
+import com.pm.tripservice.model.Trip;
+import com.pm.tripservice.model.TripStatus;
+import com.pm.tripservice.model.TripTimeWindows;
+import com.pm.tripservice.repository.TripRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.List;
+
+/**
+ * Stamps a trip's start-time buckets (lateNight / peakHour / weekend) when it completes, in the
+ * zone of the trip date-range queries, so rollups and the incentive feed read them instead of
+ * converting the start time on every pass. A trip that is not completed carries none of them.
+ * Overage and costs are not stamped: they depend on the billing model, which may change after the
+ * trip completes, so every reader measures them against the model in force when it reads.
+ */
+@Service
+public class TripTimeWindowStamper {
+
+    private static final Logger log = LoggerFactory.getLogger(TripTimeWindowStamper.class);
+
+    @Autowired
+    private TripRepository tripRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Value("${trip.stamp.backfill-batch-size:1000}")
+    private int backfillBatchSize = 1000;
+
+    /**
+     * Stamp (or clear) the trip's start-time buckets from its current state
+     * Time Complexity: O(1)
+     */
+    public void stamp(Trip trip) {
+        if (trip.getStatus() != TripStatus.COMPLETED) {
+            trip.setLateNight(null);
+            trip.setPeakHour(null);
+            trip.setWeekend(null);
+            return;
+        }
+        ZonedDateTime start = trip.getTripStartTime().atZone(ZoneId.systemDefault());
+        trip.setLateNight(TripTimeWindows.isLateNight(start.getHour()));
+        trip.setPeakHour(TripTimeWindows.isPeakHour(start.getHour()));
+        trip.setWeekend(TripTimeWindows.isWeekend(start));
+    }
+
+    /**
+     * One-time stamping of completed trips that predate it (e.g. seed data), in batches
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfillUnstamped() {
+        long stamped = 0;
+        while (true) {
+            Integer batch = transactionTemplate.execute(status -> {
+                List<Trip> trips = tripRepository.findByStatusAndLateNightIsNull(
+                    TripStatus.COMPLETED, Limit.of(backfillBatchSize));
+                trips.forEach(this::stamp);
+                return trips.size();
+            });
+            if (batch == null || batch == 0) {
+                break;
+            }
+            stamped += batch;
+        }
+        if (stamped > 0) {
+            log.info("Stamped start-time buckets on {} completed trips", stamped);
+        }
+    }
+}
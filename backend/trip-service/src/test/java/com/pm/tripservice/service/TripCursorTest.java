@@ -0,0 +1,67 @@
+package com.pm.tripservice.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * A page cursor must decode to exactly the (tripStartTime, id) it was encoded from,
+ * or the next page skips or repeats trips.
+ */
+class TripCursorTest {
+
+    @Test
+    void roundTripKeepsStartTimeAndId() {
+        UUID id = UUID.randomUUID();
+        Instant start = Instant.parse("2025-03-31T18:29:59.123456Z");
+
+        TripCursor decoded = TripCursor.decode(new TripCursor(start, id).encode());
+
+        assertEquals(start, decoded.getTripStartTime());
+        assertEquals(id, decoded.getId());
+    }
+
+    @Test
+    void roundTripKeepsWholeSecondsAndExtremeIds() {
+        for (UUID id : new UUID[] {new UUID(0L, 0L), new UUID(-1L, -1L), new UUID(Long.MIN_VALUE, Long.MAX_VALUE)}) {
+            Instant start = Instant.parse("2025-01-01T00:00:00Z");
+
+            TripCursor decoded = TripCursor.decode(new TripCursor(start, id).encode());
+
+            assertEquals(start, decoded.getTripStartTime());
+            assertEquals(id, decoded.getId());
+        }
+    }
+
+    @Test
+    void tokenIsUrlSafe() {
+        String token = new TripCursor(Instant.parse("2025-06-15T09:00:00.5Z"), UUID.randomUUID()).encode();
+
+        assertTrue(token.matches("[A-Za-z0-9_-]+"), token);
+    }
+
+    @Test
+    void missingCursorStartsAtTheFirstPage() {
+        assertSame(TripCursor.FIRST_PAGE, TripCursor.decode(null));
+        assertSame(TripCursor.FIRST_PAGE, TripCursor.decode(""));
+        assertSame(TripCursor.FIRST_PAGE, TripCursor.decode("  "));
+    }
+
+    @Test
+    void foreignTokensAreRejected() {
+        assertThrows(IllegalArgumentException.class, () -> TripCursor.decode("not a cursor!"));
+        assertThrows(IllegalArgumentException.class, () -> TripCursor.decode(encode("v2|2025-01-01T00:00:00Z|" + UUID.randomUUID())));
+        assertThrows(IllegalArgumentException.class, () -> TripCursor.decode(encode("v1|yesterday|" + UUID.randomUUID())));
+        assertThrows(IllegalArgumentException.class, () -> TripCursor.decode(encode("v1|2025-01-01T00:00:00Z|trip-42")));
+        assertThrows(IllegalArgumentException.class, () -> TripCursor.decode(encode("v1|2025-01-01T00:00:00Z")));
+    }
+
+    private static String encode(String raw) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+}
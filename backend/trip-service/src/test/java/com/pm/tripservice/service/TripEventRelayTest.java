@@ -0,0 +1,112 @@
+package com.pm.tripservice.service;
+
+import com.pm.tripservice.config.TripEventRelayProperties;
+import com.pm.tripservice.dto.TripEventPageDTO;
+import com.pm.tripservice.dto.TripEventRecountDTO;
+import com.pm.tripservice.model.TripEventSubscription;
+import com.pm.tripservice.repository.TripEventSubscriptionRepository;
+import com.pm.tripservice.repository.TripOutboxRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+
+/**
+ * A subscriber whose position fell behind the outbox's retention gets a recount instead of a
+ * batch, and resumes the feed from the recount's event
+ */
+class TripEventRelayTest {
+
+    private final TripEventSubscription subscription = new TripEventSubscription("employee-service", 5L);
+
+    private TripOutboxRepository tripOutboxRepository;
+    private TripEventService tripEventService;
+    private TripService tripService;
+    private TripEventRelay relay;
+
+    @BeforeEach
+    void setUp() {
+        tripOutboxRepository = mock(TripOutboxRepository.class);
+        tripEventService = mock(TripEventService.class);
+        tripService = mock(TripService.class);
+        TripEventSubscriptionRepository subscriptionRepository = mock(TripEventSubscriptionRepository.class);
+        when(subscriptionRepository.findForUpdate("employee-service")).thenReturn(Optional.of(subscription));
+        TransactionTemplate transactionTemplate = mock(TransactionTemplate.class);
+        when(transactionTemplate.execute(any())).thenAnswer(
+            invocation -> invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+
+        relay = new TripEventRelay();
+        ReflectionTestUtils.setField(relay, "tripOutboxRepository", tripOutboxRepository);
+        ReflectionTestUtils.setField(relay, "tripEventService", tripEventService);
+        ReflectionTestUtils.setField(relay, "tripService", tripService);
+        ReflectionTestUtils.setField(relay, "tripEventSubscriptionRepository", subscriptionRepository);
+        ReflectionTestUtils.setField(relay, "transactionTemplate", transactionTemplate);
+        ReflectionTestUtils.setField(relay, "properties", new TripEventRelayProperties());
+    }
+
+    @Test
+    void purgedEventsAreReplacedByARecount() {
+        when(tripOutboxRepository.findOldestId()).thenReturn(9L);
+        when(tripService.recountCompletedByEmployee(8L)).thenReturn(new TripEventRecountDTO(12L, List.of()));
+        when(tripEventService.settledAfter(anyLong(), anyInt())).thenReturn(List.of());
+        RecordingSubscriber subscriber = new RecordingSubscriber(false);
+
+        relay.relay(subscriber);
+
+        assertEquals(1, subscriber.recounts.size());
+        assertEquals(12L, subscription.getLastEventId());
+        assertNull(subscription.getLastError());
+        verify(tripEventService).settledAfter(12L, 500);
+    }
+
+    @Test
+    void failedRecountKeepsThePosition() {
+        when(tripOutboxRepository.findOldestId()).thenReturn(9L);
+        when(tripService.recountCompletedByEmployee(8L)).thenReturn(new TripEventRecountDTO(12L, List.of()));
+
+        relay.relay(new RecordingSubscriber(true));
+
+        assertEquals(5L, subscription.getLastEventId());
+        assertEquals("unreachable", subscription.getLastError());
+        verify(tripEventService, never()).settledAfter(anyLong(), anyInt());
+    }
+
+    private static final class RecordingSubscriber implements TripEventSubscriber {
+
+        private final boolean failing;
+        private final List<TripEventRecountDTO> recounts = new ArrayList<>();
+
+        RecordingSubscriber(boolean failing) {
+            this.failing = failing;
+        }
+
+        @Override
+        public String name() {
+            return "employee-service";
+        }
+
+        @Override
+        public void deliver(TripEventPageDTO batch) {
+            throw new AssertionError("No batch expected");
+        }
+
+        @Override
+        public void recount(TripEventRecountDTO recount) {
+            if (failing) {
+                throw new IllegalStateException("unreachable");
+            }
+            recounts.add(recount);
+        }
+    }
+}
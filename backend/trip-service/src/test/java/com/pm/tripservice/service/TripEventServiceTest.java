@@ -0,0 +1,130 @@
+package com.pm.tripservice.service;
+
+import com.pm.tripservice.dto.TripAggregateDTO;
+import com.pm.tripservice.model.TripEventType;
+import com.pm.tripservice.model.TripOutboxEvent;
+import com.pm.tripservice.model.TripSnapshot;
+import com.pm.tripservice.repository.TripOutboxRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * An aggregate rewound to the settled frontier must hold exactly the events up to it: events the
+ * snapshot already holds past the frontier are backed out, so a consumer applying them from the
+ * feed counts each trip change once.
+ */
+class TripEventServiceTest {
+
+    private static final BigDecimal STANDARD_KM = new BigDecimal("15.00");
+    private static final BigDecimal STANDARD_HOURS = new BigDecimal("1.00");
+
+    private final UUID clientId = UUID.randomUUID();
+    private final UUID vendorId = UUID.randomUUID();
+    private final Instant start = Instant.parse("2025-03-01T00:00:00Z");
+    private final Instant end = Instant.parse("2025-04-01T00:00:00Z");
+
+    private TripOutboxRepository tripOutboxRepository;
+    private TripEventService tripEventService;
+
+    @BeforeEach
+    void setUp() {
+        tripOutboxRepository = mock(TripOutboxRepository.class);
+        tripEventService = new TripEventService();
+        ReflectionTestUtils.setField(tripEventService, "tripOutboxRepository", tripOutboxRepository);
+        ReflectionTestUtils.setField(tripEventService, "settle", Duration.ofSeconds(2));
+        ReflectionTestUtils.setField(tripEventService, "maxPageSize", 1000);
+    }
+
+    @Test
+    void eventsPastTheFrontierAreBackedOut() {
+        TripSnapshot before = trip(clientId, "10.00", "0.50");
+        TripSnapshot after = trip(clientId, "22.50", "1.25");
+        TripSnapshot created = trip(clientId, "16.00", "2.00");
+        when(tripOutboxRepository.findBefore(anyLong(), any())).thenReturn(List.of(
+            event(12, TripEventType.CREATED, null, created, Instant.now()),
+            event(11, TripEventType.UPDATED, before, after, Instant.now()),
+            event(10, TripEventType.CREATED, null, before, Instant.now().minusSeconds(60))));
+        // Snapshot holds the updated trip, the created one and a settled 30 km / 1.5 h trip
+        TripAggregateDTO aggregate = aggregate(3, "68.50", "4.75", "23.50", "1.75");
+
+        long frontier = tripEventService.rewindToSettled(
+            aggregate, clientId, vendorId, start, end, STANDARD_KM, STANDARD_HOURS, 0L);
+
+        assertEquals(10L, frontier);
+        assertEquals(2L, aggregate.getTripCount());
+        assertEquals(0, new BigDecimal("40.00").compareTo(aggregate.getTotalDistanceKm()));
+        assertEquals(0, new BigDecimal("2.00").compareTo(aggregate.getTotalDurationHours()));
+        assertEquals(0, new BigDecimal("15.00").compareTo(aggregate.getExtraKm()));
+        assertEquals(0, new BigDecimal("0.50").compareTo(aggregate.getExtraHours()));
+    }
+
+    @Test
+    void frontierNeverFallsBelowTheConsumerPosition() {
+        when(tripOutboxRepository.findBefore(anyLong(), any())).thenReturn(List.of(
+            event(8, TripEventType.CREATED, null, trip(clientId, "5.00", "0.25"), Instant.now()),
+            event(7, TripEventType.CREATED, null, trip(clientId, "6.00", "0.25"), Instant.now())));
+        TripAggregateDTO aggregate = aggregate(2, "11.00", "0.50", "0", "0");
+
+        long frontier = tripEventService.rewindToSettled(
+            aggregate, clientId, vendorId, start, end, STANDARD_KM, STANDARD_HOURS, 7L);
+
+        assertEquals(7L, frontier);
+        assertEquals(1L, aggregate.getTripCount());
+        assertEquals(0, new BigDecimal("6.00").compareTo(aggregate.getTotalDistanceKm()));
+    }
+
+    @Test
+    void eventsOutsideThePairOrMonthAreIgnored() {
+        TripSnapshot otherClient = trip(UUID.randomUUID(), "50.00", "3.00");
+        TripSnapshot nextMonth = trip(clientId, "50.00", "3.00");
+        nextMonth.setTripStartTime(end);
+        when(tripOutboxRepository.findBefore(anyLong(), any())).thenReturn(List.of(
+            event(5, TripEventType.CREATED, null, otherClient, Instant.now()),
+            event(4, TripEventType.CREATED, null, nextMonth, Instant.now())));
+        TripAggregateDTO aggregate = aggregate(1, "12.00", "0.75", "0", "0");
+
+        long frontier = tripEventService.rewindToSettled(
+            aggregate, clientId, vendorId, start, end, STANDARD_KM, STANDARD_HOURS, 0L);
+
+        assertEquals(0L, frontier);
+        assertEquals(1L, aggregate.getTripCount());
+        assertEquals(0, new BigDecimal("12.00").compareTo(aggregate.getTotalDistanceKm()));
+    }
+
+    private TripSnapshot trip(UUID clientId, String distanceKm, String durationHours) {
+        TripSnapshot trip = new TripSnapshot();
+        trip.setClientId(clientId);
+        trip.setVendorId(vendorId);
+        trip.setTripStartTime(start.plus(Duration.ofDays(3)));
+        trip.setDistanceKm(new BigDecimal(distanceKm));
+        trip.setDurationHours(new BigDecimal(durationHours));
+        return trip;
+    }
+
+    private static TripOutboxEvent event(long id, TripEventType type, TripSnapshot before, TripSnapshot after,
+                                         Instant occurredAt) {
+        TripOutboxEvent event = new TripOutboxEvent(type, UUID.randomUUID(), before, after);
+        event.setId(id);
+        event.setOccurredAt(occurredAt);
+        return event;
+    }
+
+    private static TripAggregateDTO aggregate(long trips, String distanceKm, String durationHours,
+                                              String extraKm, String extraHours) {
+        return new TripAggregateDTO(trips, new BigDecimal(distanceKm), new BigDecimal(durationHours),
+            new BigDecimal(extraKm), new BigDecimal(extraHours));
+    }
+}
@@ -0,0 +1,129 @@
+package com.pm.tripservice.service;
+
+import com.pm.tripservice.dto.TripAggregateDTO;
+import com.pm.tripservice.model.BillingModel;
+import com.pm.tripservice.model.BillingModelType;
+import com.pm.tripservice.model.Trip;
+import com.pm.tripservice.model.TripEventType;
+import com.pm.tripservice.model.TripOutboxEvent;
+import com.pm.tripservice.model.TripSnapshot;
+import com.pm.tripservice.model.TripStatus;
+import com.pm.tripservice.model.TripType;
+import com.pm.tripservice.repository.TripOutboxRepository;
+import com.pm.tripservice.repository.TripRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * A model with an unset limit means no overage on that limit wherever it is measured: the billing
+ * aggregate, the rollups and the event rewind of the aggregate must agree.
+ */
+@DataJpaTest(properties = {
+    "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+    "spring.sql.init.mode=never"
+})
+class TripOverageConsistencyTest {
+
+    private final UUID clientId = UUID.randomUUID();
+    private final UUID vendorId = UUID.randomUUID();
+    private final Instant start = Instant.parse("2025-03-01T00:00:00Z");
+    private final Instant end = Instant.parse("2025-04-01T00:00:00Z");
+
+    @Autowired
+    private TripRepository tripRepository;
+
+    private BillingModel model;
+    private TripRollupService tripRollupService;
+    private TripOutboxRepository tripOutboxRepository;
+    private TripEventService tripEventService;
+
+    @BeforeEach
+    void setUp() {
+        // Km limit set, hours limit unset
+        model = new BillingModel();
+        model.setClientId(clientId);
+        model.setVendorId(vendorId);
+        model.setModelType(BillingModelType.TRIP);
+        model.setStandardTripKm(new BigDecimal("15.00"));
+
+        BillingModelCache billingModelCache = mock(BillingModelCache.class);
+        when(billingModelCache.get(clientId, vendorId)).thenReturn(Optional.of(model));
+        tripRollupService = new TripRollupService();
+        ReflectionTestUtils.setField(tripRollupService, "billingModelCache", billingModelCache);
+
+        tripOutboxRepository = mock(TripOutboxRepository.class);
+        tripEventService = new TripEventService();
+        ReflectionTestUtils.setField(tripEventService, "tripOutboxRepository", tripOutboxRepository);
+        ReflectionTestUtils.setField(tripEventService, "settle", Duration.ofSeconds(2));
+        ReflectionTestUtils.setField(tripEventService, "maxPageSize", 1000);
+    }
+
+    @Test
+    void unsetLimitMeansNoOverageEverywhere() {
+        Trip longTrip = tripRepository.save(completedTrip("22.50", "1.75"));
+        Trip shortTrip = tripRepository.save(completedTrip("12.00", "0.50"));
+
+        TripAggregateDTO aggregate = tripRepository.aggregateByClientVendorAndDateRange(
+            clientId, vendorId, start, end, model.getStandardTripKm(), model.getStandardTripHours());
+        assertEquals(2L, aggregate.getTripCount());
+        assertEquals(0, new BigDecimal("7.50").compareTo(aggregate.getExtraKm()));
+        assertEquals(0, BigDecimal.ZERO.compareTo(aggregate.getExtraHours()));
+
+        BigDecimal rollupExtraHours = extraHours(tripRollupService.contributionOf(longTrip))
+            .add(extraHours(tripRollupService.contributionOf(shortTrip)));
+        assertEquals(0, aggregate.getExtraHours().compareTo(rollupExtraHours));
+
+        // Backing out both trips' creation must take the aggregate back to exactly nothing
+        when(tripOutboxRepository.findBefore(anyLong(), any())).thenReturn(List.of(
+            created(2, shortTrip), created(1, longTrip)));
+        tripEventService.rewindToSettled(aggregate, clientId, vendorId, start, end,
+            model.getStandardTripKm(), model.getStandardTripHours(), 0L);
+        assertEquals(0L, aggregate.getTripCount());
+        assertEquals(0, BigDecimal.ZERO.compareTo(aggregate.getExtraKm()));
+        assertEquals(0, BigDecimal.ZERO.compareTo(aggregate.getExtraHours()));
+    }
+
+    private Trip completedTrip(String distanceKm, String durationHours) {
+        Trip trip = new Trip();
+        trip.setClientId(clientId);
+        trip.setVendorId(vendorId);
+        trip.setEmployeeId(UUID.randomUUID());
+        trip.setVehicleNumber("KA01AB1234");
+        trip.setDriverName("Driver");
+        trip.setTripStartTime(start.plus(Duration.ofDays(3)));
+        trip.setTripEndTime(start.plus(Duration.ofDays(3)).plus(Duration.ofHours(2)));
+        trip.setPickupLocation("Office");
+        trip.setDistanceKm(new BigDecimal(distanceKm));
+        trip.setDurationHours(new BigDecimal(durationHours));
+        trip.setTripType(TripType.HOME_TO_OFFICE);
+        trip.setStatus(TripStatus.COMPLETED);
+        return trip;
+    }
+
+    private static TripOutboxEvent created(long id, Trip trip) {
+        TripOutboxEvent event = new TripOutboxEvent(TripEventType.CREATED, trip.getId(), null, TripSnapshot.of(trip));
+        event.setId(id);
+        event.setOccurredAt(Instant.now());
+        return event;
+    }
+
+    private static BigDecimal extraHours(TripRollupService.Contribution contribution) {
+        return (BigDecimal) ReflectionTestUtils.getField(contribution, "extraHours");
+    }
+}
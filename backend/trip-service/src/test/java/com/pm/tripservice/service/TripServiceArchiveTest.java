@@ -0,0 +1,98 @@
+package com.pm.tripservice.service;
+
+import com.pm.tripservice.dto.TripPageDTO;
+import com.pm.tripservice.dto.TripResponseDTO;
+import com.pm.tripservice.mapper.TripMapper;
+import com.pm.tripservice.model.Trip;
+import com.pm.tripservice.repository.TripRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Limit;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * Reads that reach back into archived months see the archived trips too: keyset pages continue
+ * into the archive in the same order, and monthly counts include it.
+ */
+class TripServiceArchiveTest {
+
+    private final UUID clientId = UUID.randomUUID();
+    // Newest archived month is February 2025
+    private final Instant archivedUntil = Instant.parse("2025-03-01T00:00:00Z");
+
+    private TripRepository tripRepository;
+    private TripArchiveReader tripArchiveReader;
+    private TripService tripService;
+
+    @BeforeEach
+    void setUp() {
+        tripRepository = mock(TripRepository.class);
+        tripArchiveReader = mock(TripArchiveReader.class);
+        when(tripArchiveReader.archivedUntil()).thenReturn(Optional.of(archivedUntil));
+        tripService = new TripService();
+        ReflectionTestUtils.setField(tripService, "tripRepository", tripRepository);
+        ReflectionTestUtils.setField(tripService, "tripArchiveReader", tripArchiveReader);
+        ReflectionTestUtils.setField(tripService, "tripMapper", new TripMapper());
+        ReflectionTestUtils.setField(tripService, "defaultPageSize", 3);
+        ReflectionTestUtils.setField(tripService, "maxPageSize", 3);
+    }
+
+    @Test
+    void pageContinuesIntoTheArchive() {
+        Trip live = trip("2025-03-02T10:00:00Z");
+        Trip newestArchived = trip("2025-02-27T10:00:00Z");
+        Trip olderArchived = trip("2025-02-20T10:00:00Z");
+        Trip oldestArchived = trip("2025-02-10T10:00:00Z");
+        when(tripRepository.findClientPageAfter(eq(clientId), any(), any(), any(Limit.class))).thenReturn(List.of(live));
+        when(tripArchiveReader.findPageAfter(eq(TripArchiveReader.CLIENT), eq(clientId), any(), any(), anyInt()))
+            .thenReturn(List.of(newestArchived, olderArchived, oldestArchived));
+
+        TripPageDTO page = tripService.getTripsByClient(clientId, null, null);
+
+        assertEquals(List.of(live.getId(), newestArchived.getId(), olderArchived.getId()),
+            page.getTrips().stream().map(TripResponseDTO::getId).toList());
+        TripCursor next = TripCursor.decode(page.getNextCursor());
+        assertEquals(olderArchived.getTripStartTime(), next.getTripStartTime());
+        assertEquals(olderArchived.getId(), next.getId());
+    }
+
+    @Test
+    void fullPageOfLiveTripsSkipsTheArchive() {
+        when(tripRepository.findClientPageAfter(eq(clientId), any(), any(), any(Limit.class))).thenReturn(List.of(
+            trip("2025-03-20T10:00:00Z"), trip("2025-03-15T10:00:00Z"),
+            trip("2025-03-10T10:00:00Z"), trip("2025-03-05T10:00:00Z")));
+
+        TripPageDTO page = tripService.getTripsByClient(clientId, null, null);
+
+        assertEquals(3, page.getTrips().size());
+        assertTrue(page.isHasMore());
+        verify(tripArchiveReader, never()).findPageAfter(any(), any(), any(), any(), anyInt());
+    }
+
+    @Test
+    void monthlyCountIncludesArchivedTrips() {
+        when(tripArchiveReader.countByClientAndDateRange(eq(clientId), any(), any())).thenReturn(40L);
+        when(tripRepository.countByClientAndMonth(eq(clientId), any(), any())).thenReturn(2);
+
+        assertEquals(42, tripService.countTripsByClientAndMonth(clientId, LocalDate.of(2025, 2, 1)));
+    }
+
+    private static Trip trip(String start) {
+        Trip trip = new Trip();
+        trip.setId(UUID.randomUUID());
+        trip.setTripStartTime(Instant.parse(start));
+        return trip;
+    }
+}
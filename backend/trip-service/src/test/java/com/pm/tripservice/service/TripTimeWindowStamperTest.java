@@ -0,0 +1,54 @@
+package com.pm.tripservice.service;
+
+import com.pm.tripservice.model.Trip;
+import com.pm.tripservice.model.TripStatus;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Only the start-time buckets are stamped, in the zone of the trip date-range queries, and only on
+ * completed trips
+ */
+class TripTimeWindowStamperTest {
+
+    private final TripTimeWindowStamper stamper = new TripTimeWindowStamper();
+
+    @Test
+    void completedTripGetsItsStartTimeBuckets() {
+        // Saturday 22:30 local time
+        Trip trip = trip(TripStatus.COMPLETED, LocalDateTime.of(2025, 3, 8, 22, 30));
+
+        stamper.stamp(trip);
+
+        assertTrue(trip.getLateNight());
+        assertFalse(trip.getPeakHour());
+        assertTrue(trip.getWeekend());
+    }
+
+    @Test
+    void tripThatIsNoLongerCompletedIsCleared() {
+        Trip trip = trip(TripStatus.COMPLETED, LocalDateTime.of(2025, 3, 10, 9, 0));
+        stamper.stamp(trip);
+        trip.setStatus(TripStatus.CANCELLED);
+
+        stamper.stamp(trip);
+
+        assertNull(trip.getLateNight());
+        assertNull(trip.getPeakHour());
+        assertNull(trip.getWeekend());
+    }
+
+    private static Trip trip(TripStatus status, LocalDateTime start) {
+        Trip trip = new Trip();
+        trip.setClientId(UUID.randomUUID());
+        trip.setVendorId(UUID.randomUUID());
+        trip.setStatus(status);
+        trip.setTripStartTime(start.atZone(ZoneId.systemDefault()).toInstant());
+        return trip;
+    }
+}
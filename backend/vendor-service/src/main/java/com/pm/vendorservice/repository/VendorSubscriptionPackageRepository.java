@@ -4,6 +4,7 @@ import com.pm.vendorservice.model.VendorSubscriptionPackage;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -15,6 +16,9 @@ public interface VendorSubscriptionPackageRepository extends JpaRepository<Vendo
     
     List<VendorSubscriptionPackage> findByVendorIdAndActive(UUID vendorId, Boolean active);
     
+    // One IN-list query for a whole vendor listing (idx_package_vendor_id)
+    List<VendorSubscriptionPackage> findByVendorIdInAndActive(Collection<UUID> vendorIds, Boolean active);
+    
     Optional<VendorSubscriptionPackage> findByPackageCode(String packageCode);
     
     boolean existsByPackageCode(String packageCode);
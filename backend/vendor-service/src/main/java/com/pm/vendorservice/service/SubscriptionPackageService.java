@@ -11,8 +11,11 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
 import java.util.stream.Collectors;
 
@@ -49,21 +52,37 @@ public class SubscriptionPackageService {
     }
 
     public List<SubscriptionPackageResponseDTO> getAllPackages() {
-        return packageRepository.findAll().stream()
-                .map(this::mapToResponseDTO)
-                .collect(Collectors.toList());
+        return mapToResponseDTOs(packageRepository.findAll());
     }
 
     public List<SubscriptionPackageResponseDTO> getPackagesByVendorId(UUID vendorId) {
-        return packageRepository.findByVendorId(vendorId).stream()
-                .map(this::mapToResponseDTO)
-                .collect(Collectors.toList());
+        return mapToResponseDTOs(packageRepository.findByVendorId(vendorId));
     }
 
     public List<SubscriptionPackageResponseDTO> getActivePackagesByVendorId(UUID vendorId) {
-        return packageRepository.findByVendorIdAndActive(vendorId, true).stream()
-                .map(this::mapToResponseDTO)
-                .collect(Collectors.toList());
+        return mapToResponseDTOs(packageRepository.findByVendorIdAndActive(vendorId, true));
+    }
+
+    /**
+     * Active packages of many vendors in one query, grouped by vendor id.
+     * Vendor names come from the given vendors, so no vendor is looked up again.
+     */
+    @Transactional(readOnly = true)
+    public Map<UUID, List<SubscriptionPackageResponseDTO>> getActivePackagesByVendors(List<Vendor> vendors) {
+        if (vendors.isEmpty()) {
+            return new HashMap<>();
+        }
+        Map<UUID, String> vendorNames = new HashMap<>();
+        for (Vendor vendor : vendors) {
+            vendorNames.put(vendor.getId(), vendor.getName());
+        }
+
+        Map<UUID, List<SubscriptionPackageResponseDTO>> packagesByVendor = new HashMap<>();
+        for (VendorSubscriptionPackage packageEntity : packageRepository.findByVendorIdInAndActive(vendorNames.keySet(), true)) {
+            packagesByVendor.computeIfAbsent(packageEntity.getVendorId(), id -> new ArrayList<>())
+                    .add(mapToResponseDTO(packageEntity, vendorNames.get(packageEntity.getVendorId())));
+        }
+        return packagesByVendor;
     }
 
     public SubscriptionPackageResponseDTO updatePackage(Long id, SubscriptionPackageRequestDTO requestDTO) {
@@ -135,15 +154,31 @@ public class SubscriptionPackageService {
     }
 
     private SubscriptionPackageResponseDTO mapToResponseDTO(VendorSubscriptionPackage entity) {
+        String vendorName = vendorRepository.findById(entity.getVendorId())
+                .map(Vendor::getName)
+                .orElse(null);
+        return mapToResponseDTO(entity, vendorName);
+    }
+
+    // Vendor names for a whole list are loaded with one query instead of one per package
+    private List<SubscriptionPackageResponseDTO> mapToResponseDTOs(List<VendorSubscriptionPackage> entities) {
+        Set<UUID> vendorIds = entities.stream()
+                .map(VendorSubscriptionPackage::getVendorId)
+                .collect(Collectors.toSet());
+        Map<UUID, String> vendorNames = new HashMap<>();
+        for (Vendor vendor : vendorRepository.findAllById(vendorIds)) {
+            vendorNames.put(vendor.getId(), vendor.getName());
+        }
+        return entities.stream()
+                .map(entity -> mapToResponseDTO(entity, vendorNames.get(entity.getVendorId())))
+                .collect(Collectors.toList());
+    }
+
+    private SubscriptionPackageResponseDTO mapToResponseDTO(VendorSubscriptionPackage entity, String vendorName) {
         SubscriptionPackageResponseDTO dto = new SubscriptionPackageResponseDTO();
         dto.setId(entity.getId());
         dto.setVendorId(entity.getVendorId());
-        
-        // Get vendor name
-        vendorRepository.findById(entity.getVendorId()).ifPresent(vendor -> {
-            dto.setVendorName(vendor.getName());
-        });
-        
+        dto.setVendorName(vendorName);
         dto.setPackageCode(entity.getPackageCode());
         dto.setPackageName(entity.getPackageName());
         dto.setDescription(entity.getDescription());
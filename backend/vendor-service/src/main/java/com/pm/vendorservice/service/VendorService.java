@@ -12,7 +12,9 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 import java.util.stream.Collectors;
 
@@ -39,36 +41,42 @@ public class VendorService {
         return vendorMapper.toResponseDTO(savedVendor);
     }
 
+    @Transactional(readOnly = true)
     public VendorResponseDTO getVendorById(UUID id) {
         Vendor vendor = vendorRepository.findById(id)
                 .orElseThrow(() -> new VendorNotFoundException("Vendor not found with id: " + id));
         return vendorMapper.toResponseDTO(vendor);
     }
 
+    @Transactional(readOnly = true)
     public VendorResponseDTO getVendorByCode(String code) {
         Vendor vendor = vendorRepository.findByCode(code)
                 .orElseThrow(() -> new VendorNotFoundException("Vendor not found with code: " + code));
         return vendorMapper.toResponseDTO(vendor);
     }
 
+    @Transactional(readOnly = true)
     public List<VendorResponseDTO> getAllVendors() {
         return vendorRepository.findAll().stream()
                 .map(vendorMapper::toResponseDTO)
                 .collect(Collectors.toList());
     }
 
+    @Transactional(readOnly = true)
     public List<VendorResponseDTO> getActiveVendors() {
         return vendorRepository.findByActive(true).stream()
                 .map(vendorMapper::toResponseDTO)
                 .collect(Collectors.toList());
     }
 
+    @Transactional(readOnly = true)
     public List<VendorResponseDTO> getVendorsByClient(UUID clientId) {
         return vendorRepository.findByClientId(clientId).stream()
                 .map(vendorMapper::toResponseDTO)
                 .collect(Collectors.toList());
     }
 
+    @Transactional(readOnly = true)
     public List<VendorResponseDTO> getActiveVendorsByClient(UUID clientId) {
         return vendorRepository.findByClientIdAndActive(clientId, true).stream()
                 .map(vendorMapper::toResponseDTO)
@@ -108,56 +116,65 @@ public class VendorService {
         vendorRepository.deleteById(id);
     }
     
+    @Transactional(readOnly = true)
     public VendorWithPackagesDTO getVendorWithPackages(UUID id) {
         Vendor vendor = vendorRepository.findById(id)
                 .orElseThrow(() -> new VendorNotFoundException("Vendor not found with id: " + id));
-        
-        VendorWithPackagesDTO dto = new VendorWithPackagesDTO();
-        dto.setId(vendor.getId());
-        dto.setName(vendor.getName());
-        dto.setCode(vendor.getCode());
-        dto.setClientId(vendor.getClientId());
-        dto.setServiceType(vendor.getServiceType());
-        dto.setAddress(vendor.getAddress());
-        dto.setContactEmail(vendor.getContactEmail());
-        dto.setContactPhone(vendor.getContactPhone());
-        dto.setContactPerson(vendor.getContactPerson());
-        dto.setTaxId(vendor.getTaxId());
-        dto.setActive(vendor.getActive());
-        dto.setCreatedAt(vendor.getCreatedAt());
-        dto.setUpdatedAt(vendor.getUpdatedAt());
-        
-        // Get all active packages for this vendor
-        List<SubscriptionPackageResponseDTO> packages = packageService.getActivePackagesByVendorId(id);
-        dto.setPackages(packages);
-        
-        return dto;
+        return toWithPackagesDTO(vendor, packageService.getActivePackagesByVendors(List.of(vendor)));
     }
     
+    /**
+     * Every vendor with its active packages
+     * Queries: one for vendors, one IN-list query for all their packages, joined in memory
+     */
+    @Transactional(readOnly = true)
     public List<VendorWithPackagesDTO> getAllVendorsWithPackages() {
-        List<Vendor> vendors = vendorRepository.findAll();
-        return vendors.stream()
-                .map(vendor -> getVendorWithPackages(vendor.getId()))
-                .collect(Collectors.toList());
+        return withPackages(vendorRepository.findAll());
     }
     
+    @Transactional(readOnly = true)
     public VendorResponseDTO getVendorByEmail(String email) {
         Vendor vendor = vendorRepository.findByContactEmail(email)
                 .orElseThrow(() -> new VendorNotFoundException("Vendor not found with email: " + email));
         return vendorMapper.toResponseDTO(vendor);
     }
     
+    @Transactional(readOnly = true)
     public VendorWithPackagesDTO getVendorWithPackagesByEmail(String email) {
         Vendor vendor = vendorRepository.findByContactEmail(email)
                 .orElseThrow(() -> new VendorNotFoundException("Vendor not found with email: " + email));
-        return getVendorWithPackages(vendor.getId());
+        return toWithPackagesDTO(vendor, packageService.getActivePackagesByVendors(List.of(vendor)));
     }
     
+    @Transactional(readOnly = true)
     public List<VendorWithPackagesDTO> getClientVendorsWithPackages(UUID clientId) {
-        List<Vendor> vendors = vendorRepository.findByClientIdAndActive(clientId, true);
+        return withPackages(vendorRepository.findByClientIdAndActive(clientId, true));
+    }
+    
+    private List<VendorWithPackagesDTO> withPackages(List<Vendor> vendors) {
+        Map<UUID, List<SubscriptionPackageResponseDTO>> packagesByVendor = packageService.getActivePackagesByVendors(vendors);
         return vendors.stream()
-                .map(vendor -> getVendorWithPackages(vendor.getId()))
+                .map(vendor -> toWithPackagesDTO(vendor, packagesByVendor))
                 .collect(Collectors.toList());
     }
+    
+    private VendorWithPackagesDTO toWithPackagesDTO(Vendor vendor, Map<UUID, List<SubscriptionPackageResponseDTO>> packagesByVendor) {
+        VendorWithPackagesDTO dto = new VendorWithPackagesDTO();
+        dto.setId(vendor.getId());
+        dto.setName(vendor.getName());
+        dto.setCode(vendor.getCode());
+        dto.setClientId(vendor.getClientId());
+        dto.setServiceType(vendor.getServiceType());
+        dto.setAddress(vendor.getAddress());
+        dto.setContactEmail(vendor.getContactEmail());
+        dto.setContactPhone(vendor.getContactPhone());
+        dto.setContactPerson(vendor.getContactPerson());
+        dto.setTaxId(vendor.getTaxId());
+        dto.setActive(vendor.getActive());
+        dto.setCreatedAt(vendor.getCreatedAt());
+        dto.setUpdatedAt(vendor.getUpdatedAt());
+        dto.setPackages(packagesByVendor.getOrDefault(vendor.getId(), new ArrayList<>()));
+        return dto;
+    }
 }
 
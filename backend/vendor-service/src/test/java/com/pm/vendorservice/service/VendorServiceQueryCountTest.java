@@ -0,0 +1,113 @@
+package com.pm.vendorservice.service;
+
+import com.pm.vendorservice.dto.SubscriptionPackageResponseDTO;
+import com.pm.vendorservice.dto.VendorWithPackagesDTO;
+import com.pm.vendorservice.mapper.VendorMapper;
+import com.pm.vendorservice.model.PackageType;
+import com.pm.vendorservice.model.Vendor;
+import com.pm.vendorservice.model.VendorSubscriptionPackage;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Vendor listings with packages must cost a fixed number of queries,
+ * however many vendors and packages there are.
+ */
+@DataJpaTest(properties = {
+    "spring.sql.init.mode=never",
+    "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+    "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+@Import({VendorService.class, SubscriptionPackageService.class, VendorMapper.class})
+class VendorServiceQueryCountTest {
+
+    private static final int VENDORS = 20;
+    private static final int PACKAGES_PER_VENDOR = 3;
+
+    @Autowired
+    private VendorService vendorService;
+
+    @Autowired
+    private SubscriptionPackageService packageService;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private final UUID clientId = UUID.randomUUID();
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void seed() {
+        for (int v = 0; v < VENDORS; v++) {
+            Vendor vendor = new Vendor();
+            vendor.setName("Vendor " + v);
+            vendor.setCode("V" + v);
+            vendor.setClientId(clientId);
+            vendor.setActive(true);
+            entityManager.persist(vendor);
+
+            for (int p = 0; p < PACKAGES_PER_VENDOR; p++) {
+                VendorSubscriptionPackage packageEntity = new VendorSubscriptionPackage();
+                packageEntity.setVendorId(vendor.getId());
+                packageEntity.setPackageCode("V" + v + "-P" + p);
+                packageEntity.setPackageName("Package " + p);
+                packageEntity.setPackageType(PackageType.TRIP);
+                packageEntity.setRatePerTrip(BigDecimal.TEN);
+                packageEntity.setActive(true);
+                entityManager.persist(packageEntity);
+            }
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    void allVendorsWithPackagesUsesTwoQueries() {
+        List<VendorWithPackagesDTO> vendors = vendorService.getAllVendorsWithPackages();
+
+        assertEquals(VENDORS, vendors.size());
+        vendors.forEach(vendor -> {
+            assertEquals(PACKAGES_PER_VENDOR, vendor.getPackages().size());
+            vendor.getPackages().forEach(p -> assertEquals(vendor.getName(), p.getVendorName()));
+        });
+        assertEquals(2, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void clientVendorsWithPackagesUsesTwoQueries() {
+        List<VendorWithPackagesDTO> vendors = vendorService.getClientVendorsWithPackages(clientId);
+
+        assertEquals(VENDORS, vendors.size());
+        assertEquals(2, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void allPackagesResolvesVendorNamesInOneQuery() {
+        List<SubscriptionPackageResponseDTO> packages = packageService.getAllPackages();
+
+        assertEquals(VENDORS * PACKAGES_PER_VENDOR, packages.size());
+        packages.forEach(p -> assertEquals("Vendor " + p.getPackageCode().substring(1, p.getPackageCode().indexOf('-')),
+            p.getVendorName()));
+        assertEquals(2, statistics.getPrepareStatementCount());
+    }
+}
@@ -23,7 +23,7 @@ import {
   Legend, 
   ResponsiveContainer 
 } from 'recharts'
-import { authApi, clientApi, vendorApi, tripApi } from '../utils/api'
+import { authApi, clientApi, vendorApi, fetchAllTripPages } from '../utils/api'
 import toast from 'react-hot-toast'
 
 const StatCard = ({ title, value, change, icon: Icon, color }) => (
@@ -69,7 +69,7 @@ const AdminDashboard = () => {
         clientApi.get('/clients').catch(() => ({ data: [] })),
         vendorApi.get('/vendors').catch(() => ({ data: [] })),
         authApi.get('/users').catch(() => ({ data: [] })),
-        tripApi.get('/trips').catch(() => ({ data: [] })),
+        fetchAllTripPages('/trips').then(data => ({ data })).catch(() => ({ data: [] })),
       ])
 
       // Filter employees from users
@@ -1,6 +1,6 @@
 import { useState, useEffect } from 'react'
 import { useAuth } from '../contexts/AuthContext'
-import { authApi } from '../utils/api'
+import { authApi, fetchAllTripPages } from '../utils/api'
 import api from '../utils/api'
 import { 
   Building2, Users, Car, TrendingUp, FileText, 
@@ -40,8 +40,7 @@ const ClientDashboard = () => {
       const employeesList = employeesResponse.data.filter(u => u.role === 'EMPLOYEE')
       
       // Fetch all trips for the client
-      const tripsResponse = await api.get(`http://localhost:4020/trips/client/${user.tenantId}`)
-      const allTrips = tripsResponse.data || []
+      const allTrips = await fetchAllTripPages(`/trips/client/${user.tenantId}`)
       
       // Fetch all vendors to get names
       const allVendorsResponse = await api.get(`http://localhost:4015/vendors`)
@@ -95,6 +95,19 @@ addAuthInterceptor(tripApi)
 addAuthInterceptor(billingApi)
 addAuthInterceptor(analyticsApi)
 
+// Trip listings are keyset-paginated ({ trips, nextCursor, hasMore }).
+// Follows nextCursor until the listing ends or maxTrips have been collected.
+export const fetchAllTripPages = async (path, { pageSize = 200, maxTrips = 5000 } = {}) => {
+  const trips = []
+  let cursor
+  do {
+    const { data } = await tripApi.get(path, { params: { size: pageSize, cursor } })
+    trips.push(...(data?.trips || []))
+    cursor = data?.nextCursor
+  } while (cursor && trips.length < maxTrips)
+  return trips
+}
+
 // Default export for auth (backward compatibility)
 const api = authApi
 export default api